@@ -15,10 +15,12 @@
  */
 package io.micronaut.context.env;
 
+import io.micronaut.core.naming.conventions.StringConvention;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -31,12 +33,24 @@ import java.util.Map;
 public class PropertySourcePropertyResolverBenchmark {
 
     Map<String, String> props = new HashMap<>();
+    PropertySourcePropertyResolver deepResolver;
 
     @Setup
     public void prepare() {
         for (int i = 0; i < 600; i++) {
              props.put(i + "}_A_B_C_D_E_F_G_SERVICE_PORT", "foo");
         }
+        // a deep tree of properties sharing the same first letter, as with many configured services
+        Map<String, Object> deep = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            for (int j = 0; j < 10; j++) {
+                String prefix = "micronaut.services.service" + i + ".endpoints.endpoint" + j;
+                deep.put(prefix + ".url", "http://localhost:" + j);
+                deep.put(prefix + ".read-timeout", "10s");
+                deep.put(prefix + ".pool.max-connections", "10");
+            }
+        }
+        deepResolver = new PropertySourcePropertyResolver(PropertySource.of("deep", deep));
     }
 
     @Benchmark
@@ -44,6 +58,26 @@ public class PropertySourcePropertyResolverBenchmark {
         new PropertySourcePropertyResolver(new EnvironmentPropertySource(props));
     }
 
+    @Benchmark
+    public void benchmarkDeepPrefixProperties(Blackhole blackhole) {
+        blackhole.consume(deepResolver.getProperties("micronaut.services.service42.endpoints", StringConvention.RAW));
+    }
+
+    @Benchmark
+    public void benchmarkDeepPrefixEntries(Blackhole blackhole) {
+        blackhole.consume(deepResolver.getPropertyEntries("micronaut.services.service42.endpoints"));
+    }
+
+    @Benchmark
+    public void benchmarkDeepPathMatches(Blackhole blackhole) {
+        blackhole.consume(deepResolver.getPropertyPathMatches("micronaut.services.service42.endpoints.*.url"));
+    }
+
+    @Benchmark
+    public void benchmarkContainsDeepProperties(Blackhole blackhole) {
+        blackhole.consume(deepResolver.containsProperties("micronaut.services.service42.endpoints.endpoint7.pool"));
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + PropertySourcePropertyResolverBenchmark.class.getSimpleName() + ".*")
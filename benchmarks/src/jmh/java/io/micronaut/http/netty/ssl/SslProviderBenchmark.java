@@ -0,0 +1,223 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.ssl;
+
+import io.micronaut.http.ssl.SslConfiguration;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the TLS providers selected by {@link SslProviders}: handshakes per second, with and without session
+ * resumption, and the throughput of encrypting and decrypting application data once the connection is established.
+ *
+ * <p>The client and server engines exchange their data through in-memory buffers, so the results only contain the
+ * cost of TLS itself. The OpenSSL provider requires netty-tcnative, {@link #main} only runs the available
+ * providers.</p>
+ */
+@State(Scope.Benchmark)
+public class SslProviderBenchmark {
+
+    private static final int MAX_HANDSHAKE_ROUNDS = 32;
+    private static final String PEER_HOST = "localhost";
+    private static final int PEER_PORT = 8443;
+
+    @Param({"JDK", "OPENSSL"})
+    SslConfiguration.Provider provider;
+
+    @Param({"false", "true"})
+    boolean resumeSessions;
+
+    @Param({"16384"})
+    int payloadSize;
+
+    SelfSignedCertificate certificate;
+    SslContext serverContext;
+    SslContext clientContext;
+    SSLEngine bulkClient;
+    SSLEngine bulkServer;
+    ByteBuffer payload;
+    ByteBuffer clientToServer;
+    ByteBuffer serverToClient;
+    ByteBuffer clientPlaintext;
+    ByteBuffer serverPlaintext;
+
+    @Setup
+    public void setup() throws Exception {
+        SslProvider sslProvider = SslProviders.select(provider, false);
+        if (provider != SslConfiguration.Provider.JDK && sslProvider == SslProvider.JDK) {
+            throw new IllegalStateException("netty-tcnative is not available", OpenSsl.unavailabilityCause());
+        }
+        certificate = new SelfSignedCertificate();
+        serverContext = SslContextBuilder.forServer(certificate.certificate(), certificate.privateKey())
+            .sslProvider(sslProvider)
+            .build();
+        clientContext = SslContextBuilder.forClient()
+            .sslProvider(sslProvider)
+            .trustManager(InsecureTrustManagerFactory.INSTANCE)
+            .build();
+
+        int packetBufferSize = 4 * newClientEngine().getSession().getPacketBufferSize();
+        clientToServer = ByteBuffer.allocate(packetBufferSize);
+        serverToClient = ByteBuffer.allocate(packetBufferSize);
+        clientPlaintext = ByteBuffer.allocate(packetBufferSize);
+        serverPlaintext = ByteBuffer.allocate(packetBufferSize);
+        payload = ByteBuffer.allocate(payloadSize);
+
+        bulkClient = newClientEngine();
+        bulkServer = serverContext.newEngine(ByteBufAllocator.DEFAULT);
+        handshake(bulkClient, bulkServer);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ReferenceCountUtil.release(bulkClient);
+        ReferenceCountUtil.release(bulkServer);
+        ReferenceCountUtil.release(clientContext);
+        ReferenceCountUtil.release(serverContext);
+        certificate.delete();
+    }
+
+    @Benchmark
+    public void handshake(Blackhole blackhole) throws SSLException {
+        SSLEngine client = newClientEngine();
+        SSLEngine server = serverContext.newEngine(ByteBufAllocator.DEFAULT);
+        try {
+            handshake(client, server);
+            blackhole.consume(client.getSession());
+        } finally {
+            ReferenceCountUtil.release(client);
+            ReferenceCountUtil.release(server);
+        }
+    }
+
+    @Benchmark
+    public int bulkTransfer() throws SSLException {
+        payload.clear();
+        clientToServer.clear();
+        while (payload.hasRemaining()) {
+            bulkClient.wrap(payload, clientToServer);
+        }
+        clientToServer.flip();
+        serverPlaintext.clear();
+        while (clientToServer.hasRemaining()) {
+            bulkServer.unwrap(clientToServer, serverPlaintext);
+        }
+        return serverPlaintext.position();
+    }
+
+    private SSLEngine newClientEngine() {
+        // the client only caches sessions if the engine knows the peer
+        return resumeSessions ?
+            clientContext.newEngine(ByteBufAllocator.DEFAULT, PEER_HOST, PEER_PORT) :
+            clientContext.newEngine(ByteBufAllocator.DEFAULT);
+    }
+
+    private void handshake(SSLEngine client, SSLEngine server) throws SSLException {
+        ByteBuffer empty = ByteBuffer.allocate(0);
+        client.beginHandshake();
+        server.beginHandshake();
+        for (int i = 0; i < MAX_HANDSHAKE_ROUNDS; i++) {
+            if (isHandshakeDone(client) && isHandshakeDone(server)) {
+                return;
+            }
+            clientToServer.clear();
+            wrap(client, empty, clientToServer);
+            clientToServer.flip();
+            serverToClient.clear();
+            wrap(server, empty, serverToClient);
+            serverToClient.flip();
+            clientPlaintext.clear();
+            serverPlaintext.clear();
+            unwrap(server, clientToServer, serverPlaintext);
+            unwrap(client, serverToClient, clientPlaintext);
+        }
+        throw new IllegalStateException("Handshake did not complete");
+    }
+
+    private static void wrap(SSLEngine engine, ByteBuffer src, ByteBuffer dst) throws SSLException {
+        while (engine.getHandshakeStatus() == SSLEngineResult.HandshakeStatus.NEED_WRAP) {
+            SSLEngineResult result = engine.wrap(src, dst);
+            runDelegatedTasks(engine);
+            if (result.bytesProduced() == 0 && result.getHandshakeStatus() != SSLEngineResult.HandshakeStatus.NEED_TASK) {
+                break;
+            }
+        }
+    }
+
+    private static void unwrap(SSLEngine engine, ByteBuffer src, ByteBuffer dst) throws SSLException {
+        while (src.hasRemaining()) {
+            SSLEngineResult result = engine.unwrap(src, dst);
+            runDelegatedTasks(engine);
+            if (result.bytesConsumed() == 0) {
+                break;
+            }
+        }
+    }
+
+    private static void runDelegatedTasks(SSLEngine engine) {
+        Runnable task;
+        while ((task = engine.getDelegatedTask()) != null) {
+            task.run();
+        }
+    }
+
+    private static boolean isHandshakeDone(SSLEngine engine) {
+        SSLEngineResult.HandshakeStatus status = engine.getHandshakeStatus();
+        return status == SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING || status == SSLEngineResult.HandshakeStatus.FINISHED;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        List<String> providers = new ArrayList<>();
+        providers.add(SslConfiguration.Provider.JDK.name());
+        if (OpenSsl.isAvailable()) {
+            providers.add(SslConfiguration.Provider.OPENSSL.name());
+        }
+        Options opt = new OptionsBuilder()
+                .include(".*" + SslProviderBenchmark.class.getSimpleName() + ".*")
+                .param("provider", providers.toArray(new String[0]))
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
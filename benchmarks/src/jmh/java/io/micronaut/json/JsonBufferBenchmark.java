@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.json;
+
+import io.micronaut.buffer.netty.NettyByteBufferFactory;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.type.Argument;
+import io.micronaut.jackson.databind.JacksonDatabindMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares decoding and encoding JSON through an intermediate byte array with reading and writing pooled Netty
+ * buffers in place.
+ */
+@State(Scope.Benchmark)
+public class JsonBufferBenchmark {
+
+    private static final Argument<List<Map<String, Object>>> TYPE = Argument.listOf(Argument.mapOf(String.class, Object.class));
+
+    @Param({"1024", "65536", "1048576"})
+    int payloadSize;
+
+    JsonMapper jsonMapper;
+    List<Map<String, Object>> value;
+    CompositeByteBuf content;
+
+    @Setup
+    public void setup() throws IOException {
+        jsonMapper = new JacksonDatabindMapper();
+        value = new ArrayList<>();
+        int size = 2;
+        while (size < payloadSize) {
+            Map<String, Object> item = Map.of("id", value.size(), "name", "item-" + value.size(), "active", true);
+            value.add(item);
+            size += jsonMapper.writeValueAsBytes(item).length + 1;
+        }
+        // request bodies arrive as a composite of the pooled direct buffers read from the socket
+        byte[] json = jsonMapper.writeValueAsBytes(value);
+        content = PooledByteBufAllocator.DEFAULT.compositeDirectBuffer(Integer.MAX_VALUE);
+        for (int offset = 0; offset < json.length; offset += 8192) {
+            ByteBuf component = PooledByteBufAllocator.DEFAULT.directBuffer(8192);
+            component.writeBytes(json, offset, Math.min(8192, json.length - offset));
+            content.addComponent(true, component);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        content.release();
+    }
+
+    @Benchmark
+    public void decodeCopy(Blackhole blackhole) throws IOException {
+        ByteBuffer<ByteBuf> buffer = NettyByteBufferFactory.DEFAULT.wrap(content);
+        blackhole.consume(jsonMapper.readValue(buffer.toByteArray(), TYPE));
+    }
+
+    @Benchmark
+    public void decodeBuffer(Blackhole blackhole) throws IOException {
+        blackhole.consume(jsonMapper.readValue(NettyByteBufferFactory.DEFAULT.wrap(content), TYPE));
+    }
+
+    @Benchmark
+    public void encodeCopy(Blackhole blackhole) throws IOException {
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer();
+        buf.writeBytes(jsonMapper.writeValueAsBytes(TYPE, value));
+        blackhole.consume(buf.readableBytes());
+        buf.release();
+    }
+
+    @Benchmark
+    public void encodeBuffer(Blackhole blackhole) throws IOException {
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer();
+        jsonMapper.writeValue(NettyByteBufferFactory.DEFAULT.wrap(buf), TYPE, value);
+        blackhole.consume(buf.readableBytes());
+        buf.release();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + JsonBufferBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of blocking request handling on a shared fixed pool, which is the default model of
+ * offloading from the event loops, with an {@link AffinityExecutorService} whose lanes follow the event loops.
+ *
+ * <p>Each simulated connection lives on one event loop and has some state of its own. A request hops from the event
+ * loop to the executor, where the blocking operation reads and updates the state of the connection, and the
+ * response hops back to the event loop, which then sends the next request of the connection.</p>
+ */
+@State(Scope.Benchmark)
+public class AffinityExecutorBenchmark {
+
+    private static final int ROUND_TRIPS = 20;
+
+    @Param({"fixed", "affinity"})
+    String executorType;
+
+    @Param({"4"})
+    int eventLoops;
+
+    @Param({"8"})
+    int connectionsPerEventLoop;
+
+    @Param({"4096"})
+    int connectionStateSize;
+
+    ExecutorService[] loops;
+    ExecutorService executor;
+    long[][] connectionState;
+
+    @Setup
+    public void setup() {
+        loops = new ExecutorService[eventLoops];
+        for (int i = 0; i < eventLoops; i++) {
+            loops[i] = Executors.newSingleThreadExecutor();
+        }
+        // both executors get two threads per event loop
+        if (executorType.equals("affinity")) {
+            executor = new AffinityExecutorService(eventLoops, 2, Executors.defaultThreadFactory());
+        } else {
+            executor = Executors.newFixedThreadPool(eventLoops * 2);
+        }
+        connectionState = new long[eventLoops * connectionsPerEventLoop][connectionStateSize];
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        for (ExecutorService loop : loops) {
+            loop.shutdown();
+        }
+    }
+
+    /**
+     * Sends {@value #ROUND_TRIPS} requests on every connection.
+     */
+    @Benchmark
+    public void requests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(connectionState.length);
+        for (int i = 0; i < connectionState.length; i++) {
+            ExecutorService loop = loops[i % eventLoops];
+            long[] state = connectionState[i];
+            loop.execute(() -> request(loop, state, ROUND_TRIPS, done));
+        }
+        done.await();
+    }
+
+    private void request(ExecutorService loop, long[] state, int remaining, CountDownLatch done) {
+        if (remaining == 0) {
+            done.countDown();
+            return;
+        }
+        executor.execute(() -> {
+            // the blocking operation works on the state of the connection
+            long sum = 0;
+            for (int i = 0; i < state.length; i++) {
+                sum += state[i];
+                state[i] = sum;
+            }
+            loop.execute(() -> request(loop, state, remaining - 1, done));
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + AffinityExecutorBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Executable;
+import io.micronaut.http.HttpMethod;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compares route lookup through {@link DefaultRouter} with a linear scan over every route.
+ */
+@State(Scope.Benchmark)
+public class RouterBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int routeCount;
+
+    ApplicationContext applicationContext;
+    Router router;
+    List<UriRoute> routes;
+    String[] uris;
+    int next;
+
+    @Setup
+    public void setup() {
+        applicationContext = ApplicationContext.run();
+        BenchmarkRouteBuilder routeBuilder = new BenchmarkRouteBuilder(applicationContext);
+        TestRoutes target = new TestRoutes();
+        for (int i = 0; i < routeCount; i++) {
+            // a mix of literal, variable and nested routes, as found in typical controllers
+            switch (i % 4) {
+                case 0:
+                    routeBuilder.GET("/resource" + i, target, "list");
+                    break;
+                case 1:
+                    routeBuilder.GET("/resource" + i + "/{id}", target, "show", String.class);
+                    break;
+                case 2:
+                    routeBuilder.GET("/api/v1/resource" + i + "/{id}/items", target, "show", String.class);
+                    break;
+                default:
+                    routeBuilder.GET("/resource" + i + "{/id}", target, "show", String.class);
+            }
+        }
+        router = new DefaultRouter(routeBuilder);
+        routes = new ArrayList<>(routeBuilder.getUriRoutes());
+        routes.sort(null);
+        uris = new String[] {
+                "/resource" + (routeCount - 4),
+                "/resource" + (routeCount - 3) + "/10",
+                "/api/v1/resource" + (routeCount - 2) + "/10/items",
+                "/resource" + (routeCount - 1) + "/10",
+                "/missing/10"
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public void indexedLookup(Blackhole blackhole) {
+        blackhole.consume(router.find(HttpMethod.GET, nextUri(), null).findFirst());
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        String uri = nextUri();
+        Optional<UriRouteMatch> found = Optional.empty();
+        for (UriRoute route : routes) {
+            Optional<UriRouteMatch> match = route.match(uri);
+            if (match.isPresent() && !found.isPresent()) {
+                found = match;
+            }
+        }
+        blackhole.consume(found);
+    }
+
+    private String nextUri() {
+        String uri = uris[next];
+        next = (next + 1) % uris.length;
+        return uri;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + RouterBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    static class BenchmarkRouteBuilder extends DefaultRouteBuilder {
+        BenchmarkRouteBuilder(ApplicationContext applicationContext) {
+            super(applicationContext);
+        }
+    }
+
+    @Singleton
+    @Executable
+    static class TestRoutes {
+        String list() {
+            return "list";
+        }
+
+        String show(String id) {
+            return id;
+        }
+    }
+}
@@ -28,6 +28,9 @@ import java.util.concurrent.locks.Lock;
  * <p>A {@link MethodInterceptor} that will lock the bean preventing it from being destroyed by a
  * {@link RefreshEvent} until the method completes.</p>
  *
+ * <p>With the {@link RefreshStrategy#VERSIONED} strategy the call is counted against the current version of the
+ * bean instead, without taking a lock.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -36,18 +39,28 @@ import java.util.concurrent.locks.Lock;
 public class RefreshInterceptor implements MethodInterceptor {
 
     private final RefreshScope refreshScope;
+    private final boolean versioned;
 
     /**
      * @param refreshScope To allow target beans to be refreshed
      */
     public RefreshInterceptor(RefreshScope refreshScope) {
         this.refreshScope = refreshScope;
+        this.versioned = refreshScope.getStrategy() == RefreshStrategy.VERSIONED;
     }
 
     @Nullable
     @Override
     public Object intercept(MethodInvocationContext context) {
         Object target = context.getTarget();
+        if (versioned) {
+            RefreshScope.BeanVersion version = refreshScope.acquire(target);
+            try {
+                return context.proceed();
+            } finally {
+                version.release();
+            }
+        }
         Lock lock = refreshScope.getLock(target).readLock();
         try {
             lock.lock();
@@ -21,18 +21,22 @@ import io.micronaut.context.BeanRegistration;
 import io.micronaut.context.LifeCycle;
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.context.annotation.ConfigurationReader;
+import io.micronaut.context.annotation.Property;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.env.Environment;
 import io.micronaut.context.event.ApplicationEventListener;
 import io.micronaut.context.scope.BeanCreationContext;
 import io.micronaut.context.scope.CreatedBean;
 import io.micronaut.context.scope.CustomScope;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.order.Ordered;
 import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.BeanIdentifier;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.runtime.context.scope.Refreshable;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 import java.util.Collection;
@@ -41,6 +45,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -59,15 +64,33 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
 
     public static final int POSITION = RefreshEventListener.DEFAULT_POSITION - 100;
 
+    /**
+     * The property that selects the {@link RefreshStrategy}.
+     */
+    public static final String STRATEGY_PROPERTY = "micronaut.refresh.strategy";
+
     private final Map<BeanIdentifier, CreatedBean<?>> refreshableBeans = new ConcurrentHashMap<>(10);
     private final ConcurrentMap<Object, ReadWriteLock> locks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, BeanVersion> versions = new ConcurrentHashMap<>();
     private final BeanContext beanContext;
+    private final RefreshStrategy strategy;
 
     /**
      * @param beanContext     The bean context to allow DI of beans annotated with @Inject
      */
     public RefreshScope(BeanContext beanContext) {
+        this(beanContext, RefreshStrategy.LOCKING);
+    }
+
+    /**
+     * @param beanContext The bean context to allow DI of beans annotated with @Inject
+     * @param strategy    The refresh strategy, {@link RefreshStrategy#LOCKING} if {@code null}
+     * @since 4.0.0
+     */
+    @Inject
+    public RefreshScope(BeanContext beanContext, @Nullable @Property(name = STRATEGY_PROPERTY) RefreshStrategy strategy) {
         this.beanContext = beanContext;
+        this.strategy = strategy != null ? strategy : RefreshStrategy.LOCKING;
     }
 
     @Override
@@ -84,11 +107,18 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
     @Override
     public <T> T getOrCreate(BeanCreationContext<T> creationContext) {
         final BeanIdentifier id = creationContext.id();
-        CreatedBean<?> created = refreshableBeans.computeIfAbsent(id, key -> {
-            CreatedBean<T> createdBean = creationContext.create();
-            locks.putIfAbsent(createdBean.bean(), new ReentrantReadWriteLock());
-            return createdBean;
-        });
+        CreatedBean<?> created = refreshableBeans.get(id);
+        if (created == null) {
+            created = refreshableBeans.computeIfAbsent(id, key -> {
+                CreatedBean<T> createdBean = creationContext.create();
+                if (strategy == RefreshStrategy.VERSIONED) {
+                    versions.put(createdBean.bean(), new BeanVersion(createdBean));
+                } else {
+                    locks.putIfAbsent(createdBean.bean(), new ReentrantReadWriteLock());
+                }
+                return createdBean;
+            });
+        }
         return (T) created.bean();
     }
 
@@ -158,6 +188,15 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
         return Optional.empty();
     }
 
+    /**
+     * @return The strategy used to refresh beans
+     * @since 4.0.0
+     */
+    @NonNull
+    public RefreshStrategy getStrategy() {
+        return strategy;
+    }
+
     /**
      * @param object The bean
      * @return The lock on the object
@@ -170,6 +209,22 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
         return readWriteLock;
     }
 
+    /**
+     * Marks a call to the given bean as in flight, so that the bean is not destroyed before the call completes.
+     * Used with the {@link RefreshStrategy#VERSIONED} strategy. The returned version has to be
+     * {@link BeanVersion#release() released} once the call has completed.
+     *
+     * @param object The bean
+     * @return The version of the bean
+     */
+    BeanVersion acquire(Object object) {
+        BeanVersion version = versions.get(object);
+        if (version == null || !version.acquire()) {
+            throw new IllegalStateException("Refreshable bean has already been destroyed: " + object);
+        }
+        return version;
+    }
+
     private void refreshSubsetOfConfigurationProperties(Set<String> keySet) {
         Collection<BeanRegistration<?>> registrations =
             beanContext.getActiveBeanRegistrations(Qualifiers.byStereotype(ConfigurationProperties.class));
@@ -221,6 +276,14 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
         CreatedBean<?> createdBean = refreshableBeans.remove(key);
         if (createdBean != null) {
             Object bean = createdBean.bean();
+            if (strategy == RefreshStrategy.VERSIONED) {
+                // new calls already resolve a new version, this one is destroyed when the calls in flight are done
+                BeanVersion version = versions.get(bean);
+                if (version != null) {
+                    version.retire();
+                }
+                return;
+            }
             Lock lock = getLock(bean).writeLock();
             try {
                 lock.lock();
@@ -231,4 +294,64 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
             }
         }
     }
+
+    /**
+     * A version of a refreshable bean that counts the calls in flight. The state holds twice the number of calls in
+     * flight, plus one once the version has been retired by a refresh, or is {@code -1} once the bean has been
+     * destroyed.
+     */
+    final class BeanVersion {
+        private static final int RETIRED = 1;
+        private static final int CALL = 2;
+        private static final int DESTROYED = -1;
+
+        private final CreatedBean<?> createdBean;
+        private final AtomicInteger state = new AtomicInteger();
+
+        private BeanVersion(CreatedBean<?> createdBean) {
+            this.createdBean = createdBean;
+        }
+
+        /**
+         * Marks the end of a call acquired with {@link RefreshScope#acquire(Object)}.
+         */
+        void release() {
+            if (state.addAndGet(-CALL) == RETIRED) {
+                destroy();
+            }
+        }
+
+        private boolean acquire() {
+            while (true) {
+                int current = state.get();
+                if (current == DESTROYED) {
+                    return false;
+                }
+                if (state.compareAndSet(current, current + CALL)) {
+                    return true;
+                }
+            }
+        }
+
+        private void retire() {
+            int current;
+            do {
+                current = state.get();
+                if (current == DESTROYED || (current & RETIRED) == RETIRED) {
+                    return;
+                }
+            } while (!state.compareAndSet(current, current | RETIRED));
+            if (current == 0) {
+                destroy();
+            }
+        }
+
+        private void destroy() {
+            // a call may have been acquired concurrently, in which case its release destroys the bean
+            if (state.compareAndSet(RETIRED, DESTROYED)) {
+                versions.remove(createdBean.bean(), this);
+                createdBean.close();
+            }
+        }
+    }
 }
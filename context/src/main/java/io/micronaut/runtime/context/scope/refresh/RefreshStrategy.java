@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.runtime.context.scope.refresh;
+
+/**
+ * The strategies {@link RefreshScope} may use to keep a refreshable bean from being destroyed while its methods
+ * execute.
+ *
+ * @since 4.0.0
+ */
+public enum RefreshStrategy {
+
+    /**
+     * Every method call holds the read lock of the bean, and a refresh takes the write lock before destroying it.
+     * A refresh therefore waits for the calls in flight to complete.
+     */
+    LOCKING,
+
+    /**
+     * A refresh swaps out the current version of the bean and returns immediately. Calls in flight complete on the
+     * previous version, which is destroyed once the last of them has returned, while new calls use a new version.
+     * Method calls only update an atomic counter of the version and never block.
+     */
+    VERSIONED
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link ExecutorService} for the {@link ExecutorType#AFFINITY} executor type, made of a number of lanes that each
+ * have their own queue and a few worker threads. Every thread that submits tasks is assigned a lane the first time it
+ * does so, and its tasks then always go to that lane. When the submitting threads are the event loops of a server,
+ * the requests of a channel are therefore always served by the same small set of threads, which keeps their data in
+ * the caches of the same cores instead of handing it over to an arbitrary thread of a shared pool.
+ *
+ * <p>To balance the load, a worker whose lane is empty steals the oldest task of another lane that has queued tasks
+ * but no idle worker, and a task submitted while every worker of its lane is busy wakes up an idle worker of another
+ * lane. Workers that block, for example on I/O, therefore do not hold up the tasks queued behind them while other lanes
+ * are idle.</p>
+ *
+ * @since 4.0.0
+ */
+public final class AffinityExecutorService extends AbstractExecutorService {
+
+    private final Lane[] lanes;
+    private final int threadsPerLane;
+    private final AtomicInteger nextLane = new AtomicInteger();
+    private final ThreadLocal<Lane> submitterLane = new ThreadLocal<>();
+    private final CountDownLatch terminated;
+    private final LongAdder stolen = new LongAdder();
+    private volatile boolean shutdown;
+
+    /**
+     * @param laneCount      The number of lanes, usually the number of event loop threads
+     * @param threadsPerLane The number of worker threads of each lane
+     * @param threadFactory  The thread factory
+     */
+    public AffinityExecutorService(int laneCount, int threadsPerLane, @NonNull ThreadFactory threadFactory) {
+        if (laneCount < 1 || threadsPerLane < 1) {
+            throw new IllegalArgumentException("Lane count and threads per lane must be at least 1");
+        }
+        this.threadsPerLane = threadsPerLane;
+        this.lanes = new Lane[laneCount];
+        this.terminated = new CountDownLatch(laneCount * threadsPerLane);
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i);
+        }
+        for (Lane lane : lanes) {
+            for (int i = 0; i < threadsPerLane; i++) {
+                Worker worker = new Worker(lane);
+                worker.thread = threadFactory.newThread(worker);
+                lane.workers.add(worker);
+            }
+        }
+        for (Lane lane : lanes) {
+            for (Worker worker : lane.workers) {
+                worker.thread.start();
+            }
+        }
+    }
+
+    /**
+     * @return The number of lanes
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * @return The number of worker threads of each lane
+     */
+    public int getThreadsPerLane() {
+        return threadsPerLane;
+    }
+
+    /**
+     * @return The number of tasks that ran on a worker of another lane than the one they were submitted to
+     */
+    public long getStolenCount() {
+        return stolen.sum();
+    }
+
+    /**
+     * @return The number of tasks waiting in the queues of all lanes
+     */
+    public int getQueuedCount() {
+        int count = 0;
+        for (Lane lane : lanes) {
+            count += lane.queued.get();
+        }
+        return count;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        Lane lane = submitterLane.get();
+        if (lane == null) {
+            lane = lanes[Math.floorMod(nextLane.getAndIncrement(), lanes.length)];
+            submitterLane.set(lane);
+        }
+        lane.offer(command);
+        signal(lane);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (Lane lane : lanes) {
+            for (Worker worker : lane.workers) {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+    }
+
+    @NonNull
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> remaining = new ArrayList<>();
+        for (Lane lane : lanes) {
+            Runnable task;
+            while ((task = lane.poll()) != null) {
+                remaining.add(task);
+            }
+            for (Worker worker : lane.workers) {
+                worker.thread.interrupt();
+            }
+        }
+        return remaining;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Wakes up an idle worker of the given lane, or of another lane if every worker of the lane is busy.
+     *
+     * @param lane The lane a task was added to
+     */
+    private void signal(Lane lane) {
+        Worker idle = lane.idle.poll();
+        for (int i = 1; idle == null && i < lanes.length; i++) {
+            idle = lanes[(lane.index + i) % lanes.length].idle.poll();
+        }
+        if (idle != null) {
+            LockSupport.unpark(idle.thread);
+        }
+    }
+
+    private Runnable steal(Lane lane) {
+        for (int i = 1; i < lanes.length; i++) {
+            Lane victim = lanes[(lane.index + i) % lanes.length];
+            // only steal from a lane that has no idle worker to take its queued tasks, or from any lane to drain the
+            // queues on shutdown, and take the oldest task
+            if (victim.isSaturated() || shutdown) {
+                Runnable task = victim.poll();
+                if (task != null) {
+                    stolen.increment();
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param lane The lane of a worker
+     * @return Whether the worker has a task to run, either from its own lane or one it could steal
+     */
+    private boolean hasTask(Lane lane) {
+        if (lane.queued.get() > 0) {
+            return true;
+        }
+        for (Lane other : lanes) {
+            if (other.isSaturated() || (shutdown && other.queued.get() > 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A queue and the workers that serve it first.
+     */
+    private static final class Lane {
+        final int index;
+        final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        final AtomicInteger queued = new AtomicInteger();
+        final Queue<Worker> idle = new ConcurrentLinkedQueue<>();
+        final List<Worker> workers = new ArrayList<>();
+
+        Lane(int index) {
+            this.index = index;
+        }
+
+        void offer(Runnable task) {
+            queued.incrementAndGet();
+            tasks.offer(task);
+        }
+
+        Runnable poll() {
+            Runnable task = tasks.poll();
+            if (task != null) {
+                queued.decrementAndGet();
+            }
+            return task;
+        }
+
+        /**
+         * @return Whether the lane has queued tasks but none of its workers is idle to take them
+         */
+        boolean isSaturated() {
+            return queued.get() > 0 && idle.isEmpty();
+        }
+    }
+
+    /**
+     * A worker thread of a lane.
+     */
+    private final class Worker implements Runnable {
+        final Lane lane;
+        Thread thread;
+
+        Worker(Lane lane) {
+            this.lane = lane;
+        }
+
+        @Override
+        public void run() {
+            // tasks submitted from within a task stay on the lane of the worker
+            submitterLane.set(lane);
+            try {
+                while (true) {
+                    Runnable task = lane.poll();
+                    if (task == null) {
+                        task = steal(lane);
+                    }
+                    if (task != null) {
+                        if (lane.queued.get() > 0) {
+                            // let another worker take the remaining tasks while this one is busy
+                            signal(lane);
+                        }
+                        runTask(task);
+                    } else if (shutdown && !hasTask(lane)) {
+                        return;
+                    } else {
+                        lane.idle.offer(this);
+                        // re-check after registering as idle, so that a task offered meanwhile is not missed
+                        if (shutdown || hasTask(lane)) {
+                            lane.idle.remove(this);
+                        } else {
+                            LockSupport.park(this);
+                            lane.idle.remove(this);
+                        }
+                    }
+                }
+            } finally {
+                terminated.countDown();
+            }
+        }
+
+        private void runTask(Runnable task) {
+            Thread.interrupted();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+}
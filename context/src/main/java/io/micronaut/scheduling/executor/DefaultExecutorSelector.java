@@ -48,6 +48,7 @@ public class DefaultExecutorSelector implements ExecutorSelector {
     private final BeanLocator beanLocator;
     private final Supplier<ExecutorService> ioExecutor;
     private final Supplier<ExecutorService> blockingExecutor;
+    private final Supplier<Optional<ExecutorService>> virtualExecutor;
 
     /**
      * Default constructor.
@@ -63,6 +64,7 @@ public class DefaultExecutorSelector implements ExecutorSelector {
         this.beanLocator = beanLocator;
         this.ioExecutor = SupplierUtil.memoized(ioExecutor::get);
         this.blockingExecutor = SupplierUtil.memoized(blockingExecutor::get);
+        this.virtualExecutor = SupplierUtil.memoized(() -> beanLocator.findBean(ExecutorService.class, Qualifiers.byName(TaskExecutors.VIRTUAL)));
     }
 
     @Override
@@ -80,28 +82,19 @@ public class DefaultExecutorSelector implements ExecutorSelector {
                 );
             }
         } else if (threadSelection == ThreadSelection.AUTO) {
-            if (method.hasStereotype(NonBlocking.class)) {
-                return Optional.empty();
-            } else if (method.hasStereotype(Blocking.class)) {
-                return Optional.of(blockingExecutor.get());
-            } else {
-                TypeInformation<?> returnType = method.getReturnType();
-                if (returnType.isWrapperType()) {
-                    Optional<Argument<?>> generic = method.getReturnType().getFirstTypeVariable();
-                    if (generic.isPresent()) {
-                        returnType = generic.get();
-                    }
-                }
-                if (returnType.isAsyncOrReactive()) {
-                    return Optional.empty();
-                } else {
-                    return Optional.of(blockingExecutor.get());
-                }
-            }
+            return isBlocking(method) ? Optional.of(blockingExecutor.get()) : Optional.empty();
         } else if (threadSelection == ThreadSelection.IO) {
             return Optional.of(ioExecutor.get());
         } else if (threadSelection == ThreadSelection.BLOCKING) {
             return Optional.of(blockingExecutor.get());
+        } else if (threadSelection == ThreadSelection.VIRTUAL) {
+            if (!isBlocking(method)) {
+                return Optional.empty();
+            }
+            return Optional.of(virtualExecutor.get().orElseThrow(() -> new SchedulerConfigurationException(
+                    method,
+                    "Thread selection " + ThreadSelection.VIRTUAL + " requires the " + TaskExecutors.VIRTUAL + " executor, which is only available on a JVM that supports virtual threads"
+            )));
         }
         return Optional.empty();
     }
@@ -110,4 +103,20 @@ public class DefaultExecutorSelector implements ExecutorSelector {
     public Optional<ExecutorService> select(String name) {
         return beanLocator.findBean(ExecutorService.class, Qualifiers.byName(name));
     }
+
+    private boolean isBlocking(MethodReference<?, ?> method) {
+        if (method.hasStereotype(NonBlocking.class)) {
+            return false;
+        } else if (method.hasStereotype(Blocking.class)) {
+            return true;
+        }
+        TypeInformation<?> returnType = method.getReturnType();
+        if (returnType.isWrapperType()) {
+            Optional<Argument<?>> generic = method.getReturnType().getFirstTypeVariable();
+            if (generic.isPresent()) {
+                returnType = generic.get();
+            }
+        }
+        return !returnType.isAsyncOrReactive();
+    }
 }
@@ -18,6 +18,7 @@ package io.micronaut.scheduling.executor;
 import io.micronaut.core.annotation.Nullable;
 
 import javax.validation.constraints.Min;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 
@@ -61,12 +62,12 @@ public interface ExecutorConfiguration {
     ExecutorType getType();
 
     /**
-     * @return The parallelism for {@link io.micronaut.scheduling.executor.ExecutorType#WORK_STEALING}
+     * @return The parallelism for {@link io.micronaut.scheduling.executor.ExecutorType#WORK_STEALING}, or the number of lanes for {@link io.micronaut.scheduling.executor.ExecutorType#AFFINITY}
      */
     @Min(1L) Integer getParallelism();
 
     /**
-     * @return The number of threads for {@link io.micronaut.scheduling.executor.ExecutorType#FIXED}
+     * @return The number of threads for {@link io.micronaut.scheduling.executor.ExecutorType#FIXED}, {@link io.micronaut.scheduling.executor.ExecutorType#BOUNDED}, {@link io.micronaut.scheduling.executor.ExecutorType#PRIORITY} and {@link io.micronaut.scheduling.executor.ExecutorType#AFFINITY}
      */
     @Min(1L) Integer getNumberOfThreads();
 
@@ -84,4 +85,40 @@ public interface ExecutorConfiguration {
      * @return The class to use as the {@link ThreadFactory}
      */
     Optional<Class<? extends ThreadFactory>> getThreadFactoryClass();
+
+    /**
+     * @return The maximum number of tasks running at once on a virtual {@link io.micronaut.scheduling.executor.ExecutorType#THREAD_PER_TASK} executor, or {@code null} for no limit
+     * @since 4.0.0
+     */
+    @Nullable
+    default Integer getMaxConcurrency() {
+        return null;
+    }
+
+    /**
+     * @return The duration above which a virtual thread pinned to its carrier thread is reported, or {@code null} to disable pinning detection
+     * @since 4.0.0
+     */
+    @Nullable
+    default Duration getPinnedThreshold() {
+        return null;
+    }
+
+    /**
+     * @return The maximum number of queued tasks for {@link io.micronaut.scheduling.executor.ExecutorType#BOUNDED} and {@link io.micronaut.scheduling.executor.ExecutorType#PRIORITY}, or {@code null} for the default
+     * @since 4.0.0
+     */
+    @Nullable
+    default Integer getQueueSize() {
+        return null;
+    }
+
+    /**
+     * @return The policy applied when the queue of a {@link io.micronaut.scheduling.executor.ExecutorType#BOUNDED} or {@link io.micronaut.scheduling.executor.ExecutorType#PRIORITY} executor is full, or {@code null} for the default
+     * @since 4.0.0
+     */
+    @Nullable
+    default RejectionPolicy getRejectionPolicy() {
+        return null;
+    }
 }
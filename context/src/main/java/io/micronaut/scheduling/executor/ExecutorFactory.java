@@ -92,8 +92,38 @@ public class ExecutorFactory {
                 return Executors.newScheduledThreadPool(executorConfiguration.getCorePoolSize(), getThreadFactory(executorConfiguration));
             case WORK_STEALING:
                 return Executors.newWorkStealingPool(executorConfiguration.getParallelism());
+            case BOUNDED:
+            case PRIORITY:
+                Integer queueSize = executorConfiguration.getQueueSize();
+                if (queueSize == null && executorType == ExecutorType.BOUNDED) {
+                    queueSize = UserExecutorConfiguration.DEFAULT_QUEUE_SIZE;
+                }
+                return new QueuedExecutorService(
+                        executorConfiguration.getNumberOfThreads(),
+                        queueSize,
+                        executorType == ExecutorType.PRIORITY,
+                        executorConfiguration.getRejectionPolicy(),
+                        getThreadFactory(executorConfiguration)
+                );
+            case AFFINITY:
+                int lanes = executorConfiguration.getParallelism();
+                return new AffinityExecutorService(
+                        lanes,
+                        Math.max(1, (executorConfiguration.getNumberOfThreads() + lanes - 1) / lanes),
+                        getThreadFactory(executorConfiguration)
+                );
             case THREAD_PER_TASK:
-                return LoomSupport.newThreadPerTaskExecutor(getThreadFactory(executorConfiguration));
+                ExecutorService threadPerTask = LoomSupport.newThreadPerTaskExecutor(getThreadFactory(executorConfiguration));
+                if (executorConfiguration.isVirtual()) {
+                    String name = executorConfiguration.getName();
+                    return new VirtualThreadExecutorService(
+                            threadPerTask,
+                            (name == null ? "virtual" : name) + "-executor",
+                            executorConfiguration.getMaxConcurrency(),
+                            executorConfiguration.getPinnedThreshold()
+                    );
+                }
+                return threadPerTask;
 
             default:
                 throw new IllegalStateException("Could not create Executor service for enum value: " + executorType);
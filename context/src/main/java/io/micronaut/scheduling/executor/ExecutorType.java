@@ -47,5 +47,29 @@ public enum ExecutorType {
     /**
      * @see java.util.concurrent.Executors#newThreadPerTaskExecutor()
      */
-    THREAD_PER_TASK
+    THREAD_PER_TASK,
+
+    /**
+     * A fixed thread pool with a bounded queue, that applies a {@link RejectionPolicy} once the queue is full.
+     *
+     * @see java.util.concurrent.ThreadPoolExecutor
+     * @since 4.0.0
+     */
+    BOUNDED,
+
+    /**
+     * A fixed thread pool whose queued tasks run in {@link TaskPriority} order.
+     *
+     * @see java.util.concurrent.PriorityBlockingQueue
+     * @since 4.0.0
+     */
+    PRIORITY,
+
+    /**
+     * A pool split into lanes of a few threads, where the tasks of a submitting thread always go to the same lane.
+     *
+     * @see AffinityExecutorService
+     * @since 4.0.0
+     */
+    AFFINITY
 }
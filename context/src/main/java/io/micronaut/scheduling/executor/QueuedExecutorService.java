@@ -0,0 +1,355 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.scheduling.instrument.Histogram;
+import io.micronaut.scheduling.instrument.InstrumentedExecutorService;
+import io.micronaut.scheduling.instrument.QueueMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed thread pool for the {@link ExecutorType#BOUNDED} and {@link ExecutorType#PRIORITY} executor types. Tasks
+ * wait in a queue of a given capacity, and the configured {@link RejectionPolicy} applies once the queue is full.
+ * When the pool is prioritized, queued tasks run in {@link TaskPriority} order, captured when they are submitted.
+ *
+ * <p>The executor keeps track of its queue depth and of the time tasks wait in the queue, which are available
+ * through {@link #getQueueMetrics()}.</p>
+ *
+ * @since 4.0.0
+ */
+public final class QueuedExecutorService implements InstrumentedExecutorService, QueueMetrics {
+
+    private static final int QUEUE_DEPTH_BUCKETS = 32;
+    // the last bucket starts at 2^30 microseconds, about 18 minutes
+    private static final int WAIT_TIME_BUCKETS = 32;
+
+    private final QueueExecutor target;
+    private final int queueCapacity;
+    private final boolean prioritized;
+    private final RejectionPolicy rejectionPolicy;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    private final Histogram queueDepth = new Histogram(QUEUE_DEPTH_BUCKETS);
+    private final Histogram waitTime = new Histogram(WAIT_TIME_BUCKETS);
+
+    /**
+     * @param nThreads        The number of threads
+     * @param queueCapacity   The maximum number of queued tasks, or {@code null} for an unbounded queue
+     * @param prioritized     Whether queued tasks run in {@link TaskPriority} order instead of submission order
+     * @param rejectionPolicy The policy applied when the queue is full, {@link RejectionPolicy#ABORT} if {@code null}
+     * @param threadFactory   The thread factory
+     */
+    public QueuedExecutorService(int nThreads,
+                                 @Nullable Integer queueCapacity,
+                                 boolean prioritized,
+                                 @Nullable RejectionPolicy rejectionPolicy,
+                                 @NonNull ThreadFactory threadFactory) {
+        this.queueCapacity = queueCapacity == null || queueCapacity < 1 ? Integer.MAX_VALUE : queueCapacity;
+        this.prioritized = prioritized;
+        this.rejectionPolicy = rejectionPolicy == null ? RejectionPolicy.ABORT : rejectionPolicy;
+        BlockingQueue<Runnable> queue;
+        if (prioritized) {
+            queue = new BoundedPriorityQueue(this.queueCapacity);
+        } else if (this.queueCapacity == Integer.MAX_VALUE) {
+            queue = new LinkedBlockingQueue<>();
+        } else {
+            queue = new ArrayBlockingQueue<>(this.queueCapacity);
+        }
+        this.target = new QueueExecutor(nThreads, queue, threadFactory, this::reject);
+    }
+
+    @Override
+    public ExecutorService getTarget() {
+        return target;
+    }
+
+    @Override
+    public Optional<QueueMetrics> getQueueMetrics() {
+        return Optional.of(this);
+    }
+
+    /**
+     * @return Whether queued tasks run in {@link TaskPriority} order
+     */
+    public boolean isPrioritized() {
+        return prioritized;
+    }
+
+    /**
+     * @return The policy applied when the queue is full
+     */
+    @NonNull
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return target.getQueue().size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    @NonNull
+    public Histogram getQueueDepthHistogram() {
+        return queueDepth;
+    }
+
+    @Override
+    @NonNull
+    public Histogram getWaitTimeHistogram() {
+        return waitTime;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> queued = target.shutdownNow();
+        List<Runnable> tasks = new ArrayList<>(queued.size());
+        for (Runnable runnable : queued) {
+            tasks.add(runnable instanceof QueuedTask ? ((QueuedTask) runnable).task : runnable);
+        }
+        return tasks;
+    }
+
+    private void reject(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        rejected.increment();
+        switch (rejectionPolicy) {
+            case CALLER_RUNS:
+                task.run();
+                break;
+            case DISCARD_OLDEST:
+                shed(task, executor);
+                break;
+            case ABORT:
+            default:
+                throw new RejectedExecutionException("Task rejected because the executor queue of capacity " + queueCapacity + " is full");
+        }
+    }
+
+    private void shed(Runnable task, ThreadPoolExecutor executor) {
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        Runnable shed;
+        if (prioritized) {
+            QueuedRunnable last = (QueuedRunnable) task;
+            for (Runnable queued : queue) {
+                if (((QueuedRunnable) queued).compareTo(last) > 0) {
+                    last = (QueuedRunnable) queued;
+                }
+            }
+            shed = last == task || queue.remove(last) ? last : null;
+        } else {
+            shed = queue.poll();
+        }
+        if (shed instanceof Future) {
+            ((Future<?>) shed).cancel(false);
+        }
+        if (shed != task) {
+            executor.execute(task);
+        }
+    }
+
+    /**
+     * A task waiting in the queue.
+     */
+    private interface QueuedRunnable extends Runnable, Comparable<QueuedRunnable> {
+
+        /**
+         * @return The priority captured when the task was submitted
+         */
+        int priority();
+
+        /**
+         * @return The submission order of the task
+         */
+        long sequence();
+
+        /**
+         * @return The {@link System#nanoTime()} at which the task was submitted
+         */
+        long submittedAt();
+
+        @Override
+        default int compareTo(QueuedRunnable other) {
+            int result = Integer.compare(other.priority(), priority());
+            return result != 0 ? result : Long.compare(sequence(), other.sequence());
+        }
+    }
+
+    /**
+     * A task passed to {@link java.util.concurrent.Executor#execute(Runnable)}.
+     */
+    private static final class QueuedTask implements QueuedRunnable {
+        private final Runnable task;
+        private final int priority;
+        private final long sequence;
+        private final long submittedAt = System.nanoTime();
+
+        QueuedTask(Runnable task, int priority, long sequence) {
+            this.task = task;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+
+        @Override
+        public long sequence() {
+            return sequence;
+        }
+
+        @Override
+        public long submittedAt() {
+            return submittedAt;
+        }
+    }
+
+    /**
+     * A task submitted through one of the {@code submit} or {@code invoke} methods.
+     *
+     * @param <T> The result type
+     */
+    private static final class QueuedFutureTask<T> extends FutureTask<T> implements QueuedRunnable {
+        private final int priority;
+        private final long sequence;
+        private final long submittedAt = System.nanoTime();
+
+        QueuedFutureTask(Callable<T> callable, int priority, long sequence) {
+            super(callable);
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        QueuedFutureTask(Runnable runnable, T result, int priority, long sequence) {
+            super(runnable, result);
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+
+        @Override
+        public long sequence() {
+            return sequence;
+        }
+
+        @Override
+        public long submittedAt() {
+            return submittedAt;
+        }
+    }
+
+    /**
+     * A priority queue that accepts at most a given number of tasks.
+     */
+    private static final class BoundedPriorityQueue extends PriorityBlockingQueue<Runnable> {
+        private final int capacity;
+
+        BoundedPriorityQueue(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public synchronized boolean offer(Runnable runnable) {
+            // offers are serialized so that the capacity check and the insertion are atomic, removals only shrink the queue
+            return size() < capacity && super.offer(runnable);
+        }
+
+        @Override
+        public int remainingCapacity() {
+            return capacity == Integer.MAX_VALUE ? Integer.MAX_VALUE : Math.max(0, capacity - size());
+        }
+    }
+
+    /**
+     * The thread pool that wraps every task so that it can be ordered and timed.
+     */
+    private final class QueueExecutor extends ThreadPoolExecutor {
+
+        QueueExecutor(int nThreads, BlockingQueue<Runnable> queue, ThreadFactory threadFactory, RejectedExecutionHandler handler) {
+            super(nThreads, nThreads, 0L, TimeUnit.MILLISECONDS, queue, threadFactory, handler);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            Objects.requireNonNull(command, "command");
+            Runnable task = command instanceof QueuedRunnable ? command : new QueuedTask(command, TaskPriority.current(), sequence.getAndIncrement());
+            queueDepth.record(getQueue().size());
+            super.execute(task);
+        }
+
+        @Override
+        protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+            return new QueuedFutureTask<>(runnable, value, TaskPriority.current(), sequence.getAndIncrement());
+        }
+
+        @Override
+        protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+            return new QueuedFutureTask<>(callable, TaskPriority.current(), sequence.getAndIncrement());
+        }
+
+        @Override
+        protected void beforeExecute(Thread thread, Runnable runnable) {
+            if (runnable instanceof QueuedRunnable) {
+                waitTime.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - ((QueuedRunnable) runnable).submittedAt()));
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor;
+
+/**
+ * The policy applied when a task is submitted to a {@link ExecutorType#BOUNDED} or {@link ExecutorType#PRIORITY}
+ * executor whose queue is full.
+ *
+ * @since 4.0.0
+ */
+public enum RejectionPolicy {
+
+    /**
+     * Rejects the task with a {@link java.util.concurrent.RejectedExecutionException}.
+     *
+     * @see java.util.concurrent.ThreadPoolExecutor.AbortPolicy
+     */
+    ABORT,
+
+    /**
+     * Runs the task on the thread that submitted it, which slows down the producer.
+     *
+     * @see java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy
+     */
+    CALLER_RUNS,
+
+    /**
+     * Sheds the oldest queued task to make room for the new one. A {@link ExecutorType#PRIORITY} executor instead
+     * sheds the task that would run last, which may be the new task itself. The future of a shed task is cancelled,
+     * while a shed task that was passed to {@link java.util.concurrent.Executor#execute(Runnable)} is dropped.
+     */
+    DISCARD_OLDEST
+}
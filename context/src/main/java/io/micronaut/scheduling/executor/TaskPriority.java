@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Holds the priority of the tasks submitted by the current thread to a {@link ExecutorType#PRIORITY} executor.
+ * Tasks with a higher priority run first, and tasks of equal priority run in submission order.
+ *
+ * <pre>
+ * TaskPriority.run(TaskPriority.HIGH, () -&gt; executor.execute(task));
+ * </pre>
+ *
+ * @since 4.0.0
+ */
+public final class TaskPriority {
+
+    /**
+     * The priority of tasks submitted outside of {@link #run(int, Runnable)}.
+     */
+    public static final int NORMAL = 0;
+
+    /**
+     * A priority for tasks that should run before normal tasks.
+     */
+    public static final int HIGH = 10;
+
+    /**
+     * A priority for tasks that should run after normal tasks.
+     */
+    public static final int LOW = -10;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private TaskPriority() {
+    }
+
+    /**
+     * @return The priority of the tasks submitted by the current thread
+     */
+    public static int current() {
+        Integer priority = CURRENT.get();
+        return priority == null ? NORMAL : priority;
+    }
+
+    /**
+     * Runs the given action with the given priority applied to the tasks it submits.
+     *
+     * @param priority The priority
+     * @param action   The action that submits tasks
+     */
+    public static void run(int priority, @NonNull Runnable action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls the given action with the given priority applied to the tasks it submits.
+     *
+     * @param priority The priority
+     * @param action   The action that submits tasks
+     * @param <T>      The result type
+     * @return The result of the action
+     * @throws Exception if the action fails
+     */
+    public static <T> T call(int priority, @NonNull Callable<T> action) throws Exception {
+        Integer previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return action.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
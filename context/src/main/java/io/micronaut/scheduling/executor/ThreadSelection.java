@@ -43,5 +43,14 @@ public enum ThreadSelection {
     /**
      * I/O selection will run all operations regardless of return type and annotations on the {@link io.micronaut.scheduling.TaskExecutors#BLOCKING blocking executor} and will never schedule an operation on the server event loop thread.
      */
-    BLOCKING
+    BLOCKING,
+    /**
+     * Virtual selection runs blocking operations, selected as for {@link #AUTO}, on the {@link io.micronaut.scheduling.TaskExecutors#VIRTUAL virtual executor},
+     * so that each of them gets its own virtual thread. Operations that return a reactive type are run on the server event loop thread.
+     *
+     * <p>This requires a JVM that supports virtual threads.</p>
+     *
+     * @since 4.0.0
+     */
+    VIRTUAL
 }
@@ -23,6 +23,7 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.ArgumentUtils;
 
 import javax.validation.constraints.Min;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 
@@ -40,6 +41,12 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
      */
     public static final int AVAILABLE_PROCESSORS = Runtime.getRuntime().availableProcessors();
 
+    /**
+     * The default queue size of a {@link io.micronaut.scheduling.executor.ExecutorType#BOUNDED} executor.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
     protected String name;
     // needs to be protected to allow for nThreads to be set in config
     @SuppressWarnings("WeakerAccess")
@@ -49,6 +56,10 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
     private Integer corePoolSize;
     private boolean virtual;
     private Class<? extends ThreadFactory> threadFactoryClass;
+    private Integer maxConcurrency;
+    private Duration pinnedThreshold;
+    private Integer queueSize;
+    private RejectionPolicy rejectionPolicy;
 
     /**
      * Private Constructor.
@@ -56,7 +67,7 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
      * @param name The name
      */
     private UserExecutorConfiguration(@Parameter String name) {
-        this(name, null, null, null, null, false, null);
+        this(name, null, null, null, null, false, null, null, null, null, null);
     }
 
     /**
@@ -70,7 +81,6 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
      * @param virtual whether to use virtual threads
      * @param threadFactoryClass the thread factory class
      */
-    @ConfigurationInject
     protected UserExecutorConfiguration(@Nullable @Parameter String name,
                                         @Nullable Integer nThreads,
                                         @Nullable ExecutorType type,
@@ -78,6 +88,63 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
                                         @Nullable Integer corePoolSize,
                                         @Nullable Boolean virtual,
                                         @Nullable Class<? extends ThreadFactory> threadFactoryClass) {
+        this(name, nThreads, type, parallelism, corePoolSize, virtual, threadFactoryClass, null, null);
+    }
+
+    /**
+     * Default Constructor.
+     *
+     * @param name the name
+     * @param nThreads number of threads
+     * @param type the type
+     * @param parallelism the parallelism
+     * @param corePoolSize the core pool size
+     * @param virtual whether to use virtual threads
+     * @param threadFactoryClass the thread factory class
+     * @param maxConcurrency the maximum number of tasks running at once on virtual threads
+     * @param pinnedThreshold the duration above which pinned virtual threads are reported
+     * @since 4.0.0
+     */
+    protected UserExecutorConfiguration(@Nullable @Parameter String name,
+                                        @Nullable Integer nThreads,
+                                        @Nullable ExecutorType type,
+                                        @Nullable Integer parallelism,
+                                        @Nullable Integer corePoolSize,
+                                        @Nullable Boolean virtual,
+                                        @Nullable Class<? extends ThreadFactory> threadFactoryClass,
+                                        @Nullable Integer maxConcurrency,
+                                        @Nullable Duration pinnedThreshold) {
+        this(name, nThreads, type, parallelism, corePoolSize, virtual, threadFactoryClass, maxConcurrency, pinnedThreshold, null, null);
+    }
+
+    /**
+     * Default Constructor.
+     *
+     * @param name the name
+     * @param nThreads number of threads
+     * @param type the type
+     * @param parallelism the parallelism
+     * @param corePoolSize the core pool size
+     * @param virtual whether to use virtual threads
+     * @param threadFactoryClass the thread factory class
+     * @param maxConcurrency the maximum number of tasks running at once on virtual threads
+     * @param pinnedThreshold the duration above which pinned virtual threads are reported
+     * @param queueSize the maximum number of queued tasks of a bounded or priority executor
+     * @param rejectionPolicy the policy applied when the queue of a bounded or priority executor is full
+     * @since 4.0.0
+     */
+    @ConfigurationInject
+    protected UserExecutorConfiguration(@Nullable @Parameter String name,
+                                        @Nullable Integer nThreads,
+                                        @Nullable ExecutorType type,
+                                        @Nullable Integer parallelism,
+                                        @Nullable Integer corePoolSize,
+                                        @Nullable Boolean virtual,
+                                        @Nullable Class<? extends ThreadFactory> threadFactoryClass,
+                                        @Nullable Integer maxConcurrency,
+                                        @Nullable Duration pinnedThreshold,
+                                        @Nullable Integer queueSize,
+                                        @Nullable RejectionPolicy rejectionPolicy) {
         this.name = name;
         this.nThreads = nThreads == null ? AVAILABLE_PROCESSORS * 2 : nThreads;
         this.type = type == null ? ExecutorType.SCHEDULED : type;
@@ -85,6 +152,10 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
         this.corePoolSize = corePoolSize == null ? AVAILABLE_PROCESSORS * 2 : corePoolSize;
         this.virtual = virtual == null ? false : virtual;
         this.threadFactoryClass = threadFactoryClass;
+        this.maxConcurrency = maxConcurrency;
+        this.pinnedThreshold = pinnedThreshold;
+        this.queueSize = queueSize;
+        this.rejectionPolicy = rejectionPolicy;
     }
 
     @NonNull
@@ -133,6 +204,30 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
         return Optional.ofNullable(threadFactoryClass);
     }
 
+    @Nullable
+    @Override
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Nullable
+    @Override
+    public Duration getPinnedThreshold() {
+        return pinnedThreshold;
+    }
+
+    @Nullable
+    @Override
+    public Integer getQueueSize() {
+        return queueSize;
+    }
+
+    @Nullable
+    @Override
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
     /**
      * Sets the executor name.
      *
@@ -154,7 +249,7 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
     }
 
     /**
-     * Sets the parallelism for {@link io.micronaut.scheduling.executor.ExecutorType#WORK_STEALING}. Default value (Number of processors available to the Java virtual machine).
+     * Sets the parallelism for {@link io.micronaut.scheduling.executor.ExecutorType#WORK_STEALING}, or the number of lanes for {@link io.micronaut.scheduling.executor.ExecutorType#AFFINITY}. Default value (Number of processors available to the Java virtual machine).
      *
      * @param parallelism The parallelism
      */
@@ -165,7 +260,7 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
     }
 
     /**
-     * Sets the number of threads for {@link io.micronaut.scheduling.executor.ExecutorType#FIXED}. Default value (2 * Number of processors available to the Java virtual machine).
+     * Sets the number of threads for {@link io.micronaut.scheduling.executor.ExecutorType#FIXED}, {@link io.micronaut.scheduling.executor.ExecutorType#BOUNDED}, {@link io.micronaut.scheduling.executor.ExecutorType#PRIORITY} and {@link io.micronaut.scheduling.executor.ExecutorType#AFFINITY}. Default value (2 * Number of processors available to the Java virtual machine).
      *
      * @param nThreads The number of threads
      */
@@ -196,6 +291,50 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
         this.threadFactoryClass = threadFactoryClass;
     }
 
+    /**
+     * Sets the maximum number of tasks running at once on a virtual {@link io.micronaut.scheduling.executor.ExecutorType#THREAD_PER_TASK} executor.
+     * Tasks submitted beyond this limit are queued. Default value (no limit).
+     *
+     * @param maxConcurrency The maximum number of tasks running at once
+     * @since 4.0.0
+     */
+    public void setMaxConcurrency(Integer maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Sets the duration above which a virtual thread pinned to its carrier thread is logged and counted. Pinning
+     * detection relies on the flight recorder and is disabled by default.
+     *
+     * @param pinnedThreshold The pinned threshold
+     * @since 4.0.0
+     */
+    public void setPinnedThreshold(Duration pinnedThreshold) {
+        this.pinnedThreshold = pinnedThreshold;
+    }
+
+    /**
+     * Sets the maximum number of queued tasks of a {@link io.micronaut.scheduling.executor.ExecutorType#BOUNDED} or
+     * {@link io.micronaut.scheduling.executor.ExecutorType#PRIORITY} executor. Default value ({@value #DEFAULT_QUEUE_SIZE} for a bounded executor, no limit for a priority executor).
+     *
+     * @param queueSize The queue size
+     * @since 4.0.0
+     */
+    public void setQueueSize(Integer queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Sets the policy applied when the queue of a {@link io.micronaut.scheduling.executor.ExecutorType#BOUNDED} or
+     * {@link io.micronaut.scheduling.executor.ExecutorType#PRIORITY} executor is full. Default value ({@link RejectionPolicy#ABORT}).
+     *
+     * @param rejectionPolicy The rejection policy
+     * @since 4.0.0
+     */
+    public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
     /**
      * Construct a {@link UserExecutorConfiguration} for the given {@link io.micronaut.scheduling.executor.ExecutorType}.
      *
@@ -228,7 +367,7 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
      * Construct a {@link UserExecutorConfiguration} for the given {@link io.micronaut.scheduling.executor.ExecutorType}.
      *
      * @param type The type
-     * @param num  The number of threads for {@link io.micronaut.scheduling.executor.ExecutorType#FIXED} or the parallelism for
+     * @param num  The number of threads for {@link io.micronaut.scheduling.executor.ExecutorType#FIXED}, {@link io.micronaut.scheduling.executor.ExecutorType#BOUNDED} and {@link io.micronaut.scheduling.executor.ExecutorType#PRIORITY} or the parallelism for
      *             {@link io.micronaut.scheduling.executor.ExecutorType#WORK_STEALING} or the core pool size for {@link io.micronaut.scheduling.executor.ExecutorType#SCHEDULED}
      * @return The configuration
      */
@@ -238,6 +377,8 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
         configuration.type = type;
         switch (type) {
             case FIXED:
+            case BOUNDED:
+            case PRIORITY:
                 configuration.nThreads = num;
                 break;
             case SCHEDULED:
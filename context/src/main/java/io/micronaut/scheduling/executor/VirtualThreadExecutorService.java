@@ -0,0 +1,224 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link ExecutorService} that starts a virtual thread per task, with at most {@link #getMaxConcurrency()} tasks
+ * running at once. Tasks submitted beyond that limit wait in a queue, without holding a thread, until a running task
+ * completes.
+ *
+ * <p>When a pinning threshold is configured, the executor also counts how often its threads were pinned to their
+ * carrier thread for longer than the threshold, for example while blocking inside a {@code synchronized} block.</p>
+ *
+ * @since 4.0.0
+ */
+public final class VirtualThreadExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final int maxConcurrency;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder pinned = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private volatile boolean shutdown;
+
+    /**
+     * @param delegate         The executor that starts a thread per task
+     * @param threadNamePrefix The prefix of the names of the threads started by the delegate
+     * @param maxConcurrency   The maximum number of tasks running at once, or {@code null} for no limit
+     * @param pinnedThreshold  The duration above which pinning is counted, or {@code null} to disable pinning detection
+     */
+    public VirtualThreadExecutorService(@NonNull ExecutorService delegate,
+                                        @NonNull String threadNamePrefix,
+                                        @Nullable Integer maxConcurrency,
+                                        @Nullable Duration pinnedThreshold) {
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency == null || maxConcurrency < 1 ? Integer.MAX_VALUE : maxConcurrency;
+        this.pinningMonitor = pinnedThreshold != null ? VirtualThreadPinningMonitor.start(threadNamePrefix, pinnedThreshold, this::onPinned) : null;
+    }
+
+    /**
+     * @return The maximum number of tasks running at once
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return The number of tasks currently running
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * @return The number of tasks waiting for a running task to complete
+     */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * @return The number of completed tasks
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * @return The number of times a thread of this executor was pinned to its carrier for longer than the threshold
+     */
+    public long getPinnedCount() {
+        return pinned.sum();
+    }
+
+    /**
+     * @return The total time the threads of this executor were pinned to their carrier for longer than the threshold
+     */
+    @NonNull
+    public Duration getPinnedTime() {
+        return Duration.ofNanos(pinnedNanos.sum());
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        if (queued.get() == 0 && tryAcquire()) {
+            start(command);
+        } else {
+            queued.incrementAndGet();
+            pending.add(command);
+            drain();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (pinningMonitor != null) {
+            pinningMonitor.close();
+        }
+        drain();
+    }
+
+    @NonNull
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> tasks = new ArrayList<>();
+        Runnable task;
+        while ((task = pending.poll()) != null) {
+            queued.decrementAndGet();
+            tasks.add(task);
+        }
+        tasks.addAll(delegate.shutdownNow());
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    private void onPinned(Duration duration) {
+        pinned.increment();
+        pinnedNanos.add(duration.toNanos());
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = active.get();
+            if (current >= maxConcurrency) {
+                return false;
+            }
+            if (active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void start(Runnable command) {
+        try {
+            delegate.execute(() -> run(command));
+        } catch (RejectedExecutionException e) {
+            active.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void run(Runnable command) {
+        try {
+            command.run();
+        } finally {
+            completed.increment();
+            active.decrementAndGet();
+            drain();
+        }
+    }
+
+    /**
+     * Starts queued tasks while permits are available. Both submitting and completing tasks end with a call to this
+     * method, so a queued task is never left behind while a permit is free.
+     */
+    private void drain() {
+        while (!pending.isEmpty() && tryAcquire()) {
+            Runnable next = pending.poll();
+            if (next == null) {
+                active.decrementAndGet();
+                continue;
+            }
+            try {
+                start(next);
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+        if (shutdown && queued.get() == 0 && !delegate.isShutdown()) {
+            // queued tasks run before the delegate stops accepting them
+            delegate.shutdown();
+        }
+    }
+}
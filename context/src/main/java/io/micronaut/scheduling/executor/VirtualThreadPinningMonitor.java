@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Listens to the {@code jdk.VirtualThreadPinned} flight recorder event for the threads whose name starts with a given
+ * prefix.
+ *
+ * @since 4.0.0
+ */
+final class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final RecordingStream stream;
+
+    private VirtualThreadPinningMonitor(RecordingStream stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    /**
+     * Starts listening to pinning events.
+     *
+     * @param threadNamePrefix The prefix of the names of the monitored threads
+     * @param threshold        The duration above which pinning is reported
+     * @param listener         Receives the duration of every reported pinning
+     * @return The monitor, or {@code null} if the flight recorder is not available
+     */
+    static VirtualThreadPinningMonitor start(String threadNamePrefix, Duration threshold, Consumer<Duration> listener) {
+        RecordingStream stream;
+        try {
+            stream = new RecordingStream();
+        } catch (RuntimeException | LinkageError e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Virtual thread pinning detection is not available: {}", e.getMessage());
+            }
+            return null;
+        }
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, event -> {
+            RecordedThread thread = event.getThread();
+            String name = thread != null ? thread.getJavaName() : null;
+            if (name != null && name.startsWith(threadNamePrefix)) {
+                listener.accept(event.getDuration());
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Virtual thread {} was pinned to its carrier thread for {}ms at {}", name, event.getDuration().toMillis(), topFrame(event));
+                }
+            }
+        });
+        stream.startAsync();
+        return new VirtualThreadPinningMonitor(stream);
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null) {
+            List<RecordedFrame> frames = stackTrace.getFrames();
+            for (RecordedFrame frame : frames) {
+                String type = frame.getMethod().getType().getName();
+                // skip the frames of the JDK that park the thread
+                if (frame.isJavaFrame() && !type.startsWith("java.") && !type.startsWith("jdk.")) {
+                    return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+                }
+            }
+        }
+        return "<unknown>";
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free histogram of non-negative values with exponential buckets. Bucket {@code i} counts the values up to
+ * {@code 2^i}, and the last bucket also counts every larger value.
+ *
+ * @since 4.0.0
+ */
+public final class Histogram {
+
+    private final long[] bounds;
+    private final LongAdder[] buckets;
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param bucketCount The number of buckets, between 1 and 63
+     */
+    public Histogram(int bucketCount) {
+        if (bucketCount < 1 || bucketCount >= Long.SIZE) {
+            throw new IllegalArgumentException("Bucket count must be between 1 and 63: " + bucketCount);
+        }
+        this.bounds = new long[bucketCount];
+        this.buckets = new LongAdder[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            bounds[i] = 1L << i;
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value The value
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        int index = value <= 1 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(value - 1);
+        buckets[Math.min(index, buckets.length - 1)].increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @return The inclusive upper bound of each bucket
+     */
+    @NonNull
+    public long[] getBucketBounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * @return The number of values recorded in each bucket
+     */
+    @NonNull
+    public long[] getBucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * @return The number of recorded values
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @return The sum of the recorded values
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return The largest recorded value
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Estimates the value below which the given fraction of the recorded values fall, as the upper bound of the
+     * bucket that contains it.
+     *
+     * @param quantile The quantile, between 0 and 1
+     * @return The estimated value, or 0 if no value was recorded
+     */
+    public long getValueAtQuantile(double quantile) {
+        long[] counts = getBucketCounts();
+        long count = 0;
+        for (long c : counts) {
+            count += c;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(Math.max(quantile, 0), 1) * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length - 1; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bounds[i], getMax());
+            }
+        }
+        return getMax();
+    }
+}
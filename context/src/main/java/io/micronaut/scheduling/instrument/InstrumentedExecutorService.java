@@ -18,6 +18,7 @@ package io.micronaut.scheduling.instrument;
 import io.micronaut.core.annotation.NonNull;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
@@ -49,6 +50,21 @@ public interface InstrumentedExecutorService extends ExecutorService, Instrument
         return task;
     }
 
+    /**
+     * Returns the metrics of the task queue of this executor, if the target executor keeps track of them. By default
+     * the metrics of the target are returned when the target is itself an {@link InstrumentedExecutorService}.
+     *
+     * @return The queue metrics
+     * @since 4.0.0
+     */
+    default Optional<QueueMetrics> getQueueMetrics() {
+        ExecutorService target = getTarget();
+        if (target instanceof InstrumentedExecutorService && target != this) {
+            return ((InstrumentedExecutorService) target).getQueueMetrics();
+        }
+        return Optional.empty();
+    }
+
     @Override
     default void shutdown() {
         getTarget().shutdown();
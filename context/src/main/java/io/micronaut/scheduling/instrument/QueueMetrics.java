@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Metrics of the task queue of an {@link InstrumentedExecutorService}.
+ *
+ * @see InstrumentedExecutorService#getQueueMetrics()
+ * @since 4.0.0
+ */
+public interface QueueMetrics {
+
+    /**
+     * @return The number of tasks currently waiting in the queue
+     */
+    int getQueueDepth();
+
+    /**
+     * @return The maximum number of tasks that may wait in the queue, or {@link Integer#MAX_VALUE} if the queue is unbounded
+     */
+    int getQueueCapacity();
+
+    /**
+     * @return The number of tasks that were rejected or shed because the queue was full
+     */
+    long getRejectedCount();
+
+    /**
+     * @return The histogram of the queue depth, sampled whenever a task is queued
+     */
+    @NonNull
+    Histogram getQueueDepthHistogram();
+
+    /**
+     * @return The histogram of the time, in microseconds, tasks spent in the queue before they started
+     */
+    @NonNull
+    Histogram getWaitTimeHistogram();
+}
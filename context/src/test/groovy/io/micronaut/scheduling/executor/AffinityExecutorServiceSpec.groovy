@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor
+
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+class AffinityExecutorServiceSpec extends Specification {
+
+    @AutoCleanup('shutdownNow')
+    AffinityExecutorService executor = new AffinityExecutorService(2, 1, Executors.defaultThreadFactory())
+
+    @AutoCleanup('shutdownNow')
+    ExecutorService submitters = Executors.newFixedThreadPool(2)
+
+    void "test the tasks of a submitting thread run on the lane of that thread"() {
+        when:
+        Set<Thread> first = workersOf { Closure<?> tasks -> submitters.submit({ tasks() } as Runnable).get() }
+        Set<Thread> second = workersOf { Closure<?> tasks -> Thread.start { tasks() }.join() }
+
+        then:
+        first.size() == 1
+        second.size() == 1
+        first != second
+        executor.stolenCount == 0
+    }
+
+    void "test idle workers steal from a backlogged lane"() {
+        given:
+        CountDownLatch release = new CountDownLatch(1)
+        CountDownLatch started = new CountDownLatch(2)
+        Set<Thread> threads = ConcurrentHashMap.newKeySet()
+
+        when:
+        4.times {
+            executor.execute {
+                threads << Thread.currentThread()
+                started.countDown()
+                release.await()
+            }
+        }
+
+        then:
+        started.await(10, TimeUnit.SECONDS)
+        threads.size() == 2
+        executor.stolenCount > 0
+
+        cleanup:
+        release.countDown()
+    }
+
+    void "test a task queued behind a blocked worker runs on another lane"() {
+        given:
+        CountDownLatch release = new CountDownLatch(1)
+        CountDownLatch started = new CountDownLatch(1)
+        CountDownLatch done = new CountDownLatch(1)
+        Thread blocked = null
+        Thread other = null
+
+        when:
+        executor.execute {
+            blocked = Thread.currentThread()
+            started.countDown()
+            release.await()
+        }
+        started.await(10, TimeUnit.SECONDS)
+        // submitted from the same thread, so it goes to the lane whose only worker is blocked
+        executor.execute {
+            other = Thread.currentThread()
+            done.countDown()
+        }
+
+        then:
+        done.await(10, TimeUnit.SECONDS)
+        other != blocked
+        executor.stolenCount == 1
+
+        cleanup:
+        release.countDown()
+    }
+
+    void "test shutdown runs the queued tasks"() {
+        given:
+        CountDownLatch release = new CountDownLatch(1)
+        CountDownLatch done = new CountDownLatch(3)
+        3.times {
+            executor.execute {
+                release.await()
+                done.countDown()
+            }
+        }
+
+        when:
+        executor.shutdown()
+        executor.execute {}
+
+        then:
+        thrown(RejectedExecutionException)
+        executor.shutdown
+        !executor.terminated
+
+        when:
+        release.countDown()
+
+        then:
+        done.await(10, TimeUnit.SECONDS)
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+        executor.terminated
+        executor.queuedCount == 0
+    }
+
+    void "test shutdownNow returns the queued tasks"() {
+        given:
+        CountDownLatch release = new CountDownLatch(1)
+        CountDownLatch started = new CountDownLatch(2)
+        3.times {
+            executor.execute {
+                started.countDown()
+                release.await(10, TimeUnit.SECONDS)
+            }
+        }
+        started.await(10, TimeUnit.SECONDS)
+        Runnable queued = {}
+        executor.execute(queued)
+
+        when:
+        List<Runnable> remaining = executor.shutdownNow()
+
+        then:
+        remaining.size() == 2
+        remaining.contains(queued)
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+    }
+
+    /**
+     * Submits ten tasks one after the other from the thread the given closure runs them on.
+     */
+    private Set<Thread> workersOf(Closure<?> onThread) {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet()
+        onThread {
+            10.times {
+                CountDownLatch done = new CountDownLatch(1)
+                executor.execute {
+                    threads << Thread.currentThread()
+                    done.countDown()
+                }
+                done.await()
+            }
+        }
+        return threads
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor
+
+import io.micronaut.scheduling.instrument.Histogram
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+class QueuedExecutorServiceSpec extends Specification {
+
+    CountDownLatch release = new CountDownLatch(1)
+
+    @AutoCleanup('shutdownNow')
+    QueuedExecutorService executor
+
+    void "test a full queue rejects tasks with the abort policy"() {
+        given:
+        executor = new QueuedExecutorService(1, 1, false, RejectionPolicy.ABORT, Executors.defaultThreadFactory())
+        Future<?> running = executor.submit({ release.await() } as Runnable)
+        Future<?> queued = executor.submit({} as Runnable)
+
+        when:
+        executor.submit({} as Runnable)
+
+        then:
+        thrown(RejectedExecutionException)
+        executor.queueMetrics.get().is(executor)
+        executor.queueDepth == 1
+        executor.queueCapacity == 1
+        executor.rejectedCount == 1
+
+        when:
+        release.countDown()
+        queued.get(10, TimeUnit.SECONDS)
+
+        then:
+        running.done
+        executor.queueDepth == 0
+        executor.waitTimeHistogram.count == 2
+        executor.queueDepthHistogram.count == 3
+        executor.queueDepthHistogram.max == 1
+    }
+
+    void "test a full queue runs tasks on the caller with the caller runs policy"() {
+        given:
+        executor = new QueuedExecutorService(1, 1, false, RejectionPolicy.CALLER_RUNS, Executors.defaultThreadFactory())
+        executor.execute { release.await() }
+        executor.execute {}
+        Thread caller = Thread.currentThread()
+        Thread ran = null
+
+        when:
+        executor.execute { ran = Thread.currentThread() }
+
+        then:
+        ran == caller
+        executor.rejectedCount == 1
+
+        cleanup:
+        release.countDown()
+    }
+
+    void "test a full queue sheds the oldest task with the discard oldest policy"() {
+        given:
+        executor = new QueuedExecutorService(1, 1, false, RejectionPolicy.DISCARD_OLDEST, Executors.defaultThreadFactory())
+        executor.submit({ release.await() } as Runnable)
+        Future<String> oldest = executor.submit({ "oldest" } as Callable<String>)
+
+        when:
+        Future<String> newest = executor.submit({ "newest" } as Callable<String>)
+        release.countDown()
+
+        then:
+        newest.get(10, TimeUnit.SECONDS) == "newest"
+        oldest.cancelled
+        executor.rejectedCount == 1
+
+        when:
+        oldest.get()
+
+        then:
+        thrown(CancellationException)
+    }
+
+    void "test queued tasks run in priority order"() {
+        given:
+        executor = new QueuedExecutorService(1, null, true, null, Executors.defaultThreadFactory())
+        List<String> order = new CopyOnWriteArrayList<>()
+        CountDownLatch done = new CountDownLatch(4)
+        executor.execute { release.await() }
+
+        when:
+        TaskPriority.run(TaskPriority.LOW) { executor.execute { order << "low"; done.countDown() } }
+        executor.execute { order << "normal-1"; done.countDown() }
+        TaskPriority.run(TaskPriority.HIGH) { executor.submit({ order << "high"; done.countDown() } as Runnable) }
+        executor.execute { order << "normal-2"; done.countDown() }
+        release.countDown()
+
+        then:
+        done.await(10, TimeUnit.SECONDS)
+        order == ["high", "normal-1", "normal-2", "low"]
+        executor.prioritized
+        executor.queueCapacity == Integer.MAX_VALUE
+        TaskPriority.current() == TaskPriority.NORMAL
+    }
+
+    void "test a full priority queue sheds the task that would run last"() {
+        given:
+        executor = new QueuedExecutorService(1, 1, true, RejectionPolicy.DISCARD_OLDEST, Executors.defaultThreadFactory())
+        executor.submit({ release.await() } as Runnable)
+        Future<String> normal = executor.submit({ "normal" } as Callable<String>)
+
+        when:
+        Future<String> low = TaskPriority.call(TaskPriority.LOW) { executor.submit({ "low" } as Callable<String>) }
+
+        then:
+        low.cancelled
+        !normal.cancelled
+
+        when:
+        Future<String> high = TaskPriority.call(TaskPriority.HIGH) { executor.submit({ "high" } as Callable<String>) }
+        release.countDown()
+
+        then:
+        high.get(10, TimeUnit.SECONDS) == "high"
+        normal.cancelled
+        executor.rejectedCount == 2
+    }
+
+    void "test shutdownNow returns the queued tasks"() {
+        given:
+        executor = new QueuedExecutorService(1, 10, false, null, Executors.defaultThreadFactory())
+        executor.execute { release.await() }
+        Runnable queued = {}
+        executor.execute(queued)
+
+        expect:
+        executor.shutdownNow() == [queued]
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+    }
+
+    void "test the histogram buckets values by powers of two"() {
+        given:
+        Histogram histogram = new Histogram(4)
+
+        when:
+        [0, 1, 2, 3, 4, 5, 8, 100].each { histogram.record(it) }
+
+        then:
+        histogram.bucketBounds == [1, 2, 4, 8] as long[]
+        histogram.bucketCounts == [2, 1, 2, 3] as long[]
+        histogram.count == 8
+        histogram.sum == 123
+        histogram.max == 100
+        histogram.getValueAtQuantile(0.5) == 4
+        histogram.getValueAtQuantile(1) == 100
+    }
+}
@@ -0,0 +1,97 @@
+package io.micronaut.scheduling.executor
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class VirtualThreadExecutorServiceSpec extends Specification {
+
+    void "test tasks beyond the concurrency limit are queued"() {
+        given:
+        ExecutorService delegate = Executors.newCachedThreadPool()
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService(delegate, "test-", 2, null)
+        CountDownLatch release = new CountDownLatch(1)
+        AtomicInteger running = new AtomicInteger()
+        AtomicInteger maxRunning = new AtomicInteger()
+        CountDownLatch done = new CountDownLatch(10)
+
+        when:
+        10.times {
+            executor.execute {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), { a, b -> Math.max(a, b) })
+                release.await()
+                running.decrementAndGet()
+                done.countDown()
+            }
+        }
+
+        then:
+        executor.maxConcurrency == 2
+        executor.queuedCount == 8
+
+        when:
+        release.countDown()
+
+        then:
+        done.await(10, TimeUnit.SECONDS)
+        maxRunning.get() <= 2
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    void "test queued tasks run after shutdown"() {
+        given:
+        ExecutorService delegate = Executors.newCachedThreadPool()
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService(delegate, "test-", 1, null)
+        CountDownLatch release = new CountDownLatch(1)
+        AtomicInteger completed = new AtomicInteger()
+
+        when:
+        executor.execute {
+            release.await()
+            completed.incrementAndGet()
+        }
+        executor.execute {
+            completed.incrementAndGet()
+        }
+        executor.shutdown()
+        executor.execute {}
+
+        then:
+        thrown(RejectedExecutionException)
+
+        when:
+        release.countDown()
+
+        then:
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+        completed.get() == 2
+        executor.completedCount == 2
+        executor.activeCount == 0
+        executor.queuedCount == 0
+    }
+
+    void "test shutdownNow returns the queued tasks"() {
+        given:
+        ExecutorService delegate = Executors.newCachedThreadPool()
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService(delegate, "test-", 1, null)
+        CountDownLatch release = new CountDownLatch(1)
+
+        when:
+        executor.execute { release.await() }
+        Runnable queued = {}
+        executor.execute(queued)
+        List<Runnable> remaining = executor.shutdownNow()
+
+        then:
+        remaining.contains(queued)
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+        executor.shutdown
+    }
+}
@@ -84,6 +84,7 @@ public class BeanDefinitionReferenceWriter extends AbstractAnnotationMetadataWri
     private final Map<String, ClassElement> typeParameters;
     private final boolean proxiedBean;
     private final boolean proxyTarget;
+    private final String[] indexedTypeNames;
     private boolean contextScope = false;
     private boolean requiresMethodProcessing;
 
@@ -107,6 +108,7 @@ public class BeanDefinitionReferenceWriter extends AbstractAnnotationMetadataWri
         this.interceptedType = visitor.getInterceptedType().orElse(null);
         this.proxiedBean = visitor.isProxiedBean();
         this.proxyTarget = visitor.isProxyTarget();
+        this.indexedTypeNames = visitor.getIndexedTypeNames();
     }
 
     /**
@@ -258,6 +260,17 @@ public class BeanDefinitionReferenceWriter extends AbstractAnnotationMetadataWri
         getBeanType.returnValue();
         getBeanType.visitMaxs(2, 1);
 
+        if (indexedTypeNames.length > 0) {
+            // start method: String[] getIndexedTypeNames()
+            GeneratorAdapter getIndexedTypeNames = startPublicMethodZeroArgs(classWriter, String[].class, "getIndexedTypeNames");
+            pushNewArray(getIndexedTypeNames, String.class, indexedTypeNames.length);
+            for (int i = 0; i < indexedTypeNames.length; i++) {
+                pushStoreStringInArray(getIndexedTypeNames, i, indexedTypeNames.length, indexedTypeNames[i]);
+            }
+            getIndexedTypeNames.returnValue();
+            getIndexedTypeNames.visitMaxs(4, 1);
+        }
+
         if (CollectionUtils.isNotEmpty(typeParameters)) {
             // start method: Argument<T> getGenericBeanType()
             GeneratorAdapter getGenericType = startPublicMethodZeroArgs(classWriter, Argument.class, "getGenericBeanType");
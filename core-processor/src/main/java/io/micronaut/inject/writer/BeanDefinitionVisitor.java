@@ -16,6 +16,7 @@
 package io.micronaut.inject.writer;
 
 import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.util.StringUtils;
 import io.micronaut.core.util.Toggleable;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.ast.*;
@@ -459,4 +460,15 @@ public interface BeanDefinitionVisitor extends OriginatingElements, Toggleable {
      */
     boolean isProxyTarget();
 
+    /**
+     * The names of the types the bean can be looked up by, which the bean context uses to index the bean definitions
+     * by type. An empty array means the bean is not indexed and is matched against every lookup.
+     *
+     * @return The type names
+     * @since 4.0.0
+     */
+    default @NonNull String[] getIndexedTypeNames() {
+        return StringUtils.EMPTY_STRING_ARRAY;
+    }
+
 }
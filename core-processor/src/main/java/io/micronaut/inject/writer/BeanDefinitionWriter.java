@@ -82,12 +82,14 @@ import io.micronaut.inject.ast.ConstructorElement;
 import io.micronaut.inject.ast.Element;
 import io.micronaut.inject.ast.ElementQuery;
 import io.micronaut.inject.ast.FieldElement;
+import io.micronaut.inject.ast.GenericPlaceholderElement;
 import io.micronaut.inject.ast.MemberElement;
 import io.micronaut.inject.ast.MethodElement;
 import io.micronaut.inject.ast.ParameterElement;
 import io.micronaut.inject.ast.PrimitiveElement;
 import io.micronaut.inject.ast.PropertyElement;
 import io.micronaut.inject.ast.TypedElement;
+import io.micronaut.inject.ast.WildcardElement;
 import io.micronaut.inject.ast.beans.BeanElement;
 import io.micronaut.inject.ast.beans.BeanElementBuilder;
 import io.micronaut.inject.configuration.ConfigurationMetadataBuilder;
@@ -123,6 +125,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -766,6 +769,43 @@ public class BeanDefinitionWriter extends AbstractClassFileWriter implements Bea
         return Collections.emptyMap();
     }
 
+    @Override
+    @NonNull
+    public String[] getIndexedTypeNames() {
+        if (annotationMetadata.hasDeclaredAnnotation(Bean.class)) {
+            String[] exposedTypes = annotationMetadata.stringValues(Bean.class, "typed");
+            if (exposedTypes.length > 0) {
+                return exposedTypes;
+            }
+        }
+        if (!isIndexable(beanTypeElement)) {
+            return StringUtils.EMPTY_STRING_ARRAY;
+        }
+        Set<String> typeNames = new LinkedHashSet<>();
+        collectTypeNames(beanTypeElement, typeNames);
+        typeNames.add(Object.class.getName());
+        return typeNames.toArray(StringUtils.EMPTY_STRING_ARRAY);
+    }
+
+    private static boolean isIndexable(ClassElement type) {
+        // elements created with ClassElement.of(..), such as the AOP proxies, don't know their super types
+        return !type.isPrimitive() &&
+            !type.isArray() &&
+            !(type instanceof GenericPlaceholderElement) &&
+            !(type instanceof WildcardElement) &&
+            !DefaultArgument.CONTAINER_TYPES.contains(type.getName()) &&
+            !type.getClass().getPackageName().equals(ClassElement.class.getPackageName());
+    }
+
+    private static void collectTypeNames(ClassElement type, Set<String> typeNames) {
+        if (typeNames.add(type.getName())) {
+            type.getSuperType().ifPresent(superType -> collectTypeNames(superType, typeNames));
+            for (ClassElement interfaceType : type.getInterfaces()) {
+                collectTypeNames(interfaceType, typeNames);
+            }
+        }
+    }
+
 
 
     /**
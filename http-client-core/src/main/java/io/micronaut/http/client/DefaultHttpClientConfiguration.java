@@ -74,6 +74,32 @@ public class DefaultHttpClientConfiguration extends HttpClientConfiguration {
         }
     }
 
+    /**
+     * Uses the default response cache configuration.
+     *
+     * @param cacheConfiguration The response cache configuration
+     * @since 4.0.0
+     */
+    @Inject
+    public void setDefaultCacheConfiguration(@Nullable DefaultCacheConfiguration cacheConfiguration) {
+        if (cacheConfiguration != null) {
+            super.setCacheConfiguration(cacheConfiguration);
+        }
+    }
+
+    /**
+     * Uses the default request hedging configuration.
+     *
+     * @param hedgingConfiguration The request hedging configuration
+     * @since 4.0.0
+     */
+    @Inject
+    public void setDefaultHedgingConfiguration(@Nullable DefaultHedgingConfiguration hedgingConfiguration) {
+        if (hedgingConfiguration != null) {
+            super.setHedgingConfiguration(hedgingConfiguration);
+        }
+    }
+
     /**
      * The default connection pool configuration.
      */
@@ -82,4 +108,26 @@ public class DefaultHttpClientConfiguration extends HttpClientConfiguration {
     @Primary
     public static class DefaultConnectionPoolConfiguration extends ConnectionPoolConfiguration {
     }
+
+    /**
+     * The default response cache configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(CacheConfiguration.PREFIX)
+    @BootstrapContextCompatible
+    @Primary
+    public static class DefaultCacheConfiguration extends CacheConfiguration {
+    }
+
+    /**
+     * The default request hedging configuration.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(HedgingConfiguration.PREFIX)
+    @BootstrapContextCompatible
+    @Primary
+    public static class DefaultHedgingConfiguration extends HedgingConfiguration {
+    }
 }
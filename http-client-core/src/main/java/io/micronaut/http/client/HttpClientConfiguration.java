@@ -144,6 +144,10 @@ public abstract class HttpClientConfiguration {
 
     private SslConfiguration sslConfiguration = new ClientSslConfiguration();
 
+    private CacheConfiguration cacheConfiguration = new CacheConfiguration();
+
+    private HedgingConfiguration hedgingConfiguration = new HedgingConfiguration();
+
     private String loggerName;
 
     private String eventLoopGroup = "default";
@@ -205,6 +209,8 @@ public abstract class HttpClientConfiguration {
             this.shutdownTimeout = copy.shutdownTimeout;
             this.shutdownQuietPeriod = copy.shutdownQuietPeriod;
             this.sslConfiguration = copy.sslConfiguration;
+            this.cacheConfiguration = copy.cacheConfiguration;
+            this.hedgingConfiguration = copy.hedgingConfiguration;
             this.threadFactory = copy.threadFactory;
             this.httpVersion = copy.httpVersion;
         }
@@ -290,6 +296,42 @@ public abstract class HttpClientConfiguration {
         this.sslConfiguration = sslConfiguration;
     }
 
+    /**
+     * @return The response cache configuration for the client
+     * @since 4.0.0
+     */
+    public CacheConfiguration getCacheConfiguration() {
+        return cacheConfiguration;
+    }
+
+    /**
+     * Sets the response cache configuration for the client.
+     *
+     * @param cacheConfiguration The response cache configuration
+     * @since 4.0.0
+     */
+    public void setCacheConfiguration(@NonNull CacheConfiguration cacheConfiguration) {
+        this.cacheConfiguration = Objects.requireNonNull(cacheConfiguration, "cacheConfiguration");
+    }
+
+    /**
+     * @return The request hedging configuration for the client
+     * @since 4.0.0
+     */
+    public HedgingConfiguration getHedgingConfiguration() {
+        return hedgingConfiguration;
+    }
+
+    /**
+     * Sets the request hedging configuration for the client.
+     *
+     * @param hedgingConfiguration The request hedging configuration
+     * @since 4.0.0
+     */
+    public void setHedgingConfiguration(@NonNull HedgingConfiguration hedgingConfiguration) {
+        this.hedgingConfiguration = Objects.requireNonNull(hedgingConfiguration, "hedgingConfiguration");
+    }
+
     /**
      * @return Whether redirects should be followed
      */
@@ -724,12 +766,24 @@ public abstract class HttpClientConfiguration {
         @SuppressWarnings("WeakerAccess")
         public static final boolean DEFAULT_ENABLED = true;
 
+        /**
+         * The default warm-up timeout in seconds.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_WARM_UP_TIMEOUT_SECONDS = 10;
+
         private int maxPendingConnections = 4;
 
         private int maxConcurrentRequestsPerHttp2Connection = Integer.MAX_VALUE;
         private int maxConcurrentHttp1Connections = Integer.MAX_VALUE;
         private int maxConcurrentHttp2Connections = 1;
 
+        private boolean http2ConnectionCoalescing;
+
+        private int warmUpConnections;
+        private Duration warmUpTimeout = Duration.ofSeconds(DEFAULT_WARM_UP_TIMEOUT_SECONDS);
+        private int minIdle;
+
         private int maxPendingAcquires = Integer.MAX_VALUE;
 
         private Duration acquireTimeout;
@@ -874,6 +928,307 @@ public abstract class HttpClientConfiguration {
         public void setMaxConcurrentHttp2Connections(int maxConcurrentHttp2Connections) {
             this.maxConcurrentHttp2Connections = maxConcurrentHttp2Connections;
         }
+
+        /**
+         * Whether requests to a host may reuse an HTTP2 connection established for another host.
+         *
+         * @return Whether HTTP2 connection coalescing is enabled
+         * @since 4.0.0
+         */
+        public boolean isHttp2ConnectionCoalescing() {
+            return http2ConnectionCoalescing;
+        }
+
+        /**
+         * Sets whether requests to a host may reuse an HTTP2 connection established for another host, as described
+         * in section 9.1.1 of RFC 7540. A connection is only reused when the host resolves to the IP address the
+         * connection is established with, and the certificate presented by the server is valid for the host. Default
+         * value (false).
+         *
+         * @param http2ConnectionCoalescing Whether HTTP2 connection coalescing is enabled
+         * @since 4.0.0
+         */
+        public void setHttp2ConnectionCoalescing(boolean http2ConnectionCoalescing) {
+            this.http2ConnectionCoalescing = http2ConnectionCoalescing;
+        }
+
+        /**
+         * The number of connections opened to each instance of a service when the application starts, before the
+         * first request is made. Only applies to clients of a service configured with
+         * {@code micronaut.http.services.*}.
+         *
+         * @return The number of connections to open on startup
+         * @since 4.0.0
+         */
+        public int getWarmUpConnections() {
+            return warmUpConnections;
+        }
+
+        /**
+         * Sets the number of connections opened to each instance of a service when the application starts. The
+         * application reports itself as not ready through the readiness health indicator until the connections are
+         * established, or the warm-up timeout passes. Default value (0).
+         *
+         * @param warmUpConnections The number of connections to open on startup
+         * @since 4.0.0
+         */
+        public void setWarmUpConnections(int warmUpConnections) {
+            this.warmUpConnections = warmUpConnections;
+        }
+
+        /**
+         * @return The maximum time to wait for the warm-up connections to be established
+         * @since 4.0.0
+         */
+        public Duration getWarmUpTimeout() {
+            return warmUpTimeout;
+        }
+
+        /**
+         * Sets the maximum time to wait for the warm-up connections to be established. Connections that could not be
+         * opened in time do not hold back readiness. Default value
+         * ({@value io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#DEFAULT_WARM_UP_TIMEOUT_SECONDS} seconds).
+         *
+         * @param warmUpTimeout The warm-up timeout
+         * @since 4.0.0
+         */
+        public void setWarmUpTimeout(Duration warmUpTimeout) {
+            this.warmUpTimeout = warmUpTimeout;
+        }
+
+        /**
+         * The minimum number of idle connections the pool of each host keeps open.
+         *
+         * @return The minimum number of idle connections
+         * @since 4.0.0
+         */
+        public int getMinIdle() {
+            return minIdle;
+        }
+
+        /**
+         * Sets the minimum number of idle connections the pool of each host keeps open. When a connection is
+         * taken by a request, closed by the server or by the idle timeout, a replacement is opened in the background,
+         * with an exponential backoff if connecting fails. Default value (0).
+         *
+         * @param minIdle The minimum number of idle connections
+         * @since 4.0.0
+         */
+        public void setMinIdle(int minIdle) {
+            this.minIdle = minIdle;
+        }
     }
 
+    /**
+     * Configuration for the HTTP client response cache.
+     *
+     * @since 4.0.0
+     */
+    public static class CacheConfiguration implements Toggleable {
+        /**
+         * The prefix to use for configuration.
+         */
+        public static final String PREFIX = "cache";
+
+        /**
+         * The default maximum weight of the cache in bytes.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_MAX_WEIGHT = 16L * 1024 * 1024;
+
+        private boolean enabled;
+
+        private long maxWeight = DEFAULT_MAX_WEIGHT;
+
+        /**
+         * Whether responses are cached.
+         *
+         * @return True if the response cache is enabled
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether {@code GET} responses are cached according to their {@code Cache-Control}, {@code Expires},
+         * {@code ETag} and {@code Last-Modified} headers. Default value (false).
+         *
+         * @param enabled True if it is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * The maximum number of bytes of cached response bodies and headers.
+         *
+         * @return The maximum weight
+         */
+        public long getMaxWeight() {
+            return maxWeight;
+        }
+
+        /**
+         * Sets the maximum number of bytes of cached response bodies and headers. The least recently used responses
+         * are evicted once it is exceeded. Default value ({@value #DEFAULT_MAX_WEIGHT}).
+         *
+         * @param maxWeight The maximum weight
+         */
+        public void setMaxWeight(@ReadableBytes long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+    }
+
+    /**
+     * Configuration for hedged requests. When a request to an instance selected by the {@link LoadBalancer} takes
+     * longer than the hedging delay, the same request is sent to another instance and the first successful response
+     * is used.
+     *
+     * @since 4.0.0
+     */
+    public static class HedgingConfiguration implements Toggleable {
+        /**
+         * The prefix to use for configuration.
+         */
+        public static final String PREFIX = "hedging";
+
+        /**
+         * The default delay in milliseconds after which a hedged request is sent.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_DELAY_MILLISECONDS = 100;
+
+        /**
+         * The default maximum number of attempts of a request, including the first one.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAX_ATTEMPTS = 2;
+
+        /**
+         * The default ratio of hedged requests to requests.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_BUDGET_RATIO = 0.1;
+
+        private boolean enabled;
+
+        private Duration delay = Duration.ofMillis(DEFAULT_DELAY_MILLISECONDS);
+
+        private Double percentile;
+
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+        private Duration attemptTimeout;
+
+        private double budgetRatio = DEFAULT_BUDGET_RATIO;
+
+        /**
+         * Whether requests are hedged.
+         *
+         * @return True if request hedging is enabled
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether idempotent requests are hedged. Only requests whose URI is resolved through the load balancer
+         * are hedged. Default value (false).
+         *
+         * @param enabled True if it is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The delay after which another attempt is sent
+         */
+        public Duration getDelay() {
+            return delay;
+        }
+
+        /**
+         * Sets the delay after which another attempt of a request that has not completed yet is sent. When a
+         * {@link #setPercentile(Double) percentile} is set, this delay is only used until enough latencies have
+         * been observed. Default value ({@value #DEFAULT_DELAY_MILLISECONDS} milliseconds).
+         *
+         * @param delay The delay
+         */
+        public void setDelay(@NonNull Duration delay) {
+            this.delay = Objects.requireNonNull(delay, "delay");
+        }
+
+        /**
+         * @return The percentile of the observed latencies after which another attempt is sent, if any
+         */
+        public Optional<Double> getPercentile() {
+            return Optional.ofNullable(percentile);
+        }
+
+        /**
+         * Sets the percentile of the latencies observed by the client, between 0 and 1, after which another attempt
+         * is sent, for example {@code 0.95} to hedge the slowest 5% of the requests. Default value (none, the fixed
+         * delay is used).
+         *
+         * @param percentile The percentile
+         */
+        public void setPercentile(@Nullable Double percentile) {
+            this.percentile = percentile;
+        }
+
+        /**
+         * @return The maximum number of attempts of a request, including the first one
+         */
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        /**
+         * Sets the maximum number of attempts of a request, including the first one. Each further attempt is sent
+         * one delay after the previous one. Default value ({@value #DEFAULT_MAX_ATTEMPTS}).
+         *
+         * @param maxAttempts The maximum number of attempts
+         */
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        /**
+         * @return The timeout of a single attempt, if any
+         */
+        public Optional<Duration> getAttemptTimeout() {
+            return Optional.ofNullable(attemptTimeout);
+        }
+
+        /**
+         * Sets the timeout of a single attempt. An attempt that times out fails with a read timeout, while the other
+         * attempts of the request continue. Default value (none, only the read timeout applies).
+         *
+         * @param attemptTimeout The attempt timeout
+         */
+        public void setAttemptTimeout(@Nullable Duration attemptTimeout) {
+            this.attemptTimeout = attemptTimeout;
+        }
+
+        /**
+         * @return The maximum ratio of hedged attempts to requests
+         */
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        /**
+         * Sets the maximum ratio of hedged attempts to requests. Every request adds this ratio to a budget, and every
+         * hedged attempt takes one from it, so that hedging cannot amplify the load when every instance is slow.
+         * Default value ({@value #DEFAULT_BUDGET_RATIO}).
+         *
+         * @param budgetRatio The budget ratio
+         */
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+    }
 }
@@ -107,17 +107,63 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
      * @param sslConfiguration The SSL configuration
      * @param defaultHttpClientConfiguration The default HTTP client configuration
      */
+    public ServiceHttpClientConfiguration(
+            @Parameter String serviceId,
+            @Nullable ServiceConnectionPoolConfiguration connectionPoolConfiguration,
+            @Nullable ServiceSslClientConfiguration sslConfiguration,
+            HttpClientConfiguration defaultHttpClientConfiguration) {
+        this(serviceId, connectionPoolConfiguration, sslConfiguration, null, defaultHttpClientConfiguration);
+    }
+
+    /**
+     * Creates a new client configuration for the given service ID.
+     *
+     * @param serviceId The service id
+     * @param connectionPoolConfiguration The connection pool configuration
+     * @param sslConfiguration The SSL configuration
+     * @param cacheConfiguration The response cache configuration
+     * @param defaultHttpClientConfiguration The default HTTP client configuration
+     * @since 4.0.0
+     */
+    public ServiceHttpClientConfiguration(
+            @Parameter String serviceId,
+            @Nullable ServiceConnectionPoolConfiguration connectionPoolConfiguration,
+            @Nullable ServiceSslClientConfiguration sslConfiguration,
+            @Nullable ServiceCacheConfiguration cacheConfiguration,
+            HttpClientConfiguration defaultHttpClientConfiguration) {
+        this(serviceId, connectionPoolConfiguration, sslConfiguration, cacheConfiguration, null, defaultHttpClientConfiguration);
+    }
+
+    /**
+     * Creates a new client configuration for the given service ID.
+     *
+     * @param serviceId The service id
+     * @param connectionPoolConfiguration The connection pool configuration
+     * @param sslConfiguration The SSL configuration
+     * @param cacheConfiguration The response cache configuration
+     * @param hedgingConfiguration The request hedging configuration
+     * @param defaultHttpClientConfiguration The default HTTP client configuration
+     * @since 4.0.0
+     */
     @Inject
     public ServiceHttpClientConfiguration(
             @Parameter String serviceId,
             @Nullable ServiceConnectionPoolConfiguration connectionPoolConfiguration,
             @Nullable ServiceSslClientConfiguration sslConfiguration,
+            @Nullable ServiceCacheConfiguration cacheConfiguration,
+            @Nullable ServiceHedgingConfiguration hedgingConfiguration,
             HttpClientConfiguration defaultHttpClientConfiguration) {
         super(defaultHttpClientConfiguration);
+        if (hedgingConfiguration != null) {
+            setHedgingConfiguration(hedgingConfiguration);
+        }
         this.serviceId = serviceId;
         if (sslConfiguration != null) {
             setSslConfiguration(sslConfiguration);
         }
+        if (cacheConfiguration != null) {
+            setCacheConfiguration(cacheConfiguration);
+        }
         if (connectionPoolConfiguration != null) {
             this.connectionPoolConfiguration = connectionPoolConfiguration;
         } else {
@@ -255,6 +301,24 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
     public static class ServiceConnectionPoolConfiguration extends ConnectionPoolConfiguration {
     }
 
+    /**
+     * The response cache configuration of the service.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(CacheConfiguration.PREFIX)
+    public static class ServiceCacheConfiguration extends CacheConfiguration {
+    }
+
+    /**
+     * The request hedging configuration of the service.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties(HedgingConfiguration.PREFIX)
+    public static class ServiceHedgingConfiguration extends HedgingConfiguration {
+    }
+
     /**
      * The default connection pool configuration.
      */
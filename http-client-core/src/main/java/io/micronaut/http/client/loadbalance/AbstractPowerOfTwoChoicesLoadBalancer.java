@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Selects the least loaded of two random instances, which avoids both the herding of always selecting the least
+ * loaded instance from stale statistics, and the cost of comparing every instance.
+ *
+ * @since 4.0.0
+ */
+public abstract class AbstractPowerOfTwoChoicesLoadBalancer extends AbstractRequestTrackingLoadBalancer {
+
+    /**
+     * @param serviceInstanceList The service instance list
+     * @param configuration       The load balancer configuration
+     */
+    protected AbstractPowerOfTwoChoicesLoadBalancer(@NonNull ServiceInstanceList serviceInstanceList,
+                                                    @NonNull LoadBalancerConfiguration configuration) {
+        super(serviceInstanceList, configuration);
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     * @param configuration   The load balancer configuration
+     */
+    protected AbstractPowerOfTwoChoicesLoadBalancer(@NonNull String serviceID,
+                                                    @NonNull DiscoveryClient discoveryClient,
+                                                    @NonNull LoadBalancerConfiguration configuration) {
+        super(serviceID, discoveryClient, configuration);
+    }
+
+    @Override
+    @Nullable
+    protected ServiceInstance choose(@NonNull List<ServiceInstance> serviceInstances) {
+        int size = serviceInstances.size();
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            ServiceInstance instance = serviceInstances.get(0);
+            return isAvailable(instance) ? instance : null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = serviceInstances.get(first);
+        ServiceInstance b = serviceInstances.get(second);
+        if (isAvailable(a) && isAvailable(b)) {
+            return compare(statsFor(a), statsFor(b)) <= 0 ? a : b;
+        }
+        // some instances are down, fall back to the least loaded available instance
+        ServiceInstance selected = null;
+        ServiceInstanceStats selectedStats = null;
+        for (int i = 0; i < size; i++) {
+            ServiceInstance instance = serviceInstances.get(i);
+            if (isAvailable(instance)) {
+                ServiceInstanceStats instanceStats = statsFor(instance);
+                if (selected == null || compare(instanceStats, selectedStats) < 0) {
+                    selected = instance;
+                    selectedStats = instanceStats;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Compares the load of two instances.
+     *
+     * @param first  The statistics of the first instance
+     * @param second The statistics of the second instance
+     * @return A negative value if the first instance is less loaded, a positive value if the second is less loaded
+     */
+    protected abstract int compare(@NonNull ServiceInstanceStats first, @NonNull ServiceInstanceStats second);
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.health.HealthStatus;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class for the {@link RequestTrackingLoadBalancer} implementations, that select instances from either a
+ * {@link ServiceInstanceList} or a {@link DiscoveryClient}.
+ *
+ * <p>Implementations select from the list of instances as is, skipping the instances that are not
+ * {@link HealthStatus#UP}, so that selection does not allocate.</p>
+ *
+ * @since 4.0.0
+ */
+public abstract class AbstractRequestTrackingLoadBalancer implements RequestTrackingLoadBalancer {
+
+    private final String serviceID;
+    @Nullable
+    private final ServiceInstanceList serviceInstanceList;
+    @Nullable
+    private final DiscoveryClient discoveryClient;
+    private final String weightKey;
+    private final long latencyDecayNanos;
+    private final Map<URI, ServiceInstanceStats> stats = new ConcurrentHashMap<>();
+    /**
+     * The statistics by scheme, host and port, to find the statistics of a request URI.
+     */
+    private final Map<String, ServiceInstanceStats> statsByAddress = new ConcurrentHashMap<>();
+    /**
+     * The instances the statistics were last pruned for.
+     */
+    @Nullable
+    private volatile List<ServiceInstance> knownInstances;
+
+    /**
+     * @param serviceInstanceList The service instance list
+     * @param configuration       The load balancer configuration
+     */
+    protected AbstractRequestTrackingLoadBalancer(@NonNull ServiceInstanceList serviceInstanceList,
+                                                  @NonNull LoadBalancerConfiguration configuration) {
+        this(serviceInstanceList.getID(), serviceInstanceList, null, configuration);
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     * @param configuration   The load balancer configuration
+     */
+    protected AbstractRequestTrackingLoadBalancer(@NonNull String serviceID,
+                                                  @NonNull DiscoveryClient discoveryClient,
+                                                  @NonNull LoadBalancerConfiguration configuration) {
+        this(serviceID, null, discoveryClient, configuration);
+    }
+
+    private AbstractRequestTrackingLoadBalancer(String serviceID,
+                                                @Nullable ServiceInstanceList serviceInstanceList,
+                                                @Nullable DiscoveryClient discoveryClient,
+                                                LoadBalancerConfiguration configuration) {
+        this.serviceID = serviceID;
+        this.serviceInstanceList = serviceInstanceList;
+        this.discoveryClient = discoveryClient;
+        this.weightKey = configuration.getWeightKey();
+        this.latencyDecayNanos = configuration.getLatencyDecay().toNanos();
+    }
+
+    /**
+     * @return The service ID
+     */
+    public String getServiceID() {
+        return serviceID;
+    }
+
+    @Override
+    public Publisher<ServiceInstance> select(@Nullable Object discriminator) {
+        if (serviceInstanceList != null) {
+            return Mono.fromCallable(() -> getNextAvailable(serviceInstanceList.getInstances()));
+        }
+        return Publishers.map(discoveryClient.getInstances(serviceID), this::getNextAvailable);
+    }
+
+    @Override
+    public Optional<String> getContextPath() {
+        return serviceInstanceList != null ? serviceInstanceList.getContextPath() : Optional.empty();
+    }
+
+    @Override
+    @Nullable
+    public ServiceInstanceStats getStats(@NonNull URI uri) {
+        return statsByAddress.get(addressOf(uri));
+    }
+
+    /**
+     * @param serviceInstances A list of service instances
+     * @return The next available instance or a {@link NoAvailableServiceException} if none
+     */
+    protected ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances) {
+        if (serviceInstances != knownInstances) {
+            knownInstances = serviceInstances;
+            pruneStats(serviceInstances);
+        }
+        ServiceInstance instance = choose(serviceInstances);
+        if (instance == null) {
+            throw new NoAvailableServiceException(serviceID);
+        }
+        return instance;
+    }
+
+    /**
+     * Chooses an instance.
+     *
+     * @param serviceInstances The instances, including the ones that are not available
+     * @return The chosen instance or {@code null} if no instance is available
+     */
+    @Nullable
+    protected abstract ServiceInstance choose(@NonNull List<ServiceInstance> serviceInstances);
+
+    /**
+     * @param instance The instance
+     * @return The statistics of the instance
+     */
+    @NonNull
+    protected ServiceInstanceStats statsFor(@NonNull ServiceInstance instance) {
+        URI uri = instance.getURI();
+        ServiceInstanceStats instanceStats = stats.get(uri);
+        if (instanceStats == null) {
+            // instances with the same address share their statistics, since requests cannot be told apart
+            instanceStats = stats.computeIfAbsent(uri, key -> statsByAddress.computeIfAbsent(addressOf(key), address -> new ServiceInstanceStats(key, latencyDecayNanos)));
+        }
+        instanceStats.update(instance, weightKey);
+        return instanceStats;
+    }
+
+    /**
+     * Removes the statistics of the instances that are no longer in the given list, such as instances that left the
+     * discovery service.
+     *
+     * @param serviceInstances The current instances
+     */
+    private void pruneStats(List<ServiceInstance> serviceInstances) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        Set<URI> current = new HashSet<>();
+        for (ServiceInstance instance : serviceInstances) {
+            current.add(instance.getURI());
+        }
+        stats.keySet().retainAll(current);
+        statsByAddress.values().retainAll(stats.values());
+    }
+
+    private static String addressOf(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ':' + uri.getPort();
+    }
+
+    /**
+     * @param instance The instance
+     * @return Whether the instance can be selected
+     */
+    protected static boolean isAvailable(@NonNull ServiceInstance instance) {
+        return instance.getHealthStatus().equals(HealthStatus.UP);
+    }
+}
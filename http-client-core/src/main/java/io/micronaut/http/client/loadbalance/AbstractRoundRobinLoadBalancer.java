@@ -22,7 +22,6 @@ import io.micronaut.http.client.LoadBalancer;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 /**
  * @author graemerocher
@@ -42,21 +41,39 @@ public abstract class AbstractRoundRobinLoadBalancer implements LoadBalancer {
      * @return The next available instance or a {@link NoAvailableServiceException} if none
      */
     protected ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances) {
-        List<ServiceInstance> availableServices = serviceInstances.stream()
-            .filter(si -> si.getHealthStatus().equals(HealthStatus.UP))
-            .collect(Collectors.toList());
-        int len = availableServices.size();
+        int size = serviceInstances.size();
+        int len = 0;
+        for (int i = 0; i < size; i++) {
+            if (isAvailable(serviceInstances.get(i))) {
+                len++;
+            }
+        }
         if (len == 0) {
             throw new NoAvailableServiceException(getServiceID());
         }
-        int i = getServiceIndex(len);
-        try {
-            return availableServices.get(i);
-        } catch (IndexOutOfBoundsException e) {
+        ServiceInstance instance = getAvailable(serviceInstances, getServiceIndex(len));
+        if (instance == null) {
+            // the number of available instances decreased since the index was last updated
             index.set(0);
-            i = getServiceIndex(len);
-            return availableServices.get(i);
+            instance = getAvailable(serviceInstances, getServiceIndex(len));
+        }
+        return instance;
+    }
+
+    private ServiceInstance getAvailable(List<ServiceInstance> serviceInstances, int availableIndex) {
+        int size = serviceInstances.size();
+        int remaining = availableIndex;
+        for (int i = 0; i < size; i++) {
+            ServiceInstance instance = serviceInstances.get(i);
+            if (isAvailable(instance) && remaining-- == 0) {
+                return instance;
+            }
         }
+        return null;
+    }
+
+    private static boolean isAvailable(ServiceInstance instance) {
+        return instance.getHealthStatus().equals(HealthStatus.UP);
     }
 
     private int getServiceIndex(int len) {
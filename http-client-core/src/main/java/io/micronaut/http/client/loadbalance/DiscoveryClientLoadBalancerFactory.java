@@ -17,6 +17,7 @@ package io.micronaut.http.client.loadbalance;
 
 import io.micronaut.discovery.DiscoveryClient;
 import io.micronaut.http.client.LoadBalancer;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 /**
@@ -30,12 +31,24 @@ import jakarta.inject.Singleton;
 public class DiscoveryClientLoadBalancerFactory {
 
     private final DiscoveryClient discoveryClient;
+    private final LoadBalancerConfiguration configuration;
 
     /**
      * @param discoveryClient The discover client
      */
     public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient) {
+        this(discoveryClient, new LoadBalancerConfiguration());
+    }
+
+    /**
+     * @param discoveryClient The discover client
+     * @param configuration   The load balancer configuration
+     * @since 4.0.0
+     */
+    @Inject
+    public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient, LoadBalancerConfiguration configuration) {
         this.discoveryClient = discoveryClient;
+        this.configuration = configuration;
     }
 
     /**
@@ -45,7 +58,16 @@ public class DiscoveryClientLoadBalancerFactory {
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(String serviceID) {
-        return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
+        switch (configuration.getStrategy()) {
+            case LEAST_OUTSTANDING_REQUESTS:
+                return new LeastOutstandingRequestsLoadBalancer(serviceID, discoveryClient, configuration);
+            case EWMA:
+                return new EwmaLoadBalancer(serviceID, discoveryClient, configuration);
+            case WEIGHTED:
+                return new WeightedLoadBalancer(serviceID, discoveryClient, configuration);
+            default:
+                return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
+        }
     }
 
     /**
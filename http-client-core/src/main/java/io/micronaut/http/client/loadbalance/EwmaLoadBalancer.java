@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstanceList;
+
+/**
+ * A {@link io.micronaut.http.client.LoadBalancer} that selects, out of two random instances, the instance with the
+ * lowest exponentially weighted moving average latency multiplied by its outstanding requests and relative to its
+ * weight.
+ *
+ * <p>An instance that has not responded yet is assumed to be as fast as the instance it is compared to, so that
+ * it is compared on its outstanding requests instead of attracting every request until it responds.</p>
+ *
+ * @since 4.0.0
+ */
+public class EwmaLoadBalancer extends AbstractPowerOfTwoChoicesLoadBalancer {
+
+    /**
+     * @param serviceInstanceList The service instance list
+     * @param configuration       The load balancer configuration
+     */
+    public EwmaLoadBalancer(@NonNull ServiceInstanceList serviceInstanceList,
+                            @NonNull LoadBalancerConfiguration configuration) {
+        super(serviceInstanceList, configuration);
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     * @param configuration   The load balancer configuration
+     */
+    public EwmaLoadBalancer(@NonNull String serviceID,
+                            @NonNull DiscoveryClient discoveryClient,
+                            @NonNull LoadBalancerConfiguration configuration) {
+        super(serviceID, discoveryClient, configuration);
+    }
+
+    @Override
+    protected int compare(@NonNull ServiceInstanceStats first, @NonNull ServiceInstanceStats second) {
+        double firstLatency = first.getLatency();
+        double secondLatency = second.getLatency();
+        if (firstLatency == 0) {
+            firstLatency = secondLatency == 0 ? 1 : secondLatency;
+        }
+        if (secondLatency == 0) {
+            secondLatency = firstLatency;
+        }
+        double firstCost = firstLatency * (first.getOutstandingRequests() + 1) / first.getWeight();
+        double secondCost = secondLatency * (second.getOutstandingRequests() + 1) / second.getWeight();
+        return Double.compare(firstCost, secondCost);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstanceList;
+
+/**
+ * A {@link io.micronaut.http.client.LoadBalancer} that selects the instance with the least outstanding requests
+ * relative to its weight, out of two random instances.
+ *
+ * @since 4.0.0
+ */
+public class LeastOutstandingRequestsLoadBalancer extends AbstractPowerOfTwoChoicesLoadBalancer {
+
+    /**
+     * @param serviceInstanceList The service instance list
+     * @param configuration       The load balancer configuration
+     */
+    public LeastOutstandingRequestsLoadBalancer(@NonNull ServiceInstanceList serviceInstanceList,
+                                                @NonNull LoadBalancerConfiguration configuration) {
+        super(serviceInstanceList, configuration);
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     * @param configuration   The load balancer configuration
+     */
+    public LeastOutstandingRequestsLoadBalancer(@NonNull String serviceID,
+                                                @NonNull DiscoveryClient discoveryClient,
+                                                @NonNull LoadBalancerConfiguration configuration) {
+        super(serviceID, discoveryClient, configuration);
+    }
+
+    @Override
+    protected int compare(@NonNull ServiceInstanceStats first, @NonNull ServiceInstanceStats second) {
+        // (outstanding + 1) / weight, cross multiplied to stay with integers
+        long firstLoad = (first.getOutstandingRequests() + 1L) * second.getWeight();
+        long secondLoad = (second.getOutstandingRequests() + 1L) * first.getWeight();
+        return Long.compare(firstLoad, secondLoad);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.NonNull;
+
+import java.time.Duration;
+
+/**
+ * Configures the {@link io.micronaut.http.client.LoadBalancer} created for service IDs.
+ *
+ * @since 4.0.0
+ */
+@ConfigurationProperties(LoadBalancerConfiguration.PREFIX)
+@BootstrapContextCompatible
+public class LoadBalancerConfiguration {
+
+    /**
+     * The prefix used for the load balancer configuration.
+     */
+    public static final String PREFIX = "micronaut.http.client.load-balancer";
+
+    /**
+     * The default metadata key of the instance weight.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final String DEFAULT_WEIGHT_KEY = "weight";
+
+    /**
+     * The default decay of the latency average in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_LATENCY_DECAY_SECONDS = 10;
+
+    private Strategy strategy = Strategy.ROUND_ROBIN;
+    private String weightKey = DEFAULT_WEIGHT_KEY;
+    private Duration latencyDecay = Duration.ofSeconds(DEFAULT_LATENCY_DECAY_SECONDS);
+
+    /**
+     * @return The load balancing strategy
+     */
+    @NonNull
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets the load balancing strategy. Default value ({@link Strategy#ROUND_ROBIN}).
+     *
+     * @param strategy The load balancing strategy
+     */
+    public void setStrategy(Strategy strategy) {
+        if (strategy != null) {
+            this.strategy = strategy;
+        }
+    }
+
+    /**
+     * @return The {@link io.micronaut.discovery.ServiceInstance} metadata key of the instance weight
+     */
+    @NonNull
+    public String getWeightKey() {
+        return weightKey;
+    }
+
+    /**
+     * Sets the {@link io.micronaut.discovery.ServiceInstance} metadata key of the instance weight. Instances without a
+     * weight have a weight of {@code 1}. Default value ({@value #DEFAULT_WEIGHT_KEY}).
+     *
+     * @param weightKey The metadata key
+     */
+    public void setWeightKey(String weightKey) {
+        if (weightKey != null) {
+            this.weightKey = weightKey;
+        }
+    }
+
+    /**
+     * @return The time it takes for a latency sample to lose most of its influence on the latency average
+     */
+    @NonNull
+    public Duration getLatencyDecay() {
+        return latencyDecay;
+    }
+
+    /**
+     * Sets the time it takes for a latency sample to lose most of its influence on the latency average used by
+     * {@link Strategy#EWMA}. Default value ({@value #DEFAULT_LATENCY_DECAY_SECONDS} seconds).
+     *
+     * @param latencyDecay The latency decay
+     */
+    public void setLatencyDecay(Duration latencyDecay) {
+        if (latencyDecay != null && !latencyDecay.isNegative() && !latencyDecay.isZero()) {
+            this.latencyDecay = latencyDecay;
+        }
+    }
+
+    /**
+     * The load balancing strategies.
+     */
+    public enum Strategy {
+        /**
+         * Selects the available instances in turn.
+         */
+        ROUND_ROBIN,
+        /**
+         * Selects the instance with the least outstanding requests, relative to its weight, out of two random
+         * instances.
+         */
+        LEAST_OUTSTANDING_REQUESTS,
+        /**
+         * Selects the instance with the lowest exponentially weighted moving average latency, multiplied by its
+         * outstanding requests and relative to its weight, out of two random instances.
+         */
+        EWMA,
+        /**
+         * Selects a random instance, with a probability proportional to its weight.
+         */
+        WEIGHTED
+    }
+}
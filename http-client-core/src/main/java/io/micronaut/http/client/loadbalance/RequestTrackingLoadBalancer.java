@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.client.LoadBalancer;
+
+import java.net.URI;
+
+/**
+ * A {@link LoadBalancer} that selects instances based on their load. The HTTP client records the requests it
+ * sends to the selected instances in the {@link ServiceInstanceStats} returned by {@link #getStats(URI)}.
+ *
+ * @since 4.0.0
+ */
+public interface RequestTrackingLoadBalancer extends LoadBalancer {
+
+    /**
+     * @param uri The URI of a request, as resolved from a selected instance
+     * @return The statistics of the instance that the request targets, or {@code null} if the instance is unknown
+     */
+    @Nullable
+    ServiceInstanceStats getStats(@NonNull URI uri);
+}
@@ -18,6 +18,7 @@ package io.micronaut.http.client.loadbalance;
 import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.discovery.ServiceInstanceList;
 import io.micronaut.http.client.LoadBalancer;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 /**
@@ -31,6 +32,24 @@ import jakarta.inject.Singleton;
 @BootstrapContextCompatible
 public class ServiceInstanceListLoadBalancerFactory {
 
+    private final LoadBalancerConfiguration configuration;
+
+    /**
+     * Creates a factory of round robin load balancers.
+     */
+    public ServiceInstanceListLoadBalancerFactory() {
+        this(new LoadBalancerConfiguration());
+    }
+
+    /**
+     * @param configuration The load balancer configuration
+     * @since 4.0.0
+     */
+    @Inject
+    public ServiceInstanceListLoadBalancerFactory(LoadBalancerConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
     /**
      * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList}.
      *
@@ -38,6 +57,15 @@ public class ServiceInstanceListLoadBalancerFactory {
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(ServiceInstanceList serviceInstanceList) {
-        return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
+        switch (configuration.getStrategy()) {
+            case LEAST_OUTSTANDING_REQUESTS:
+                return new LeastOutstandingRequestsLoadBalancer(serviceInstanceList, configuration);
+            case EWMA:
+                return new EwmaLoadBalancer(serviceInstanceList, configuration);
+            case WEIGHTED:
+                return new WeightedLoadBalancer(serviceInstanceList, configuration);
+            default:
+                return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
+        }
     }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The load of a {@link ServiceInstance}, as observed by the clients that send requests to it: the number of
+ * outstanding requests and an exponentially weighted moving average of the response time. Failed requests are
+ * counted separately, so that an instance that fails fast does not look like the fastest one.
+ *
+ * @since 4.0.0
+ */
+public final class ServiceInstanceStats {
+
+    private final URI uri;
+    private final double decayNanos;
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+    private final LongAdder failedRequests = new LongAdder();
+    private final AtomicLong latency = new AtomicLong(Double.doubleToRawLongBits(0));
+    private volatile long lastSample;
+    private volatile ServiceInstance instance;
+    private volatile int weight = 1;
+
+    /**
+     * @param uri        The URI of the instance
+     * @param decayNanos The time in nanoseconds it takes for a latency sample to lose most of its influence
+     */
+    ServiceInstanceStats(@NonNull URI uri, long decayNanos) {
+        this.uri = uri;
+        this.decayNanos = decayNanos;
+    }
+
+    /**
+     * @return The URI of the instance
+     */
+    @NonNull
+    public URI getURI() {
+        return uri;
+    }
+
+    /**
+     * @return The number of requests that have been sent to the instance and have not completed yet
+     */
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    /**
+     * @return The number of requests to the instance that have failed
+     */
+    public long getFailedRequests() {
+        return failedRequests.sum();
+    }
+
+    /**
+     * @return The moving average of the response time of the successful requests in nanoseconds, or {@code 0} if no
+     * request has completed yet
+     */
+    public double getLatency() {
+        return Double.longBitsToDouble(latency.get());
+    }
+
+    /**
+     * @return The weight of the instance, at least {@code 1}
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Records that a request is sent to the instance.
+     *
+     * @return The start time of the request, to pass to {@link #requestCompleted(long, boolean)} or
+     * {@link #requestFailed(long)}
+     */
+    public long requestStarted() {
+        outstandingRequests.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records that a request has completed.
+     *
+     * @param startNanos    The value returned by {@link #requestStarted()}
+     * @param recordLatency Whether the response time should be recorded, {@code false} for cancelled requests
+     */
+    public void requestCompleted(long startNanos, boolean recordLatency) {
+        outstandingRequests.decrementAndGet();
+        if (recordLatency) {
+            long now = System.nanoTime();
+            recordLatency(now - startNanos, now);
+        }
+    }
+
+    /**
+     * Records that a request has failed. The response time of the request is not recorded.
+     *
+     * @param startNanos The value returned by {@link #requestStarted()}
+     */
+    public void requestFailed(long startNanos) {
+        outstandingRequests.decrementAndGet();
+        failedRequests.increment();
+    }
+
+    /**
+     * Refreshes the weight if the instance changed.
+     *
+     * @param instance  The instance
+     * @param weightKey The metadata key of the weight
+     */
+    void update(ServiceInstance instance, String weightKey) {
+        if (this.instance != instance) {
+            this.instance = instance;
+            this.weight = Math.max(1, instance.getMetadata().get(weightKey, Integer.class).orElse(1));
+        }
+    }
+
+    private void recordLatency(long sample, long now) {
+        while (true) {
+            long bits = latency.get();
+            double current = Double.longBitsToDouble(bits);
+            double updated;
+            if (current == 0) {
+                updated = sample;
+            } else {
+                // the decay depends on the time since the last sample rather than on the number of samples, so
+                // that the average reacts as fast to a slow instance regardless of the request rate
+                double weightOfCurrent = Math.exp(-Math.max(0, now - lastSample) / decayNanos);
+                updated = current * weightOfCurrent + sample * (1 - weightOfCurrent);
+            }
+            if (latency.compareAndSet(bits, Double.doubleToRawLongBits(updated))) {
+                lastSample = now;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return uri + " (outstanding: " + getOutstandingRequests() + ", failed: " + getFailedRequests() + ", latency: " + getLatency() + "ns, weight: " + weight + ")";
+    }
+}
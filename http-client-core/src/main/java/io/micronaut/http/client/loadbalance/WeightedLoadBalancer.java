@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link io.micronaut.http.client.LoadBalancer} that selects a random instance, with a probability proportional
+ * to the weight found in its metadata.
+ *
+ * @see LoadBalancerConfiguration#getWeightKey()
+ * @since 4.0.0
+ */
+public class WeightedLoadBalancer extends AbstractRequestTrackingLoadBalancer {
+
+    /**
+     * @param serviceInstanceList The service instance list
+     * @param configuration       The load balancer configuration
+     */
+    public WeightedLoadBalancer(@NonNull ServiceInstanceList serviceInstanceList,
+                                @NonNull LoadBalancerConfiguration configuration) {
+        super(serviceInstanceList, configuration);
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     * @param configuration   The load balancer configuration
+     */
+    public WeightedLoadBalancer(@NonNull String serviceID,
+                                @NonNull DiscoveryClient discoveryClient,
+                                @NonNull LoadBalancerConfiguration configuration) {
+        super(serviceID, discoveryClient, configuration);
+    }
+
+    @Override
+    @Nullable
+    protected ServiceInstance choose(@NonNull List<ServiceInstance> serviceInstances) {
+        int size = serviceInstances.size();
+        long totalWeight = 0;
+        for (int i = 0; i < size; i++) {
+            ServiceInstance instance = serviceInstances.get(i);
+            if (isAvailable(instance)) {
+                totalWeight += statsFor(instance).getWeight();
+            }
+        }
+        if (totalWeight == 0) {
+            return null;
+        }
+        long target = ThreadLocalRandom.current().nextLong(totalWeight);
+        ServiceInstance selected = null;
+        for (int i = 0; i < size; i++) {
+            ServiceInstance instance = serviceInstances.get(i);
+            if (isAvailable(instance)) {
+                selected = instance;
+                target -= statsFor(instance).getWeight();
+                if (target < 0) {
+                    break;
+                }
+            }
+        }
+        // if the weights changed concurrently, the last available instance is selected
+        return selected;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.netty.util.NetUtil;
+
+import java.security.cert.CertificateParsingException;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Checks whether a server certificate is valid for a host, using the subject alternative names of the certificate as
+ * described in RFC 6125. This is used to decide whether an HTTP2 connection may be reused for another host.
+ *
+ * @since 4.0.0
+ */
+@Internal
+final class CertificateHostnameMatcher {
+
+    private static final int DNS_NAME = 2;
+    private static final int IP_ADDRESS = 7;
+    private static final String WILDCARD = "*.";
+
+    private CertificateHostnameMatcher() {
+    }
+
+    /**
+     * @param certificate The certificate presented by the server
+     * @param host        The host
+     * @return Whether the certificate is valid for the host
+     */
+    static boolean matches(@NonNull X509Certificate certificate, @NonNull String host) {
+        Collection<List<?>> names;
+        try {
+            names = certificate.getSubjectAlternativeNames();
+        } catch (CertificateParsingException e) {
+            return false;
+        }
+        if (names == null) {
+            return false;
+        }
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        byte[] address = NetUtil.createByteArrayFromIpAddressString(host);
+        for (List<?> name : names) {
+            if (name.size() < 2 || !(name.get(0) instanceof Integer) || !(name.get(1) instanceof String)) {
+                continue;
+            }
+            int type = (Integer) name.get(0);
+            String value = (String) name.get(1);
+            if (address != null) {
+                if (type == IP_ADDRESS && Arrays.equals(address, NetUtil.createByteArrayFromIpAddressString(value))) {
+                    return true;
+                }
+            } else if (type == DNS_NAME && matchesDnsName(value, host)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesDnsName(String pattern, String host) {
+        pattern = normalize(pattern);
+        host = normalize(host);
+        if (pattern.startsWith(WILDCARD)) {
+            // the wildcard only stands for the complete left-most label
+            int dot = host.indexOf('.');
+            return dot > 0 && pattern.indexOf('.', WILDCARD.length()) > 0 && host.substring(dot).equals(pattern.substring(1));
+        }
+        return pattern.equals(host);
+    }
+
+    private static String normalize(String name) {
+        name = name.toLowerCase(Locale.ROOT);
+        return name.endsWith(".") ? name.substring(0, name.length() - 1) : name;
+    }
+}
@@ -0,0 +1,494 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.core.util.clhm.Weigher;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.micronaut.http.filter.ClientFilterChain;
+import io.micronaut.http.filter.HttpClientFilter;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * A private HTTP cache for the {@code GET} requests of one client, following RFC 9111.
+ *
+ * <ul>
+ *     <li>Responses are fresh for their {@code max-age}, or the difference between their {@code Expires} and
+ *     {@code Date} headers. Fresh responses are returned without a request.</li>
+ *     <li>Stale responses with an {@code ETag} or {@code Last-Modified} header are revalidated with a conditional
+ *     request, and a {@code 304} response refreshes the cached response.</li>
+ *     <li>Within the {@code stale-while-revalidate} window of a response, the stale response is returned while it is
+ *     revalidated in the background.</li>
+ *     <li>Concurrent requests for the same key share one request to the server.</li>
+ * </ul>
+ *
+ * <p>The cache is keyed by the URI and the {@code Authorization} header of the request, and the request headers named
+ * by the {@code Vary} header of the response have to match as well. Requests that carry conditional headers of their
+ * own bypass the cache.</p>
+ *
+ * @since 4.0.0
+ */
+@Internal
+final class ClientResponseCacheFilter implements HttpClientFilter {
+
+    /**
+     * The request attribute that holds the body type of the response, set by the client for each exchange.
+     */
+    static final String BODY_TYPE = "micronaut.http.client.cache.bodyType";
+
+    private static final String[] EXCLUDED_HEADERS = {
+            HttpHeaderNames.CONNECTION.toString(), "keep-alive", HttpHeaderNames.TRANSFER_ENCODING.toString(),
+            HttpHeaderNames.AGE.toString()
+    };
+    private static final String[] NONE = new String[0];
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final ConcurrentLinkedHashMap<String, Entry> entries;
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final BiFunction<FullHttpResponse, Argument<?>, HttpResponse<?>> responseFactory;
+
+    /**
+     * @param configuration   The cache configuration
+     * @param responseFactory Creates the client response of a cached response, for the given body type
+     */
+    ClientResponseCacheFilter(HttpClientConfiguration.CacheConfiguration configuration,
+                              BiFunction<FullHttpResponse, Argument<?>, HttpResponse<?>> responseFactory) {
+        this.responseFactory = responseFactory;
+        Weigher<Entry> weigher = Entry::getWeight;
+        this.entries = new ConcurrentLinkedHashMap.Builder<String, Entry>()
+                .maximumWeightedCapacity(configuration.getMaxWeight())
+                .weigher(weigher)
+                .build();
+    }
+
+    @Override
+    public int getOrder() {
+        // as close to the network as possible, so that the headers added by other filters are part of the key
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Publisher<? extends HttpResponse<?>> doFilter(MutableHttpRequest<?> request, ClientFilterChain chain) {
+        Argument<?> bodyType = request.getAttribute(BODY_TYPE, Argument.class).orElse(null);
+        if (bodyType == null || request.getMethod() != HttpMethod.GET || isConditional(request)) {
+            return chain.proceed(request);
+        }
+        CacheControl requestCacheControl = CacheControl.of(request.getHeaders().getAll(HttpHeaderNames.CACHE_CONTROL.toString()));
+        if (requestCacheControl.noStore) {
+            return chain.proceed(request);
+        }
+        String key = key(request);
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.matches(request)) {
+            entry = null;
+        }
+        if (entry != null && !requestCacheControl.noCache && requestCacheControl.maxAge != 0) {
+            long now = System.nanoTime();
+            if (entry.isFresh(now)) {
+                return Publishers.just(response(entry, bodyType, now));
+            }
+            if (entry.isStaleWhileRevalidate(now)) {
+                revalidate(request, chain, key, entry);
+                return Publishers.just(response(entry, bodyType, now));
+            }
+        }
+        CompletableFuture<Entry> pending = new CompletableFuture<>();
+        CompletableFuture<Entry> leader = inFlight.putIfAbsent(key, pending);
+        if (leader != null) {
+            // another request for the same key is in flight
+            return Mono.fromFuture(leader)
+                    .<HttpResponse<?>>flatMap(result -> result.matches(request) ? Mono.just(response(result, bodyType, System.nanoTime())) : Mono.empty())
+                    .switchIfEmpty(Mono.defer(() -> Mono.from(chain.proceed(request))));
+        }
+        return fetch(request, chain, key, entry, bodyType, pending);
+    }
+
+    /**
+     * Revalidates a stale response in the background, unless a request for the key is in flight already.
+     */
+    private void revalidate(MutableHttpRequest<?> request, ClientFilterChain chain, String key, Entry entry) {
+        CompletableFuture<Entry> pending = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, pending) == null) {
+            Flux.from(fetch(request, chain, key, entry, null, pending)).subscribe(response -> { }, error -> { });
+        }
+    }
+
+    /**
+     * Sends the request, conditional if there is a response to revalidate, and stores the response.
+     */
+    private Publisher<? extends HttpResponse<?>> fetch(MutableHttpRequest<?> request,
+                                                       ClientFilterChain chain,
+                                                       String key,
+                                                       @Nullable Entry entry,
+                                                       @Nullable Argument<?> bodyType,
+                                                       CompletableFuture<Entry> pending) {
+        boolean conditional = false;
+        if (entry != null) {
+            if (entry.etag != null) {
+                request.header(HttpHeaderNames.IF_NONE_MATCH, entry.etag);
+                conditional = true;
+            }
+            if (entry.lastModified != null) {
+                request.header(HttpHeaderNames.IF_MODIFIED_SINCE, entry.lastModified);
+                conditional = true;
+            }
+        }
+        boolean revalidation = conditional;
+        return Flux.<HttpResponse<?>>from(chain.proceed(request))
+                .map(response -> {
+                    long now = System.nanoTime();
+                    if (revalidation && response.code() == HttpStatus.NOT_MODIFIED.getCode()) {
+                        Entry refreshed = entry.refresh(response, now);
+                        entries.put(key, refreshed);
+                        pending.complete(refreshed);
+                        return bodyType != null ? response(refreshed, bodyType, now) : response;
+                    }
+                    pending.complete(store(key, request, response, now));
+                    return response;
+                })
+                .doFinally(signal -> {
+                    inFlight.remove(key, pending);
+                    pending.complete(null);
+                });
+    }
+
+    /**
+     * Stores a response if it may be cached, and removes the stored response otherwise.
+     */
+    @Nullable
+    private Entry store(String key, MutableHttpRequest<?> request, HttpResponse<?> response, long now) {
+        if (!(response instanceof FullNettyClientHttpResponse<?> fullResponse) || response.code() != HttpStatus.OK.getCode()) {
+            return null;
+        }
+        FullHttpResponse nettyResponse = fullResponse.toFullHttpResponse();
+        HttpHeaders headers = nettyResponse.headers();
+        CacheControl cacheControl = CacheControl.of(headers.getAll(HttpHeaderNames.CACHE_CONTROL));
+        List<String> varyNames = new ArrayList<>();
+        for (String vary : headers.getAll(HttpHeaderNames.VARY)) {
+            for (String name : vary.split(",")) {
+                name = name.trim();
+                if (name.equals("*")) {
+                    cacheControl.noStore = true;
+                } else if (!name.isEmpty()) {
+                    varyNames.add(name);
+                }
+            }
+        }
+        long freshness = freshness(cacheControl, headers);
+        String etag = headers.get(HttpHeaderNames.ETAG);
+        String lastModified = headers.get(HttpHeaderNames.LAST_MODIFIED);
+        boolean reusable = freshness > 0 || etag != null || lastModified != null
+                || (cacheControl.staleWhileRevalidate > 0 && !cacheControl.mustRevalidate);
+        if (cacheControl.noStore || !reusable || headers.contains(HttpHeaderNames.SET_COOKIE) || nettyResponse.content().refCnt() == 0) {
+            entries.remove(key);
+            return null;
+        }
+        HttpHeaders cachedHeaders = new DefaultHttpHeaders();
+        for (Map.Entry<String, String> header : headers) {
+            if (!matchesAny(header.getKey(), EXCLUDED_HEADERS)) {
+                cachedHeaders.add(header.getKey(), header.getValue());
+            }
+        }
+        String[] names = varyNames.toArray(NONE);
+        String[] values = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            values[i] = varyValue(request, names[i]);
+        }
+        Entry entry = new Entry(
+                nettyResponse.protocolVersion(),
+                nettyResponse.status(),
+                cachedHeaders,
+                ByteBufUtil.getBytes(nettyResponse.content()),
+                etag,
+                lastModified,
+                names,
+                values,
+                now - TimeUnit.SECONDS.toNanos(age(headers.get(HttpHeaderNames.AGE))),
+                TimeUnit.SECONDS.toNanos(Math.max(0, freshness)),
+                cacheControl.mustRevalidate ? 0 : TimeUnit.SECONDS.toNanos(Math.max(0, cacheControl.staleWhileRevalidate))
+        );
+        entries.put(key, entry);
+        return entry;
+    }
+
+    private HttpResponse<?> response(Entry entry, Argument<?> bodyType, long now) {
+        HttpHeaders headers = new DefaultHttpHeaders().set(entry.headers);
+        headers.set(HttpHeaderNames.AGE, TimeUnit.NANOSECONDS.toSeconds(Math.max(0, now - entry.responseNanos)));
+        FullHttpResponse response = new DefaultFullHttpResponse(
+                entry.version, entry.status, Unpooled.wrappedBuffer(entry.body), headers, EmptyHttpHeaders.INSTANCE);
+        return responseFactory.apply(response, bodyType);
+    }
+
+    /**
+     * @return The number of seconds the response is fresh for, or -1 if the response has no explicit freshness
+     */
+    private static long freshness(CacheControl cacheControl, HttpHeaders headers) {
+        if (cacheControl.noCache) {
+            return 0;
+        }
+        if (cacheControl.maxAge >= 0) {
+            return cacheControl.maxAge;
+        }
+        String expires = headers.get(HttpHeaderNames.EXPIRES);
+        if (expires != null) {
+            ZonedDateTime expiresAt = parseDate(expires);
+            if (expiresAt == null) {
+                // invalid dates represent a time in the past
+                return 0;
+            }
+            ZonedDateTime date = parseDate(headers.get(HttpHeaderNames.DATE));
+            return date != null ? expiresAt.toEpochSecond() - date.toEpochSecond() : 0;
+        }
+        return -1;
+    }
+
+    private static long age(@Nullable String age) {
+        if (age != null) {
+            try {
+                return Math.max(0, Long.parseLong(age.trim()));
+            } catch (NumberFormatException e) {
+                // ignore an invalid age
+            }
+        }
+        return 0;
+    }
+
+    @Nullable
+    private static ZonedDateTime parseDate(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static boolean isConditional(MutableHttpRequest<?> request) {
+        io.micronaut.http.HttpHeaders headers = request.getHeaders();
+        return headers.contains(io.micronaut.http.HttpHeaders.IF_NONE_MATCH)
+                || headers.contains(io.micronaut.http.HttpHeaders.IF_MODIFIED_SINCE)
+                || headers.contains(io.micronaut.http.HttpHeaders.IF_MATCH)
+                || headers.contains(io.micronaut.http.HttpHeaders.IF_UNMODIFIED_SINCE)
+                || headers.contains(io.micronaut.http.HttpHeaders.RANGE);
+    }
+
+    private static String key(MutableHttpRequest<?> request) {
+        String authorization = request.getHeaders().get(io.micronaut.http.HttpHeaders.AUTHORIZATION);
+        String uri = request.getUri().toString();
+        return authorization == null ? uri : uri + '\n' + authorization;
+    }
+
+    @Nullable
+    private static String varyValue(MutableHttpRequest<?> request, String name) {
+        List<String> values = request.getHeaders().getAll(name);
+        if (values.isEmpty()) {
+            return null;
+        }
+        return values.size() == 1 ? values.get(0) : String.join(",", values);
+    }
+
+    private static boolean matchesAny(String name, String[] names) {
+        for (String candidate : names) {
+            if (candidate.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A cached response.
+     */
+    private static final class Entry {
+        final HttpVersion version;
+        final HttpResponseStatus status;
+        final HttpHeaders headers;
+        final byte[] body;
+        final String etag;
+        final String lastModified;
+        final String[] varyNames;
+        final String[] varyValues;
+        final long responseNanos;
+        final long freshnessNanos;
+        final long staleWhileRevalidateNanos;
+
+        Entry(HttpVersion version,
+              HttpResponseStatus status,
+              HttpHeaders headers,
+              byte[] body,
+              String etag,
+              String lastModified,
+              String[] varyNames,
+              String[] varyValues,
+              long responseNanos,
+              long freshnessNanos,
+              long staleWhileRevalidateNanos) {
+            this.version = version;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.varyNames = varyNames;
+            this.varyValues = varyValues;
+            this.responseNanos = responseNanos;
+            this.freshnessNanos = freshnessNanos;
+            this.staleWhileRevalidateNanos = staleWhileRevalidateNanos;
+        }
+
+        boolean isFresh(long now) {
+            return now - responseNanos < freshnessNanos;
+        }
+
+        boolean isStaleWhileRevalidate(long now) {
+            return now - responseNanos < freshnessNanos + staleWhileRevalidateNanos;
+        }
+
+        boolean matches(MutableHttpRequest<?> request) {
+            for (int i = 0; i < varyNames.length; i++) {
+                if (!Objects.equals(varyValues[i], varyValue(request, varyNames[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Updates the headers and the freshness of the entry with those of a {@code 304} response.
+         */
+        Entry refresh(HttpResponse<?> notModified, long now) {
+            HttpHeaders merged = new DefaultHttpHeaders().set(headers);
+            notModified.getHeaders().forEach((name, values) -> {
+                if (!matchesAny(name, EXCLUDED_HEADERS) && !name.equalsIgnoreCase(HttpHeaderNames.CONTENT_LENGTH.toString())) {
+                    merged.set(name, values);
+                }
+            });
+            CacheControl cacheControl = CacheControl.of(merged.getAll(HttpHeaderNames.CACHE_CONTROL));
+            long freshness = freshness(cacheControl, merged);
+            long ageNanos = TimeUnit.SECONDS.toNanos(age(notModified.getHeaders().get(io.micronaut.http.HttpHeaders.AGE)));
+            return new Entry(
+                    version,
+                    status,
+                    merged,
+                    body,
+                    merged.get(HttpHeaderNames.ETAG),
+                    merged.get(HttpHeaderNames.LAST_MODIFIED),
+                    varyNames,
+                    varyValues,
+                    now - ageNanos,
+                    TimeUnit.SECONDS.toNanos(Math.max(0, freshness)),
+                    cacheControl.mustRevalidate ? 0 : TimeUnit.SECONDS.toNanos(Math.max(0, cacheControl.staleWhileRevalidate))
+            );
+        }
+
+        int getWeight() {
+            long weight = ENTRY_OVERHEAD + body.length;
+            for (Map.Entry<String, String> header : headers) {
+                weight += header.getKey().length() + header.getValue().length();
+            }
+            return (int) Math.min(Integer.MAX_VALUE, weight);
+        }
+    }
+
+    /**
+     * The directives of a {@code Cache-Control} header that affect the cache.
+     */
+    private static final class CacheControl {
+        boolean noStore;
+        boolean noCache;
+        boolean mustRevalidate;
+        long maxAge = -1;
+        long staleWhileRevalidate = -1;
+
+        static CacheControl of(List<String> headers) {
+            CacheControl cacheControl = new CacheControl();
+            for (String header : headers) {
+                for (String directive : header.split(",")) {
+                    directive = directive.trim().toLowerCase(Locale.ENGLISH);
+                    int equals = directive.indexOf('=');
+                    String name = equals == -1 ? directive : directive.substring(0, equals).trim();
+                    switch (name) {
+                        case "no-store":
+                            cacheControl.noStore = true;
+                            break;
+                        case "no-cache":
+                            cacheControl.noCache = true;
+                            break;
+                        case "must-revalidate":
+                            cacheControl.mustRevalidate = true;
+                            break;
+                        case "max-age":
+                            cacheControl.maxAge = seconds(directive, equals);
+                            break;
+                        case "stale-while-revalidate":
+                            cacheControl.staleWhileRevalidate = seconds(directive, equals);
+                            break;
+                        default:
+                            // not relevant to the cache
+                    }
+                }
+            }
+            return cacheControl;
+        }
+
+        private static long seconds(String directive, int equals) {
+            if (equals == -1) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(directive.substring(equals + 1).replace("\"", "").trim());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
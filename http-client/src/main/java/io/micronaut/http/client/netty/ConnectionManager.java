@@ -27,6 +27,7 @@ import io.micronaut.http.client.exceptions.HttpClientException;
 import io.micronaut.http.client.netty.ssl.NettyClientSslBuilder;
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
 import io.micronaut.http.netty.channel.NettyThreadFactory;
+import io.micronaut.http.netty.ssl.SslHandshakeMetrics;
 import io.micronaut.scheduling.instrument.Instrumentation;
 import io.micronaut.scheduling.instrument.InvocationInstrumenter;
 import io.micronaut.websocket.exceptions.WebSocketSessionException;
@@ -41,6 +42,7 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.handler.codec.DecoderException;
@@ -89,9 +91,12 @@ import reactor.core.scheduler.Schedulers;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLPeerUnverifiedException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.SocketAddress;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -101,10 +106,12 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 /**
@@ -118,6 +125,7 @@ class ConnectionManager {
     private final HttpVersionSelection httpVersion;
     private final Logger log;
     private final Map<DefaultHttpClient.RequestKey, Pool> pools = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedConnectionCount = new AtomicLong();
     private EventLoopGroup group;
     private final boolean shutdownGroup;
     private final ThreadFactory threadFactory;
@@ -127,6 +135,7 @@ class ConnectionManager {
     private final SslContext sslContext;
     private final NettyClientCustomizer clientCustomizer;
     private final String informationalServiceId;
+    private final SslHandshakeMetrics sslHandshakeMetrics;
 
     /**
      * Copy constructor used by the test suite to patch this manager.
@@ -146,6 +155,7 @@ class ConnectionManager {
         this.sslContext = from.sslContext;
         this.clientCustomizer = from.clientCustomizer;
         this.informationalServiceId = from.informationalServiceId;
+        this.sslHandshakeMetrics = from.sslHandshakeMetrics;
     }
 
     ConnectionManager(
@@ -172,6 +182,7 @@ class ConnectionManager {
         this.instrumenter = instrumenter;
         this.clientCustomizer = clientCustomizer;
         this.informationalServiceId = informationalServiceId;
+        this.sslHandshakeMetrics = new SslHandshakeMetrics();
 
         this.sslContext = nettyClientSslBuilder.build(configuration.getSslConfiguration(), httpVersion);
 
@@ -271,6 +282,38 @@ class ConnectionManager {
         return count.get();
     }
 
+    /**
+     * @return A snapshot of the connections of all pools
+     * @since 4.0.0
+     */
+    @NonNull
+    ConnectionPoolMetrics getMetrics() {
+        List<ConnectionPoolMetrics.ConnectionMetrics> connections = new ArrayList<>();
+        for (Pool pool : pools.values()) {
+            pool.forEachConnection(c -> {
+                Pool.ConnectionHolder holder = (Pool.ConnectionHolder) c;
+                connections.add(new ConnectionPoolMetrics.ConnectionMetrics(
+                    pool.requestKey.getHost(),
+                    pool.requestKey.getPort(),
+                    pool.requestKey.isSecure(),
+                    holder instanceof Pool.Http2ConnectionHolder,
+                    holder.getActiveStreams(),
+                    holder.getMaxStreams()
+                ));
+            });
+        }
+        return new ConnectionPoolMetrics(connections, coalescedConnectionCount.get());
+    }
+
+    /**
+     * @return The TLS handshake metrics of the connections of this manager
+     * @since 4.0.0
+     */
+    @NonNull
+    SslHandshakeMetrics getSslHandshakeMetrics() {
+        return sslHandshakeMetrics;
+    }
+
     /**
      * @see DefaultHttpClient#start()
      */
@@ -345,6 +388,19 @@ class ConnectionManager {
         return localBootstrap.connect(host, port);
     }
 
+    /**
+     * Resolve the addresses of the given host, to find an HTTP2 connection to another host that may be reused for
+     * it. This method is overridden in tests.
+     *
+     * @param requestKey The remote to resolve
+     * @param eventLoop  The event loop to resolve on
+     * @return Future that terminates with the resolved addresses
+     */
+    @SuppressWarnings("unchecked")
+    protected Future<List<SocketAddress>> doResolve(DefaultHttpClient.RequestKey requestKey, EventLoop eventLoop) {
+        return (Future<List<SocketAddress>>) (Future<?>) bootstrap.config().resolver().getResolver(eventLoop).resolveAll(requestKey.getRemoteAddress());
+    }
+
     /**
      * Builds an {@link SslContext} for the given URI if necessary.
      *
@@ -376,6 +432,17 @@ class ConnectionManager {
         return pools.computeIfAbsent(requestKey, Pool::new).acquire(blockHint);
     }
 
+    /**
+     * Open connections to the given remote ahead of the first request.
+     *
+     * @param requestKey The remote to connect to
+     * @param connections The number of connections the pool for the remote should have
+     * @return A mono that completes once the connections are established
+     */
+    Mono<Void> warmUp(DefaultHttpClient.RequestKey requestKey, int connections) {
+        return pools.computeIfAbsent(requestKey, Pool::new).warmUp(connections);
+    }
+
     /**
      * Connect to a remote websocket. The given {@link ChannelHandler} is added to the pipeline
      * when the handshakes complete.
@@ -510,6 +577,7 @@ class ConnectionManager {
         SSLParameters params = engine.getSSLParameters();
         params.setEndpointIdentificationAlgorithm("HTTPS");
         engine.setSSLParameters(params);
+        sslHandshakeMetrics.track(sslHandler);
         return sslHandler;
     }
 
@@ -563,14 +631,24 @@ class ConnectionManager {
         });
         ch.pipeline().addLast(multiplexHandler);
         ch.pipeline().addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS, new ChannelInboundHandlerAdapter() {
+            Pool.Http2ConnectionHolder connectionHolder;
+
             @Override
             public void channelRead(@NonNull ChannelHandlerContext ctx, @NonNull Object msg) throws Exception {
                 if (msg instanceof Http2SettingsFrame) {
-                    ctx.pipeline().remove(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS);
-                    ctx.pipeline().remove(ChannelPipelineCustomizer.HANDLER_INITIAL_ERROR);
-                    pool.new Http2ConnectionHolder(ch, connectionCustomizer).init();
+                    Long maxConcurrentStreams = ((Http2SettingsFrame) msg).settings().maxConcurrentStreams();
+                    if (connectionHolder == null) {
+                        ctx.pipeline().remove(ChannelPipelineCustomizer.HANDLER_INITIAL_ERROR);
+                        connectionHolder = pool.new Http2ConnectionHolder(ch, connectionCustomizer);
+                        connectionHolder.updateMaxConcurrentStreams(maxConcurrentStreams);
+                        connectionHolder.init();
+                    } else if (maxConcurrentStreams != null) {
+                        // the server may change its settings at any time. A setting that is absent from a later
+                        // frame keeps its previous value (RFC 7540 section 6.5)
+                        connectionHolder.updateMaxConcurrentStreams(maxConcurrentStreams);
+                    }
                     return;
-                } else {
+                } else if (connectionHolder == null) {
                     log.warn("Premature frame: {}", msg.getClass());
                 }
 
@@ -845,6 +923,67 @@ class ConnectionManager {
 
         @Override
         void openNewConnection(@Nullable BlockHint blockHint) throws Exception {
+            if (requestKey.isSecure() && configuration.getConnectionPoolConfiguration().isHttp2ConnectionCoalescing() && hasCoalescingCandidates()) {
+                resolveAndCoalesce(blockHint);
+            } else {
+                connectNewConnection(blockHint);
+            }
+        }
+
+        /**
+         * @return Whether another pool has an HTTP2 connection this pool may be coalesced with
+         */
+        private boolean hasCoalescingCandidates() {
+            if (configuration.resolveProxy(true, requestKey.getHost(), requestKey.getPort()).type() != Proxy.Type.DIRECT) {
+                return false;
+            }
+            for (Pool pool : pools.values()) {
+                if (pool != this && pool.requestKey.isSecure() && pool.requestKey.getPort() == requestKey.getPort() && pool.hasHttp2Connections()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Resolves the host of this pool, and uses an HTTP2 connection of another pool that may be reused for this
+         * host as described in section 9.1.1 of RFC 7540. Opens a new connection if there is no such connection.
+         */
+        private void resolveAndCoalesce(@Nullable BlockHint blockHint) {
+            addInstrumentedListener(doResolve(requestKey, group.next()), (Future<List<SocketAddress>> future) -> {
+                Http2ConnectionHolder target = future.isSuccess() ? findCoalescableConnection(future.getNow()) : null;
+                if (target != null) {
+                    target.coalesce(this);
+                    return;
+                }
+                try {
+                    connectNewConnection(blockHint);
+                } catch (Exception e) {
+                    onNewConnectionFailure(e);
+                }
+            });
+        }
+
+        @Nullable
+        private Http2ConnectionHolder findCoalescableConnection(List<? extends SocketAddress> addresses) {
+            for (Pool pool : pools.values()) {
+                if (pool == this || !pool.requestKey.isSecure() || pool.requestKey.getPort() != requestKey.getPort()) {
+                    continue;
+                }
+                Http2ConnectionHolder[] found = new Http2ConnectionHolder[1];
+                pool.forEachConnection(c -> {
+                    if (found[0] == null && c instanceof Http2ConnectionHolder && !((Http2ConnectionHolder) c).isCoalescedWith(this) && ((Http2ConnectionHolder) c).canCoalesce(requestKey.getHost(), addresses)) {
+                        found[0] = (Http2ConnectionHolder) c;
+                    }
+                });
+                if (found[0] != null) {
+                    return found[0];
+                }
+            }
+            return null;
+        }
+
+        private void connectNewConnection(@Nullable BlockHint blockHint) throws Exception {
             // open a new connection
             ChannelInitializer<?> initializer;
             if (requestKey.isSecure()) {
@@ -894,7 +1033,15 @@ class ConnectionManager {
             });
         }
 
+        @Override
+        void scheduleWork(long delayNanos) {
+            if (!group.isShuttingDown()) {
+                group.schedule(this::markConnectionAvailable, delayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
         public void shutdown() {
+            markShutdown();
             forEachConnection(c -> ((ConnectionHolder) c).channel.close());
         }
 
@@ -998,6 +1145,17 @@ class ConnectionManager {
 
             @Override
             public boolean dispatch(PoolSink<PoolHandle> sink) {
+                return dispatch(sink, Pool.this);
+            }
+
+            /**
+             * Attempt to dispatch a stream on this connection.
+             *
+             * @param sink   The pending request that wants to acquire this connection
+             * @param origin The pool the request was made to. This is another pool if this connection was coalesced
+             * @return {@code true} if the acquisition may succeed, or {@code false} if it fails immediately
+             */
+            final boolean dispatch(PoolSink<PoolHandle> sink, Pool origin) {
                 if (!tryEarmarkForRequest()) {
                     return false;
                 }
@@ -1008,9 +1166,9 @@ class ConnectionManager {
                     return true;
                 }
                 if (channel.eventLoop().inEventLoop()) {
-                    dispatch0(sink);
+                    dispatch0(sink, origin);
                 } else {
-                    channel.eventLoop().execute(() -> dispatch0(sink));
+                    channel.eventLoop().execute(() -> dispatch0(sink, origin));
                 }
                 return true;
             }
@@ -1019,9 +1177,10 @@ class ConnectionManager {
              * <b>Called on event loop only.</b> Dispatch a stream/connection to the given pool
              * handle request.
              *
-             * @param sink The request for a pool handle
+             * @param sink   The request for a pool handle
+             * @param origin The pool the request was made to
              */
-            abstract void dispatch0(PoolSink<PoolHandle> sink);
+            abstract void dispatch0(PoolSink<PoolHandle> sink, Pool origin);
 
             /**
              * Try to add a new request to this connection. This is called outside the event loop,
@@ -1037,6 +1196,16 @@ class ConnectionManager {
              */
             abstract boolean hasLiveRequests();
 
+            /**
+             * @return The number of requests running on this connection
+             */
+            abstract int getActiveStreams();
+
+            @Override
+            boolean isIdle() {
+                return channel.isActive() && !windDownConnection && !hasLiveRequests();
+            }
+
             /**
              * Send a read timeout exception to all requests on this connection.
              *
@@ -1087,13 +1256,18 @@ class ConnectionManager {
                 return hasLiveRequest.get();
             }
 
+            @Override
+            int getActiveStreams() {
+                return hasLiveRequest.get() ? 1 : 0;
+            }
+
             @Override
             void fireReadTimeout(ChannelHandlerContext ctx) {
                 ctx.fireExceptionCaught(ReadTimeoutException.INSTANCE);
             }
 
             @Override
-            void dispatch0(PoolSink<PoolHandle> sink) {
+            void dispatch0(PoolSink<PoolHandle> sink, Pool origin) {
                 if (!channel.isActive()) {
                     returnPendingRequest(sink);
                     return;
@@ -1161,6 +1335,14 @@ class ConnectionManager {
         final class Http2ConnectionHolder extends ConnectionHolder {
             private final AtomicInteger liveRequests = new AtomicInteger(0);
             private final Set<Channel> liveStreamChannels = new HashSet<>(); // todo: https://github.com/netty/netty/pull/12830
+            /**
+             * The connections of other pools whose remote was verified for this connection.
+             */
+            private final List<CoalescedConnection> coalescedConnections = new CopyOnWriteArrayList<>();
+            /**
+             * The value of {@code SETTINGS_MAX_CONCURRENT_STREAMS} last sent by the server.
+             */
+            private volatile int maxConcurrentStreams = Integer.MAX_VALUE;
 
             Http2ConnectionHolder(Channel channel, NettyClientCustomizer customizer) {
                 super(channel, customizer);
@@ -1178,9 +1360,26 @@ class ConnectionManager {
                 onNewConnectionEstablished2(this);
             }
 
+            /**
+             * Called when the server sends its settings.
+             *
+             * @param maxConcurrentStreams The maximum number of concurrent streams, or {@code null} if the initial
+             *                             settings leave it unlimited
+             */
+            void updateMaxConcurrentStreams(@Nullable Long maxConcurrentStreams) {
+                this.maxConcurrentStreams = maxConcurrentStreams == null ? Integer.MAX_VALUE : (int) Math.min(Integer.MAX_VALUE, maxConcurrentStreams);
+                // pending requests may fit now
+                markConnectionAvailable();
+            }
+
+            @Override
+            int getMaxStreams() {
+                return Math.min(maxConcurrentStreams, configuration.getConnectionPoolConfiguration().getMaxConcurrentRequestsPerHttp2Connection());
+            }
+
             @Override
             boolean tryEarmarkForRequest() {
-                return !windDownConnection && incrementWithLimit(liveRequests, configuration.getConnectionPoolConfiguration().getMaxConcurrentRequestsPerHttp2Connection());
+                return !windDownConnection && incrementWithLimit(liveRequests, getMaxStreams());
             }
 
             @Override
@@ -1188,6 +1387,72 @@ class ConnectionManager {
                 return liveRequests.get() > 0;
             }
 
+            @Override
+            int getActiveStreams() {
+                return liveRequests.get();
+            }
+
+            /**
+             * Whether requests to the given host may be sent over this connection.
+             *
+             * @param host      The host
+             * @param addresses The resolved addresses of the host
+             * @return {@code true} if the connection is established with one of the addresses, and the certificate
+             * presented by the server is valid for the host
+             */
+            boolean canCoalesce(String host, List<? extends SocketAddress> addresses) {
+                if (!channel.isActive() || windDownConnection || liveRequests.get() >= getMaxStreams()) {
+                    return false;
+                }
+                SocketAddress remoteAddress = channel.remoteAddress();
+                if (!(remoteAddress instanceof InetSocketAddress) || !addresses.contains(remoteAddress)) {
+                    return false;
+                }
+                SslHandler sslHandler = channel.pipeline().get(SslHandler.class);
+                if (sslHandler == null) {
+                    return false;
+                }
+                try {
+                    Certificate[] certificates = sslHandler.engine().getSession().getPeerCertificates();
+                    return certificates.length > 0 &&
+                        certificates[0] instanceof X509Certificate &&
+                        CertificateHostnameMatcher.matches((X509Certificate) certificates[0], host);
+                } catch (SSLPeerUnverifiedException e) {
+                    return false;
+                }
+            }
+
+            /**
+             * @param source The pool of another host
+             * @return Whether this connection is already used for the requests of the given pool
+             */
+            boolean isCoalescedWith(Pool source) {
+                for (CoalescedConnection c : coalescedConnections) {
+                    if (c.source == source) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            /**
+             * Sends the requests of the given pool over this connection from now on. The other connections of this
+             * pool are not used for the given pool, because they were not checked with {@link #canCoalesce}.
+             *
+             * @param source The pool of the coalesced host
+             */
+            void coalesce(Pool source) {
+                CoalescedConnection coalesced = new CoalescedConnection(this, source);
+                coalescedConnections.add(coalesced);
+                coalescedConnectionCount.incrementAndGet();
+                source.onNewConnectionCoalesced(coalesced);
+                if (!channel.isActive()) {
+                    // closed in the meantime, onInactive may have missed the new connection
+                    coalescedConnections.remove(coalesced);
+                    source.onCoalescedConnectionInactive(coalesced);
+                }
+            }
+
             @Override
             void fireReadTimeout(ChannelHandlerContext ctx) {
                 for (Channel sc : liveStreamChannels) {
@@ -1196,9 +1461,9 @@ class ConnectionManager {
             }
 
             @Override
-            void dispatch0(PoolSink<PoolHandle> sink) {
+            void dispatch0(PoolSink<PoolHandle> sink, Pool origin) {
                 if (!channel.isActive() || windDownConnection) {
-                    returnPendingRequest(sink);
+                    returnPendingRequest(sink, origin);
                     return;
                 }
                 addInstrumentedListener(new Http2StreamChannelBootstrap(channel).open(), (Future<Http2StreamChannel> future) -> {
@@ -1224,6 +1489,9 @@ class ConnectionManager {
                                     Http2ConnectionHolder.this.channel.close();
                                 } else {
                                     markConnectionAvailable();
+                                    if (origin != Pool.this) {
+                                        origin.markConnectionAvailable();
+                                    }
                                 }
                             }
 
@@ -1241,14 +1509,14 @@ class ConnectionManager {
                         emitPoolHandle(sink, ph);
                     } else {
                         log.debug("Failed to open http2 stream", future.cause());
-                        returnPendingRequest(sink);
+                        returnPendingRequest(sink, origin);
                     }
                 });
             }
 
-            private void returnPendingRequest(PoolSink<PoolHandle> sink) {
+            private void returnPendingRequest(PoolSink<PoolHandle> sink, Pool origin) {
                 // failed, but the pending request may still work on another connection.
-                addPendingRequest(sink);
+                origin.addPendingRequest(sink);
                 liveRequests.decrementAndGet();
             }
 
@@ -1263,8 +1531,34 @@ class ConnectionManager {
             @Override
             void onInactive() {
                 super.onInactive();
+                for (CoalescedConnection c : coalescedConnections) {
+                    c.source.onCoalescedConnectionInactive(c);
+                }
                 onConnectionInactive2(this);
             }
         }
+
+        /**
+         * An HTTP2 connection of this pool, as seen by the pool of another host that was verified for it.
+         */
+        final class CoalescedConnection extends ResizerConnection {
+            private final Http2ConnectionHolder connection;
+            private final Pool source;
+
+            CoalescedConnection(Http2ConnectionHolder connection, Pool source) {
+                this.connection = connection;
+                this.source = source;
+            }
+
+            @Override
+            boolean dispatch(PoolSink<PoolHandle> sink) {
+                return connection.dispatch(sink, source);
+            }
+
+            @Override
+            int getMaxStreams() {
+                return connection.getMaxStreams();
+            }
+        }
     }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A snapshot of the connections held by the connection pools of a {@link DefaultHttpClient}. With HTTP2, a client
+ * sending many requests is expected to use a few connections running many streams each, which can be verified with
+ * {@link #getAverageStreamsPerHttp2Connection()}.
+ *
+ * @since 4.0.0
+ */
+public final class ConnectionPoolMetrics {
+
+    private final List<ConnectionMetrics> connections;
+    private final long coalescedConnectionCount;
+
+    /**
+     * @param connections              The connections
+     * @param coalescedConnectionCount The number of connections that were not opened because a connection to
+     *                                 another host was reused
+     */
+    ConnectionPoolMetrics(List<ConnectionMetrics> connections, long coalescedConnectionCount) {
+        this.connections = Collections.unmodifiableList(connections);
+        this.coalescedConnectionCount = coalescedConnectionCount;
+    }
+
+    /**
+     * @return The open connections
+     */
+    @NonNull
+    public List<ConnectionMetrics> getConnections() {
+        return connections;
+    }
+
+    /**
+     * @return The number of open HTTP2 connections
+     */
+    public int getHttp2ConnectionCount() {
+        int count = 0;
+        for (ConnectionMetrics connection : connections) {
+            if (connection.isHttp2()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of streams running on HTTP2 connections
+     */
+    public int getActiveHttp2StreamCount() {
+        int count = 0;
+        for (ConnectionMetrics connection : connections) {
+            if (connection.isHttp2()) {
+                count += connection.getActiveStreams();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The average number of streams running on an HTTP2 connection, or 0 if there is no HTTP2 connection
+     */
+    public double getAverageStreamsPerHttp2Connection() {
+        int connectionCount = getHttp2ConnectionCount();
+        return connectionCount == 0 ? 0 : (double) getActiveHttp2StreamCount() / connectionCount;
+    }
+
+    /**
+     * @return The number of connections that were not opened because an HTTP2 connection to another host with the
+     * same address and certificate was reused
+     */
+    public long getCoalescedConnectionCount() {
+        return coalescedConnectionCount;
+    }
+
+    /**
+     * The metrics of a single connection.
+     */
+    public static final class ConnectionMetrics {
+        private final String host;
+        private final int port;
+        private final boolean secure;
+        private final boolean http2;
+        private final int activeStreams;
+        private final int maxStreams;
+
+        /**
+         * @param host          The host the connection was opened for
+         * @param port          The port
+         * @param secure        Whether the connection uses TLS
+         * @param http2         Whether the connection uses HTTP2
+         * @param activeStreams The number of requests running on the connection
+         * @param maxStreams    The maximum number of requests that may run concurrently on the connection
+         */
+        ConnectionMetrics(String host, int port, boolean secure, boolean http2, int activeStreams, int maxStreams) {
+            this.host = host;
+            this.port = port;
+            this.secure = secure;
+            this.http2 = http2;
+            this.activeStreams = activeStreams;
+            this.maxStreams = maxStreams;
+        }
+
+        /**
+         * @return The host the connection was opened for
+         */
+        @NonNull
+        public String getHost() {
+            return host;
+        }
+
+        /**
+         * @return The port
+         */
+        public int getPort() {
+            return port;
+        }
+
+        /**
+         * @return Whether the connection uses TLS
+         */
+        public boolean isSecure() {
+            return secure;
+        }
+
+        /**
+         * @return Whether the connection uses HTTP2
+         */
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        /**
+         * @return The number of requests running on the connection
+         */
+        public int getActiveStreams() {
+            return activeStreams;
+        }
+
+        /**
+         * @return The maximum number of requests that may run concurrently on the connection, which is the lower of
+         * the configured limit and the limit advertised by the server for HTTP2 connections
+         */
+        public int getMaxStreams() {
+            return maxStreams;
+        }
+
+        @Override
+        public String toString() {
+            return (secure ? "https://" : "http://") + host + ':' + port + (http2 ? " (h2) " : " (http/1.1) ") + activeStreams + '/' + maxStreams;
+        }
+    }
+}
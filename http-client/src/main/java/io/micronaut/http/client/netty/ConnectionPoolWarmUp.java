@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.micronaut.http.client.ServiceHttpClientConfiguration;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens the connections configured with
+ * {@link HttpClientConfiguration.ConnectionPoolConfiguration#getWarmUpConnections()} to every instance of each
+ * configured service when the application starts, so that the first requests don't pay for the connection and TLS
+ * handshakes. The instances of a service are its configured URLs, or the instances resolved by the
+ * {@link DiscoveryClient} if no URLs are configured.
+ *
+ * <p>The connections are opened by the client that is injected for {@code @Client("serviceId")}, so they are reused
+ * by that client. The progress of the warm-up is exposed through {@link #getStatus()}, and reported by the readiness
+ * health indicator if the management module is present.</p>
+ *
+ * @since 4.0.0
+ */
+@Singleton
+@Requires(property = ServiceHttpClientConfiguration.PREFIX)
+public final class ConnectionPoolWarmUp implements ApplicationEventListener<StartupEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionPoolWarmUp.class);
+
+    private final List<ServiceHttpClientConfiguration> configurations;
+    private final BeanProvider<DefaultNettyHttpClientRegistry> clientRegistry;
+    private final DiscoveryClient discoveryClient;
+    private final Map<String, Status> status = new ConcurrentHashMap<>();
+
+    /**
+     * @param configurations  The service configurations
+     * @param clientRegistry  The client registry
+     * @param discoveryClient The discovery client used to resolve services without configured URLs
+     */
+    ConnectionPoolWarmUp(List<ServiceHttpClientConfiguration> configurations,
+                         BeanProvider<DefaultNettyHttpClientRegistry> clientRegistry,
+                         DiscoveryClient discoveryClient) {
+        this.configurations = configurations;
+        this.clientRegistry = clientRegistry;
+        this.discoveryClient = discoveryClient;
+        for (ServiceHttpClientConfiguration configuration : configurations) {
+            if (isWarmUpEnabled(configuration)) {
+                // report the warm-up as pending before the application is started
+                status.put(configuration.getServiceId(), Status.PENDING);
+            }
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        for (ServiceHttpClientConfiguration configuration : configurations) {
+            if (isWarmUpEnabled(configuration)) {
+                warmUp(configuration);
+            }
+        }
+    }
+
+    /**
+     * @return The warm-up status of each service that has warm-up enabled, by service ID
+     */
+    @NonNull
+    public Map<String, Status> getStatus() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(status));
+    }
+
+    /**
+     * @return {@code true} if no warm-up is pending anymore
+     */
+    public boolean isComplete() {
+        return !status.containsValue(Status.PENDING);
+    }
+
+    private void warmUp(ServiceHttpClientConfiguration configuration) {
+        String serviceId = configuration.getServiceId();
+        HttpClientConfiguration.ConnectionPoolConfiguration poolConfiguration = configuration.getConnectionPoolConfiguration();
+        int connections = poolConfiguration.getWarmUpConnections();
+        DefaultHttpClient client;
+        try {
+            client = clientRegistry.get().getServiceClient(serviceId);
+        } catch (Exception e) {
+            LOG.warn("Cannot warm up the connection pool of service [{}]: {}", serviceId, e.getMessage(), e);
+            status.put(serviceId, Status.FAILED);
+            return;
+        }
+        resolveInstances(configuration)
+            .flatMap(uri -> client.warmUp(uri, connections))
+            .then()
+            .timeout(poolConfiguration.getWarmUpTimeout())
+            .subscribe(
+                ignored -> { },
+                e -> {
+                    // the pool keeps opening the connections in the background
+                    LOG.warn("Warm-up of the connection pool of service [{}] did not complete: {}", serviceId, e.getMessage());
+                    status.put(serviceId, Status.FAILED);
+                },
+                () -> {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Opened {} connections per instance of service [{}]", connections, serviceId);
+                    }
+                    status.put(serviceId, Status.COMPLETE);
+                }
+            );
+    }
+
+    private Flux<URI> resolveInstances(ServiceHttpClientConfiguration configuration) {
+        List<URI> urls = configuration.getUrls();
+        if (!urls.isEmpty()) {
+            return Flux.fromIterable(urls);
+        }
+        return Mono.from(discoveryClient.getInstances(configuration.getServiceId()))
+            .flatMapIterable(instances -> instances)
+            .map(ServiceInstance::getURI);
+    }
+
+    private static boolean isWarmUpEnabled(ServiceHttpClientConfiguration configuration) {
+        HttpClientConfiguration.ConnectionPoolConfiguration poolConfiguration = configuration.getConnectionPoolConfiguration();
+        return poolConfiguration.isEnabled() && poolConfiguration.getWarmUpConnections() > 0;
+    }
+
+    /**
+     * The warm-up status of a service.
+     */
+    public enum Status {
+        /**
+         * The connections are being opened.
+         */
+        PENDING,
+        /**
+         * The connections were opened.
+         */
+        COMPLETE,
+        /**
+         * The connections could not be opened within the warm-up timeout. The pool keeps trying in the background.
+         */
+        FAILED
+    }
+}
@@ -64,6 +64,8 @@ import io.micronaut.http.client.exceptions.ReadTimeoutException;
 import io.micronaut.http.client.filter.ClientFilterResolutionContext;
 import io.micronaut.http.client.filter.DefaultHttpClientFilterResolver;
 import io.micronaut.http.client.filters.ClientServerContextFilter;
+import io.micronaut.http.client.loadbalance.RequestTrackingLoadBalancer;
+import io.micronaut.http.client.loadbalance.ServiceInstanceStats;
 import io.micronaut.http.client.multipart.MultipartBody;
 import io.micronaut.http.client.multipart.MultipartDataFactory;
 import io.micronaut.http.client.netty.ssl.NettyClientSslBuilder;
@@ -83,6 +85,7 @@ import io.micronaut.http.netty.NettyHttpHeaders;
 import io.micronaut.http.netty.NettyHttpRequestBuilder;
 import io.micronaut.http.netty.NettyHttpResponseBuilder;
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
+import io.micronaut.http.netty.ssl.SslHandshakeMetrics;
 import io.micronaut.http.netty.stream.DefaultStreamedHttpResponse;
 import io.micronaut.http.netty.stream.HttpStreamsClientHandler;
 import io.micronaut.http.netty.stream.JsonSubscriber;
@@ -163,6 +166,7 @@ import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.io.Closeable;
 import java.io.File;
@@ -175,6 +179,7 @@ import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -183,6 +188,8 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -215,6 +222,11 @@ public class DefaultHttpClient implements
     private static final Logger DEFAULT_LOG = LoggerFactory.getLogger(DefaultHttpClient.class);
     private static final int DEFAULT_HTTP_PORT = 80;
     private static final int DEFAULT_HTTPS_PORT = 443;
+    /**
+     * The number of instances the load balancer is asked for when looking for an instance that no other attempt of a
+     * hedged request was sent to.
+     */
+    private static final int MAX_HEDGE_SELECTIONS = 4;
 
     /**
      * Which headers <i>not</i> to copy from the first request when redirecting to a second request. There doesn't
@@ -249,6 +261,8 @@ public class DefaultHttpClient implements
     private final Charset defaultCharset;
     private final Logger log;
     private final HttpClientFilterResolver<ClientFilterResolutionContext> filterResolver;
+    private final boolean responseCacheEnabled;
+    private final RequestHedger requestHedger;
     private final WebSocketBeanRegistry webSocketRegistry;
     private final RequestBinderRegistry requestBinderRegistry;
     private final List<InvocationInstrumenterFactory> invocationInstrumenterFactories;
@@ -361,13 +375,24 @@ public class DefaultHttpClient implements
         this.mediaTypeCodecRegistry = codecRegistry;
         this.log = configuration.getLoggerName().map(LoggerFactory::getLogger).orElse(DEFAULT_LOG);
         this.filterResolver = filterResolver;
-        if (clientFilterEntries != null) {
-            this.clientFilterEntries = clientFilterEntries;
-        } else {
-            this.clientFilterEntries = filterResolver.resolveFilterEntries(
+        if (clientFilterEntries == null) {
+            clientFilterEntries = filterResolver.resolveFilterEntries(
                     new ClientFilterResolutionContext(null, AnnotationMetadata.EMPTY_METADATA)
             );
         }
+        HttpClientConfiguration.CacheConfiguration cacheConfiguration = configuration.getCacheConfiguration();
+        this.responseCacheEnabled = cacheConfiguration.isEnabled();
+        if (responseCacheEnabled) {
+            clientFilterEntries = new ArrayList<>(clientFilterEntries);
+            clientFilterEntries.add(HttpFilterResolver.FilterEntry.of(
+                    new ClientResponseCacheFilter(cacheConfiguration, this::cachedResponse),
+                    AnnotationMetadata.EMPTY_METADATA,
+                    Collections.singleton(io.micronaut.http.HttpMethod.GET)
+            ));
+        }
+        this.clientFilterEntries = clientFilterEntries;
+        HttpClientConfiguration.HedgingConfiguration hedgingConfiguration = configuration.getHedgingConfiguration();
+        this.requestHedger = hedgingConfiguration.isEnabled() ? new RequestHedger(hedgingConfiguration) : null;
         this.webSocketRegistry = webSocketBeanRegistry != null ? webSocketBeanRegistry : WebSocketBeanRegistry.EMPTY;
         this.requestBinderRegistry = requestBinderRegistry;
         this.informationalServiceId = informationalServiceId;
@@ -439,6 +464,41 @@ public class DefaultHttpClient implements
         return configuration;
     }
 
+    /**
+     * @return A snapshot of the pooled connections of this client, including the number of streams running on each
+     * HTTP2 connection
+     * @since 4.0.0
+     */
+    @NonNull
+    public ConnectionPoolMetrics getConnectionPoolMetrics() {
+        return connectionManager.getMetrics();
+    }
+
+    /**
+     * @return The TLS handshake metrics of the connections of this client, including the share of handshakes that
+     * resumed a previous session
+     * @since 4.0.0
+     */
+    @NonNull
+    public SslHandshakeMetrics getSslHandshakeMetrics() {
+        return connectionManager.getSslHandshakeMetrics();
+    }
+
+    /**
+     * Opens connections to the given remote ahead of the first request, so that requests don't have to wait for the
+     * connection and TLS handshakes. Connection failures are retried with a backoff until the connections are
+     * established, so callers should apply a timeout.
+     *
+     * @param uri The URI of the remote. Only the scheme, host and port are used
+     * @param connections The number of connections the pool for the remote should have
+     * @return A publisher that completes once the connections are established
+     * @since 4.0.0
+     */
+    @NonNull
+    public Publisher<Void> warmUp(@NonNull URI uri, int connections) {
+        return Mono.defer(() -> connectionManager.warmUp(new RequestKey(this, uri), connections));
+    }
+
     /**
      * @return The client-specific logger name
      */
@@ -714,7 +774,7 @@ public class DefaultHttpClient implements
         setupConversionService(request);
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
         return new MicronautFlux<>(Flux.from(resolveRequestURI(request))
-                .flatMap(requestURI -> dataStreamImpl(toMutableRequest(request), errorType, parentRequest, requestURI)))
+                .flatMap(requestURI -> trackRequest(requestURI, dataStreamImpl(toMutableRequest(request), errorType, parentRequest, requestURI))))
                 .doAfterNext(buffer -> {
                     Object o = buffer.asNativeBuffer();
                     if (o instanceof ByteBuf) {
@@ -736,7 +796,7 @@ public class DefaultHttpClient implements
         setupConversionService(request);
         io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
         return new MicronautFlux<>(Flux.from(resolveRequestURI(request))
-                .flatMap(uri -> exchangeStreamImpl(parentRequest, toMutableRequest(request), errorType, uri)))
+                .flatMap(uri -> trackRequest(uri, exchangeStreamImpl(parentRequest, toMutableRequest(request), errorType, uri))))
                 .doAfterNext(byteBufferHttpResponse -> {
                     ByteBuffer<?> buffer = byteBufferHttpResponse.body();
                     if (buffer instanceof ReferenceCounted) {
@@ -756,7 +816,7 @@ public class DefaultHttpClient implements
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
         setupConversionService(parentRequest);
         return Flux.from(resolveRequestURI(request))
-                .flatMap(requestURI -> jsonStreamImpl(parentRequest, toMutableRequest(request), type, errorType, requestURI));
+                .flatMap(requestURI -> trackRequest(requestURI, jsonStreamImpl(parentRequest, toMutableRequest(request), type, errorType, requestURI)));
     }
 
     @SuppressWarnings("unchecked")
@@ -780,9 +840,56 @@ public class DefaultHttpClient implements
     private <I, O, E> Flux<HttpResponse<O>> exchange(io.micronaut.http.HttpRequest<I> request, Argument<O> bodyType, Argument<E> errorType, @Nullable BlockHint blockHint) {
         setupConversionService(request);
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
+        if (requestHedger != null && loadBalancer != null && RequestHedger.isHedgeable(request)) {
+            return Flux.from(hedgedExchange(request, parentRequest, bodyType, errorType, blockHint));
+        }
         Publisher<URI> uriPublisher = resolveRequestURI(request);
         return Flux.from(uriPublisher)
-            .switchMap(uri -> exchangeImpl(uri, parentRequest, toMutableRequest(request), bodyType, errorType, blockHint));
+            .switchMap(uri -> trackRequest(uri, exchangeImpl(uri, parentRequest, toMutableRequest(request), bodyType, errorType, blockHint)));
+    }
+
+    /**
+     * Sends the request to the instance selected by the {@link LoadBalancer}, and further attempts to other instances
+     * when the response takes longer than the hedging delay.
+     */
+    private <I, O, E> Publisher<HttpResponse<O>> hedgedExchange(io.micronaut.http.HttpRequest<I> request, @Nullable io.micronaut.http.HttpRequest<Object> parentRequest, Argument<O> bodyType, Argument<E> errorType, @Nullable BlockHint blockHint) {
+        // copied before the filters of the first attempt modify the request
+        MutableHttpRequest<Object> template = RequestHedger.copy(request);
+        Set<String> authorities = ConcurrentHashMap.newKeySet();
+        return requestHedger.<HttpResponse<O>>hedge(attempt -> {
+            MutableHttpRequest<?> attemptRequest = attempt == 0 ? toMutableRequest(request) : RequestHedger.copy(template);
+            return Flux.defer(() -> resolveRequestURI(attemptRequest))
+                .repeat(MAX_HEDGE_SELECTIONS - 1)
+                .filter(uri -> authorities.add(String.valueOf(uri.getAuthority())))
+                .take(1)
+                .switchMap(uri -> trackRequest(uri, exchangeImpl(uri, parentRequest, attemptRequest, bodyType, errorType, blockHint)));
+        });
+    }
+
+    /**
+     * Records the outstanding requests and response times of the instance targeted by the given URI, when the
+     * {@link LoadBalancer} selects instances based on their load.
+     */
+    private <T> Publisher<T> trackRequest(URI uri, Publisher<T> responsePublisher) {
+        if (!(loadBalancer instanceof RequestTrackingLoadBalancer)) {
+            return responsePublisher;
+        }
+        ServiceInstanceStats stats = ((RequestTrackingLoadBalancer) loadBalancer).getStats(uri);
+        if (stats == null) {
+            return responsePublisher;
+        }
+        return Flux.defer(() -> {
+            long start = stats.requestStarted();
+            return Flux.from(responsePublisher)
+                .doFinally(signal -> {
+                    if (signal == SignalType.ON_ERROR) {
+                        // failures are often faster than responses, they must not lower the latency
+                        stats.requestFailed(start);
+                    } else {
+                        stats.requestCompleted(start, signal == SignalType.ON_COMPLETE);
+                    }
+                });
+        });
     }
 
     @Override
@@ -1013,7 +1120,7 @@ public class DefaultHttpClient implements
                                     (Publisher) proxyResponsePublisher
                             )
                     );
-                    return proxyResponsePublisher;
+                    return trackRequest(requestURI, proxyResponsePublisher);
                 });
     }
 
@@ -1102,7 +1209,8 @@ public class DefaultHttpClient implements
             return Flux.error(e);
         }
 
-        Mono<ConnectionManager.PoolHandle> handlePublisher = connectionManager.connect(requestKey, blockHint);
+        // deferred, so that no connection is acquired for requests answered by a filter such as the response cache
+        Mono<ConnectionManager.PoolHandle> handlePublisher = Mono.defer(() -> connectionManager.connect(requestKey, blockHint));
 
         Flux<io.micronaut.http.HttpResponse<O>> responsePublisher = handlePublisher.flatMapMany(poolHandle -> {
             poolHandle.channel.pipeline()
@@ -1134,6 +1242,9 @@ public class DefaultHttpClient implements
             });
         });
 
+        if (responseCacheEnabled) {
+            request.setAttribute(ClientResponseCacheFilter.BODY_TYPE, bodyType);
+        }
         Publisher<io.micronaut.http.HttpResponse<O>> finalPublisher = applyFilterToResponsePublisher(
                 parentRequest,
                 request,
@@ -1235,6 +1346,14 @@ public class DefaultHttpClient implements
         return null;
     }
 
+    /**
+     * Creates the response of a request answered from the response cache.
+     */
+    @SuppressWarnings("unchecked")
+    private HttpResponse<?> cachedResponse(FullHttpResponse response, Argument<?> bodyType) {
+        return new FullNettyClientHttpResponse<>(response, mediaTypeCodecRegistry, byteBufferFactory, (Argument<Object>) bodyType, true, conversionService);
+    }
+
     private <I, R extends io.micronaut.http.HttpResponse<?>> Publisher<R> applyFilterToResponsePublisher(
             io.micronaut.http.HttpRequest<?> parentRequest,
             io.micronaut.http.HttpRequest<I> request,
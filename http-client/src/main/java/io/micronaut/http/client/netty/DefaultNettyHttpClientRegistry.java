@@ -169,6 +169,26 @@ class DefaultNettyHttpClientRegistry implements AutoCloseable,
         return getClient(key, beanContext, AnnotationMetadata.EMPTY_METADATA);
     }
 
+    /**
+     * Get the client that is injected for a plain {@code @Client("serviceId")} injection point, so that
+     * connections opened by this client are reused by the injected clients.
+     *
+     * @param serviceId The service ID
+     * @return The client
+     */
+    @NonNull
+    DefaultHttpClient getServiceClient(@NonNull String serviceId) {
+        final ClientKey key = new ClientKey(
+                null,
+                serviceId,
+                Collections.emptyList(),
+                null,
+                null,
+                null
+        );
+        return getClient(key, beanContext, AnnotationMetadata.EMPTY_METADATA);
+    }
+
     @Override
     @NonNull
     public DefaultHttpClient getClient(@NonNull AnnotationMetadata metadata) {
@@ -20,12 +20,14 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.client.HttpClientConfiguration;
 import io.micronaut.http.client.exceptions.HttpClientException;
 import org.slf4j.Logger;
+import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 
 import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -40,9 +42,18 @@ import java.util.function.Consumer;
  * {@link #dirty()}. The state management logic ensures that {@link #doSomeWork()} is called in a
  * serialized fashion (no concurrency or reentrancy) at least once after each {@link #dirty()}
  * call.
+ * <p>
+ * Besides the connections needed for pending requests, the pool opens connections to satisfy
+ * {@link io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#getMinIdle()}
+ * and pending {@link #warmUp} requests. Failures to open these connections are retried with an
+ * exponential backoff, using {@link #scheduleWork}.
  */
 @Internal
 abstract class PoolResizer {
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int MAX_BACKOFF_SHIFT = 16;
+
     private final Logger log;
     private final HttpClientConfiguration.ConnectionPoolConfiguration connectionPoolConfiguration;
 
@@ -53,6 +64,19 @@ abstract class PoolResizer {
     private final Deque<PoolSink<ConnectionManager.PoolHandle>> pendingRequests = new ConcurrentLinkedDeque<>();
     private final List<ResizerConnection> http1Connections = new CopyOnWriteArrayList<>();
     private final List<ResizerConnection> http2Connections = new CopyOnWriteArrayList<>();
+    /**
+     * HTTP2 connections of other pools that were verified to be valid for the remote of this pool.
+     */
+    private final List<ResizerConnection> coalescedConnections = new CopyOnWriteArrayList<>();
+    private final List<WarmUp> pendingWarmUps = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
+    /**
+     * {@link System#nanoTime()} before which no connections are opened to keep connections idle,
+     * after a connection failure.
+     */
+    private volatile long backoffDeadline = System.nanoTime();
+    private volatile boolean shutdown = false;
 
     PoolResizer(Logger log, HttpClientConfiguration.ConnectionPoolConfiguration connectionPoolConfiguration) {
         this.log = log;
@@ -110,6 +134,14 @@ abstract class PoolResizer {
                     break;
                 }
             }
+            if (!dispatched) {
+                for (ResizerConnection c : coalescedConnections) {
+                    if (dispatchSafe(c, toDispatch)) {
+                        dispatched = true;
+                        break;
+                    }
+                }
+            }
             if (!dispatched) {
                 for (ResizerConnection c : http1Connections) {
                     if (dispatchSafe(c, toDispatch)) {
@@ -132,11 +164,24 @@ abstract class PoolResizer {
         int http1ConnectionCount = this.http1Connections.size();
         int http2ConnectionCount = this.http2Connections.size();
 
-        if (pendingRequestCount == 0) {
-            // if there are no pending requests, there is nothing to do.
+        int warmUpTarget = completeWarmUps(http1ConnectionCount + http2ConnectionCount);
+        int idleConnectionsToOpen = idleConnectionsToOpen(warmUpTarget, http1ConnectionCount + http2ConnectionCount) - pendingConnectionCount;
+
+        if (pendingRequestCount == 0 && idleConnectionsToOpen <= 0) {
+            // if there are no pending requests and enough idle connections, there is nothing to do.
             return;
         }
-        int connectionsToOpen = pendingRequestCount - pendingConnectionCount;
+        int connectionsToOpen;
+        if (pendingRequestCount == 0) {
+            connectionsToOpen = 0;
+        } else if (http2ConnectionCount > 0) {
+            // every new HTTP2 connection can take as many requests as the server allows streams
+            int streamsPerConnection = maxStreamsPerHttp2Connection();
+            connectionsToOpen = (int) ((pendingRequestCount + (long) streamsPerConnection - 1) / streamsPerConnection) - pendingConnectionCount;
+        } else {
+            connectionsToOpen = pendingRequestCount - pendingConnectionCount;
+        }
+        connectionsToOpen = Math.max(connectionsToOpen, idleConnectionsToOpen);
         // make sure we won't exceed our config setting for pending connections
         connectionsToOpen = Math.min(connectionsToOpen, connectionPoolConfiguration.getMaxPendingConnections() - pendingConnectionCount);
         // limit the connection count to the protocol-specific settings, but only if that protocol was seen for this pool.
@@ -164,6 +209,66 @@ abstract class PoolResizer {
         }
     }
 
+    /**
+     * Completes the warm-up requests that are satisfied by the given number of connections.
+     *
+     * @param connectionCount The number of established connections
+     * @return The largest number of connections requested by the remaining warm-up requests
+     */
+    private int completeWarmUps(int connectionCount) {
+        int target = 0;
+        for (WarmUp warmUp : pendingWarmUps) {
+            if (shutdown) {
+                pendingWarmUps.remove(warmUp);
+                warmUp.sink.tryEmitError(new HttpClientException("Connection pool was shut down before the warm-up completed"));
+            } else if (warmUp.connections <= connectionCount) {
+                pendingWarmUps.remove(warmUp);
+                warmUp.sink.tryEmitEmpty();
+            } else {
+                target = Math.max(target, warmUp.connections);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * @param warmUpTarget The number of connections requested by pending warm-ups
+     * @param connectionCount The number of established connections
+     * @return The number of connections to open, ignoring pending connections, so that the pool
+     * satisfies the warm-up target and the configured number of idle connections
+     */
+    private int idleConnectionsToOpen(int warmUpTarget, int connectionCount) {
+        if (shutdown || !connectionPoolConfiguration.isEnabled() || System.nanoTime() - backoffDeadline < 0) {
+            return 0;
+        }
+        int minIdle = connectionPoolConfiguration.getMinIdle();
+        int idleCount = 0;
+        if (minIdle > 0) {
+            for (ResizerConnection c : http1Connections) {
+                if (c.isIdle()) {
+                    idleCount++;
+                }
+            }
+            for (ResizerConnection c : http2Connections) {
+                if (c.isIdle()) {
+                    idleCount++;
+                }
+            }
+        }
+        return Math.max(minIdle - idleCount, warmUpTarget - connectionCount);
+    }
+
+    /**
+     * @return The largest number of concurrent streams an HTTP2 connection of this pool accepts
+     */
+    private int maxStreamsPerHttp2Connection() {
+        int maxStreams = 1;
+        for (ResizerConnection c : http2Connections) {
+            maxStreams = Math.max(maxStreams, c.getMaxStreams());
+        }
+        return maxStreams;
+    }
+
     private boolean dispatchSafe(ResizerConnection connection, PoolSink<ConnectionManager.PoolHandle> toDispatch) {
         try {
             return connection.dispatch(toDispatch);
@@ -182,6 +287,14 @@ abstract class PoolResizer {
 
     abstract void openNewConnection(@Nullable BlockHint blockedPendingRequests) throws Exception;
 
+    /**
+     * Call {@link #markConnectionAvailable()} after the given delay, to retry opening connections
+     * after a failure.
+     *
+     * @param delayNanos The delay in nanoseconds
+     */
+    abstract void scheduleWork(long delayNanos);
+
     static boolean incrementWithLimit(AtomicInteger variable, int limit) {
         while (true) {
             int old = variable.get();
@@ -199,16 +312,39 @@ abstract class PoolResizer {
         // todo: implement a circuit breaker here? right now, we just fail one connection in the
         //  subclass implementation, but maybe we should do more.
         pendingConnectionCount.decrementAndGet();
+        int failures = consecutiveFailures.incrementAndGet();
+        if (!shutdown && (connectionPoolConfiguration.getMinIdle() > 0 || !pendingWarmUps.isEmpty())) {
+            // back off before opening further idle connections, the remote is likely down
+            long delay = Math.min(MAX_BACKOFF_NANOS, MIN_BACKOFF_NANOS << Math.min(failures - 1, MAX_BACKOFF_SHIFT));
+            backoffDeadline = System.nanoTime() + delay;
+            scheduleWork(delay);
+        }
+        dirty();
+    }
+
+    /**
+     * Called instead of {@link #onNewConnectionEstablished2} when a new connection was not opened because an HTTP2
+     * connection of another pool may be reused for this pool. Only the given connection is used for the requests of
+     * this pool, the other connections of that pool have not been checked for the remote of this pool.
+     *
+     * @param connection The connection of the other pool
+     */
+    final void onNewConnectionCoalesced(ResizerConnection connection) {
+        consecutiveFailures.set(0);
+        coalescedConnections.add(connection);
+        pendingConnectionCount.decrementAndGet();
         dirty();
     }
 
     final void onNewConnectionEstablished1(ResizerConnection connection) {
+        consecutiveFailures.set(0);
         http1Connections.add(connection);
         pendingConnectionCount.decrementAndGet();
         dirty();
     }
 
     final void onNewConnectionEstablished2(ResizerConnection connection) {
+        consecutiveFailures.set(0);
         http2Connections.add(connection);
         pendingConnectionCount.decrementAndGet();
         dirty();
@@ -224,6 +360,11 @@ abstract class PoolResizer {
         dirty();
     }
 
+    final void onCoalescedConnectionInactive(ResizerConnection connection) {
+        coalescedConnections.remove(connection);
+        dirty();
+    }
+
     final void addPendingRequest(PoolSink<ConnectionManager.PoolHandle> sink) {
         if (pendingRequests.size() >= connectionPoolConfiguration.getMaxPendingAcquires()) {
             sink.tryEmitError(new HttpClientException("Cannot acquire connection, exceeded max pending acquires configuration"));
@@ -246,6 +387,36 @@ abstract class PoolResizer {
         dirty();
     }
 
+    /**
+     * Open connections until the pool has at least the given number of connections. Connection
+     * failures are retried with a backoff, so the returned mono only fails if the pool is shut
+     * down. Callers should apply a timeout.
+     *
+     * @param connections The number of connections the pool should have
+     * @return A mono that completes when the connections are established
+     */
+    final Mono<Void> warmUp(int connections) {
+        if (connections <= 0 || !connectionPoolConfiguration.isEnabled()) {
+            return Mono.empty();
+        }
+        Sinks.Empty<Void> sink = Sinks.empty();
+        pendingWarmUps.add(new WarmUp(connections, sink));
+        dirty();
+        return sink.asMono();
+    }
+
+    /**
+     * Stop opening new idle connections, and fail any pending warm-up.
+     */
+    final void markShutdown() {
+        shutdown = true;
+        dirty();
+    }
+
+    final boolean hasHttp2Connections() {
+        return !http2Connections.isEmpty();
+    }
+
     final void forEachConnection(Consumer<ResizerConnection> c) {
         for (ResizerConnection http1Connection : http1Connections) {
             c.accept(http1Connection);
@@ -281,5 +452,32 @@ abstract class PoolResizer {
          * request must be readded), or {@code false} if it fails immediately
          */
         abstract boolean dispatch(PoolSink<ConnectionManager.PoolHandle> sink) throws Exception;
+
+        /**
+         * @return The maximum number of requests that may run concurrently on this connection
+         */
+        int getMaxStreams() {
+            return 1;
+        }
+
+        /**
+         * @return {@code true} if this connection is open and no requests are running on it
+         */
+        boolean isIdle() {
+            return false;
+        }
+    }
+
+    /**
+     * A pending {@link #warmUp} request.
+     */
+    private static final class WarmUp {
+        final int connections;
+        final Sinks.Empty<Void> sink;
+
+        WarmUp(int connections, Sinks.Empty<Void> sink) {
+            this.connections = connections;
+            this.sink = sink;
+        }
     }
 }
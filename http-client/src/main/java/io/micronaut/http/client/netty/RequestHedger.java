@@ -0,0 +1,306 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.micronaut.http.client.exceptions.ReadTimeoutException;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+
+/**
+ * Sends hedged requests: when an attempt of an idempotent request has not completed after the hedging delay, another
+ * attempt is sent, the first successful response wins, and the other attempts are cancelled.
+ *
+ * <p>Hedged attempts are limited by a budget. Every request deposits
+ * {@link HttpClientConfiguration.HedgingConfiguration#getBudgetRatio()} tokens and every hedged attempt withdraws one,
+ * so that the hedged attempts never exceed the given ratio of the requests, even when every instance is slow.</p>
+ *
+ * @since 4.0.0
+ */
+@Internal
+final class RequestHedger {
+
+    /**
+     * The number of latencies kept to compute the hedging delay from a percentile.
+     */
+    private static final int SAMPLE_SIZE = 256;
+    /**
+     * The number of latencies to observe before the delay is computed from a percentile.
+     */
+    private static final int MIN_SAMPLES = 32;
+    /**
+     * The number of latencies recorded between two computations of the delay.
+     */
+    private static final int RECOMPUTE_INTERVAL = 32;
+    /**
+     * The budget is kept in thousandths of a token.
+     */
+    private static final long TOKEN = 1000;
+    /**
+     * The maximum number of tokens in the budget, which bounds the burst of hedged attempts after a quiet period.
+     */
+    private static final long MAX_BUDGET = 10 * TOKEN;
+
+    private final long delayNanos;
+    private final Double percentile;
+    private final int maxAttempts;
+    private final Duration attemptTimeout;
+    private final long deposit;
+    private final AtomicLong budget = new AtomicLong();
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLE_SIZE);
+    private final AtomicLong sampleCount = new AtomicLong();
+    private volatile long percentileDelayNanos = -1;
+
+    /**
+     * @param configuration The hedging configuration
+     */
+    RequestHedger(@NonNull HttpClientConfiguration.HedgingConfiguration configuration) {
+        this.delayNanos = configuration.getDelay().toNanos();
+        this.percentile = configuration.getPercentile().orElse(null);
+        this.maxAttempts = Math.max(1, configuration.getMaxAttempts());
+        this.attemptTimeout = configuration.getAttemptTimeout().orElse(null);
+        this.deposit = Math.round(Math.max(0, configuration.getBudgetRatio()) * TOKEN);
+    }
+
+    /**
+     * Whether the given request may be sent more than once. Only idempotent requests whose body can be written again
+     * are hedged.
+     *
+     * @param request The request
+     * @return True if the request can be hedged
+     */
+    static boolean isHedgeable(@NonNull HttpRequest<?> request) {
+        switch (request.getMethod()) {
+            case GET:
+            case HEAD:
+            case OPTIONS:
+            case TRACE:
+            case PUT:
+            case DELETE:
+                break;
+            default:
+                return false;
+        }
+        return request.getUri().getScheme() == null && !(request.getBody().orElse(null) instanceof Publisher);
+    }
+
+    /**
+     * Copies a request, so that a hedged attempt is not affected by the filters applied to the other attempts.
+     *
+     * @param request The request
+     * @return The copy
+     */
+    @NonNull
+    static MutableHttpRequest<Object> copy(@NonNull HttpRequest<?> request) {
+        HttpMethod method = request.getMethod();
+        MutableHttpRequest<Object> copy = HttpRequest.create(method, request.getUri().toString(), request.getMethodName());
+        request.getHeaders().forEachValue((name, value) -> copy.getHeaders().add(name, value));
+        request.getAttributes().forEach((name, value) -> copy.getAttributes().put(name, value));
+        request.getBody().ifPresent(copy::body);
+        return copy;
+    }
+
+    /**
+     * Sends the attempts of a request. The attempt function is called with the index of the attempt, 0 for the
+     * primary attempt, and may return an empty publisher when no other instance is available to send the attempt to.
+     *
+     * @param attempts The function sending an attempt
+     * @param <T>      The response type
+     * @return The first successful response
+     */
+    @NonNull
+    <T> Mono<T> hedge(@NonNull IntFunction<Publisher<T>> attempts) {
+        return Mono.create(sink -> {
+            budget.getAndUpdate(tokens -> Math.min(MAX_BUDGET, tokens + deposit));
+            new Hedge<>(sink, attempts).start();
+        });
+    }
+
+    /**
+     * @return The delay after which the next attempt is sent
+     */
+    Duration currentDelay() {
+        long percentileDelay = percentileDelayNanos;
+        return Duration.ofNanos(percentileDelay >= 0 ? percentileDelay : delayNanos);
+    }
+
+    /**
+     * Takes a token from the budget.
+     *
+     * @return Whether a hedged attempt may be sent
+     */
+    boolean tryAcquire() {
+        long tokens;
+        do {
+            tokens = budget.get();
+            if (tokens < TOKEN) {
+                return false;
+            }
+        } while (!budget.compareAndSet(tokens, tokens - TOKEN));
+        return true;
+    }
+
+    /**
+     * Returns a token that was taken for an attempt that could not be sent.
+     */
+    void release() {
+        budget.getAndUpdate(tokens -> Math.min(MAX_BUDGET, tokens + TOKEN));
+    }
+
+    /**
+     * Records the latency of a successful attempt.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    void recordLatency(long nanos) {
+        if (percentile == null) {
+            return;
+        }
+        long count = sampleCount.getAndIncrement();
+        samples.set((int) (count % SAMPLE_SIZE), nanos);
+        count++;
+        if (count >= MIN_SAMPLES && count % RECOMPUTE_INTERVAL == 0) {
+            int size = (int) Math.min(count, SAMPLE_SIZE);
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * size) - 1;
+            percentileDelayNanos = sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+
+    /**
+     * The attempts of a single request.
+     *
+     * @param <T> The response type
+     */
+    private final class Hedge<T> {
+        private final MonoSink<T> sink;
+        private final IntFunction<Publisher<T>> attempts;
+        private final Disposable.Composite disposables = Disposables.composite();
+        private int inFlight;
+        private boolean completed;
+        private Throwable firstError;
+
+        Hedge(MonoSink<T> sink, IntFunction<Publisher<T>> attempts) {
+            this.sink = sink;
+            this.attempts = attempts;
+        }
+
+        void start() {
+            sink.onDispose(disposables);
+            send(0, false);
+            schedule(1);
+        }
+
+        private void schedule(int attempt) {
+            if (attempt >= maxAttempts) {
+                return;
+            }
+            disposables.add(Mono.delay(currentDelay()).subscribe(tick -> {
+                synchronized (this) {
+                    if (completed) {
+                        return;
+                    }
+                }
+                if (tryAcquire()) {
+                    send(attempt, true);
+                    schedule(attempt + 1);
+                }
+            }));
+        }
+
+        private void send(int attempt, boolean hedged) {
+            synchronized (this) {
+                inFlight++;
+            }
+            long start = System.nanoTime();
+            Mono<T> response = Mono.defer(() -> Mono.from(attempts.apply(attempt)));
+            if (attemptTimeout != null) {
+                response = response.timeout(attemptTimeout, Mono.error(ReadTimeoutException.TIMEOUT_EXCEPTION));
+            }
+            disposables.add(response.subscribe(
+                value -> {
+                    recordLatency(System.nanoTime() - start);
+                    if (complete()) {
+                        sink.success(value);
+                    }
+                },
+                this::failed,
+                () -> skipped(hedged)
+            ));
+        }
+
+        private synchronized boolean complete() {
+            if (completed) {
+                return false;
+            }
+            completed = true;
+            return true;
+        }
+
+        private void failed(Throwable error) {
+            synchronized (this) {
+                inFlight--;
+                if (firstError == null) {
+                    firstError = error;
+                }
+                if (completed || inFlight > 0) {
+                    return;
+                }
+                completed = true;
+            }
+            // no attempt is left that could succeed, the pending hedges are cancelled by the sink
+            sink.error(firstError);
+        }
+
+        private void skipped(boolean hedged) {
+            boolean failed;
+            synchronized (this) {
+                if (completed) {
+                    // the attempt completes once it has emitted the winning response
+                    return;
+                }
+                inFlight--;
+                failed = inFlight == 0 && firstError != null;
+                completed = failed;
+            }
+            if (hedged) {
+                // no other instance was available, so nothing was sent
+                release();
+            }
+            if (failed) {
+                sink.error(firstError);
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.io.ResourceResolver;
 import io.micronaut.http.HttpVersion;
 import io.micronaut.http.client.HttpVersionSelection;
+import io.micronaut.http.netty.ssl.SslProviders;
 import io.micronaut.http.ssl.AbstractClientSslConfiguration;
 import io.micronaut.http.ssl.ClientAuthentication;
 import io.micronaut.http.ssl.SslBuilder;
@@ -31,7 +32,6 @@ import io.netty.handler.ssl.ApplicationProtocolConfig;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
-import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import jakarta.inject.Singleton;
@@ -41,6 +41,7 @@ import org.slf4j.LoggerFactory;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.TrustManagerFactory;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -103,9 +104,17 @@ public final class NettyClientSslBuilder extends SslBuilder<SslContext> {
                 sslBuilder = sslBuilder.clientAuth(ClientAuth.OPTIONAL);
             }
         }
+        // sessions are cached by the host and port passed to newHandler, so each remote resumes its own sessions
+        Optional<Long> sessionCacheSize = ssl.getSessionCacheSize();
+        if (sessionCacheSize.isPresent()) {
+            sslBuilder.sessionCacheSize(sessionCacheSize.get());
+        }
+        Optional<Duration> sessionTimeout = ssl.getSessionTimeout();
+        if (sessionTimeout.isPresent()) {
+            sslBuilder.sessionTimeout(sessionTimeout.get().getSeconds());
+        }
+        sslBuilder.sslProvider(SslProviders.select(ssl.getProvider(), versionSelection.isAlpn()));
         if (versionSelection.isAlpn()) {
-            SslProvider provider = SslProvider.isAlpnSupported(SslProvider.OPENSSL) ? SslProvider.OPENSSL : SslProvider.JDK;
-            sslBuilder.sslProvider(provider);
             sslBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
                 ApplicationProtocolConfig.Protocol.ALPN,
                 ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
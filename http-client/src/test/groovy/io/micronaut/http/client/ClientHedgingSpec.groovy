@@ -0,0 +1,159 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.exceptions.ReadTimeoutException
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.runtime.server.EmbeddedServer
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class ClientHedgingSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'ClientHedgingSpec'])
+
+    @Shared
+    HedgingController controller = embeddedServer.applicationContext.getBean(HedgingController)
+
+    void setup() {
+        controller.calls.set(0)
+    }
+
+    void "test a slow request is hedged to another instance"() {
+        given:
+        ApplicationContext clientContext = clientContext('micronaut.http.services.hedged.hedging.budget-ratio': 1)
+        HttpClient client = clientContext.getBean(HttpClient, Qualifiers.byName('hedged'))
+
+        when:
+        long start = System.nanoTime()
+        String body = client.toBlocking().retrieve('/hedging/slow-first')
+
+        then:
+        body == 'fast'
+        controller.calls.get() == 2
+        Duration.ofNanos(System.nanoTime() - start) < HedgingController.SLOW_DELAY
+
+        cleanup:
+        clientContext.close()
+    }
+
+    void "test hedged requests are limited by the budget"() {
+        given:
+        ApplicationContext clientContext = clientContext('micronaut.http.services.hedged.hedging.budget-ratio': 0)
+        HttpClient client = clientContext.getBean(HttpClient, Qualifiers.byName('hedged'))
+
+        when:
+        String body = client.toBlocking().retrieve('/hedging/slow-first')
+
+        then:
+        body == 'slow'
+        controller.calls.get() == 1
+
+        cleanup:
+        clientContext.close()
+    }
+
+    void "test non idempotent requests are not hedged"() {
+        given:
+        ApplicationContext clientContext = clientContext('micronaut.http.services.hedged.hedging.budget-ratio': 1)
+        HttpClient client = clientContext.getBean(HttpClient, Qualifiers.byName('hedged'))
+
+        when:
+        String body = client.toBlocking().retrieve(HttpRequest.POST('/hedging/slow-first', 'body'))
+
+        then:
+        body == 'slow'
+        controller.calls.get() == 1
+
+        cleanup:
+        clientContext.close()
+    }
+
+    void "test an attempt that times out fails the request when it cannot be hedged"() {
+        given:
+        ApplicationContext clientContext = clientContext(
+                'micronaut.http.services.hedged.hedging.budget-ratio': 0,
+                'micronaut.http.services.hedged.hedging.attempt-timeout': '200ms'
+        )
+        HttpClient client = clientContext.getBean(HttpClient, Qualifiers.byName('hedged'))
+
+        when:
+        client.toBlocking().retrieve('/hedging/slow-first')
+
+        then:
+        thrown(ReadTimeoutException)
+
+        cleanup:
+        clientContext.close()
+    }
+
+    void "test the hedging configuration"() {
+        given:
+        ApplicationContext clientContext = clientContext(
+                'micronaut.http.services.hedged.hedging.delay': '50ms',
+                'micronaut.http.services.hedged.hedging.percentile': 0.95,
+                'micronaut.http.services.hedged.hedging.max-attempts': 3,
+        )
+        HttpClientConfiguration.HedgingConfiguration configuration = clientContext
+                .getBean(HttpClientConfiguration, Qualifiers.byName('hedged'))
+                .hedgingConfiguration
+
+        expect:
+        configuration.enabled
+        configuration.delay == Duration.ofMillis(50)
+        configuration.percentile.get() == 0.95d
+        configuration.maxAttempts == 3
+        configuration.budgetRatio == HttpClientConfiguration.HedgingConfiguration.DEFAULT_BUDGET_RATIO
+        !configuration.attemptTimeout.present
+
+        cleanup:
+        clientContext.close()
+    }
+
+    private ApplicationContext clientContext(Map<String, Object> properties) {
+        ApplicationContext.run([
+                'micronaut.http.services.hedged.urls'           : [
+                        "http://localhost:${embeddedServer.port}",
+                        "http://127.0.0.1:${embeddedServer.port}"
+                ],
+                'micronaut.http.services.hedged.hedging.enabled': true,
+        ] + properties)
+    }
+
+    @Requires(property = 'spec.name', value = 'ClientHedgingSpec')
+    @Controller('/hedging')
+    static class HedgingController {
+        static final Duration SLOW_DELAY = Duration.ofSeconds(2)
+
+        final AtomicInteger calls = new AtomicInteger()
+
+        @Get('/slow-first')
+        Mono<String> get() {
+            respond()
+        }
+
+        @Post('/slow-first')
+        Mono<String> post() {
+            respond()
+        }
+
+        private Mono<String> respond() {
+            if (calls.getAndIncrement() == 0) {
+                return Mono.delay(SLOW_DELAY).map { 'slow' }
+            }
+            return Mono.just('fast')
+        }
+    }
+}
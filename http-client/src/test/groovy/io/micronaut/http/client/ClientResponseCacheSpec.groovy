@@ -0,0 +1,181 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.Produces
+import io.micronaut.http.MediaType
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.scheduling.TaskExecutors
+import io.micronaut.scheduling.annotation.ExecuteOn
+import reactor.core.publisher.Flux
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class ClientResponseCacheSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name'                          : 'ClientResponseCacheSpec',
+            'micronaut.http.client.cache.enabled': true,
+    ])
+
+    @Shared
+    @AutoCleanup
+    HttpClient client = embeddedServer.applicationContext.createBean(HttpClient, embeddedServer.getURL())
+
+    @Shared
+    CacheController controller = embeddedServer.applicationContext.getBean(CacheController)
+
+    void "test fresh responses are returned without a request"() {
+        when:
+        HttpResponse<String> first = client.toBlocking().exchange('/client-cache/fresh', String)
+        HttpResponse<String> second = client.toBlocking().exchange('/client-cache/fresh', String)
+
+        then:
+        first.body() == 'fresh 1'
+        second.body() == 'fresh 1'
+        second.header(HttpHeaders.AGE) != null
+        controller.fresh.get() == 1
+
+        expect: 'decoding to another type'
+        client.toBlocking().retrieve('/client-cache/fresh', byte[]) == 'fresh 1'.bytes
+    }
+
+    void "test stale responses are revalidated with the ETag"() {
+        when:
+        String first = client.toBlocking().retrieve('/client-cache/etag')
+        String second = client.toBlocking().retrieve('/client-cache/etag')
+
+        then:
+        first == 'etag'
+        second == 'etag'
+        controller.etag.get() == 2
+        controller.notModified.get() == 1
+    }
+
+    void "test no-store responses are not cached"() {
+        when:
+        client.toBlocking().retrieve('/client-cache/no-store')
+        client.toBlocking().retrieve('/client-cache/no-store')
+
+        then:
+        controller.noStore.get() == 2
+    }
+
+    void "test the Vary header selects the variant"() {
+        when:
+        String a1 = client.toBlocking().retrieve(HttpRequest.GET('/client-cache/tenant').header('X-Tenant', 'a'))
+        String b1 = client.toBlocking().retrieve(HttpRequest.GET('/client-cache/tenant').header('X-Tenant', 'b'))
+        String b2 = client.toBlocking().retrieve(HttpRequest.GET('/client-cache/tenant').header('X-Tenant', 'b'))
+
+        then:
+        a1 == 'a 1'
+        b1 == 'b 2'
+        b2 == 'b 2'
+    }
+
+    void "test stale responses are returned while they are revalidated"() {
+        when:
+        String first = client.toBlocking().retrieve('/client-cache/swr')
+        String second = client.toBlocking().retrieve('/client-cache/swr')
+
+        then:
+        first == 'swr 1'
+        second == 'swr 1'
+        new PollingConditions(timeout: 5).eventually {
+            client.toBlocking().retrieve('/client-cache/swr') != 'swr 1'
+        }
+    }
+
+    void "test concurrent requests are coalesced"() {
+        when:
+        List<String> bodies = Collections.synchronizedList([])
+        3.times {
+            Flux.from(client.retrieve(HttpRequest.GET('/client-cache/slow'), String)).subscribe { bodies.add(it) }
+        }
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            controller.slow.get() == 1
+        }
+
+        when:
+        // give the other requests time to reach the cache
+        Thread.sleep(200)
+        controller.gate.countDown()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            bodies == ['slow 1', 'slow 1', 'slow 1']
+        }
+        controller.slow.get() == 1
+    }
+
+    @Requires(property = 'spec.name', value = 'ClientResponseCacheSpec')
+    @Controller('/client-cache')
+    @Produces(MediaType.TEXT_PLAIN)
+    static class CacheController {
+        AtomicInteger fresh = new AtomicInteger()
+        AtomicInteger etag = new AtomicInteger()
+        AtomicInteger notModified = new AtomicInteger()
+        AtomicInteger noStore = new AtomicInteger()
+        AtomicInteger tenant = new AtomicInteger()
+        AtomicInteger swr = new AtomicInteger()
+        AtomicInteger slow = new AtomicInteger()
+        CountDownLatch gate = new CountDownLatch(1)
+
+        @Get('/fresh')
+        HttpResponse<String> fresh() {
+            HttpResponse.ok('fresh ' + fresh.incrementAndGet()).header(HttpHeaders.CACHE_CONTROL, 'max-age=60')
+        }
+
+        @Get('/etag')
+        HttpResponse<String> etag(@Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+            etag.incrementAndGet()
+            if (ifNoneMatch == '"v1"') {
+                notModified.incrementAndGet()
+                return HttpResponse.notModified().header(HttpHeaders.ETAG, '"v1"')
+            }
+            HttpResponse.ok('etag').header(HttpHeaders.ETAG, '"v1"').header(HttpHeaders.CACHE_CONTROL, 'no-cache')
+        }
+
+        @Get('/no-store')
+        HttpResponse<String> noStore() {
+            HttpResponse.ok('no-store ' + noStore.incrementAndGet()).header(HttpHeaders.CACHE_CONTROL, 'no-store')
+        }
+
+        @Get('/tenant')
+        HttpResponse<String> tenant(@Header('X-Tenant') String tenant) {
+            HttpResponse.ok(tenant + ' ' + this.tenant.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, 'max-age=60')
+                    .header(HttpHeaders.VARY, 'X-Tenant')
+        }
+
+        @Get('/swr')
+        HttpResponse<String> swr() {
+            HttpResponse.ok('swr ' + swr.incrementAndGet()).header(HttpHeaders.CACHE_CONTROL, 'max-age=0, stale-while-revalidate=60')
+        }
+
+        @ExecuteOn(TaskExecutors.BLOCKING)
+        @Get('/slow')
+        HttpResponse<String> slow() {
+            int count = slow.incrementAndGet()
+            gate.await(10, TimeUnit.SECONDS)
+            HttpResponse.ok('slow ' + count).header(HttpHeaders.CACHE_CONTROL, 'max-age=60')
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.ServiceInstanceList
+import io.micronaut.discovery.StaticServiceInstanceList
+import io.micronaut.health.HealthStatus
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.DefaultHttpClientConfiguration
+import io.micronaut.http.client.LoadBalancer
+import io.micronaut.http.client.netty.DefaultHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+class RequestTrackingLoadBalancerSpec extends Specification {
+
+    ServiceInstance a = instance("http://a:8080", 1)
+    ServiceInstance b = instance("http://b:8080", 1)
+
+    void "test the instance with the least outstanding requests is selected"() {
+        given:
+        def balancer = new LeastOutstandingRequestsLoadBalancer(list(a, b), new LoadBalancerConfiguration())
+        ServiceInstanceStats statsA = balancer.statsFor(a)
+        3.times { statsA.requestStarted() }
+
+        expect:
+        (1..20).every { select(balancer) == b }
+    }
+
+    void "test outstanding requests are relative to the instance weight"() {
+        given:
+        ServiceInstance large = instance("http://large:8080", 4)
+        ServiceInstance small = instance("http://small:8080", 1)
+        def balancer = new LeastOutstandingRequestsLoadBalancer(list(large, small), new LoadBalancerConfiguration())
+        3.times { balancer.statsFor(large).requestStarted() }
+        balancer.statsFor(small).requestStarted()
+
+        expect:
+        (1..20).every { select(balancer) == large }
+    }
+
+    void "test the instance with the lowest latency is selected"() {
+        given:
+        def balancer = new EwmaLoadBalancer(list(a, b), new LoadBalancerConfiguration())
+        ServiceInstanceStats statsA = balancer.statsFor(a)
+        ServiceInstanceStats statsB = balancer.statsFor(b)
+        statsA.requestCompleted(statsA.requestStarted() - 100_000_000, true)
+        statsB.requestCompleted(statsB.requestStarted() - 1_000_000, true)
+
+        expect:
+        statsA.latency > statsB.latency
+        (1..20).every { select(balancer) == b }
+    }
+
+    void "test instances are selected in proportion to their weight"() {
+        given:
+        ServiceInstance large = instance("http://large:8080", 3)
+        ServiceInstance small = instance("http://small:8080", 1)
+        def balancer = new WeightedLoadBalancer(list(large, small), new LoadBalancerConfiguration())
+
+        when:
+        def selections = (1..4000).collect { select(balancer) }.countBy { it }
+
+        then:
+        selections[large] > 2700
+        selections[small] > 800
+    }
+
+    void "test instances that are not up are skipped"() {
+        given:
+        ServiceInstance down = ServiceInstance.builder("test", URI.create("http://down:8080")).status(HealthStatus.DOWN).build()
+        def balancer = new LeastOutstandingRequestsLoadBalancer(list(down, a, b), new LoadBalancerConfiguration())
+        def weighted = new WeightedLoadBalancer(list(down, a), new LoadBalancerConfiguration())
+
+        expect:
+        (1..50).every { select(balancer) != down }
+        (1..50).every { select(weighted) == a }
+    }
+
+    void "test the statistics of a request URI are found"() {
+        given:
+        def balancer = new LeastOutstandingRequestsLoadBalancer(list(a, b), new LoadBalancerConfiguration())
+        ServiceInstance selected = select(balancer)
+
+        expect:
+        balancer.getStats(selected.resolve(URI.create("/books?max=10"))).is(balancer.statsFor(selected))
+        balancer.getStats(URI.create("http://other:8080/books")) == null
+    }
+
+    void "test failed requests do not lower the latency"() {
+        given:
+        def balancer = new EwmaLoadBalancer(list(a, b), new LoadBalancerConfiguration())
+        ServiceInstanceStats statsA = balancer.statsFor(a)
+        ServiceInstanceStats statsB = balancer.statsFor(b)
+        statsA.requestCompleted(statsA.requestStarted() - 100_000_000, true)
+        statsB.requestCompleted(statsB.requestStarted() - 100_000_000, true)
+        double latencyB = statsB.latency
+
+        when:
+        10.times { statsB.requestFailed(statsB.requestStarted()) }
+
+        then:
+        statsB.latency == latencyB
+        statsB.failedRequests == 10
+        statsB.outstandingRequests == 0
+    }
+
+    void "test the statistics of instances that left are removed"() {
+        given:
+        List<ServiceInstance> instances = [a, b]
+        def balancer = new LeastOutstandingRequestsLoadBalancer(new ServiceInstanceList() {
+            @Override
+            String getID() {
+                "test"
+            }
+
+            @Override
+            List<ServiceInstance> getInstances() {
+                new ArrayList<>(instances)
+            }
+        }, new LoadBalancerConfiguration())
+        balancer.statsFor(a)
+        balancer.statsFor(b)
+
+        when:
+        instances.remove(b)
+        select(balancer)
+
+        then:
+        balancer.getStats(URI.create("http://a:8080/books")) != null
+        balancer.getStats(URI.create("http://b:8080/books")) == null
+    }
+
+    void "test streaming requests are tracked until the response is complete"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'RequestTrackingLoadBalancerSpec'])
+        ServiceInstance instance = instance(server.URI.toString(), 1)
+        def balancer = new LeastOutstandingRequestsLoadBalancer(list(instance), new LoadBalancerConfiguration())
+        ServiceInstanceStats stats = balancer.statsFor(instance)
+        def client = new DefaultHttpClient(balancer, new DefaultHttpClientConfiguration(), [])
+        List<Integer> outstanding = []
+
+        when:
+        Flux.from(client.dataStream(HttpRequest.GET('/tracking/stream')))
+                .doOnNext { outstanding << stats.outstandingRequests }
+                .blockLast()
+        Flux.from(client.jsonStream(HttpRequest.GET('/tracking/stream'), Map))
+                .doOnNext { outstanding << stats.outstandingRequests }
+                .blockLast()
+
+        then:
+        !outstanding.empty
+        outstanding.every { it == 1 }
+        stats.outstandingRequests == 0
+        stats.latency > 0
+
+        cleanup:
+        client.close()
+        server.close()
+    }
+
+    void "test the round robin load balancer skips instances that are not up"() {
+        given:
+        ServiceInstance down = ServiceInstance.builder("test", URI.create("http://down:8080")).status(HealthStatus.DOWN).build()
+        def balancer = new ServiceInstanceListRoundRobinLoadBalancer(list(a, down, b))
+
+        expect:
+        (1..6).collect { select(balancer) } == [a, b, a, b, a, b]
+    }
+
+    void "test the load balancer strategy is configurable"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(['micronaut.http.client.load-balancer.strategy': strategy])
+        LoadBalancer balancer = ctx.getBean(ServiceInstanceListLoadBalancerFactory)
+                .create(new StaticServiceInstanceList("test", [URI.create("http://a:8080")]))
+
+        expect:
+        type.isInstance(balancer)
+
+        cleanup:
+        ctx.close()
+
+        where:
+        strategy                     | type
+        'ROUND_ROBIN'                | ServiceInstanceListRoundRobinLoadBalancer
+        'LEAST_OUTSTANDING_REQUESTS' | LeastOutstandingRequestsLoadBalancer
+        'EWMA'                       | EwmaLoadBalancer
+        'WEIGHTED'                   | WeightedLoadBalancer
+    }
+
+    private static ServiceInstance select(LoadBalancer balancer) {
+        Mono.from(balancer.select()).block()
+    }
+
+    private static ServiceInstance instance(String uri, int weight) {
+        ServiceInstance.builder("test", URI.create(uri))
+                .status(HealthStatus.UP)
+                .metadata([weight: String.valueOf(weight)])
+                .build()
+    }
+
+    private static ServiceInstanceList list(ServiceInstance... instances) {
+        new ServiceInstanceList() {
+            @Override
+            String getID() {
+                "test"
+            }
+
+            @Override
+            List<ServiceInstance> getInstances() {
+                instances.toList()
+            }
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'RequestTrackingLoadBalancerSpec')
+    @Controller('/tracking')
+    static class TrackingController {
+        @Get('/stream')
+        Flux<Map<String, String>> stream() {
+            Flux.just([value: 'a'], [value: 'b'])
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.micronaut.http.client.netty
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.security.cert.X509Certificate
+
+class CertificateHostnameMatcherSpec extends Specification {
+
+    static final int DNS = 2
+    static final int IP = 7
+
+    @Unroll
+    void "test a certificate for #names matches #host: #expected"() {
+        given:
+        X509Certificate certificate = [getSubjectAlternativeNames: { -> names }] as X509Certificate
+
+        expect:
+        CertificateHostnameMatcher.matches(certificate, host) == expected
+
+        where:
+        names                                         | host               | expected
+        [[DNS, 'example.com']]                        | 'example.com'      | true
+        [[DNS, 'example.com']]                        | 'EXAMPLE.com.'     | true
+        [[DNS, 'example.com']]                        | 'www.example.com'  | false
+        [[DNS, '*.example.com']]                      | 'www.example.com'  | true
+        [[DNS, '*.example.com']]                      | 'a.b.example.com'  | false
+        [[DNS, '*.example.com']]                      | 'example.com'      | false
+        [[DNS, '*.com']]                              | 'example.com'      | false
+        [[DNS, 'api.example.com'], [IP, '10.0.0.1']]  | '10.0.0.1'         | true
+        [[DNS, 'api.example.com'], [IP, '10.0.0.1']]  | '10.0.0.2'         | false
+        [[IP, '::1']]                                 | '[::1]'            | true
+        []                                            | 'example.com'      | false
+    }
+
+    void "test a certificate without subject alternative names does not match"() {
+        given:
+        X509Certificate certificate = [getSubjectAlternativeNames: { -> null }] as X509Certificate
+
+        expect:
+        !CertificateHostnameMatcher.matches(certificate, 'example.com')
+    }
+}
@@ -28,6 +28,7 @@ import io.netty.channel.ChannelId
 import io.netty.channel.ChannelInboundHandlerAdapter
 import io.netty.channel.ChannelInitializer
 import io.netty.channel.ChannelPromise
+import io.netty.channel.EventLoop
 import io.netty.channel.ServerChannel
 import io.netty.channel.embedded.EmbeddedChannel
 import io.netty.handler.codec.http.DefaultFullHttpResponse
@@ -47,6 +48,8 @@ import io.netty.handler.codec.http.websocketx.WebSocketServerHandshakerFactory
 import io.netty.handler.codec.http2.DefaultHttp2DataFrame
 import io.netty.handler.codec.http2.DefaultHttp2Headers
 import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame
+import io.netty.handler.codec.http2.DefaultHttp2SettingsFrame
+import io.netty.handler.codec.http2.Http2CodecUtil
 import io.netty.handler.codec.http2.Http2FrameCodec
 import io.netty.handler.codec.http2.Http2FrameCodecBuilder
 import io.netty.handler.codec.http2.Http2FrameStream
@@ -56,6 +59,7 @@ import io.netty.handler.codec.http2.Http2HeadersFrame
 import io.netty.handler.codec.http2.Http2ResetFrame
 import io.netty.handler.codec.http2.Http2ServerUpgradeCodec
 import io.netty.handler.codec.http2.Http2SettingsAckFrame
+import io.netty.handler.codec.http2.Http2Settings
 import io.netty.handler.codec.http2.Http2SettingsFrame
 import io.netty.handler.codec.http2.Http2Stream
 import io.netty.handler.logging.LogLevel
@@ -65,7 +69,15 @@ import io.netty.handler.ssl.SslContextBuilder
 import io.netty.handler.ssl.util.SelfSignedCertificate
 import io.netty.util.AsciiString
 import io.netty.util.concurrent.GenericFutureListener
+import io.netty.util.concurrent.ImmediateEventExecutor
 import jakarta.inject.Singleton
+import org.bouncycastle.asn1.x500.X500Name
+import org.bouncycastle.asn1.x509.Extension
+import org.bouncycastle.asn1.x509.GeneralName
+import org.bouncycastle.asn1.x509.GeneralNames
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder
 import org.spockframework.runtime.model.parallel.ExecutionMode
 import reactor.core.publisher.Flux
 import reactor.core.publisher.Mono
@@ -73,7 +85,11 @@ import spock.lang.Execution
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.SocketAddress
 import java.nio.charset.StandardCharsets
+import java.security.KeyPairGenerator
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.ExecutionException
 import java.util.concurrent.Future
@@ -83,6 +99,10 @@ import java.util.zip.GZIPOutputStream
 @Execution(ExecutionMode.CONCURRENT)
 class ConnectionManagerSpec extends Specification {
     private static void patch(DefaultHttpClient httpClient, EmbeddedTestConnectionBase... connections) {
+        patch(httpClient, [:], connections)
+    }
+
+    private static void patch(DefaultHttpClient httpClient, Map<String, SocketAddress> addresses, EmbeddedTestConnectionBase... connections) {
         httpClient.connectionManager = new ConnectionManager(httpClient.connectionManager) {
             int i = 0
 
@@ -90,7 +110,11 @@ class ConnectionManagerSpec extends Specification {
             protected ChannelFuture doConnect(DefaultHttpClient.RequestKey requestKey, ChannelInitializer<? extends Channel> channelInitializer) {
                 try {
                     def connection = connections[i++]
-                    connection.clientChannel = new EmbeddedChannel(new DummyChannelId('client' + i), connection.clientInitializer, channelInitializer)
+                    if (connection.remoteAddress == null) {
+                        connection.clientChannel = new EmbeddedChannel(new DummyChannelId('client' + i), connection.clientInitializer, channelInitializer)
+                    } else {
+                        connection.clientChannel = new RemoteAddressEmbeddedChannel(new DummyChannelId('client' + i), connection.remoteAddress, connection.clientInitializer, channelInitializer)
+                    }
                     def promise = connection.clientChannel.newPromise()
                     promise.setSuccess()
                     return promise
@@ -100,6 +124,12 @@ class ConnectionManagerSpec extends Specification {
                     throw t
                 }
             }
+
+            @Override
+            protected io.netty.util.concurrent.Future<List<SocketAddress>> doResolve(DefaultHttpClient.RequestKey requestKey, EventLoop eventLoop) {
+                SocketAddress address = addresses[requestKey.host]
+                return ImmediateEventExecutor.INSTANCE.newSucceededFuture(address == null ? [] : [address])
+            }
         }
     }
 
@@ -338,6 +368,186 @@ class ConnectionManagerSpec extends Specification {
         ctx.close()
     }
 
+    def 'http2 max concurrent streams'() {
+        given:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.ssl.insecure-trust-all-certificates': true,
+                'micronaut.http.client.pool.max-concurrent-http2-connections': 2,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp2()
+        conn1.setupHttp2Tls(1)
+        def conn2 = new EmbeddedTestConnectionHttp2()
+        conn2.setupHttp2Tls(1)
+        patch(client, conn1, conn2)
+
+        when:
+        def f1 = Mono.from(client.exchange('https://example.com/r1')).toFuture()
+        f1.exceptionally(t -> t.printStackTrace())
+        def f2 = Mono.from(client.exchange('https://example.com/r2')).toFuture()
+        f2.exceptionally(t -> t.printStackTrace())
+        conn1.exchangeSettings()
+        then:
+        // the server only allows one stream per connection
+        def req1 = conn1.serverChannel.<Http2HeadersFrame> readInbound()
+        req1.headers().get(Http2Headers.PseudoHeaderName.PATH.value()) == '/r1'
+        conn1.serverChannel.readInbound() == null
+
+        when:
+        conn2.exchangeSettings()
+        then:
+        def req2 = conn2.serverChannel.<Http2HeadersFrame> readInbound()
+        req2.headers().get(Http2Headers.PseudoHeaderName.PATH.value()) == '/r2'
+
+        when:
+        def metrics = client.connectionPoolMetrics
+        then:
+        metrics.http2ConnectionCount == 2
+        metrics.activeHttp2StreamCount == 2
+        metrics.averageStreamsPerHttp2Connection == 1
+        metrics.connections.every { it.http2 && it.maxStreams == 1 && it.host == 'example.com' }
+
+        when:
+        conn1.respondOk(req1.stream())
+        conn1.advance()
+        conn2.respondOk(req2.stream())
+        conn2.advance()
+        then:
+        f1.get().status() == HttpStatus.OK
+        f2.get().status() == HttpStatus.OK
+        client.connectionPoolMetrics.activeHttp2StreamCount == 0
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'http2 settings update keeps absent settings'() {
+        given:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.ssl.insecure-trust-all-certificates': true,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn = new EmbeddedTestConnectionHttp2()
+        conn.setupHttp2Tls(1)
+        patch(client, conn)
+
+        when:
+        def future = Mono.from(client.exchange('https://example.com/foo')).toFuture()
+        future.exceptionally(t -> t.printStackTrace())
+        conn.exchangeSettings()
+        def request = conn.serverChannel.<Http2HeadersFrame> readInbound()
+        then:
+        client.connectionPoolMetrics.connections*.maxStreams == [1]
+
+        when:
+        conn.serverChannel.writeOutbound(new DefaultHttp2SettingsFrame(new Http2Settings().maxConcurrentStreams(5)))
+        conn.advance()
+        then:
+        conn.serverChannel.readInbound() instanceof Http2SettingsAckFrame
+        client.connectionPoolMetrics.connections*.maxStreams == [5]
+
+        when:
+        // a frame without SETTINGS_MAX_CONCURRENT_STREAMS leaves the limit alone
+        conn.serverChannel.writeOutbound(new DefaultHttp2SettingsFrame(new Http2Settings().initialWindowSize(Http2CodecUtil.DEFAULT_WINDOW_SIZE)))
+        conn.advance()
+        then:
+        conn.serverChannel.readInbound() instanceof Http2SettingsAckFrame
+        client.connectionPoolMetrics.connections*.maxStreams == [5]
+
+        when:
+        conn.respondOk(request.stream())
+        conn.advance()
+        then:
+        future.get().status() == HttpStatus.OK
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'http2 connection coalescing only uses the verified connection'() {
+        given:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.ssl.insecure-trust-all-certificates': true,
+                'micronaut.http.client.pool.max-concurrent-http2-connections': 2,
+                'micronaut.http.client.pool.http2-connection-coalescing': true,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+        def address = new InetSocketAddress(InetAddress.getByAddress([10, 0, 0, 1] as byte[]), 443)
+
+        // valid for both hosts
+        def connA1 = new EmbeddedTestConnectionHttp2()
+        connA1.remoteAddress = address
+        connA1.setupHttp2Tls(1, ['a.example.com', 'b.example.com'])
+        // same address, but the certificate is not valid for b.example.com
+        def connA2 = new EmbeddedTestConnectionHttp2()
+        connA2.remoteAddress = address
+        connA2.setupHttp2Tls(null, ['a.example.com'])
+        def connB = new EmbeddedTestConnectionHttp2()
+        connB.remoteAddress = address
+        connB.setupHttp2Tls(null, ['b.example.com'])
+        patch(client, ['a.example.com': address, 'b.example.com': address], connA1, connA2, connB)
+
+        when:
+        def fa1 = Mono.from(client.exchange('https://a.example.com/a1')).toFuture()
+        fa1.exceptionally(t -> t.printStackTrace())
+        connA1.exchangeSettings()
+        def reqA1 = connA1.serverChannel.<Http2HeadersFrame> readInbound()
+        connA1.respondOk(reqA1.stream())
+        connA1.advance()
+        then:
+        fa1.get().status() == HttpStatus.OK
+
+        when:
+        // b.example.com reuses the first connection
+        def fb1 = Mono.from(client.exchange('https://b.example.com/b1')).toFuture()
+        fb1.exceptionally(t -> t.printStackTrace())
+        connA1.advance()
+        then:
+        def reqB1 = connA1.serverChannel.<Http2HeadersFrame> readInbound()
+        reqB1.headers().get(Http2Headers.PseudoHeaderName.AUTHORITY.value()) == 'b.example.com'
+        client.connectionPoolMetrics.coalescedConnectionCount == 1
+
+        when:
+        // the first connection is busy, so the pool of a.example.com opens a second connection
+        def fa2 = Mono.from(client.exchange('https://a.example.com/a2')).toFuture()
+        fa2.exceptionally(t -> t.printStackTrace())
+        connA2.exchangeSettings()
+        def reqA2 = connA2.serverChannel.<Http2HeadersFrame> readInbound()
+        connA2.respondOk(reqA2.stream())
+        connA2.advance()
+        then:
+        fa2.get().status() == HttpStatus.OK
+
+        when:
+        // the idle second connection was not verified for b.example.com
+        def fb2 = Mono.from(client.exchange('https://b.example.com/b2')).toFuture()
+        fb2.exceptionally(t -> t.printStackTrace())
+        connA2.advance()
+        connB.exchangeSettings()
+        then:
+        connA2.serverChannel.readInbound() == null
+        def reqB2 = connB.serverChannel.<Http2HeadersFrame> readInbound()
+        reqB2.headers().get(Http2Headers.PseudoHeaderName.AUTHORITY.value()) == 'b.example.com'
+        reqB2.headers().get(Http2Headers.PseudoHeaderName.PATH.value()) == '/b2'
+
+        when:
+        connA1.respondOk(reqB1.stream())
+        connA1.advance()
+        connB.respondOk(reqB2.stream())
+        connB.advance()
+        then:
+        fb1.get().status() == HttpStatus.OK
+        fb2.get().status() == HttpStatus.OK
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
     def 'http1 reuse'() {
         def ctx = ApplicationContext.run()
         def client = ctx.getBean(DefaultHttpClient)
@@ -917,9 +1127,75 @@ class ConnectionManagerSpec extends Specification {
         ctx.close()
     }
 
+    def 'warm up opens connections before the first request'() {
+        def ctx = ApplicationContext.run()
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp1()
+        conn1.setupHttp1()
+        def conn2 = new EmbeddedTestConnectionHttp1()
+        conn2.setupHttp1()
+        patch(client, conn1, conn2)
+
+        when:
+        def warmUp = Mono.from(client.warmUp(URI.create('http://example.com'), 2)).toFuture()
+        conn1.advance()
+        conn2.advance()
+
+        then:
+        warmUp.get(1, TimeUnit.SECONDS) == null
+        client.connectionManager.getChannels().size() == 2
+
+        when:
+        // the request reuses a warm connection
+        def r1 = conn1.testExchangeRequest(client)
+        conn1.testExchangeResponse(r1)
+
+        then:
+        client.connectionManager.getChannels().size() == 2
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'min idle connections are replaced when a request takes one'() {
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.pool.min-idle': 1,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp1()
+        conn1.setupHttp1()
+        def conn2 = new EmbeddedTestConnectionHttp1()
+        conn2.setupHttp1()
+        patch(client, conn1, conn2)
+
+        when:
+        // the request takes the first connection, so a second one is opened to stay idle
+        def r1 = conn1.testExchangeRequest(client)
+
+        then:
+        client.connectionManager.getChannels().size() == 2
+
+        when:
+        conn1.testExchangeResponse(r1)
+        def r2 = conn1.testExchangeRequest(client)
+        conn1.testExchangeResponse(r2)
+
+        then:
+        // the second connection was still idle during the second request, no third connection
+        client.connectionManager.getChannels().size() == 2
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
     static class EmbeddedTestConnectionBase {
         final EmbeddedChannel serverChannel
         EmbeddedChannel clientChannel
+        SocketAddress remoteAddress
         ChannelInitializer<EmbeddedChannel> clientInitializer = new ChannelInitializer<EmbeddedChannel>() {
             @Override
             protected void initChannel(EmbeddedChannel ch) throws Exception {
@@ -946,6 +1222,20 @@ class ConnectionManagerSpec extends Specification {
         }
     }
 
+    static class RemoteAddressEmbeddedChannel extends EmbeddedChannel {
+        SocketAddress remote
+
+        RemoteAddressEmbeddedChannel(ChannelId channelId, SocketAddress remote, ChannelHandler... handlers) {
+            super(channelId, handlers)
+            this.remote = remote
+        }
+
+        @Override
+        protected SocketAddress remoteAddress0() {
+            return remote
+        }
+    }
+
     static class EmbeddedTestConnectionHttp1 extends EmbeddedTestConnectionBase {
         private String scheme
 
@@ -1038,11 +1328,23 @@ class ConnectionManagerSpec extends Specification {
         private String scheme
         Http2FrameStream h2cResponseStream
 
-        void setupHttp2Tls() {
+        void setupHttp2Tls(Long maxConcurrentStreams = null, List<String> subjectAlternativeNames = null) {
             scheme = 'https'
 
-            def certificate = new SelfSignedCertificate()
-            def builder = SslContextBuilder.forServer(certificate.key(), certificate.cert())
+            def builder
+            if (subjectAlternativeNames == null) {
+                def certificate = new SelfSignedCertificate()
+                builder = SslContextBuilder.forServer(certificate.key(), certificate.cert())
+            } else {
+                def keyPair = KeyPairGenerator.getInstance('RSA').generateKeyPair()
+                def name = new X500Name('CN=' + subjectAlternativeNames[0])
+                def names = subjectAlternativeNames.collect { new GeneralName(GeneralName.dNSName, it) } as GeneralName[]
+                def certificate = new JcaX509CertificateConverter().getCertificate(
+                        new JcaX509v3CertificateBuilder(name, BigInteger.ONE, new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)), new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)), name, keyPair.public)
+                                .addExtension(Extension.subjectAlternativeName, false, new GeneralNames(names))
+                                .build(new JcaContentSignerBuilder('SHA256withRSA').build(keyPair.private)))
+                builder = SslContextBuilder.forServer(keyPair.private, certificate)
+            }
             CertificateProvidedSslBuilder.setupSslBuilder(builder, new SslConfiguration(), HttpVersion.HTTP_2_0);
             def tlsHandler = builder.build().newHandler(ByteBufAllocator.DEFAULT)
 
@@ -1051,8 +1353,12 @@ class ConnectionManagerSpec extends Specification {
                     .addLast(new ApplicationProtocolNegotiationHandler("h2") {
                         @Override
                         protected void configurePipeline(ChannelHandlerContext chtx, String protocol) throws Exception {
+                            def settings = Http2Settings.defaultSettings()
+                            if (maxConcurrentStreams != null) {
+                                settings.maxConcurrentStreams(maxConcurrentStreams)
+                            }
                             chtx.pipeline()
-                                    .addLast(Http2FrameCodecBuilder.forServer().build())
+                                    .addLast(Http2FrameCodecBuilder.forServer().initialSettings(settings).build())
                         }
                     })
         }
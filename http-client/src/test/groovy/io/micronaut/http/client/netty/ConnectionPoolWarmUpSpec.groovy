@@ -0,0 +1,67 @@
+package io.micronaut.http.client.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class ConnectionPoolWarmUpSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer)
+
+    void "test connections to a service are opened on startup"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                'micronaut.http.services.warm.url': embeddedServer.URL.toString(),
+                'micronaut.http.services.warm.pool.warm-up-connections': 2
+        )
+        ConnectionPoolWarmUp warmUp = ctx.getBean(ConnectionPoolWarmUp)
+
+        expect:
+        new PollingConditions(timeout: 5).eventually {
+            assert warmUp.status == [warm: ConnectionPoolWarmUp.Status.COMPLETE]
+            assert warmUp.complete
+        }
+        ctx.getBean(DefaultNettyHttpClientRegistry).getServiceClient('warm').connectionPoolMetrics.connections.size() == 2
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "test a service that cannot be reached does not block the warm-up"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                'micronaut.http.services.unreachable.url': 'http://localhost:1',
+                'micronaut.http.services.unreachable.pool.warm-up-connections': 1,
+                'micronaut.http.services.unreachable.pool.warm-up-timeout': '200ms'
+        )
+        ConnectionPoolWarmUp warmUp = ctx.getBean(ConnectionPoolWarmUp)
+
+        expect:
+        new PollingConditions(timeout: 5).eventually {
+            assert warmUp.status == [unreachable: ConnectionPoolWarmUp.Status.FAILED]
+            assert warmUp.complete
+        }
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "test services without warm-up are ignored"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                'micronaut.http.services.cold.url': embeddedServer.URL.toString()
+        )
+
+        expect:
+        ctx.getBean(ConnectionPoolWarmUp).status.isEmpty()
+        ctx.getBean(ConnectionPoolWarmUp).complete
+
+        cleanup:
+        ctx.close()
+    }
+}
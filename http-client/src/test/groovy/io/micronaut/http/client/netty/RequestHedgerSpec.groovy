@@ -0,0 +1,86 @@
+package io.micronaut.http.client.netty
+
+import io.micronaut.http.client.HttpClientConfiguration
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+import java.time.Duration
+
+class RequestHedgerSpec extends Specification {
+
+    void "test the budget allows the configured ratio of hedged attempts"() {
+        given:
+        HttpClientConfiguration.HedgingConfiguration configuration = new HttpClientConfiguration.HedgingConfiguration()
+        configuration.budgetRatio = 0.5
+        RequestHedger hedger = new RequestHedger(configuration)
+
+        when:
+        4.times { hedger.hedge { attempt -> Mono.just(attempt) }.block() }
+
+        then:
+        hedger.tryAcquire()
+        hedger.tryAcquire()
+        !hedger.tryAcquire()
+
+        when:
+        hedger.release()
+
+        then:
+        hedger.tryAcquire()
+        !hedger.tryAcquire()
+    }
+
+    void "test the delay follows the observed latencies"() {
+        given:
+        HttpClientConfiguration.HedgingConfiguration configuration = new HttpClientConfiguration.HedgingConfiguration()
+        configuration.delay = Duration.ofSeconds(1)
+        configuration.percentile = 0.5
+        RequestHedger hedger = new RequestHedger(configuration)
+
+        expect:
+        hedger.currentDelay() == Duration.ofSeconds(1)
+
+        when:
+        (1..128).each { hedger.recordLatency(Duration.ofMillis(it).toNanos()) }
+
+        then:
+        hedger.currentDelay() == Duration.ofMillis(64)
+    }
+
+    void "test the first successful attempt wins"() {
+        given:
+        HttpClientConfiguration.HedgingConfiguration configuration = new HttpClientConfiguration.HedgingConfiguration()
+        configuration.delay = Duration.ofMillis(10)
+        configuration.budgetRatio = 1
+        RequestHedger hedger = new RequestHedger(configuration)
+        boolean primaryCancelled = false
+
+        when:
+        String result = hedger.hedge { attempt ->
+            attempt == 0 ? Mono.never().doOnCancel { primaryCancelled = true } : Mono.just('hedge')
+        }.block(Duration.ofSeconds(5))
+
+        then:
+        result == 'hedge'
+        primaryCancelled
+    }
+
+    void "test the first error is propagated once every attempt failed"() {
+        given:
+        HttpClientConfiguration.HedgingConfiguration configuration = new HttpClientConfiguration.HedgingConfiguration()
+        configuration.delay = Duration.ofMillis(10)
+        configuration.budgetRatio = 1
+        RequestHedger hedger = new RequestHedger(configuration)
+
+        when:
+        hedger.hedge { attempt ->
+            attempt == 0 ?
+                    Mono.delay(Duration.ofMillis(100)).then(Mono.error(new IllegalStateException('primary'))) :
+                    Mono.error(new IllegalArgumentException('hedge'))
+        }.block(Duration.ofSeconds(5))
+
+        then:
+        IllegalArgumentException e = thrown()
+        e.message == 'hedge'
+    }
+}
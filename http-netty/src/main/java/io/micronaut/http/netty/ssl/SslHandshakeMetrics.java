@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.ssl;
+
+import io.micronaut.core.annotation.NonNull;
+import io.netty.handler.ssl.SslHandler;
+
+import javax.net.ssl.SSLSession;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the TLS handshakes of the connections of a server or client, and how many of them resumed a previous
+ * session instead of doing a full handshake.
+ *
+ * <p>A handshake is counted as resumed when the negotiated session was already negotiated by an earlier handshake
+ * counted by these metrics, or was created before the handshake started. The session creation time only has a
+ * millisecond resolution, so the first check is the one that counts sessions resumed right after they were created.
+ * The handshake time is measured from the creation of the {@link SslHandler} until the handshake completes, so for a
+ * client it includes the time to establish the TCP connection.</p>
+ *
+ * @since 4.0.0
+ */
+public final class SslHandshakeMetrics {
+
+    private final LongAdder fullHandshakes = new LongAdder();
+    private final LongAdder resumedHandshakes = new LongAdder();
+    private final LongAdder failedHandshakes = new LongAdder();
+    private final LongAdder handshakeNanos = new LongAdder();
+    private final AtomicLong maxHandshakeNanos = new AtomicLong();
+    /**
+     * The sessions negotiated by the completed handshakes, weakly referenced so that sessions evicted from the session
+     * caches can be collected.
+     */
+    private final Set<SSLSession> knownSessions = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    /**
+     * Records the outcome of the handshake of the given handler once it completes.
+     *
+     * @param sslHandler The handler of a new connection
+     */
+    public void track(@NonNull SslHandler sslHandler) {
+        long startNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+        sslHandler.handshakeFuture().addListener(future -> {
+            if (!future.isSuccess()) {
+                failedHandshakes.increment();
+                return;
+            }
+            long nanos = System.nanoTime() - startNanos;
+            handshakeNanos.add(nanos);
+            maxHandshakeNanos.accumulateAndGet(nanos, Math::max);
+            SSLSession session = sslHandler.engine().getSession();
+            if (session == null) {
+                fullHandshakes.increment();
+            } else if (!knownSessions.add(session) || session.getCreationTime() < startMillis) {
+                resumedHandshakes.increment();
+            } else {
+                fullHandshakes.increment();
+            }
+        });
+    }
+
+    /**
+     * @return The number of successful handshakes that did not resume a session
+     */
+    public long getFullHandshakeCount() {
+        return fullHandshakes.sum();
+    }
+
+    /**
+     * @return The number of successful handshakes that resumed a session
+     */
+    public long getResumedHandshakeCount() {
+        return resumedHandshakes.sum();
+    }
+
+    /**
+     * @return The number of handshakes that failed or timed out
+     */
+    public long getFailedHandshakeCount() {
+        return failedHandshakes.sum();
+    }
+
+    /**
+     * @return The share of successful handshakes that resumed a session, between 0 and 1
+     */
+    public double getResumptionHitRatio() {
+        long resumed = getResumedHandshakeCount();
+        long total = resumed + getFullHandshakeCount();
+        return total == 0 ? 0 : (double) resumed / total;
+    }
+
+    /**
+     * @return The total time spent in successful handshakes
+     */
+    @NonNull
+    public Duration getTotalHandshakeTime() {
+        return Duration.ofNanos(handshakeNanos.sum());
+    }
+
+    /**
+     * @return The average time of a successful handshake
+     */
+    @NonNull
+    public Duration getAverageHandshakeTime() {
+        long total = getResumedHandshakeCount() + getFullHandshakeCount();
+        return total == 0 ? Duration.ZERO : Duration.ofNanos(handshakeNanos.sum() / total);
+    }
+
+    /**
+     * @return The time of the slowest successful handshake
+     */
+    @NonNull
+    public Duration getMaxHandshakeTime() {
+        return Duration.ofNanos(maxHandshakeNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "SslHandshakeMetrics{" +
+            "fullHandshakes=" + getFullHandshakeCount() +
+            ", resumedHandshakes=" + getResumedHandshakeCount() +
+            ", failedHandshakes=" + getFailedHandshakeCount() +
+            ", averageHandshakeTime=" + TimeUnit.NANOSECONDS.toMicros(getAverageHandshakeTime().toNanos()) + "us" +
+            '}';
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.ssl;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.http.ssl.SslConfiguration;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selects the netty {@link SslProvider} for a {@link SslConfiguration.Provider} setting, falling back to the JDK
+ * implementation when netty-tcnative is not available.
+ *
+ * @since 4.0.0
+ */
+@Internal
+public final class SslProviders {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SslProviders.class);
+
+    private SslProviders() {
+    }
+
+    /**
+     * Selects the provider to use.
+     *
+     * @param requested The configured provider
+     * @param alpn      Whether the provider has to support ALPN
+     * @return The provider
+     */
+    @NonNull
+    public static SslProvider select(@NonNull SslConfiguration.Provider requested, boolean alpn) {
+        switch (requested) {
+            case JDK:
+                return SslProvider.JDK;
+            case OPENSSL:
+                return fallbackIfUnavailable(SslProvider.OPENSSL, alpn);
+            case OPENSSL_REFCNT:
+                return fallbackIfUnavailable(SslProvider.OPENSSL_REFCNT, alpn);
+            case AUTO:
+            default:
+                return isUsable(SslProvider.OPENSSL, alpn) ? SslProvider.OPENSSL : SslProvider.JDK;
+        }
+    }
+
+    private static SslProvider fallbackIfUnavailable(SslProvider provider, boolean alpn) {
+        if (isUsable(provider, alpn)) {
+            return provider;
+        }
+        if (LOG.isWarnEnabled()) {
+            if (!OpenSsl.isAvailable()) {
+                LOG.warn("SSL provider {} was configured, but netty-tcnative is not available. Falling back to the JDK provider.", provider, OpenSsl.unavailabilityCause());
+            } else {
+                LOG.warn("SSL provider {} was configured, but does not support ALPN. Falling back to the JDK provider.", provider);
+            }
+        }
+        return SslProvider.JDK;
+    }
+
+    private static boolean isUsable(SslProvider provider, boolean alpn) {
+        return OpenSsl.isAvailable() && (!alpn || SslProvider.isAlpnSupported(provider));
+    }
+}
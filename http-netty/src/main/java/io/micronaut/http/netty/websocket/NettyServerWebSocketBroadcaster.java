@@ -22,6 +22,9 @@ import io.micronaut.websocket.WebSocketBroadcaster;
 import io.micronaut.websocket.WebSocketSession;
 import io.micronaut.websocket.exceptions.WebSocketSessionException;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoop;
 import io.netty.channel.group.ChannelGroupException;
 import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.util.Attribute;
@@ -31,7 +34,14 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 
 import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
 /**
@@ -99,6 +109,69 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
         }, FluxSink.OverflowStrategy.BUFFER);
     }
 
+    /**
+     * Broadcasts to the channels indexed for the topic by the {@link WebSocketSessionRepository} instead of filtering
+     * every open session. The message is encoded once and each channel is written a duplicate of the same frame, the
+     * writes being submitted with a single task per event loop.
+     */
+    @Override
+    public <T> Publisher<T> broadcastToTopic(String topic, T message, MediaType mediaType) {
+        Objects.requireNonNull(topic, "The topic cannot be null");
+        return Flux.create(emitter -> {
+            try {
+                Map<EventLoop, List<Channel>> channelsByEventLoop = new HashMap<>();
+                int count = 0;
+                for (Channel ch : webSocketSessionRepository.getSubscribers(topic)) {
+                    NettyWebSocketSession s = ch.attr(NettyWebSocketSession.WEB_SOCKET_SESSION_KEY).get();
+                    if (s != null && s.isOpen()) {
+                        channelsByEventLoop.computeIfAbsent(ch.eventLoop(), loop -> new ArrayList<>()).add(ch);
+                        count++;
+                    }
+                }
+                if (count == 0) {
+                    emitter.next(message);
+                    emitter.complete();
+                    return;
+                }
+                WebSocketFrame frame = webSocketMessageEncoder.encodeMessage(message, mediaType);
+                TopicBroadcast<T> broadcast = new TopicBroadcast<>(emitter, message, count);
+                // each event loop task holds a reference to the frame until its writes are submitted
+                frame.retain(channelsByEventLoop.size());
+                try {
+                    for (Map.Entry<EventLoop, List<Channel>> entry : channelsByEventLoop.entrySet()) {
+                        EventLoop eventLoop = entry.getKey();
+                        List<Channel> channels = entry.getValue();
+                        Runnable task = () -> {
+                            try {
+                                for (Channel ch : channels) {
+                                    ch.writeAndFlush(frame.retainedDuplicate()).addListener(broadcast);
+                                }
+                            } finally {
+                                frame.release();
+                            }
+                        };
+                        if (eventLoop.inEventLoop()) {
+                            task.run();
+                        } else {
+                            try {
+                                eventLoop.execute(task);
+                            } catch (RejectedExecutionException e) {
+                                frame.release();
+                                for (int i = 0; i < channels.size(); i++) {
+                                    broadcast.complete(e);
+                                }
+                            }
+                        }
+                    }
+                } finally {
+                    frame.release();
+                }
+            } catch (Throwable e) {
+                emitter.error(new WebSocketSessionException("Broadcast Failure: " + e.getMessage(), e));
+            }
+        }, FluxSink.OverflowStrategy.BUFFER);
+    }
+
     /**
      * Attempt to extract a single failure from a failure of {@link io.netty.channel.group.ChannelGroup#write}
      * exception. {@link io.netty.channel.group.ChannelGroup} aggregates exceptions into a {@link ChannelGroupException}
@@ -132,4 +205,45 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
             return failure;
         }
     }
+
+    /**
+     * Tracks the writes of a topic broadcast and completes the emitter once every write has completed.
+     *
+     * @param <T> The message type
+     */
+    private final class TopicBroadcast<T> implements ChannelFutureListener {
+        private final FluxSink<T> emitter;
+        private final T message;
+        private final AtomicInteger remaining;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        TopicBroadcast(FluxSink<T> emitter, T message, int writes) {
+            this.emitter = emitter;
+            this.message = message;
+            this.remaining = new AtomicInteger(writes);
+        }
+
+        @Override
+        public void operationComplete(ChannelFuture future) {
+            complete(future.isSuccess() ? null : future.cause());
+        }
+
+        void complete(@Nullable Throwable writeFailure) {
+            if (writeFailure != null) {
+                Throwable cause = extractBroadcastFailure(writeFailure);
+                if (cause != null) {
+                    failure.compareAndSet(null, cause);
+                }
+            }
+            if (remaining.decrementAndGet() == 0) {
+                Throwable cause = failure.get();
+                if (cause != null) {
+                    emitter.error(new WebSocketSessionException("Broadcast Failure: " + cause.getMessage(), cause));
+                } else {
+                    emitter.next(message);
+                    emitter.complete();
+                }
+            }
+        }
+    }
 }
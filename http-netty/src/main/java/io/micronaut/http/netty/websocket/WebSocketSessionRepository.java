@@ -18,6 +18,10 @@ package io.micronaut.http.netty.websocket;
 import io.netty.channel.Channel;
 import io.netty.channel.group.ChannelGroup;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * Defines a ChannelGroup repository to handle WebSockets.
  *
@@ -43,4 +47,43 @@ public interface WebSocketSessionRepository {
      * @return A {@link io.netty.channel.group.ChannelGroup}
      */
     ChannelGroup getChannelGroup();
+
+    /**
+     * Subscribes a channel to a topic.
+     *
+     * @param channel The channel
+     * @param topic The topic
+     * @since 4.0.0
+     */
+    default void subscribe(Channel channel, String topic) {
+        WebSocketTopicIndex.getSubscriptions(channel, true).add(topic);
+    }
+
+    /**
+     * Unsubscribes a channel from a topic.
+     *
+     * @param channel The channel
+     * @param topic The topic
+     * @since 4.0.0
+     */
+    default void unsubscribe(Channel channel, String topic) {
+        Set<String> topics = WebSocketTopicIndex.getSubscriptions(channel, false);
+        if (topics != null) {
+            topics.remove(topic);
+        }
+    }
+
+    /**
+     * Returns the channels subscribed to the given topic. The default implementation visits every channel of the
+     * {@link #getChannelGroup()}, implementations should maintain an index such as {@link WebSocketTopicIndex}.
+     *
+     * @param topic The topic
+     * @return The channels subscribed to the topic
+     * @since 4.0.0
+     */
+    default Collection<Channel> getSubscribers(String topic) {
+        return getChannelGroup().stream()
+                .filter(channel -> WebSocketTopicIndex.getSubscriptions(channel).contains(topic))
+                .collect(Collectors.toList());
+    }
 }
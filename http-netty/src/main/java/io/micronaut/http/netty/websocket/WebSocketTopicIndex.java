@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.websocket;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps topics to the WebSocket channels subscribed to them, so that broadcasting to a topic only visits its members.
+ * The topics of a channel are stored in a channel attribute, and the repository owning the index is expected to call
+ * {@link #remove(Channel)} once the channel is removed.
+ *
+ * @since 4.0.0
+ */
+@Internal
+public final class WebSocketTopicIndex {
+
+    /**
+     * The topics a channel is subscribed to are stored within a Channel attribute using the given key.
+     */
+    public static final AttributeKey<Set<String>> TOPICS_KEY = AttributeKey.newInstance("micronaut.websocket.topics");
+
+    private final Map<String, Set<Channel>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribes a channel to a topic.
+     *
+     * @param channel The channel
+     * @param topic   The topic
+     */
+    public void subscribe(@NonNull Channel channel, @NonNull String topic) {
+        if (getSubscriptions(channel, true).add(topic)) {
+            subscribers.compute(topic, (key, channels) -> {
+                if (channels == null) {
+                    channels = ConcurrentHashMap.newKeySet();
+                }
+                channels.add(channel);
+                return channels;
+            });
+            if (!channel.isOpen()) {
+                // the channel may have been removed before the subscription was added
+                remove(channel);
+            }
+        }
+    }
+
+    /**
+     * Unsubscribes a channel from a topic.
+     *
+     * @param channel The channel
+     * @param topic   The topic
+     */
+    public void unsubscribe(@NonNull Channel channel, @NonNull String topic) {
+        Set<String> topics = getSubscriptions(channel, false);
+        if (topics != null && topics.remove(topic)) {
+            removeSubscriber(topic, channel);
+        }
+    }
+
+    /**
+     * Removes the channel from every topic it is subscribed to.
+     *
+     * @param channel The channel
+     */
+    public void remove(@NonNull Channel channel) {
+        Set<String> topics = channel.attr(TOPICS_KEY).getAndSet(null);
+        if (topics != null) {
+            for (String topic : topics) {
+                removeSubscriber(topic, channel);
+            }
+        }
+    }
+
+    /**
+     * @param topic The topic
+     * @return The channels subscribed to the given topic
+     */
+    @NonNull
+    public Collection<Channel> getSubscribers(@NonNull String topic) {
+        Set<Channel> channels = subscribers.get(topic);
+        return channels != null ? channels : Collections.emptySet();
+    }
+
+    /**
+     * @param channel The channel
+     * @return The topics the given channel is subscribed to
+     */
+    @NonNull
+    public static Set<String> getSubscriptions(@NonNull Channel channel) {
+        Set<String> topics = getSubscriptions(channel, false);
+        return topics != null ? Collections.unmodifiableSet(topics) : Collections.emptySet();
+    }
+
+    /**
+     * Returns the mutable topics of a channel.
+     *
+     * @param channel The channel
+     * @param create  Whether to create the topics if the channel has none yet
+     * @return The topics
+     */
+    @Nullable
+    static Set<String> getSubscriptions(Channel channel, boolean create) {
+        Attribute<Set<String>> attribute = channel.attr(TOPICS_KEY);
+        Set<String> topics = attribute.get();
+        if (topics == null && create) {
+            Set<String> newTopics = ConcurrentHashMap.newKeySet();
+            topics = attribute.setIfAbsent(newTopics);
+            if (topics == null) {
+                topics = newTopics;
+            }
+        }
+        return topics;
+    }
+
+    private void removeSubscriber(String topic, Channel channel) {
+        subscribers.computeIfPresent(topic, (key, channels) -> {
+            channels.remove(channel);
+            return channels.isEmpty() ? null : channels;
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package io.micronaut.http.netty.ssl
+
+import io.micronaut.http.ssl.SslConfiguration
+import io.netty.handler.ssl.OpenSsl
+import io.netty.handler.ssl.SslProvider
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class SslProvidersSpec extends Specification {
+
+    void "test the JDK provider is used when requested"() {
+        expect:
+        SslProviders.select(SslConfiguration.Provider.JDK, alpn) == SslProvider.JDK
+
+        where:
+        alpn << [true, false]
+    }
+
+    @Unroll
+    void "test #requested falls back to the JDK provider if netty-tcnative is not available"() {
+        given:
+        SslProvider expected = OpenSsl.isAvailable() && (!alpn || SslProvider.isAlpnSupported(nativeProvider)) ? nativeProvider : SslProvider.JDK
+
+        expect:
+        SslProviders.select(requested, alpn) == expected
+
+        where:
+        requested                                | nativeProvider             | alpn
+        SslConfiguration.Provider.AUTO           | SslProvider.OPENSSL        | true
+        SslConfiguration.Provider.AUTO           | SslProvider.OPENSSL        | false
+        SslConfiguration.Provider.OPENSSL        | SslProvider.OPENSSL        | true
+        SslConfiguration.Provider.OPENSSL_REFCNT | SslProvider.OPENSSL_REFCNT | false
+    }
+
+    void "test the provider can be configured"() {
+        given:
+        SslConfiguration configuration = new SslConfiguration()
+
+        expect:
+        configuration.provider == SslConfiguration.Provider.AUTO
+
+        when:
+        configuration.provider = SslConfiguration.Provider.OPENSSL
+
+        then:
+        configuration.provider == SslConfiguration.Provider.OPENSSL
+
+        when:
+        configuration.provider = null
+
+        then:
+        configuration.provider == SslConfiguration.Provider.AUTO
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Negotiates the content encoding of a response from the weighted values of the {@code Accept-Encoding} header.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc9110#field.accept-encoding">RFC 9110</a>
+ * @since 4.0.0
+ */
+@Internal
+final class AcceptEncoding {
+
+    static final String BR = "br";
+    static final String ZSTD = "zstd";
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private static final String IDENTITY = "identity";
+    private static final String ANY = "*";
+    private static final float UNLISTED = -1;
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * Selects the encoding to use for a response.
+     *
+     * @param acceptEncoding The value of the {@code Accept-Encoding} header
+     * @param supported      The encodings that may be used, in order of preference
+     * @return The encoding or {@code null} if the response should not be encoded
+     */
+    @Nullable
+    static String negotiate(@Nullable String acceptEncoding, @NonNull List<String> supported) {
+        List<String> accepted = accepted(acceptEncoding, supported);
+        return accepted.isEmpty() ? null : accepted.get(0);
+    }
+
+    /**
+     * Computes the supported encodings the client accepts, ordered by the weight the client gave them. Encodings
+     * of the same weight keep the order of preference of the server. Encodings that the client weighs lower than
+     * the identity encoding are not accepted.
+     *
+     * @param acceptEncoding The value of the {@code Accept-Encoding} header
+     * @param supported      The encodings that may be used, in order of preference
+     * @return The accepted encodings
+     */
+    @NonNull
+    static List<String> accepted(@Nullable String acceptEncoding, @NonNull List<String> supported) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty() || supported.isEmpty()) {
+            return Collections.emptyList();
+        }
+        float[] weights = new float[supported.size()];
+        float anyWeight = UNLISTED;
+        float identityWeight = UNLISTED;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = UNLISTED;
+        }
+        for (String element : acceptEncoding.split(",")) {
+            int parameters = element.indexOf(';');
+            String coding = (parameters == -1 ? element : element.substring(0, parameters)).trim().toLowerCase(Locale.ENGLISH);
+            float weight = parameters == -1 ? 1 : weight(element.substring(parameters + 1));
+            if (coding.equals(ANY)) {
+                anyWeight = weight;
+            } else if (coding.equals(IDENTITY)) {
+                identityWeight = weight;
+            } else {
+                if (coding.equals("x-gzip")) {
+                    coding = GZIP;
+                }
+                int index = supported.indexOf(coding);
+                if (index != -1) {
+                    weights[index] = Math.max(weights[index], weight);
+                }
+            }
+        }
+        if (identityWeight == UNLISTED) {
+            // identity is always acceptable unless it is excluded explicitly or through *;q=0
+            identityWeight = anyWeight == 0 ? 0 : Float.MIN_VALUE;
+        }
+        List<String> accepted = new ArrayList<>(weights.length);
+        List<Float> acceptedWeights = new ArrayList<>(weights.length);
+        for (int i = 0; i < weights.length; i++) {
+            float weight = weights[i] == UNLISTED ? anyWeight : weights[i];
+            if (weight > 0 && weight >= identityWeight) {
+                // insertion sort, stable for equal weights
+                int position = accepted.size();
+                while (position > 0 && acceptedWeights.get(position - 1) < weight) {
+                    position--;
+                }
+                accepted.add(position, supported.get(i));
+                acceptedWeights.add(position, weight);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * @param encoding The content encoding
+     * @return The file extension of files precompressed with the given encoding or {@code null} if unknown
+     */
+    @Nullable
+    static String fileExtension(@NonNull String encoding) {
+        switch (encoding) {
+            case BR:
+                return ".br";
+            case ZSTD:
+                return ".zst";
+            case GZIP:
+                return ".gz";
+            default:
+                return null;
+        }
+    }
+
+    private static float weight(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int equals = parameter.indexOf('=');
+            if (equals != -1 && parameter.substring(0, equals).trim().equalsIgnoreCase("q")) {
+                try {
+                    float weight = Float.parseFloat(parameter.substring(equals + 1).trim());
+                    return weight < 0 || weight > 1 || Float.isNaN(weight) ? 0 : weight;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
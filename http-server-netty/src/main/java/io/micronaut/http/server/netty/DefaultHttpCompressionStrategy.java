@@ -21,9 +21,15 @@ import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Default implementation of {@link HttpCompressionStrategy}.
  *
@@ -36,14 +42,18 @@ class DefaultHttpCompressionStrategy implements HttpCompressionStrategy {
 
     private final int compressionThreshold;
     private final int compressionLevel;
+    private final Map<String, Integer> compressionLevels;
+    private final List<String> contentEncodings;
 
     /**
      * @param serverConfiguration The netty server configuration
      */
     @Inject
     DefaultHttpCompressionStrategy(NettyHttpServerConfiguration serverConfiguration) {
-        this.compressionThreshold = serverConfiguration.getCompressionThreshold();
-        this.compressionLevel = serverConfiguration.getCompressionLevel();
+        this(serverConfiguration.getCompressionThreshold(),
+                serverConfiguration.getCompressionLevel(),
+                serverConfiguration.getCompressionLevels(),
+                serverConfiguration.getCompressionEncodings());
     }
 
     /**
@@ -51,8 +61,20 @@ class DefaultHttpCompressionStrategy implements HttpCompressionStrategy {
      * @param compressionLevel The compression level (0-9)
      */
     DefaultHttpCompressionStrategy(int compressionThreshold, int compressionLevel) {
+        this(compressionThreshold, compressionLevel, Collections.emptyMap(), NettyHttpServerConfiguration.DEFAULT_COMPRESSIONENCODINGS);
+    }
+
+    /**
+     * @param compressionThreshold The compression threshold
+     * @param compressionLevel     The compression level
+     * @param compressionLevels    The compression levels by media type
+     * @param contentEncodings     The content encodings, in order of preference
+     */
+    DefaultHttpCompressionStrategy(int compressionThreshold, int compressionLevel, Map<String, Integer> compressionLevels, List<String> contentEncodings) {
         this.compressionThreshold = compressionThreshold;
         this.compressionLevel = compressionLevel;
+        this.compressionLevels = compressionLevels;
+        this.contentEncodings = contentEncodings;
     }
 
     @Override
@@ -61,7 +83,10 @@ class DefaultHttpCompressionStrategy implements HttpCompressionStrategy {
         String contentType = headers.get(HttpHeaderNames.CONTENT_TYPE);
         Integer contentLength = headers.getInt(HttpHeaderNames.CONTENT_LENGTH);
 
+        // partial content must be served as is, the ranges refer to the uncompressed representation
         return contentType != null &&
+                !headers.contains(HttpHeaderNames.CONTENT_RANGE) &&
+                !response.status().equals(HttpResponseStatus.PARTIAL_CONTENT) &&
                 (contentLength == null || contentLength >= compressionThreshold) &&
                 MediaType.isTextBased(contentType);
     }
@@ -70,4 +95,25 @@ class DefaultHttpCompressionStrategy implements HttpCompressionStrategy {
     public int getCompressionLevel() {
         return compressionLevel;
     }
+
+    @Override
+    public int getCompressionLevel(HttpResponse response) {
+        String contentType = response.headers().get(HttpHeaderNames.CONTENT_TYPE);
+        if (contentType == null || compressionLevels.isEmpty()) {
+            return compressionLevel;
+        }
+        int parameters = contentType.indexOf(';');
+        String mediaType = (parameters == -1 ? contentType : contentType.substring(0, parameters)).trim().toLowerCase(Locale.ENGLISH);
+        Integer level = compressionLevels.get(mediaType);
+        if (level == null) {
+            int slash = mediaType.indexOf('/');
+            level = slash == -1 ? null : compressionLevels.get(mediaType.substring(0, slash + 1) + '*');
+        }
+        return level != null ? level : compressionLevel;
+    }
+
+    @Override
+    public List<String> getContentEncodings() {
+        return contentEncodings;
+    }
 }
@@ -15,8 +15,11 @@
  */
 package io.micronaut.http.server.netty;
 
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.netty.handler.codec.http.HttpResponse;
 
+import java.util.List;
+
 /**
  * Determines if a given http message should be compressed. It should
  * be assumed the client allows for compressed responses.
@@ -38,4 +41,27 @@ public interface HttpCompressionStrategy {
     default int getCompressionLevel() {
         return 6;
     }
+
+    /**
+     * The compression level to use for the given response. The level is passed to the encoder as is, capped to
+     * the range of the encoder (0-9 for gzip and deflate, 0-11 for br and 1-22 for zstd).
+     *
+     * @param response The HTTP response
+     * @return The compression level
+     * @since 4.0.0
+     */
+    default int getCompressionLevel(HttpResponse response) {
+        return getCompressionLevel();
+    }
+
+    /**
+     * The content encodings used to compress responses, in order of preference. Encodings whose encoder is not
+     * available at runtime are ignored, br requires Brotli4j and zstd requires zstd-jni.
+     *
+     * @return The content encodings
+     * @since 4.0.0
+     */
+    default List<String> getContentEncodings() {
+        return NettyHttpServerConfiguration.DEFAULT_COMPRESSIONENCODINGS;
+    }
 }
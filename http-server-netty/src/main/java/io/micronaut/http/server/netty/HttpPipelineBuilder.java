@@ -124,7 +124,11 @@ final class HttpPipelineBuilder {
 
         NettyHttpServerConfiguration.AccessLogger accessLogger = server.getServerConfiguration().getAccessLogger();
         if (accessLogger != null && accessLogger.isEnabled()) {
-            accessLogHandler = new HttpAccessLogHandler(accessLogger.getLoggerName(), accessLogger.getLogFormat(), NettyHttpServer.inclusionPredicate(accessLogger));
+            if (accessLogger.isAsync()) {
+                accessLogHandler = new HttpAccessLogHandler(server.getAccessLogWriter(accessLogger), accessLogger.getLogFormat(), NettyHttpServer.inclusionPredicate(accessLogger));
+            } else {
+                accessLogHandler = new HttpAccessLogHandler(accessLogger.getLoggerName(), accessLogger.getLogFormat(), NettyHttpServer.inclusionPredicate(accessLogger));
+            }
         } else {
             accessLogHandler = null;
         }
@@ -228,6 +232,7 @@ final class HttpPipelineBuilder {
             if (ssl) {
                 SslHandler sslHandler = sslContext.newHandler(channel.alloc());
                 sslHandler.setHandshakeTimeoutMillis(sslConfiguration.getHandshakeTimeout().toMillis());
+                server.getSslHandshakeMetrics().track(sslHandler);
                 pipeline.addLast(ChannelPipelineCustomizer.HANDLER_SSL, sslHandler);
 
                 insertPcapLoggingHandler("ssl-decapsulated");
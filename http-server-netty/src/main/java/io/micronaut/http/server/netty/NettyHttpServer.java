@@ -32,10 +32,14 @@ import io.micronaut.http.netty.channel.ChannelPipelineListener;
 import io.micronaut.http.netty.channel.DefaultEventLoopGroupConfiguration;
 import io.micronaut.http.netty.channel.EventLoopGroupConfiguration;
 import io.micronaut.http.netty.channel.converters.ChannelOptionFactory;
+import io.micronaut.http.netty.ssl.SslHandshakeMetrics;
 import io.micronaut.http.netty.websocket.WebSocketSessionRepository;
+import io.micronaut.http.netty.websocket.WebSocketTopicIndex;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.exceptions.ServerStartupException;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.micronaut.http.server.netty.handler.accesslog.AsyncAccessLogWriter;
+import io.micronaut.http.server.netty.handler.accesslog.HttpAccessLogHandler;
 import io.micronaut.http.server.netty.ssl.ServerSslBuilder;
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandlerRegistry;
 import io.micronaut.http.server.util.DefaultHttpHostResolver;
@@ -66,6 +70,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.BindException;
 import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
@@ -73,6 +78,7 @@ import java.net.SocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -119,7 +125,10 @@ public class NettyHttpServer implements NettyEmbeddedServer {
     private final ApplicationContext applicationContext;
     private final AtomicBoolean running = new AtomicBoolean(false);
     private final ChannelGroup webSocketSessions = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final WebSocketTopicIndex webSocketTopics = new WebSocketTopicIndex();
+    private final SslHandshakeMetrics sslHandshakeMetrics = new SslHandshakeMetrics();
     private final HttpHostResolver hostResolver;
+    private AsyncAccessLogWriter accessLogWriter;
     private boolean shutdownWorker = false;
     private boolean shutdownParent = false;
     private EventLoopGroup workerGroup;
@@ -605,6 +614,7 @@ public class NettyHttpServer implements NettyEmbeddedServer {
                         .addListener(this::logShutdownErrorIfNecessary);
             }
             webSocketSessions.close();
+            closeAccessLogWriter();
             applicationContext.getEventPublisher(ServerShutdownEvent.class).publishEvent(new ServerShutdownEvent(this));
             if (isDefault && applicationContext.isRunning() && stopApplicationContext) {
                 applicationContext.stop();
@@ -654,6 +664,7 @@ public class NettyHttpServer implements NettyEmbeddedServer {
     @Override
     public void removeChannel(Channel channel) {
         this.webSocketSessions.remove(channel);
+        this.webSocketTopics.remove(channel);
     }
 
     @Override
@@ -661,6 +672,21 @@ public class NettyHttpServer implements NettyEmbeddedServer {
         return this.webSocketSessions;
     }
 
+    @Override
+    public void subscribe(Channel channel, String topic) {
+        this.webSocketTopics.subscribe(channel, topic);
+    }
+
+    @Override
+    public void unsubscribe(Channel channel, String topic) {
+        this.webSocketTopics.unsubscribe(channel, topic);
+    }
+
+    @Override
+    public Collection<Channel> getSubscribers(String topic) {
+        return this.webSocketTopics.getSubscribers(topic);
+    }
+
     /**
      * @return {@link io.micronaut.http.server.netty.NettyHttpServer} which implements {@link WebSocketSessionRepository}
      */
@@ -668,6 +694,16 @@ public class NettyHttpServer implements NettyEmbeddedServer {
         return this;
     }
 
+    /**
+     * @return The TLS handshake metrics of the connections of this server, including the share of handshakes that
+     * resumed a previous session
+     * @since 4.0.0
+     */
+    @NonNull
+    public SslHandshakeMetrics getSslHandshakeMetrics() {
+        return sslHandshakeMetrics;
+    }
+
     @Override
     public boolean isClientChannel() {
         return false;
@@ -732,6 +768,38 @@ public class NettyHttpServer implements NettyEmbeddedServer {
         createPipelineBuilder(rootCustomizer).new ConnectionPipeline(prototype, ssl).initChannel();
     }
 
+    /**
+     * Returns the asynchronous access log writer shared by the listeners of this server, creating it if necessary.
+     *
+     * @param config The access logger configuration
+     * @return The writer
+     */
+    synchronized AsyncAccessLogWriter getAccessLogWriter(NettyHttpServerConfiguration.AccessLogger config) {
+        if (accessLogWriter == null) {
+            String loggerName = config.getLoggerName();
+            Logger logger = LoggerFactory.getLogger(loggerName == null || loggerName.isEmpty() ? HttpAccessLogHandler.HTTP_ACCESS_LOGGER : loggerName);
+            try {
+                accessLogWriter = new AsyncAccessLogWriter(
+                        logger,
+                        config.getFile().map(Paths::get).orElse(null),
+                        config.getQueueSize(),
+                        config.getBatchSize(),
+                        config.getOverflowPolicy()
+                );
+            } catch (IOException e) {
+                throw new ConfigurationException("Cannot open access log file: " + e.getMessage(), e);
+            }
+        }
+        return accessLogWriter;
+    }
+
+    private synchronized void closeAccessLogWriter() {
+        if (accessLogWriter != null) {
+            accessLogWriter.close();
+            accessLogWriter = null;
+        }
+    }
+
     static Predicate<String> inclusionPredicate(NettyHttpServerConfiguration.AccessLogger config) {
         List<String> exclusions = config.getExclusions();
         if (CollectionUtils.isEmpty(exclusions)) {
@@ -20,10 +20,12 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.execution.CompletableFutureExecutionFlow;
 import io.micronaut.core.execution.ExecutionFlow;
 import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.context.ServerRequestContext;
@@ -34,6 +36,8 @@ import io.micronaut.http.server.netty.multipart.NettyStreamingFileUpload;
 import io.micronaut.http.server.netty.types.files.NettyStreamedFileCustomizableResponseType;
 import io.micronaut.http.server.netty.types.files.NettySystemFileCustomizableResponseType;
 import io.micronaut.http.server.types.files.FileCustomizableResponseType;
+import io.micronaut.http.server.types.files.StreamedFile;
+import io.micronaut.http.server.types.files.SystemFile;
 import io.micronaut.web.router.MethodBasedRouteMatch;
 import io.micronaut.web.router.RouteMatch;
 import io.netty.buffer.ByteBufHolder;
@@ -46,8 +50,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -112,13 +119,24 @@ final class NettyRequestLifecycle extends RequestLifecycle {
         if (optionalUrl.isPresent()) {
             try {
                 URL url = optionalUrl.get();
+                FileCustomizableResponseType precompressed = findPrecompressedFile(url);
+                if (precompressed != null) {
+                    return precompressed;
+                }
+                // with precompressed siblings enabled the uncompressed file is one of several representations,
+                // so caches must key it by Accept-Encoding as well
+                boolean negotiated = !rib.serverConfiguration.getFileTypeHandlerConfiguration().getPrecompressed().isEmpty();
                 if (url.getProtocol().equals("file")) {
                     File file = Paths.get(url.toURI()).toFile();
                     if (file.exists() && !file.isDirectory() && file.canRead()) {
-                        return new NettySystemFileCustomizableResponseType(file);
+                        NettySystemFileCustomizableResponseType type = new NettySystemFileCustomizableResponseType(file);
+                        type.setContentEncodingNegotiated(negotiated);
+                        return type;
                     }
                 }
-                return new NettyStreamedFileCustomizableResponseType(url);
+                NettyStreamedFileCustomizableResponseType type = new NettyStreamedFileCustomizableResponseType(url);
+                type.setContentEncodingNegotiated(negotiated);
+                return type;
             } catch (URISyntaxException e) {
                 //no-op
             }
@@ -126,6 +144,48 @@ final class NettyRequestLifecycle extends RequestLifecycle {
         return null;
     }
 
+    /**
+     * Looks for a precompressed sibling of the given static resource, such as {@code app.js.br} for
+     * {@code app.js}, in an encoding the client accepts.
+     */
+    @Nullable
+    private FileCustomizableResponseType findPrecompressedFile(URL url) throws URISyntaxException {
+        List<String> precompressed = rib.serverConfiguration.getFileTypeHandlerConfiguration().getPrecompressed();
+        if (precompressed.isEmpty()) {
+            return null;
+        }
+        String acceptEncoding = request().getHeaders().get(HttpHeaders.ACCEPT_ENCODING);
+        for (String encoding : AcceptEncoding.accepted(acceptEncoding, precompressed)) {
+            String extension = AcceptEncoding.fileExtension(encoding);
+            if (extension == null) {
+                continue;
+            }
+            // the media type is the one of the resource, not of the compressed file
+            MediaType mediaType = MediaType.forFilename(url.getPath());
+            try {
+                URL siblingUrl = new URL(url.toExternalForm() + extension);
+                if (siblingUrl.getProtocol().equals("file")) {
+                    File file = Paths.get(siblingUrl.toURI()).toFile();
+                    if (file.isFile() && file.canRead()) {
+                        NettySystemFileCustomizableResponseType type = new NettySystemFileCustomizableResponseType(new SystemFile(file, mediaType));
+                        type.setContentEncoding(encoding);
+                        return type;
+                    }
+                } else {
+                    URLConnection connection = siblingUrl.openConnection();
+                    InputStream inputStream = connection.getInputStream();
+                    NettyStreamedFileCustomizableResponseType type = new NettyStreamedFileCustomizableResponseType(
+                            new StreamedFile(inputStream, mediaType, connection.getLastModified(), connection.getContentLengthLong()));
+                    type.setContentEncoding(encoding);
+                    return type;
+                }
+            } catch (IOException e) {
+                // no precompressed file in this encoding
+            }
+        }
+        return null;
+    }
+
     @Override
     protected ExecutionFlow<RouteMatch<?>> fulfillArguments(RouteMatch<?> routeMatch) {
         // handle decoding failure
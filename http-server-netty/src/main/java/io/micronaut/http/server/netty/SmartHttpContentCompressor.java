@@ -15,26 +15,51 @@
  */
 package io.micronaut.http.server.netty;
 
+import com.aayushatharva.brotli4j.encoder.Encoder;
 import io.micronaut.core.annotation.Internal;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.BrotliEncoder;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.compression.Zstd;
+import io.netty.handler.codec.compression.ZstdEncoder;
 import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpResponse;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * An extension of {@link HttpContentCompressor} that skips encoding if the content type is not compressible or if
  * the content is too small.
  *
+ * <p>The content encoding is negotiated with the weighted {@code Accept-Encoding} header of the request among the
+ * encodings of the {@link HttpCompressionStrategy} whose encoder is available, and the compression level may depend
+ * on the response. Responses that already have a {@code Content-Encoding}, for example precompressed files, are
+ * never encoded again.</p>
+ *
  * @author James Kleeh
  * @since 1.0
  */
 @Internal
 public class SmartHttpContentCompressor extends HttpContentCompressor {
 
+    private static final int MAX_ZLIB_LEVEL = 9;
+    private static final int MAX_BROTLI_QUALITY = 11;
+    private static final int MAX_ZSTD_LEVEL = 22;
+    private static final int ZLIB_WINDOW_BITS = 15;
+    private static final int ZLIB_MEM_LEVEL = 8;
+
     private final HttpCompressionStrategy httpCompressionStrategy;
+    private final List<String> contentEncodings;
+    private ChannelHandlerContext ctx;
     private boolean skipEncoding = false;
+    private int compressionLevel;
 
     /**
      * Creates a SmartHttpContentCompressor with the given compression logic.
@@ -44,6 +69,14 @@ public class SmartHttpContentCompressor extends HttpContentCompressor {
     SmartHttpContentCompressor(HttpCompressionStrategy httpCompressionStrategy) {
         super(httpCompressionStrategy.getCompressionLevel());
         this.httpCompressionStrategy = httpCompressionStrategy;
+        this.contentEncodings = availableEncodings(httpCompressionStrategy.getContentEncodings());
+        this.compressionLevel = httpCompressionStrategy.getCompressionLevel();
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+        super.handlerAdded(ctx);
     }
 
     /**
@@ -53,7 +86,7 @@ public class SmartHttpContentCompressor extends HttpContentCompressor {
      * @return True if the content should not be compressed
      */
     public boolean shouldSkip(HttpResponse response) {
-        return !httpCompressionStrategy.shouldCompress(response);
+        return response.headers().contains(HttpHeaderNames.CONTENT_ENCODING) || !httpCompressionStrategy.shouldCompress(response);
     }
 
     @Override
@@ -61,6 +94,9 @@ public class SmartHttpContentCompressor extends HttpContentCompressor {
         if (msg instanceof HttpResponse) {
             HttpResponse res = (HttpResponse) msg;
             skipEncoding = shouldSkip(res);
+            if (!skipEncoding) {
+                compressionLevel = httpCompressionStrategy.getCompressionLevel(res);
+            }
         }
         super.encode(ctx, msg, out);
     }
@@ -70,6 +106,66 @@ public class SmartHttpContentCompressor extends HttpContentCompressor {
         if (skipEncoding) {
             return null;
         }
-        return super.beginEncode(headers, acceptEncoding);
+        String encoding = AcceptEncoding.negotiate(acceptEncoding, contentEncodings);
+        if (encoding == null) {
+            return null;
+        }
+        // the file handler already announces the header for resources that have precompressed representations
+        if (!headers.headers().containsValue(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING, true)) {
+            headers.headers().add(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+        }
+        return new Result(encoding, new EmbeddedChannel(
+                ctx.channel().id(),
+                ctx.channel().metadata().hasDisconnect(),
+                ctx.channel().config(),
+                newEncoder(encoding, compressionLevel)));
+    }
+
+    private static ChannelHandler newEncoder(String encoding, int level) {
+        switch (encoding) {
+            case AcceptEncoding.BR:
+                return BrotliEncoders.create(Math.max(0, Math.min(level, MAX_BROTLI_QUALITY)));
+            case AcceptEncoding.ZSTD:
+                return new ZstdEncoder(Math.max(1, Math.min(level, MAX_ZSTD_LEVEL)));
+            case AcceptEncoding.GZIP:
+                return ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP, Math.max(0, Math.min(level, MAX_ZLIB_LEVEL)), ZLIB_WINDOW_BITS, ZLIB_MEM_LEVEL);
+            default:
+                return ZlibCodecFactory.newZlibEncoder(ZlibWrapper.ZLIB, Math.max(0, Math.min(level, MAX_ZLIB_LEVEL)), ZLIB_WINDOW_BITS, ZLIB_MEM_LEVEL);
+        }
+    }
+
+    private static List<String> availableEncodings(List<String> encodings) {
+        List<String> available = new ArrayList<>(encodings.size());
+        for (String encoding : encodings) {
+            boolean supported;
+            switch (encoding) {
+                case AcceptEncoding.BR:
+                    // the native encoders are optional dependencies
+                    supported = Brotli.isAvailable();
+                    break;
+                case AcceptEncoding.ZSTD:
+                    supported = Zstd.isAvailable();
+                    break;
+                case AcceptEncoding.GZIP:
+                case AcceptEncoding.DEFLATE:
+                    supported = true;
+                    break;
+                default:
+                    supported = false;
+            }
+            if (supported) {
+                available.add(encoding);
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Keeps the optional Brotli4j classes from being loaded unless br is used.
+     */
+    private static final class BrotliEncoders {
+        static ChannelHandler create(int quality) {
+            return new BrotliEncoder(new Encoder.Parameters().setQuality(quality));
+        }
     }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a route whose {@code GET} responses are stored in the server response cache. The annotation can be declared
+ * on a controller to apply to all of its routes.
+ *
+ * @since 4.0.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface CacheResponse {
+
+    /**
+     * The time to live of the cached responses as a duration string, for example {@code 10s} or {@code 5m}. When not
+     * set, the {@code s-maxage} or {@code max-age} directive of the response is used and, failing that, the
+     * configured default time to live.
+     *
+     * @return The time to live
+     */
+    String ttl() default "";
+
+    /**
+     * @return The request headers that select between variants of the response, in addition to the headers listed in
+     * the {@code Vary} header of the response
+     */
+    String[] vary() default {};
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.cache;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
+import io.netty.buffer.ByteBuf;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * A response stored in a {@link ResponseCacheStore}. The encoded body is held in a pooled {@link ByteBuf} that is
+ * released once the entry is {@link #release() released} by the store and every response served from it has been
+ * written.
+ *
+ * @since 4.0.0
+ */
+public final class CachedResponse {
+
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final String[] NONE = new String[0];
+
+    private final int status;
+    private final String[] headers;
+    private final ByteBuf body;
+    private final String etag;
+    private final String[] varyNames;
+    private final String[] varyValues;
+    private final long createdNanos;
+    private final long expiresNanos;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    /**
+     * @param status       The status code
+     * @param headers      The response headers, as alternating names and values
+     * @param body         The encoded body, owned by the entry from now on
+     * @param etag         The entity tag of the body
+     * @param varyNames    The names of the request headers that select this variant
+     * @param varyValues   The values of the request headers that select this variant, {@code null} when absent
+     * @param createdNanos The {@link System#nanoTime()} at which the response was created
+     * @param expiresNanos The {@link System#nanoTime()} at which the response expires
+     */
+    public CachedResponse(int status,
+                          @NonNull String[] headers,
+                          @NonNull ByteBuf body,
+                          @NonNull String etag,
+                          @Nullable String[] varyNames,
+                          @Nullable String[] varyValues,
+                          long createdNanos,
+                          long expiresNanos) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.etag = etag;
+        this.varyNames = varyNames != null ? varyNames : NONE;
+        this.varyValues = varyValues != null ? varyValues : NONE;
+        this.createdNanos = createdNanos;
+        this.expiresNanos = expiresNanos;
+    }
+
+    /**
+     * @return The status code
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The entity tag of the body
+     */
+    @NonNull
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * @param consumer Receives the name and value of each response header
+     */
+    public void forEachHeader(@NonNull BiConsumer<String, String> consumer) {
+        for (int i = 0; i < headers.length; i += 2) {
+            consumer.accept(headers[i], headers[i + 1]);
+        }
+    }
+
+    /**
+     * @return The names of the request headers that select this variant
+     */
+    @NonNull
+    public String[] getVaryNames() {
+        return varyNames.clone();
+    }
+
+    /**
+     * @param nanoTime The current {@link System#nanoTime()}
+     * @return Whether the response has expired
+     */
+    public boolean isExpired(long nanoTime) {
+        return nanoTime - expiresNanos >= 0;
+    }
+
+    /**
+     * @param nanoTime The current {@link System#nanoTime()}
+     * @return The age of the response in seconds, as sent in the {@code Age} header
+     */
+    public long getAge(long nanoTime) {
+        return TimeUnit.NANOSECONDS.toSeconds(Math.max(0, nanoTime - createdNanos));
+    }
+
+    /**
+     * @return The approximate number of bytes held by the entry
+     */
+    public int getWeight() {
+        long weight = ENTRY_OVERHEAD + body.readableBytes() + etag.length();
+        for (String header : headers) {
+            weight += header.length();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    /**
+     * @param request The request
+     * @return Whether the request selects this variant of the response
+     */
+    public boolean matches(@NonNull HttpRequest<?> request) {
+        for (int i = 0; i < varyNames.length; i++) {
+            if (!Objects.equals(varyValues[i], varyValue(request, varyNames[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a duplicate of the body that the caller has to release, or {@code null} if the entry has been released
+     * concurrently.
+     *
+     * @return The body
+     */
+    @Nullable
+    public ByteBuf retainedBody() {
+        int count;
+        do {
+            count = references.get();
+            if (count == 0) {
+                return null;
+            }
+        } while (!references.compareAndSet(count, count + 1));
+        try {
+            return body.retainedDuplicate();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Releases the entry. Called by the store once the entry has been evicted, replaced or invalidated.
+     */
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            body.release();
+        }
+    }
+
+    /**
+     * @param request The request
+     * @param name    The header name
+     * @return All values of the header joined with commas, or {@code null} if the request has no such header
+     */
+    @Nullable
+    static String varyValue(HttpRequest<?> request, String name) {
+        List<String> values = request.getHeaders().getAll(name);
+        if (values.isEmpty()) {
+            return null;
+        }
+        return values.size() == 1 ? values.get(0) : String.join(",", values);
+    }
+}
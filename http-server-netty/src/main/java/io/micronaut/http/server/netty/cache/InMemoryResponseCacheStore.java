@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.cache;
+
+import io.micronaut.context.annotation.Secondary;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.core.util.clhm.Weigher;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+
+/**
+ * The default {@link ResponseCacheStore}. It keeps the responses in a {@link ConcurrentLinkedHashMap} weighted by
+ * the size of the responses and evicts the least recently used responses once the configured maximum weight is
+ * exceeded.
+ *
+ * @since 4.0.0
+ */
+@Singleton
+@Secondary
+public class InMemoryResponseCacheStore implements ResponseCacheStore {
+
+    private final ConcurrentLinkedHashMap<String, CachedResponse> entries;
+
+    /**
+     * @param configuration The response cache configuration
+     */
+    public InMemoryResponseCacheStore(ResponseCacheConfiguration configuration) {
+        Weigher<CachedResponse> weigher = CachedResponse::getWeight;
+        this.entries = new ConcurrentLinkedHashMap.Builder<String, CachedResponse>()
+                .maximumWeightedCapacity(configuration.getMaxWeight())
+                .weigher(weigher)
+                .listener((key, response) -> response.release())
+                .build();
+    }
+
+    @Nullable
+    @Override
+    public CachedResponse get(@NonNull String key) {
+        CachedResponse response = entries.get(key);
+        if (response != null && response.isExpired(System.nanoTime())) {
+            if (entries.remove(key, response)) {
+                response.release();
+            }
+            return null;
+        }
+        return response;
+    }
+
+    @Override
+    public void put(@NonNull String key, @NonNull CachedResponse response) {
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null && previous != response) {
+            previous.release();
+        }
+    }
+
+    @Override
+    public void invalidate(@NonNull String key) {
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            previous.release();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (String key : entries.keySet()) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * @return The number of cached responses
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The weight of the cached responses, in bytes
+     */
+    public long getWeight() {
+        return entries.weightedSize();
+    }
+
+    /**
+     * Releases all cached responses.
+     */
+    @PreDestroy
+    public void close() {
+        invalidateAll();
+    }
+}
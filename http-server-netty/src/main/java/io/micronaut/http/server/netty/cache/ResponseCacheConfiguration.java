@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.cache;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.http.server.HttpServerConfiguration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-memory response cache of the server.
+ *
+ * @since 4.0.0
+ */
+@ConfigurationProperties(ResponseCacheConfiguration.PREFIX)
+public class ResponseCacheConfiguration implements Toggleable {
+
+    /**
+     * The prefix for response cache configuration.
+     */
+    public static final String PREFIX = HttpServerConfiguration.PREFIX + ".response-cache";
+
+    /**
+     * The default maximum weight of the cache, in bytes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_MAX_WEIGHT = 64L * 1024 * 1024;
+
+    /**
+     * The default time to live of cached responses.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+
+    /**
+     * The default number of URIs whose {@code Vary} headers are remembered.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_KEYS = 10000;
+
+    private boolean enabled;
+    private long maxWeight = DEFAULT_MAX_WEIGHT;
+    private Duration defaultTtl = DEFAULT_TTL;
+    private int maxKeys = DEFAULT_MAX_KEYS;
+    private boolean cacheControl = true;
+
+    /**
+     * @return Whether the response cache is enabled. Defaults to false.
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether responses are cached. Default value (false).
+     *
+     * @param enabled True if the response cache is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The maximum weight of the cache, in bytes
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Sets the maximum weight of the cache, in bytes of cached response bodies and headers. The least recently used
+     * responses are evicted once the weight is exceeded. Default value ({@value #DEFAULT_MAX_WEIGHT}).
+     *
+     * @param maxWeight The maximum weight
+     */
+    public void setMaxWeight(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * @return The time to live of responses that don't specify one
+     */
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    /**
+     * Sets the time to live of responses of {@link CacheResponse} routes that neither specify a time to live in the
+     * annotation nor with the {@code Cache-Control} header. Default value (60 seconds).
+     *
+     * @param defaultTtl The default time to live
+     */
+    public void setDefaultTtl(Duration defaultTtl) {
+        if (defaultTtl != null) {
+            this.defaultTtl = defaultTtl;
+        }
+    }
+
+    /**
+     * @return The number of URIs whose {@code Vary} headers are remembered
+     */
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    /**
+     * Sets the number of URIs whose {@code Vary} headers are remembered. Default value ({@value #DEFAULT_MAX_KEYS}).
+     *
+     * @param maxKeys The number of URIs
+     */
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * @return Whether responses of routes without {@link CacheResponse} are cached based on {@code Cache-Control}
+     */
+    public boolean isCacheControl() {
+        return cacheControl;
+    }
+
+    /**
+     * Sets whether responses of routes without {@link CacheResponse} are cached when their {@code Cache-Control}
+     * header contains {@code public} together with {@code s-maxage} or {@code max-age}. Default value (true).
+     *
+     * @param cacheControl True if the {@code Cache-Control} header of any route is honored
+     */
+    public void setCacheControl(boolean cacheControl) {
+        this.cacheControl = cacheControl;
+    }
+}
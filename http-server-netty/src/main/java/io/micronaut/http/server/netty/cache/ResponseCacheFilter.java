@@ -0,0 +1,503 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.cache;
+
+import io.micronaut.buffer.netty.NettyByteBufferFactory;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.io.Writable;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.codec.MediaTypeCodec;
+import io.micronaut.http.codec.MediaTypeCodecRegistry;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.http.filter.ServerFilterPhase;
+import io.micronaut.http.server.RouteExecutor;
+import io.micronaut.http.server.types.CustomizableResponseType;
+import io.micronaut.web.router.RouteInfo;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ReferenceCounted;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Serves {@code GET} responses from a {@link ResponseCacheStore}. Responses of routes annotated with
+ * {@link CacheResponse} are cached, as are responses whose {@code Cache-Control} header contains {@code public}
+ * together with {@code s-maxage} or {@code max-age} when {@link ResponseCacheConfiguration#isCacheControl()} is
+ * enabled.
+ *
+ * <ul>
+ *     <li>Responses are stored encoded, so that a hit costs no serialization.</li>
+ *     <li>The values of the request headers named in the {@code Vary} header of the response are part of the key.</li>
+ *     <li>Concurrent misses for the same key are coalesced, so that only one request computes the response.</li>
+ *     <li>Responses without an {@code ETag} get one generated from the body, and requests with a matching
+ *     {@code If-None-Match} header are answered with {@code 304 Not Modified}.</li>
+ *     <li>Responses that are not {@code 200 OK}, set cookies, are {@code private} or {@code no-store}, or answer
+ *     requests with an {@code Authorization} header are never cached.</li>
+ * </ul>
+ *
+ * <p>The filter runs after the security filters, so that only authorized requests are answered from the cache.</p>
+ *
+ * @since 4.0.0
+ */
+@Filter(Filter.MATCH_ALL_PATTERN)
+public class ResponseCacheFilter implements HttpServerFilter {
+
+    private static final String[] NOT_MODIFIED_HEADERS = {
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.CONTENT_LOCATION, HttpHeaders.EXPIRES, HttpHeaders.VARY
+    };
+    private static final String[] EXCLUDED_HEADERS = {
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.DATE,
+            HttpHeaders.AGE
+    };
+    private static final String[] NO_VARY = new String[0];
+
+    private final ResponseCacheStore store;
+    private final ResponseCacheConfiguration configuration;
+    private final MediaTypeCodecRegistry codecRegistry;
+    private final RouteExecutor routeExecutor;
+    private final ConversionService conversionService;
+    private final Map<String, String[]> varyNames;
+    private final Map<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param store             The response store
+     * @param configuration     The response cache configuration
+     * @param codecRegistry     The codec registry used to encode response bodies
+     * @param routeExecutor     The route executor used to resolve the content type of responses
+     * @param conversionService The conversion service used to parse the time to live of {@link CacheResponse}
+     */
+    public ResponseCacheFilter(ResponseCacheStore store,
+                               ResponseCacheConfiguration configuration,
+                               MediaTypeCodecRegistry codecRegistry,
+                               RouteExecutor routeExecutor,
+                               ConversionService conversionService) {
+        this.store = store;
+        this.configuration = configuration;
+        this.codecRegistry = codecRegistry;
+        this.routeExecutor = routeExecutor;
+        this.conversionService = conversionService;
+        this.varyNames = new ConcurrentLinkedHashMap.Builder<String, String[]>()
+                .maximumWeightedCapacity(configuration.getMaxKeys())
+                .build();
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        if (request.getMethod() != HttpMethod.GET || request.getHeaders().contains(HttpHeaders.AUTHORIZATION)) {
+            return chain.proceed(request);
+        }
+        RouteInfo<?> route = request.getAttribute(HttpAttributes.ROUTE_INFO, RouteInfo.class).orElse(null);
+        boolean annotated = route != null && route.getAnnotationMetadata().hasAnnotation(CacheResponse.class);
+        if (!annotated && !configuration.isCacheControl()) {
+            return chain.proceed(request);
+        }
+        CacheControl requestCacheControl = CacheControl.of(request.getHeaders().getAll(HttpHeaders.CACHE_CONTROL));
+        if (requestCacheControl.noStore) {
+            return chain.proceed(request);
+        }
+        String primaryKey = primaryKey(request);
+        String key = key(primaryKey, varyNames.get(primaryKey), request);
+        if (requestCacheControl.noCache || "no-cache".equalsIgnoreCase(request.getHeaders().get(HttpHeaders.PRAGMA))) {
+            // revalidate, but store the fresh response for others
+            return proceed(request, chain, route, annotated, primaryKey, key, null);
+        }
+        CachedResponse cached = store.get(key);
+        if (cached != null) {
+            MutableHttpResponse<?> response = serve(request, cached);
+            if (response != null) {
+                return Publishers.just(response);
+            }
+        }
+        CompletableFuture<CachedResponse> pending = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> leader = inFlight.putIfAbsent(key, pending);
+        if (leader != null) {
+            // another request is computing the response already
+            return Mono.fromFuture(leader)
+                    .<MutableHttpResponse<?>>flatMap(response -> Mono.justOrEmpty(serve(request, response)))
+                    .switchIfEmpty(Mono.defer(() -> Mono.from(chain.proceed(request))));
+        }
+        return proceed(request, chain, route, annotated, primaryKey, key, pending);
+    }
+
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.RENDERING.before();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Publisher<MutableHttpResponse<?>> proceed(HttpRequest<?> request,
+                                                       ServerFilterChain chain,
+                                                       RouteInfo<?> route,
+                                                       boolean annotated,
+                                                       String primaryKey,
+                                                       String key,
+                                                       CompletableFuture<CachedResponse> pending) {
+        Flux<MutableHttpResponse<?>> responses = Flux.from(chain.proceed(request)).map(response -> {
+            CachedResponse cached = cache(request, response, route, annotated);
+            if (cached == null) {
+                return response;
+            }
+            MutableHttpResponse<Object> mutableResponse = (MutableHttpResponse<Object>) response;
+            if (notModified(request, cached.getEtag())) {
+                mutableResponse.status(HttpStatus.NOT_MODIFIED);
+                mutableResponse.body(null);
+            } else {
+                mutableResponse.body(cached.retainedBody());
+            }
+            String[] names = cached.getVaryNames();
+            if (names.length == 0) {
+                varyNames.remove(primaryKey);
+            } else {
+                varyNames.put(primaryKey, names);
+            }
+            store.put(key(primaryKey, names, request), cached);
+            if (pending != null) {
+                pending.complete(cached);
+            }
+            return response;
+        });
+        if (pending == null) {
+            return responses;
+        }
+        return responses.doFinally(signal -> {
+            inFlight.remove(key, pending);
+            pending.complete(null);
+        });
+    }
+
+    /**
+     * Creates the cache entry of a response, and replaces the body of the response with the encoded body.
+     *
+     * @param request   The request
+     * @param response  The response
+     * @param route     The route
+     * @param annotated Whether the route is annotated with {@link CacheResponse}
+     * @return The entry, or {@code null} if the response cannot be cached
+     */
+    private CachedResponse cache(HttpRequest<?> request, MutableHttpResponse<?> response, RouteInfo<?> route, boolean annotated) {
+        if (response.code() != HttpStatus.OK.getCode() || response.getHeaders().contains(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        CacheControl cacheControl = CacheControl.of(response.getHeaders().getAll(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl.noStore || cacheControl.isPrivate || (!annotated && !cacheControl.isPublic && cacheControl.sMaxAge < 0)) {
+            return null;
+        }
+        long ttl = ttl(route, annotated, cacheControl);
+        if (ttl <= 0) {
+            return null;
+        }
+        Set<String> vary = new LinkedHashSet<>();
+        if (annotated) {
+            for (String name : route.getAnnotationMetadata().stringValues(CacheResponse.class, "vary")) {
+                vary.add(name.toLowerCase(Locale.ENGLISH));
+            }
+        }
+        for (String value : response.getHeaders().getAll(HttpHeaders.VARY)) {
+            for (String name : value.split(",")) {
+                name = name.trim().toLowerCase(Locale.ENGLISH);
+                if (name.equals("*")) {
+                    return null;
+                }
+                if (!name.isEmpty()) {
+                    vary.add(name);
+                }
+            }
+        }
+        MediaType mediaType = response.getContentType().orElse(null);
+        if (mediaType == null) {
+            if (route == null) {
+                return null;
+            }
+            mediaType = routeExecutor.resolveDefaultResponseContentType(request, route);
+            response.contentType(mediaType);
+            if (route.getProduces().size() > 1) {
+                // the content type depends on the Accept header
+                vary.add(HttpHeaders.ACCEPT.toLowerCase(Locale.ENGLISH));
+            }
+        }
+        if (!vary.isEmpty()) {
+            response.getHeaders().set(HttpHeaders.VARY, String.join(", ", vary));
+        }
+        ByteBuf body = encode(response, route, mediaType);
+        if (body == null) {
+            return null;
+        }
+        String etag = response.getHeaders().get(HttpHeaders.ETAG);
+        if (etag == null) {
+            etag = etag(body);
+            response.getHeaders().set(HttpHeaders.ETAG, etag);
+        }
+        List<String> headers = new ArrayList<>();
+        response.getHeaders().forEach((name, values) -> {
+            if (!matchesAny(name, EXCLUDED_HEADERS)) {
+                for (String value : values) {
+                    headers.add(name);
+                    headers.add(value);
+                }
+            }
+        });
+        String[] names = vary.toArray(NO_VARY);
+        String[] values = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            values[i] = CachedResponse.varyValue(request, names[i]);
+        }
+        long now = System.nanoTime();
+        return new CachedResponse(response.code(), headers.toArray(NO_VARY), body, etag, names, values, now, now + ttl);
+    }
+
+    /**
+     * @param route        The route
+     * @param annotated    Whether the route is annotated with {@link CacheResponse}
+     * @param cacheControl The {@code Cache-Control} directives of the response
+     * @return The time to live in nanoseconds
+     */
+    private long ttl(RouteInfo<?> route, boolean annotated, CacheControl cacheControl) {
+        if (annotated) {
+            String ttl = route.getAnnotationMetadata().stringValue(CacheResponse.class, "ttl").orElse(null);
+            if (StringUtils.isNotEmpty(ttl)) {
+                return conversionService.convertRequired(ttl, Duration.class).toNanos();
+            }
+        }
+        long seconds = cacheControl.sMaxAge >= 0 ? cacheControl.sMaxAge : cacheControl.maxAge;
+        if (seconds >= 0) {
+            return Duration.ofSeconds(seconds).toNanos();
+        }
+        return annotated ? configuration.getDefaultTtl().toNanos() : 0;
+    }
+
+    /**
+     * Takes the body of the response as a buffer owned by the caller.
+     *
+     * @param response  The response
+     * @param route     The route
+     * @param mediaType The content type of the response
+     * @return The encoded body, or {@code null} if the body cannot be cached
+     */
+    @SuppressWarnings("unchecked")
+    private ByteBuf encode(MutableHttpResponse<?> response, RouteInfo<?> route, MediaType mediaType) {
+        Object body = response.body();
+        if (body == null) {
+            return ByteBufAllocator.DEFAULT.buffer(0);
+        }
+        if (body instanceof ByteBuf byteBuf) {
+            return byteBuf;
+        }
+        if (body instanceof ByteBuffer<?> byteBuffer && byteBuffer.asNativeBuffer() instanceof ByteBuf byteBuf) {
+            return byteBuf;
+        }
+        if (body instanceof CharSequence charSequence) {
+            ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer(charSequence.length());
+            byteBuf.writeCharSequence(charSequence, response.getCharacterEncoding());
+            return byteBuf;
+        }
+        if (body instanceof byte[] bytes) {
+            return ByteBufAllocator.DEFAULT.buffer(bytes.length).writeBytes(bytes);
+        }
+        if (body instanceof CustomizableResponseType || body instanceof Writable || body instanceof ByteBuffer<?>
+                || Publishers.isConvertibleToPublisher(body)) {
+            return null;
+        }
+        MediaTypeCodec codec = codecRegistry.findCodec(mediaType, body.getClass()).orElse(null);
+        if (codec == null) {
+            return null;
+        }
+        Argument<Object> bodyType = route != null ? (Argument<Object>) route.getBodyType() : null;
+        ByteBuffer<ByteBuf> wrapped;
+        if (bodyType != null && bodyType.isInstance(body)) {
+            wrapped = codec.encode(bodyType, body, NettyByteBufferFactory.DEFAULT);
+        } else {
+            wrapped = codec.encode(body, NettyByteBufferFactory.DEFAULT);
+        }
+        // keep the ByteBuf, release the wrapper
+        ByteBuf byteBuf = wrapped.asNativeBuffer().retain();
+        if (wrapped instanceof ReferenceCounted referenceCounted) {
+            referenceCounted.release();
+        }
+        return byteBuf;
+    }
+
+    /**
+     * @param request The request
+     * @param cached  The cached response
+     * @return The response to send, or {@code null} if the cached response cannot be used for the request
+     */
+    private MutableHttpResponse<?> serve(HttpRequest<?> request, CachedResponse cached) {
+        long now = System.nanoTime();
+        if (cached.isExpired(now) || !cached.matches(request)) {
+            return null;
+        }
+        MutableHttpResponse<Object> response;
+        if (notModified(request, cached.getEtag())) {
+            response = HttpResponse.notModified();
+            cached.forEachHeader((name, value) -> {
+                if (matchesAny(name, NOT_MODIFIED_HEADERS)) {
+                    response.getHeaders().add(name, value);
+                }
+            });
+            response.header(HttpHeaders.ETAG, cached.getEtag());
+        } else {
+            ByteBuf body = cached.retainedBody();
+            if (body == null) {
+                return null;
+            }
+            response = HttpResponse.status(HttpStatus.valueOf(cached.getStatus()));
+            cached.forEachHeader(response.getHeaders()::add);
+            response.body(body);
+        }
+        return response.header(HttpHeaders.AGE, String.valueOf(cached.getAge(now)));
+    }
+
+    private static String primaryKey(HttpRequest<?> request) {
+        String host = request.getHeaders().get(HttpHeaders.HOST);
+        return host == null ? request.getUri().toString() : host + ' ' + request.getUri();
+    }
+
+    private static String key(String primaryKey, String[] names, HttpRequest<?> request) {
+        if (names == null || names.length == 0) {
+            return primaryKey;
+        }
+        StringBuilder key = new StringBuilder(primaryKey);
+        for (String name : names) {
+            key.append('\n').append(name).append('=').append(CachedResponse.varyValue(request, name));
+        }
+        return key.toString();
+    }
+
+    private static boolean notModified(HttpRequest<?> request, String etag) {
+        String ifNoneMatch = request.getHeaders().get(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        String opaqueTag = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            if (opaqueTag(candidate.trim()).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        // If-None-Match uses the weak comparison
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String etag(ByteBuf body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body.nioBuffer());
+        return "\"" + Long.toHexString(crc.getValue()) + '-' + Integer.toHexString(body.readableBytes()) + "\"";
+    }
+
+    private static boolean matchesAny(String name, String[] names) {
+        for (String candidate : names) {
+            if (candidate.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The directives of a {@code Cache-Control} header that affect the cache.
+     */
+    private static final class CacheControl {
+        private static final CacheControl NONE = new CacheControl();
+
+        boolean noStore;
+        boolean noCache;
+        boolean isPrivate;
+        boolean isPublic;
+        long maxAge = -1;
+        long sMaxAge = -1;
+
+        static CacheControl of(List<String> headers) {
+            if (headers.isEmpty()) {
+                return NONE;
+            }
+            CacheControl cacheControl = new CacheControl();
+            for (String header : headers) {
+                for (String directive : header.split(",")) {
+                    directive = directive.trim().toLowerCase(Locale.ENGLISH);
+                    int equals = directive.indexOf('=');
+                    String name = equals == -1 ? directive : directive.substring(0, equals).trim();
+                    switch (name) {
+                        case "no-store":
+                            cacheControl.noStore = true;
+                            break;
+                        case "no-cache":
+                            cacheControl.noCache = true;
+                            break;
+                        case "private":
+                            cacheControl.isPrivate = true;
+                            break;
+                        case "public":
+                            cacheControl.isPublic = true;
+                            break;
+                        case "max-age":
+                            cacheControl.maxAge = seconds(directive, equals);
+                            break;
+                        case "s-maxage":
+                            cacheControl.sMaxAge = seconds(directive, equals);
+                            break;
+                        default:
+                            // not relevant to the cache
+                    }
+                }
+            }
+            return cacheControl;
+        }
+
+        private static long seconds(String directive, int equals) {
+            if (equals == -1) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(directive.substring(equals + 1).replace("\"", "").trim());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
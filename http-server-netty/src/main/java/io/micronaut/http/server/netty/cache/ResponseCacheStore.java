@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.cache;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Stores the responses cached by the {@link ResponseCacheFilter}. The store owns the entries put into it and has to
+ * {@link CachedResponse#release() release} them once they are evicted, replaced or invalidated.
+ *
+ * <p>The default implementation is {@link InMemoryResponseCacheStore}. Replace it with a bean of this type to use a
+ * different store.</p>
+ *
+ * @since 4.0.0
+ */
+public interface ResponseCacheStore {
+
+    /**
+     * @param key The cache key
+     * @return The cached response, or {@code null} if there is none or it has expired
+     */
+    @Nullable
+    CachedResponse get(@NonNull String key);
+
+    /**
+     * Stores a response.
+     *
+     * @param key      The cache key
+     * @param response The response
+     */
+    void put(@NonNull String key, @NonNull CachedResponse response);
+
+    /**
+     * Removes a response.
+     *
+     * @param key The cache key
+     */
+    void invalidate(@NonNull String key);
+
+    /**
+     * Removes all responses.
+     */
+    void invalidateAll();
+}
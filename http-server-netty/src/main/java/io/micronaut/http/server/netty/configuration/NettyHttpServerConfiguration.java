@@ -38,6 +38,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -108,6 +109,12 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final int DEFAULT_COMPRESSIONLEVEL = 6;
 
+    /**
+     * The default content encodings used to compress responses.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final List<String> DEFAULT_COMPRESSIONENCODINGS = Collections.unmodifiableList(Arrays.asList("br", "zstd", "gzip", "deflate"));
+
     /**
      * The default configuration for boolean flag indicating whether to add connection header `keep-alive` to responses with HttpStatus > 499.
      */
@@ -133,10 +140,13 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     private LogLevel logLevel;
     private int compressionThreshold = DEFAULT_COMPRESSIONTHRESHOLD;
     private int compressionLevel = DEFAULT_COMPRESSIONLEVEL;
+    private Map<String, Integer> compressionLevels = Collections.emptyMap();
+    private List<String> compressionEncodings = DEFAULT_COMPRESSIONENCODINGS;
     private boolean useNativeTransport = DEFAULT_USE_NATIVE_TRANSPORT;
     private String fallbackProtocol = ApplicationProtocolNames.HTTP_1_1;
     private AccessLogger accessLogger;
     private Http2Settings http2Settings = new Http2Settings();
+    private WebSocketSettings webSocketSettings = new WebSocketSettings();
     private boolean keepAliveOnServerError = DEFAULT_KEEP_ALIVE_ON_SERVER_ERROR;
     private String pcapLoggingPathPattern = null;
     private List<NettyListenerConfiguration> listeners = null;
@@ -201,6 +211,26 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         }
     }
 
+    /**
+     * Returns the WebSocket settings.
+     * @return The WebSocket settings.
+     * @since 4.0.0
+     */
+    public WebSocketSettings getWebsocket() {
+        return webSocketSettings;
+    }
+
+    /**
+     * Sets the WebSocket settings.
+     * @param websocket The WebSocket settings.
+     * @since 4.0.0
+     */
+    public void setWebsocket(WebSocketSettings websocket) {
+        if (websocket != null) {
+            this.webSocketSettings = websocket;
+        }
+    }
+
     /**
      * @return The pipeline customizers
      */
@@ -333,6 +363,29 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         return compressionLevel;
     }
 
+    /**
+     * The compression levels of specific media types.
+     *
+     * @return The compression levels by media type
+     * @since 4.0.0
+     */
+    @NonNull
+    public Map<String, Integer> getCompressionLevels() {
+        return compressionLevels;
+    }
+
+    /**
+     * The content encodings used to compress responses, in order of preference.
+     * Default value (br, zstd, gzip, deflate).
+     *
+     * @return The content encodings
+     * @since 4.0.0
+     */
+    @NonNull
+    public List<String> getCompressionEncodings() {
+        return compressionEncodings;
+    }
+
     /**
      * @return The Netty child channel options.
      * @see io.netty.bootstrap.ServerBootstrap#childOption(io.netty.channel.ChannelOption, Object)
@@ -518,6 +571,32 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         this.compressionLevel = compressionLevel;
     }
 
+    /**
+     * Sets the compression levels of specific media types, for example to compress {@code text/html} harder than
+     * {@code application/json}. A media type may also be given as a wildcard such as {@code text/*}. Responses of
+     * other media types use the {@link #setCompressionLevel(int) compression level}. The level is capped to the
+     * range of the selected encoder: 0-9 for gzip and deflate, 0-11 for br and 1-22 for zstd.
+     *
+     * @param compressionLevels The compression levels by media type
+     * @since 4.0.0
+     */
+    public void setCompressionLevels(@Nullable Map<String, Integer> compressionLevels) {
+        this.compressionLevels = compressionLevels != null ? compressionLevels : Collections.emptyMap();
+    }
+
+    /**
+     * Sets the content encodings used to compress responses, in order of preference. The encoding is negotiated
+     * with the weighted {@code Accept-Encoding} header of the request, the preference of the server breaks ties.
+     * Encodings whose encoder is not available at runtime are ignored: br requires Brotli4j and zstd requires
+     * zstd-jni on the classpath. Default value (br, zstd, gzip, deflate).
+     *
+     * @param compressionEncodings The content encodings
+     * @since 4.0.0
+     */
+    public void setCompressionEncodings(@Nullable List<String> compressionEncodings) {
+        this.compressionEncodings = compressionEncodings != null ? compressionEncodings : DEFAULT_COMPRESSIONENCODINGS;
+    }
+
     /**
      * Whether to send connection keep alive on internal server errors. Default value ({@value DEFAULT_KEEP_ALIVE_ON_SERVER_ERROR}).
      * @param keepAliveOnServerError The keep alive on server error flag
@@ -713,15 +792,134 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         }
     }
 
+    /**
+     * WebSocket settings, controlling how frames are buffered for sessions that read slower than they are written to.
+     *
+     * @since 4.0.0
+     */
+    @ConfigurationProperties("websocket")
+    public static class WebSocketSettings {
+        /**
+         * The default maximum number of bytes queued per session.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_MAX_QUEUED_BYTES = 1024 * 1024;
+
+        /**
+         * The default maximum number of messages queued per session.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAX_QUEUED_MESSAGES = 1024;
+
+        private OutboundPolicy outboundPolicy = OutboundPolicy.UNBOUNDED;
+        private long maxQueuedBytes = DEFAULT_MAX_QUEUED_BYTES;
+        private int maxQueuedMessages = DEFAULT_MAX_QUEUED_MESSAGES;
+
+        /**
+         * @return The policy applied to the frames of a session that is not writable
+         */
+        public OutboundPolicy getOutboundPolicy() {
+            return outboundPolicy;
+        }
+
+        /**
+         * Sets the policy applied once the frames queued for a session that is not writable exceed
+         * {@link #getMaxQueuedBytes()} or {@link #getMaxQueuedMessages()}. Default value ({@link OutboundPolicy#UNBOUNDED}).
+         *
+         * @param outboundPolicy The outbound policy
+         */
+        public void setOutboundPolicy(OutboundPolicy outboundPolicy) {
+            if (outboundPolicy != null) {
+                this.outboundPolicy = outboundPolicy;
+            }
+        }
+
+        /**
+         * @return The maximum number of bytes queued per session
+         */
+        public long getMaxQueuedBytes() {
+            return maxQueuedBytes;
+        }
+
+        /**
+         * Sets the maximum number of bytes queued per session before the outbound policy applies. Default value ({@value #DEFAULT_MAX_QUEUED_BYTES}).
+         *
+         * @param maxQueuedBytes The maximum number of bytes
+         */
+        public void setMaxQueuedBytes(long maxQueuedBytes) {
+            this.maxQueuedBytes = maxQueuedBytes;
+        }
+
+        /**
+         * @return The maximum number of messages queued per session
+         */
+        public int getMaxQueuedMessages() {
+            return maxQueuedMessages;
+        }
+
+        /**
+         * Sets the maximum number of messages queued per session before the outbound policy applies. Default value ({@value #DEFAULT_MAX_QUEUED_MESSAGES}).
+         *
+         * @param maxQueuedMessages The maximum number of messages
+         */
+        public void setMaxQueuedMessages(int maxQueuedMessages) {
+            this.maxQueuedMessages = maxQueuedMessages;
+        }
+
+        /**
+         * The policies for the frames written to a session that does not keep up.
+         */
+        public enum OutboundPolicy {
+            /**
+             * Frames are buffered without limit.
+             */
+            UNBOUNDED,
+            /**
+             * The oldest queued messages are dropped.
+             */
+            DROP_OLDEST,
+            /**
+             * New messages are dropped.
+             */
+            DROP_NEWEST,
+            /**
+             * A queued message is replaced by a newer message with the same key, as resolved by the
+             * {@code WebSocketCoalescingKeyResolver} bean. Without such a bean only the latest message is kept.
+             */
+            COALESCE_LATEST,
+            /**
+             * The session is closed with the {@code 1008} (policy violation) status.
+             */
+            CLOSE
+        }
+    }
+
     /**
      * Access logger configuration.
      */
     @ConfigurationProperties("access-logger")
     public static class AccessLogger {
+        /**
+         * The default capacity of the queue of the asynchronous writer.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_QUEUE_SIZE = 8192;
+
+        /**
+         * The default maximum number of lines written at once by the asynchronous writer.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_BATCH_SIZE = 256;
+
         private boolean enabled;
         private String loggerName;
         private String logFormat;
         private List<String> exclusions;
+        private boolean async;
+        private int queueSize = DEFAULT_QUEUE_SIZE;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+        private String file;
 
         /**
          * Returns whether the access logger is enabled.
@@ -788,6 +986,107 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         public void setExclusions(List<String> exclusions) {
             this.exclusions = exclusions;
         }
+
+        /**
+         * @return Whether access log lines are written by a background thread
+         */
+        public boolean isAsync() {
+            return async;
+        }
+
+        /**
+         * Sets whether access log lines are written by a background thread instead of the event loop. Default value
+         * ({@code false}).
+         *
+         * @param async True if access log lines should be written asynchronously
+         */
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        /**
+         * @return The maximum number of lines waiting to be written asynchronously
+         */
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        /**
+         * Sets the maximum number of lines waiting to be written asynchronously, rounded up to a power of two.
+         * Default value ({@value #DEFAULT_QUEUE_SIZE}).
+         *
+         * @param queueSize The queue size
+         */
+        public void setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        /**
+         * @return The maximum number of lines written at once by the asynchronous writer
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        /**
+         * Sets the maximum number of lines written at once by the asynchronous writer.
+         * Default value ({@value #DEFAULT_BATCH_SIZE}).
+         *
+         * @param batchSize The batch size
+         */
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * @return The policy applied when the queue of the asynchronous writer is full
+         */
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        /**
+         * Sets the policy applied when the queue of the asynchronous writer is full.
+         * Default value ({@link OverflowPolicy#DROP}).
+         *
+         * @param overflowPolicy The overflow policy
+         */
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            if (overflowPolicy != null) {
+                this.overflowPolicy = overflowPolicy;
+            }
+        }
+
+        /**
+         * @return The file the asynchronous writer appends to, if any
+         */
+        public Optional<String> getFile() {
+            return Optional.ofNullable(file);
+        }
+
+        /**
+         * Sets the file the asynchronous writer appends to. When not specified, the lines are passed to the logger
+         * from the background thread.
+         *
+         * @param file The path of the file
+         */
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        /**
+         * The policies for access log lines that don't fit in the queue of the asynchronous writer.
+         */
+        public enum OverflowPolicy {
+            /**
+             * The line is dropped and counted as lost.
+             */
+            DROP,
+            /**
+             * The event loop waits until the writer has made room for the line.
+             */
+            BLOCK
+        }
     }
 
     /**
@@ -838,8 +1137,18 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         @SuppressWarnings("WeakerAccess")
         public static final int DEFAULT_CACHESECONDS = 60;
 
+        /**
+         * The default maximum number of ranges served for a single request.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAX_RANGES = 16;
+
         private int cacheSeconds = DEFAULT_CACHESECONDS;
         private CacheControlConfiguration cacheControl = new CacheControlConfiguration();
+        private boolean rangeRequests = true;
+        private int maxRanges = DEFAULT_MAX_RANGES;
+        private EntityTagStyle etag = EntityTagStyle.STRONG;
+        private List<String> precompressed = Collections.emptyList();
 
         /**
          * Default constructor.
@@ -898,6 +1207,96 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
             this.cacheControl = cacheControl;
         }
 
+        /**
+         * @return Whether byte range requests are supported for files
+         */
+        public boolean isRangeRequests() {
+            return rangeRequests;
+        }
+
+        /**
+         * Sets whether byte range requests (RFC 7233) are supported for files that allow random access. Default value (true).
+         *
+         * @param rangeRequests True if range requests should be supported
+         */
+        public void setRangeRequests(boolean rangeRequests) {
+            this.rangeRequests = rangeRequests;
+        }
+
+        /**
+         * @return The maximum number of ranges served for a single request
+         */
+        public int getMaxRanges() {
+            return maxRanges;
+        }
+
+        /**
+         * Sets the maximum number of ranges served for a single request. Requests for more ranges are answered with
+         * the complete file. Default value ({@value #DEFAULT_MAX_RANGES}).
+         *
+         * @param maxRanges The maximum number of ranges
+         */
+        public void setMaxRanges(int maxRanges) {
+            this.maxRanges = maxRanges;
+        }
+
+        /**
+         * @return The style of the generated entity tags
+         */
+        @NonNull
+        public EntityTagStyle getEtag() {
+            return etag;
+        }
+
+        /**
+         * Sets the style of the entity tags generated from the file length and modification date. Default value (STRONG).
+         *
+         * @param etag The entity tag style
+         */
+        public void setEtag(@NonNull EntityTagStyle etag) {
+            this.etag = etag;
+        }
+
+        /**
+         * @return The content encodings of the precompressed static resources that are looked up
+         * @since 4.0.0
+         */
+        @NonNull
+        public List<String> getPrecompressed() {
+            return precompressed;
+        }
+
+        /**
+         * Sets the content encodings of precompressed static resources, in order of preference. Supported are br,
+         * zstd and gzip. With {@code br} and {@code gzip}, a request for {@code app.js} is answered with
+         * {@code app.js.br} or {@code app.js.gz}, if the client accepts the encoding and the file exists, so that
+         * the resource is not compressed again for every request. Default value (none).
+         *
+         * @param precompressed The content encodings
+         * @since 4.0.0
+         */
+        public void setPrecompressed(@Nullable List<String> precompressed) {
+            this.precompressed = precompressed != null ? precompressed : Collections.emptyList();
+        }
+
+        /**
+         * The style of the entity tags generated for files.
+         */
+        public enum EntityTagStyle {
+            /**
+             * No entity tag is generated.
+             */
+            NONE,
+            /**
+             * A weak entity tag is generated. Weak tags are not used to validate {@code If-Range} requests.
+             */
+            WEAK,
+            /**
+             * A strong entity tag is generated.
+             */
+            STRONG
+        }
+
         /**
          * Configuration for the Cache-Control header.
          */
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.handler.accesslog;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration.AccessLogger.OverflowPolicy;
+import io.micronaut.http.server.netty.handler.accesslog.element.AccessLog;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes access log lines from a single background thread, so that the event loops don't perform any I/O.
+ *
+ * <p>Lines are formatted on the event loop into buffers of the channel allocator and handed over through a bounded
+ * ring buffer. The background thread drains the ring buffer in batches and either appends each batch to a file with a
+ * single gathering write, or passes the lines to a logger. When the ring buffer is full, the line is dropped or the
+ * event loop waits for room, depending on the {@link OverflowPolicy}.</p>
+ *
+ * @since 4.0.0
+ */
+public final class AsyncAccessLogWriter implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncAccessLogWriter.class);
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    private final Logger logger;
+    private final FileChannel fileChannel;
+    private final OverflowPolicy overflowPolicy;
+    private final RingBuffer queue;
+    private final ByteBuf[] batch;
+    private final ByteBuffer[] nioBatch;
+    private final Thread thread;
+    private final LongAdder writtenLines = new LongAdder();
+    private final LongAdder droppedLines = new LongAdder();
+    private final LongAdder failedLines = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Creates the writer and starts its background thread.
+     *
+     * @param logger         The logger the lines are passed to when no file is given. Lines are logged at info level.
+     * @param file           The file to append the lines to, or {@code null} to use the logger
+     * @param queueSize      The maximum number of lines waiting to be written, rounded up to a power of two
+     * @param batchSize      The maximum number of lines written at once
+     * @param overflowPolicy The policy applied when the queue is full
+     * @throws IOException If the file cannot be opened
+     */
+    public AsyncAccessLogWriter(@NonNull Logger logger,
+                                @Nullable Path file,
+                                int queueSize,
+                                int batchSize,
+                                @NonNull OverflowPolicy overflowPolicy) throws IOException {
+        this.logger = logger;
+        this.fileChannel = file != null ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND) : null;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new RingBuffer(queueSize);
+        this.batch = new ByteBuf[Math.max(1, batchSize)];
+        this.nioBatch = new ByteBuffer[batch.length];
+        this.thread = new Thread(this::run, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return The logger of this writer
+     */
+    @NonNull
+    public Logger getLogger() {
+        return logger;
+    }
+
+    /**
+     * @return Whether lines passed to this writer are written at all
+     */
+    public boolean isEnabled() {
+        return fileChannel != null || logger.isInfoEnabled();
+    }
+
+    /**
+     * Formats the given access log and queues the line for writing. Meant to be called from the event loop.
+     *
+     * @param accessLog The access log
+     * @param allocator The allocator of the buffer holding the line
+     */
+    public void append(@NonNull AccessLog accessLog, @NonNull ByteBufAllocator allocator) {
+        if (closed) {
+            droppedLines.increment();
+            return;
+        }
+        ByteBuf line = allocator.buffer();
+        try {
+            accessLog.writeTo(line);
+            if (fileChannel != null) {
+                line.writeBytes(LINE_SEPARATOR);
+            }
+        } catch (RuntimeException e) {
+            line.release();
+            throw e;
+        }
+        if (!queue.offer(line)) {
+            if (overflowPolicy == OverflowPolicy.BLOCK) {
+                awaitOffer(line);
+            } else {
+                line.release();
+                droppedLines.increment();
+                return;
+            }
+        }
+        if (closed) {
+            // closed while the line was queued, the background thread may have stopped before it could see it
+            releaseLeftovers();
+        }
+    }
+
+    /**
+     * @return The number of lines written so far
+     */
+    public long getWrittenLines() {
+        return writtenLines.sum();
+    }
+
+    /**
+     * @return The number of lines dropped because the queue was full or the writer was closed
+     */
+    public long getDroppedLines() {
+        return droppedLines.sum();
+    }
+
+    /**
+     * @return The number of lines lost because writing them failed
+     */
+    public long getFailedLines() {
+        return failedLines.sum();
+    }
+
+    /**
+     * Stops the background thread once the queued lines are written.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        releaseLeftovers();
+    }
+
+    /**
+     * Releases the lines that were queued after the background thread stopped. The ring buffer only supports a single
+     * consumer, so this does nothing while the background thread is running.
+     */
+    private synchronized void releaseLeftovers() {
+        if (thread.isAlive()) {
+            return;
+        }
+        while (true) {
+            int count = queue.drain(batch);
+            if (count == 0) {
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                batch[i].release();
+                batch[i] = null;
+            }
+            droppedLines.add(count);
+        }
+    }
+
+    private void awaitOffer(ByteBuf line) {
+        LockSupport.unpark(thread);
+        while (!queue.offer(line)) {
+            if (closed) {
+                line.release();
+                droppedLines.increment();
+                return;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                // read the flag first, so that lines queued before closing are always drained
+                boolean done = closed;
+                int count = queue.drain(batch);
+                if (count > 0) {
+                    write(count);
+                } else if (done) {
+                    break;
+                } else {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+        } finally {
+            if (fileChannel != null) {
+                try {
+                    fileChannel.close();
+                } catch (IOException e) {
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("Error closing access log file: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void write(int count) {
+        try {
+            if (fileChannel != null) {
+                writeToFile(count);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    logger.info(batch[i].toString(StandardCharsets.UTF_8));
+                }
+            }
+            writtenLines.add(count);
+        } catch (IOException | RuntimeException e) {
+            failedLines.add(count);
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Error writing access log: " + e.getMessage(), e);
+            }
+        } finally {
+            for (int i = 0; i < count; i++) {
+                batch[i].release();
+                batch[i] = null;
+            }
+        }
+    }
+
+    private void writeToFile(int count) throws IOException {
+        ByteBuffer[] buffers = nioBatch;
+        try {
+            for (int i = 0; i < count; i++) {
+                buffers[i] = batch[i].nioBuffer();
+            }
+            int offset = 0;
+            while (offset < count) {
+                fileChannel.write(buffers, offset, count - offset);
+                while (offset < count && !buffers[offset].hasRemaining()) {
+                    offset++;
+                }
+            }
+        } finally {
+            Arrays.fill(buffers, 0, count, null);
+        }
+    }
+
+    /**
+     * A bounded ring buffer for many producers and a single consumer. Each slot carries a sequence number that tells
+     * whether the slot can be written by the producer that claimed the position, or read by the consumer.
+     */
+    private static final class RingBuffer {
+        private final AtomicReferenceArray<ByteBuf> slots;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private final int mask;
+        private long head;
+
+        RingBuffer(int capacity) {
+            int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+            slots = new AtomicReferenceArray<>(size);
+            sequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, i);
+            }
+            mask = size - 1;
+        }
+
+        boolean offer(ByteBuf value) {
+            long position;
+            int index;
+            while (true) {
+                position = tail.get();
+                index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        break;
+                    }
+                } else if (difference < 0) {
+                    // the slot still holds a value from the previous lap
+                    return false;
+                }
+            }
+            slots.lazySet(index, value);
+            sequences.set(index, position + 1);
+            return true;
+        }
+
+        int drain(ByteBuf[] target) {
+            int count = 0;
+            while (count < target.length) {
+                int index = (int) (head & mask);
+                if (sequences.get(index) != head + 1) {
+                    break;
+                }
+                target[count++] = slots.get(index);
+                slots.lazySet(index, null);
+                sequences.set(index, head + mask + 1);
+                head++;
+            }
+            return count;
+        }
+    }
+}
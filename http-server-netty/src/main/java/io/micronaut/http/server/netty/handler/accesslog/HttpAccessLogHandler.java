@@ -62,6 +62,7 @@ public class HttpAccessLogHandler extends ChannelDuplexHandler {
     private final Logger logger;
     private final AccessLogFormatParser accessLogFormatParser;
     private final Predicate<String> uriInclusion;
+    private final AsyncAccessLogWriter writer;
 
     /**
      * Creates a HttpAccessLogHandler.
@@ -106,6 +107,23 @@ public class HttpAccessLogHandler extends ChannelDuplexHandler {
         this.logger = logger == null ? LoggerFactory.getLogger(HTTP_ACCESS_LOGGER) : logger;
         this.accessLogFormatParser = new AccessLogFormatParser(spec);
         this.uriInclusion = uriInclusion;
+        this.writer = null;
+    }
+
+    /**
+     * Creates a HttpAccessLogHandler that hands the formatted lines to an asynchronous writer.
+     *
+     * @param writer The writer.
+     * @param spec The log format specification.
+     * @param uriInclusion A filtering Predicate that will be checked per URI.
+     * @since 4.0.0
+     */
+    public HttpAccessLogHandler(AsyncAccessLogWriter writer, String spec, Predicate<String> uriInclusion) {
+        super();
+        this.logger = writer.getLogger();
+        this.accessLogFormatParser = new AccessLogFormatParser(spec);
+        this.uriInclusion = uriInclusion;
+        this.writer = writer;
     }
 
     private SocketChannel findSocketChannel(Channel channel) {
@@ -121,7 +139,7 @@ public class HttpAccessLogHandler extends ChannelDuplexHandler {
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Http2Exception {
-        if (logger.isInfoEnabled() && msg instanceof HttpRequest) {
+        if (isEnabled() && msg instanceof HttpRequest) {
             final SocketChannel channel = findSocketChannel(ctx.channel());
             final HttpRequest request = (HttpRequest) msg;
             AccessLogHolder accessLogHolder = getAccessLogHolder(ctx, true);
@@ -145,7 +163,7 @@ public class HttpAccessLogHandler extends ChannelDuplexHandler {
 
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
-        if (logger.isInfoEnabled()) {
+        if (isEnabled()) {
             processWriteEvent(ctx, msg, promise);
         } else {
             super.write(ctx, msg, promise);
@@ -155,11 +173,19 @@ public class HttpAccessLogHandler extends ChannelDuplexHandler {
     private void log(ChannelHandlerContext ctx, Object msg, ChannelPromise promise, AccessLog accessLog) {
         ctx.write(msg, promise.unvoid()).addListener(future -> {
             if (future.isSuccess()) {
-                accessLog.log(logger);
+                if (writer != null) {
+                    writer.append(accessLog, ctx.alloc());
+                } else {
+                    accessLog.log(logger);
+                }
             }
         });
     }
 
+    private boolean isEnabled() {
+        return writer != null ? writer.isEnabled() : logger.isInfoEnabled();
+    }
+
     private void processWriteEvent(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
         AccessLogHolder accessLogHolder = getAccessLogHolder(ctx, false);
         if (accessLogHolder != null) {
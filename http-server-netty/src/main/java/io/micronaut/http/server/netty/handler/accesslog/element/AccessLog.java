@@ -16,6 +16,8 @@
 package io.micronaut.http.server.netty.handler.accesslog.element;
 
 import io.micronaut.http.server.netty.handler.accesslog.element.AccessLogFormatParser.IndexedLogElement;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpHeaders;
@@ -126,6 +128,18 @@ public class AccessLog {
         }
     }
 
+    /**
+     * Writes the accumulated values to the given buffer, encoded in UTF-8.
+     *
+     * @param buffer The buffer.
+     * @since 4.0.0
+     */
+    public void writeTo(ByteBuf buffer) {
+        for (int i = 0; i < elements.length; ++i) {
+            ByteBufUtil.writeUtf8(buffer, elements[i] == null ? ConstantElement.UNKNOWN_VALUE : elements[i]);
+        }
+    }
+
     private void resetIndexedLogElement(IndexedLogElement elt) {
         elements[elt.index] = null;
         elt.reset();
@@ -18,10 +18,12 @@ package io.micronaut.http.server.netty.ssl;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.condition.ConditionContext;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.io.ResourceResolver;
 import io.micronaut.core.order.Ordered;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.http.HttpVersion;
+import io.micronaut.http.netty.ssl.SslProviders;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.ssl.ClientAuthentication;
 import io.micronaut.http.ssl.ServerSslConfiguration;
@@ -36,12 +38,13 @@ import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
-import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 import javax.net.ssl.SSLException;
 import java.security.KeyStore;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.Set;
@@ -58,6 +61,8 @@ public class CertificateProvidedSslBuilder extends SslBuilder<SslContext> implem
 
     private final ServerSslConfiguration ssl;
     private final HttpServerConfiguration httpServerConfiguration;
+    @Nullable
+    private final SessionTicketKeys sessionTicketKeys;
     private KeyStore keyStoreCache = null;
     private KeyStore trustStoreCache = null;
 
@@ -70,9 +75,26 @@ public class CertificateProvidedSslBuilder extends SslBuilder<SslContext> implem
             HttpServerConfiguration httpServerConfiguration,
             ServerSslConfiguration ssl,
             ResourceResolver resourceResolver) {
+        this(httpServerConfiguration, ssl, resourceResolver, null);
+    }
+
+    /**
+     * @param httpServerConfiguration The HTTP server configuration
+     * @param ssl                     The ssl configuration
+     * @param resourceResolver        The resource resolver
+     * @param sessionTicketKeys       The session ticket keys, if configured
+     * @since 4.0.0
+     */
+    @Inject
+    public CertificateProvidedSslBuilder(
+            HttpServerConfiguration httpServerConfiguration,
+            ServerSslConfiguration ssl,
+            ResourceResolver resourceResolver,
+            @Nullable SessionTicketKeys sessionTicketKeys) {
         super(resourceResolver);
         this.ssl = ssl;
         this.httpServerConfiguration = httpServerConfiguration;
+        this.sessionTicketKeys = sessionTicketKeys;
     }
 
     @Override
@@ -100,7 +122,9 @@ public class CertificateProvidedSslBuilder extends SslBuilder<SslContext> implem
 
         setupSslBuilder(sslBuilder, ssl, httpVersion);
         try {
-            return Optional.of(sslBuilder.build());
+            SslContext sslContext = sslBuilder.build();
+            SessionTicketKeys.registerIfConfigured(sessionTicketKeys, sslContext, this.ssl);
+            return Optional.of(sslContext);
         } catch (SSLException ex) {
             throw new SslConfigurationException("An error occurred while setting up SSL", ex);
         }
@@ -128,9 +152,17 @@ public class CertificateProvidedSslBuilder extends SslBuilder<SslContext> implem
             }
         }
 
+        Optional<Long> sessionCacheSize = ssl.getSessionCacheSize();
+        if (sessionCacheSize.isPresent()) {
+            sslBuilder.sessionCacheSize(sessionCacheSize.get());
+        }
+        Optional<Duration> sessionTimeout = ssl.getSessionTimeout();
+        if (sessionTimeout.isPresent()) {
+            sslBuilder.sessionTimeout(sessionTimeout.get().getSeconds());
+        }
+
+        sslBuilder.sslProvider(SslProviders.select(ssl.getProvider(), isHttp2));
         if (isHttp2) {
-            SslProvider provider = SslProvider.isAlpnSupported(SslProvider.OPENSSL) ? SslProvider.OPENSSL : SslProvider.JDK;
-            sslBuilder.sslProvider(provider);
             sslBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
                     ApplicationProtocolConfig.Protocol.ALPN,
                     ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
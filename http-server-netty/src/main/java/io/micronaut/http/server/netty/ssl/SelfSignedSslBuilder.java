@@ -18,6 +18,7 @@ package io.micronaut.http.server.netty.ssl;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.condition.ConditionContext;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.io.ResourceResolver;
 import io.micronaut.http.HttpVersion;
 import io.micronaut.http.server.HttpServerConfiguration;
@@ -28,6 +29,7 @@ import io.micronaut.http.ssl.SslConfigurationException;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +50,8 @@ public class SelfSignedSslBuilder extends SslBuilder<SslContext> implements Serv
     private static final Logger LOG = LoggerFactory.getLogger(SelfSignedSslBuilder.class);
     private final ServerSslConfiguration ssl;
     private final HttpServerConfiguration serverConfiguration;
+    @Nullable
+    private final SessionTicketKeys sessionTicketKeys;
 
     /**
      * @param serverConfiguration The server configuration
@@ -58,9 +62,26 @@ public class SelfSignedSslBuilder extends SslBuilder<SslContext> implements Serv
             HttpServerConfiguration serverConfiguration,
             ServerSslConfiguration ssl,
             ResourceResolver resourceResolver) {
+        this(serverConfiguration, ssl, resourceResolver, null);
+    }
+
+    /**
+     * @param serverConfiguration The server configuration
+     * @param ssl                 The SSL configuration
+     * @param resourceResolver    The resource resolver
+     * @param sessionTicketKeys   The session ticket keys, if configured
+     * @since 4.0.0
+     */
+    @Inject
+    public SelfSignedSslBuilder(
+            HttpServerConfiguration serverConfiguration,
+            ServerSslConfiguration ssl,
+            ResourceResolver resourceResolver,
+            @Nullable SessionTicketKeys sessionTicketKeys) {
         super(resourceResolver);
         this.ssl = ssl;
         this.serverConfiguration = serverConfiguration;
+        this.sessionTicketKeys = sessionTicketKeys;
     }
 
     @Override
@@ -89,7 +110,9 @@ public class SelfSignedSslBuilder extends SslBuilder<SslContext> implements Serv
             SelfSignedCertificate ssc = new SelfSignedCertificate();
             final SslContextBuilder sslBuilder = SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey());
             CertificateProvidedSslBuilder.setupSslBuilder(sslBuilder, ssl, httpVersion);
-            return Optional.of(sslBuilder.build());
+            SslContext sslContext = sslBuilder.build();
+            SessionTicketKeys.registerIfConfigured(sessionTicketKeys, sslContext, this.ssl);
+            return Optional.of(sslContext);
         } catch (CertificateException | SSLException e) {
             throw new SslConfigurationException("Encountered an error while building a self signed certificate", e);
         }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.ssl;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.netty.ssl.OpenSslAvailabilityCondition;
+import io.micronaut.http.ssl.ServerSslConfiguration;
+import io.micronaut.http.ssl.SslConfigurationException;
+import io.micronaut.scheduling.TaskScheduler;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.OpenSslSessionContext;
+import io.netty.handler.ssl.OpenSslSessionTicketKey;
+import io.netty.handler.ssl.SslContext;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Loads the session ticket keys configured with {@link ServerSslConfiguration#getSessionTicketKeyPath()} into the
+ * server {@link SslContext}s, and reloads them when the key file changes, so that keys can be rotated without a
+ * restart.
+ *
+ * <p>The file contains one or more keys of {@value #KEY_LENGTH} bytes each: a 16 byte key name, a 16 byte HMAC secret
+ * and a 16 byte AES key, the same format as used by nginx and HAProxy. New tickets are encrypted with the first key,
+ * the other keys only decrypt tickets issued before a rotation. If the file cannot be read after a change, the
+ * previous keys stay in use.</p>
+ *
+ * @since 4.0.0
+ */
+@Singleton
+@Internal
+@Requires(condition = SslEnabledCondition.class)
+@Requires(property = ServerSslConfiguration.PREFIX + ".session-ticket-key-path")
+@Requires(classes = OpenSsl.class, condition = OpenSslAvailabilityCondition.class)
+public final class SessionTicketKeys {
+
+    /**
+     * The length of a single key in the key file.
+     */
+    public static final int KEY_LENGTH = 48;
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionTicketKeys.class);
+    private static final int PART_LENGTH = 16;
+    private static final String OPENSSL_REQUIRED = "Session ticket keys are configured, but are only supported by the OpenSSL provider. Make sure netty-tcnative is on the classpath.";
+
+    private final Path path;
+    private final Set<OpenSslSessionContext> sessionContexts = Collections.newSetFromMap(new WeakHashMap<>());
+    private final ScheduledFuture<?> refreshTask;
+    private OpenSslSessionTicketKey[] keys;
+    private FileTime lastModified;
+
+    /**
+     * @param sslConfiguration The SSL configuration
+     * @param taskScheduler    The scheduler that checks the key file for changes
+     */
+    SessionTicketKeys(ServerSslConfiguration sslConfiguration, TaskScheduler taskScheduler) {
+        this.path = Paths.get(sslConfiguration.getSessionTicketKeyPath()
+            .orElseThrow(() -> new SslConfigurationException("No session ticket key path configured")));
+        try {
+            this.lastModified = Files.getLastModifiedTime(path);
+            this.keys = readKeys(Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new SslConfigurationException("Failed to read the session ticket keys from " + path, e);
+        }
+        Duration interval = sslConfiguration.getSessionTicketKeyRefreshInterval();
+        this.refreshTask = taskScheduler.scheduleWithFixedDelay(interval, interval, this::refresh);
+    }
+
+    /**
+     * Use the session ticket keys for the given context. Only contexts of the OpenSSL provider support custom keys.
+     *
+     * @param sslContext The server SSL context
+     */
+    public void register(@NonNull SslContext sslContext) {
+        if (!(sslContext.sessionContext() instanceof OpenSslSessionContext)) {
+            LOG.warn(OPENSSL_REQUIRED);
+            return;
+        }
+        OpenSslSessionContext sessionContext = (OpenSslSessionContext) sslContext.sessionContext();
+        synchronized (this) {
+            sessionContexts.add(sessionContext);
+            sessionContext.setTicketKeys(keys);
+        }
+    }
+
+    /**
+     * Use the given session ticket keys for the given context. If there are no keys although a key file is
+     * configured, OpenSSL is not available and a warning is logged.
+     *
+     * @param sessionTicketKeys The session ticket keys, or {@code null} if there is no such bean
+     * @param sslContext        The server SSL context
+     * @param sslConfiguration  The SSL configuration
+     */
+    static void registerIfConfigured(@Nullable SessionTicketKeys sessionTicketKeys,
+                                     @NonNull SslContext sslContext,
+                                     @NonNull ServerSslConfiguration sslConfiguration) {
+        if (sessionTicketKeys != null) {
+            sessionTicketKeys.register(sslContext);
+        } else if (sslConfiguration.getSessionTicketKeyPath().isPresent()) {
+            LOG.warn(OPENSSL_REQUIRED);
+        }
+    }
+
+    /**
+     * Reload the keys if the key file was modified since it was last read.
+     */
+    void refresh() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            OpenSslSessionTicketKey[] newKeys = readKeys(Files.readAllBytes(path));
+            synchronized (this) {
+                lastModified = modified;
+                keys = newKeys;
+                for (OpenSslSessionContext sessionContext : sessionContexts) {
+                    sessionContext.setTicketKeys(newKeys);
+                }
+            }
+            if (LOG.isInfoEnabled()) {
+                LOG.info("Rotated session ticket keys, {} keys loaded from {}", newKeys.length, path);
+            }
+        } catch (IOException | SslConfigurationException e) {
+            LOG.error("Failed to reload the session ticket keys from {}, the previous keys stay in use: {}", path, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stop checking the key file for changes.
+     */
+    @PreDestroy
+    void close() {
+        refreshTask.cancel(false);
+    }
+
+    /**
+     * Parse the contents of a key file.
+     *
+     * @param data The contents of the key file
+     * @return The keys
+     */
+    static OpenSslSessionTicketKey[] readKeys(byte[] data) {
+        if (data.length == 0 || data.length % KEY_LENGTH != 0) {
+            throw new SslConfigurationException("A session ticket key file must contain one or more keys of " + KEY_LENGTH + " bytes, but has " + data.length + " bytes");
+        }
+        OpenSslSessionTicketKey[] keys = new OpenSslSessionTicketKey[data.length / KEY_LENGTH];
+        for (int i = 0; i < keys.length; i++) {
+            int offset = i * KEY_LENGTH;
+            keys[i] = new OpenSslSessionTicketKey(
+                Arrays.copyOfRange(data, offset, offset + PART_LENGTH),
+                Arrays.copyOfRange(data, offset + PART_LENGTH, offset + 2 * PART_LENGTH),
+                Arrays.copyOfRange(data, offset + 2 * PART_LENGTH, offset + KEY_LENGTH)
+            );
+        }
+        return keys;
+    }
+}
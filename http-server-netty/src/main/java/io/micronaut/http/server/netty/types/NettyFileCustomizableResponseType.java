@@ -16,6 +16,7 @@
 package io.micronaut.http.server.netty.types;
 
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.server.types.files.FileCustomizableResponseType;
 
 /**
@@ -26,4 +27,23 @@ import io.micronaut.http.server.types.files.FileCustomizableResponseType;
  */
 @Internal
 public interface NettyFileCustomizableResponseType extends FileCustomizableResponseType, NettyCustomizableResponseType {
+
+    /**
+     * @return The content encoding of a file that holds the precompressed representation of a resource, otherwise
+     * {@code null}
+     * @since 4.0.0
+     */
+    @Nullable
+    default String getContentEncoding() {
+        return null;
+    }
+
+    /**
+     * @return Whether the representation was chosen based on the {@code Accept-Encoding} request header, in which
+     * case the response varies by that header even when the file is not compressed
+     * @since 4.0.0
+     */
+    default boolean isContentEncodingNegotiated() {
+        return getContentEncoding() != null;
+    }
 }
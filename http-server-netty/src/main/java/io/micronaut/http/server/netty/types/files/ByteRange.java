@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.types.files;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An inclusive range of bytes of a file, as requested with the {@code Range} header.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc7233">RFC 7233</a>
+ * @since 4.0.0
+ */
+@Internal
+public final class ByteRange {
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final long start;
+    private final long end;
+
+    /**
+     * @param start The first byte position
+     * @param end   The last byte position, inclusive
+     */
+    public ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @return The first byte position
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return The last byte position, inclusive
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * @return The number of bytes in this range
+     */
+    public long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * @param completeLength The length of the file
+     * @return The value of the {@code Content-Range} header for this range
+     */
+    public String toContentRange(long completeLength) {
+        return "bytes " + start + '-' + end + '/' + completeLength;
+    }
+
+    /**
+     * Parses the value of a {@code Range} header. Ranges that cannot be satisfied are dropped.
+     *
+     * @param header         The header value
+     * @param completeLength The length of the file
+     * @return The satisfiable ranges, an empty list if no range can be satisfied or {@code null} if the header is
+     * invalid and should be ignored
+     */
+    @Nullable
+    public static List<ByteRange> parse(@Nullable String header, long completeLength) {
+        if (header == null || !header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return null;
+        }
+        List<ByteRange> ranges = new ArrayList<>(1);
+        int index = BYTES_UNIT.length();
+        int length = header.length();
+        boolean specified = false;
+        while (index < length) {
+            int next = header.indexOf(',', index);
+            if (next == -1) {
+                next = length;
+            }
+            String spec = header.substring(index, next).trim();
+            index = next + 1;
+            if (spec.isEmpty()) {
+                continue;
+            }
+            specified = true;
+            int dash = spec.indexOf('-');
+            if (dash == -1) {
+                return null;
+            }
+            long first;
+            long last;
+            try {
+                if (dash == 0) {
+                    // suffix range, the last N bytes
+                    long suffixLength = Long.parseLong(spec.substring(1));
+                    if (suffixLength < 0) {
+                        return null;
+                    }
+                    if (suffixLength == 0 || completeLength == 0) {
+                        continue;
+                    }
+                    first = Math.max(0, completeLength - suffixLength);
+                    last = completeLength - 1;
+                } else {
+                    first = Long.parseLong(spec.substring(0, dash));
+                    last = dash == spec.length() - 1 ? completeLength - 1 : Long.parseLong(spec.substring(dash + 1));
+                    if (first < 0 || last < first) {
+                        return null;
+                    }
+                    if (first >= completeLength) {
+                        continue;
+                    }
+                    last = Math.min(last, completeLength - 1);
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            ranges.add(new ByteRange(first, last));
+        }
+        if (!specified) {
+            return null;
+        }
+        return ranges.isEmpty() ? Collections.emptyList() : ranges;
+    }
+
+    @Override
+    public String toString() {
+        return start + "-" + end;
+    }
+}
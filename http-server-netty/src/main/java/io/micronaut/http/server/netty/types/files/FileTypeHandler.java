@@ -16,9 +16,12 @@
 package io.micronaut.http.server.netty.types.files;
 
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MutableHttpHeaders;
 import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.netty.NettyMutableHttpResponse;
@@ -37,6 +40,7 @@ import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Responsible for writing files out to the response in Netty.
@@ -51,6 +55,8 @@ public class FileTypeHandler implements NettyCustomizableResponseTypeHandler<Obj
     // https://tools.ietf.org/html/rfc2616#section-7.1
     private static final String[] ENTITY_HEADERS = {HttpHeaders.ALLOW, HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_LOCATION, HttpHeaders.CONTENT_MD5, HttpHeaders.CONTENT_RANGE, HttpHeaders.CONTENT_TYPE, HttpHeaders.EXPIRES, HttpHeaders.LAST_MODIFIED};
     private static final Class<?>[] SUPPORTED_TYPES = new Class<?>[]{File.class, StreamedFile.class, NettyFileCustomizableResponseType.class, SystemFile.class};
+    private static final String WEAK_PREFIX = "W/";
+    private static final String BYTES = "bytes";
     private final NettyHttpServerConfiguration.FileTypeHandlerConfiguration configuration;
 
     /**
@@ -76,20 +82,44 @@ public class FileTypeHandler implements NettyCustomizableResponseTypeHandler<Obj
             throw new CustomizableResponseTypeException("FileTypeHandler only supports File or FileCustomizableResponseType types");
         }
 
+        String contentEncoding = type.getContentEncoding();
+        if (contentEncoding != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        if (type.isContentEncodingNegotiated()) {
+            response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
         long lastModified = type.getLastModified();
+        String entityTag = response.header(HttpHeaders.ETAG);
+        if (entityTag == null) {
+            entityTag = generateEntityTag(type);
+            if (entityTag != null) {
+                response.header(HttpHeaders.ETAG, entityTag);
+            }
+        }
 
         // Cache Validation
-        ZonedDateTime ifModifiedSince = request.getHeaders().getDate(HttpHeaders.IF_MODIFIED_SINCE);
-        if (ifModifiedSince != null) {
-
-            // Only compare up to the second because the datetime format we send to the client
-            // does not have milliseconds
-            long ifModifiedSinceDateSeconds = ifModifiedSince.toEpochSecond();
-            long fileLastModifiedSeconds = lastModified / 1000;
-            if (ifModifiedSinceDateSeconds == fileLastModifiedSeconds) {
+        String ifNoneMatch = request.getHeaders().get(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence over If-Modified-Since
+            if (entityTag != null && matchesWeakly(ifNoneMatch, entityTag)) {
                 FullHttpResponse nettyResponse = notModified(response);
                 return context.writeAndFlush(nettyResponse);
             }
+        } else {
+            ZonedDateTime ifModifiedSince = request.getHeaders().getDate(HttpHeaders.IF_MODIFIED_SINCE);
+            if (ifModifiedSince != null) {
+
+                // Only compare up to the second because the datetime format we send to the client
+                // does not have milliseconds
+                long ifModifiedSinceDateSeconds = ifModifiedSince.toEpochSecond();
+                long fileLastModifiedSeconds = lastModified / 1000;
+                if (ifModifiedSinceDateSeconds == fileLastModifiedSeconds) {
+                    FullHttpResponse nettyResponse = notModified(response);
+                    return context.writeAndFlush(nettyResponse);
+                }
+            }
         }
 
         if (!response.getHeaders().contains(HttpHeaders.CONTENT_TYPE)) {
@@ -97,6 +127,23 @@ public class FileTypeHandler implements NettyCustomizableResponseTypeHandler<Obj
         }
         setDateAndCacheHeaders(response, lastModified);
 
+        if (configuration.isRangeRequests() && type instanceof NettySystemFileCustomizableResponseType && response.status() == HttpStatus.OK) {
+            NettySystemFileCustomizableResponseType systemFile = (NettySystemFileCustomizableResponseType) type;
+            response.header(HttpHeaders.ACCEPT_RANGES, BYTES);
+            String range = request.getHeaders().get(HttpHeaders.RANGE);
+            if (range != null && request.getMethod() == HttpMethod.GET && isRangeValidatorCurrent(request, entityTag, lastModified)) {
+                long length = systemFile.getLength();
+                List<ByteRange> ranges = ByteRange.parse(range, length);
+                if (ranges != null && ranges.size() <= configuration.getMaxRanges()) {
+                    if (ranges.isEmpty()) {
+                        return context.writeAndFlush(rangeNotSatisfiable(response, length));
+                    }
+                    response.status(HttpStatus.PARTIAL_CONTENT);
+                    systemFile.setRanges(ranges);
+                }
+            }
+        }
+
         type.process(response);
         return type.write(request, response, context);
     }
@@ -153,6 +200,67 @@ public class FileTypeHandler implements NettyCustomizableResponseTypeHandler<Obj
         });
     }
 
+    /**
+     * Generates the entity tag of the given file from its length and modification date.
+     *
+     * @param type The file
+     * @return The entity tag or null if none should be generated
+     */
+    @Nullable
+    protected String generateEntityTag(NettyFileCustomizableResponseType type) {
+        NettyHttpServerConfiguration.FileTypeHandlerConfiguration.EntityTagStyle style = configuration.getEtag();
+        long lastModified = type.getLastModified();
+        long length = type.getLength();
+        if (style == NettyHttpServerConfiguration.FileTypeHandlerConfiguration.EntityTagStyle.NONE || lastModified <= 0 || length < 0) {
+            return null;
+        }
+        String opaqueTag = '"' + Long.toHexString(lastModified) + '-' + Long.toHexString(length) + '"';
+        return style == NettyHttpServerConfiguration.FileTypeHandlerConfiguration.EntityTagStyle.WEAK ? WEAK_PREFIX + opaqueTag : opaqueTag;
+    }
+
+    /**
+     * Evaluates the If-Range header. The range is only served if the validator matches the current file, otherwise
+     * the complete file is returned.
+     */
+    private static boolean isRangeValidatorCurrent(HttpRequest<?> request, @Nullable String entityTag, long lastModified) {
+        String ifRange = request.getHeaders().get(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith(WEAK_PREFIX)) {
+            return false;
+        }
+        if (ifRange.startsWith("\"")) {
+            // strong comparison
+            return entityTag != null && !entityTag.startsWith(WEAK_PREFIX) && ifRange.equals(entityTag);
+        }
+        ZonedDateTime date = request.getHeaders().getDate(HttpHeaders.IF_RANGE);
+        return date != null && date.toEpochSecond() == lastModified / 1000;
+    }
+
+    private static boolean matchesWeakly(String ifNoneMatch, String entityTag) {
+        String opaqueTag = opaqueTag(entityTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || opaqueTag(candidate).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String entityTag) {
+        return entityTag.startsWith(WEAK_PREFIX) ? entityTag.substring(WEAK_PREFIX.length()) : entityTag;
+    }
+
+    private FullHttpResponse rangeNotSatisfiable(MutableHttpResponse<?> originalResponse, long length) {
+        MutableHttpResponse response = HttpResponse.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        copyNonEntityHeaders(originalResponse, response);
+        response.header(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        setDateHeader(response);
+        return ((NettyMutableHttpResponse) response).toFullHttpResponse();
+    }
+
     private FullHttpResponse notModified(MutableHttpResponse<?> originalResponse) {
         MutableHttpResponse response = HttpResponse.notModified();
         copyNonEntityHeaders(originalResponse, response);
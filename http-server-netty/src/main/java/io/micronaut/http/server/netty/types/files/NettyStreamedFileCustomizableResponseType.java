@@ -16,6 +16,7 @@
 package io.micronaut.http.server.netty.types.files;
 
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.server.netty.types.NettyFileCustomizableResponseType;
@@ -38,6 +39,8 @@ import java.util.Optional;
 public class NettyStreamedFileCustomizableResponseType extends StreamedFile implements NettyFileCustomizableResponseType, NettyStreamedCustomizableResponseType {
 
     private final Optional<StreamedFile> delegate;
+    private String contentEncoding;
+    private boolean contentEncodingNegotiated;
 
     /**
      * @param inputStream The input stream
@@ -73,6 +76,37 @@ public class NettyStreamedFileCustomizableResponseType extends StreamedFile impl
         this.delegate = Optional.of(delegate);
     }
 
+    @Override
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Marks this file as the precompressed representation of a resource.
+     *
+     * @param contentEncoding The content encoding of the file
+     * @since 4.0.0
+     */
+    public void setContentEncoding(@Nullable String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    @Override
+    public boolean isContentEncodingNegotiated() {
+        return contentEncodingNegotiated || contentEncoding != null;
+    }
+
+    /**
+     * Marks this file as one of several representations of a resource that are chosen by the
+     * {@code Accept-Encoding} request header.
+     *
+     * @param contentEncodingNegotiated Whether the representation was negotiated
+     * @since 4.0.0
+     */
+    public void setContentEncodingNegotiated(boolean contentEncodingNegotiated) {
+        this.contentEncodingNegotiated = contentEncodingNegotiated;
+    }
+
     @Override
     public void process(MutableHttpResponse response) {
         long length = getLength();
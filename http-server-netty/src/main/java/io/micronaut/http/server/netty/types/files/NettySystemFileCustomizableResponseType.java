@@ -17,6 +17,7 @@ package io.micronaut.http.server.netty.types.files;
 
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.SupplierUtil;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.MediaType;
@@ -27,6 +28,9 @@ import io.micronaut.http.server.netty.types.NettyFileCustomizableResponseType;
 import io.micronaut.http.server.types.CustomizableResponseTypeException;
 import io.micronaut.http.server.types.files.FileCustomizableResponseType;
 import io.micronaut.http.server.types.files.SystemFile;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
@@ -37,6 +41,7 @@ import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedFile;
+import io.netty.handler.stream.ChunkedInput;
 import io.netty.util.ResourceLeakDetector;
 import io.netty.util.ResourceLeakDetectorFactory;
 import io.netty.util.ResourceLeakTracker;
@@ -47,7 +52,11 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Supplier;
 
 /**
@@ -61,10 +70,17 @@ import java.util.function.Supplier;
 public class NettySystemFileCustomizableResponseType extends SystemFile implements NettyFileCustomizableResponseType {
 
     private static final int LENGTH_8K = 8192;
+    private static final String MULTIPART_BYTERANGES = "multipart/byteranges";
     private static final Logger LOG = LoggerFactory.getLogger(NettySystemFileCustomizableResponseType.class);
 
     protected Optional<FileCustomizableResponseType> delegate = Optional.empty();
 
+    private List<ByteRange> ranges = Collections.emptyList();
+    private byte[][] partHeaders;
+    private byte[] closeDelimiter;
+    private String contentEncoding;
+    private boolean contentEncodingNegotiated;
+
     /**
      * @param file The file
      */
@@ -93,12 +109,82 @@ public class NettySystemFileCustomizableResponseType extends SystemFile implemen
         return delegate.map(FileCustomizableResponseType::getMediaType).orElse(super.getMediaType());
     }
 
+    @Override
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Marks this file as the precompressed representation of a resource.
+     *
+     * @param contentEncoding The content encoding of the file
+     * @since 4.0.0
+     */
+    public void setContentEncoding(@Nullable String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    @Override
+    public boolean isContentEncodingNegotiated() {
+        return contentEncodingNegotiated || contentEncoding != null;
+    }
+
+    /**
+     * Marks this file as one of several representations of a resource that are chosen by the
+     * {@code Accept-Encoding} request header.
+     *
+     * @param contentEncodingNegotiated Whether the representation was negotiated
+     * @since 4.0.0
+     */
+    public void setContentEncodingNegotiated(boolean contentEncodingNegotiated) {
+        this.contentEncodingNegotiated = contentEncodingNegotiated;
+    }
+
+    /**
+     * Restricts the response to the given ranges of the file. A single range is written as is, multiple ranges are
+     * written as a {@code multipart/byteranges} body.
+     *
+     * @param ranges The satisfiable ranges, in the order they were requested
+     * @since 4.0.0
+     */
+    public void setRanges(@NonNull List<ByteRange> ranges) {
+        this.ranges = ranges;
+    }
+
     /**
      * @param response The response to modify
      */
     @Override
     public void process(MutableHttpResponse response) {
-        response.header(io.micronaut.http.HttpHeaders.CONTENT_LENGTH, String.valueOf(getLength()));
+        long length = getLength();
+        int rangeCount = ranges.size();
+        if (rangeCount == 1) {
+            ByteRange range = ranges.get(0);
+            response.header(io.micronaut.http.HttpHeaders.CONTENT_LENGTH, String.valueOf(range.getLength()));
+            response.header(io.micronaut.http.HttpHeaders.CONTENT_RANGE, range.toContentRange(length));
+        } else if (rangeCount > 1) {
+            String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong()) + Long.toHexString(System.nanoTime());
+            String contentType = response.getHeaders().get(io.micronaut.http.HttpHeaders.CONTENT_TYPE);
+            if (contentType == null) {
+                contentType = getMediaType().toString();
+            }
+            long contentLength = 0;
+            partHeaders = new byte[rangeCount][];
+            for (int i = 0; i < rangeCount; i++) {
+                ByteRange range = ranges.get(i);
+                String partHeader = (i == 0 ? "--" : "\r\n--") + boundary + "\r\n" +
+                        io.micronaut.http.HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n" +
+                        io.micronaut.http.HttpHeaders.CONTENT_RANGE + ": " + range.toContentRange(length) + "\r\n\r\n";
+                partHeaders[i] = partHeader.getBytes(StandardCharsets.US_ASCII);
+                contentLength += partHeaders[i].length + range.getLength();
+            }
+            closeDelimiter = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+            contentLength += closeDelimiter.length;
+            response.header(io.micronaut.http.HttpHeaders.CONTENT_TYPE, MULTIPART_BYTERANGES + "; boundary=" + boundary);
+            response.header(io.micronaut.http.HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength));
+        } else {
+            response.header(io.micronaut.http.HttpHeaders.CONTENT_LENGTH, String.valueOf(length));
+        }
         delegate.ifPresent(type -> type.process(response));
     }
 
@@ -120,14 +206,34 @@ public class NettySystemFileCustomizableResponseType extends SystemFile implemen
                     context.pipeline().get(SmartHttpContentCompressor.class).shouldSkip(finalResponse) &&
                     !(context.channel() instanceof Http2StreamChannel)) {
                 // SSL not enabled - can use zero-copy file transfer.
-                context.write(new DefaultFileRegion(file.raf.getChannel(), 0, getLength()), context.newProgressivePromise())
+                if (ranges.size() > 1) {
+                    for (int i = 0; i < ranges.size(); i++) {
+                        ByteRange range = ranges.get(i);
+                        context.write(Unpooled.wrappedBuffer(partHeaders[i]), context.voidPromise());
+                        context.write(new DefaultFileRegion(file.raf.getChannel(), range.getStart(), range.getLength()), context.voidPromise());
+                    }
+                    context.write(Unpooled.wrappedBuffer(closeDelimiter), context.voidPromise());
+                    return context.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT)
+                            .addListener(file);
+                }
+                long offset = ranges.isEmpty() ? 0 : ranges.get(0).getStart();
+                long length = ranges.isEmpty() ? getLength() : ranges.get(0).getLength();
+                context.write(new DefaultFileRegion(file.raf.getChannel(), offset, length), context.newProgressivePromise())
                         .addListener(file);
                 return context.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
             } else {
                 // SSL enabled - cannot use zero-copy file transfer.
                 try {
+                    ChunkedInput<ByteBuf> input;
+                    if (ranges.size() > 1) {
+                        input = new ByteRangesChunkedInput(file.raf, ranges, partHeaders, closeDelimiter);
+                    } else if (ranges.size() == 1) {
+                        input = new ChunkedFile(file.raf, ranges.get(0).getStart(), ranges.get(0).getLength(), LENGTH_8K);
+                    } else {
+                        input = new ChunkedFile(file.raf, 0, getLength(), LENGTH_8K);
+                    }
                     // HttpChunkedInput will write the end marker (LastHttpContent) for us.
-                    final HttpChunkedInput chunkedInput = new HttpChunkedInput(new ChunkedFile(file.raf, 0, getLength(), LENGTH_8K));
+                    final HttpChunkedInput chunkedInput = new HttpChunkedInput(input);
                     return context.writeAndFlush(chunkedInput, context.newProgressivePromise())
                             .addListener(file);
                 } catch (IOException e) {
@@ -139,6 +245,98 @@ public class NettySystemFileCustomizableResponseType extends SystemFile implemen
         }
     }
 
+    /**
+     * A {@link ChunkedInput} that reads the parts of a {@code multipart/byteranges} body. The file itself is closed
+     * by the {@link FileHolder}.
+     */
+    private static final class ByteRangesChunkedInput implements ChunkedInput<ByteBuf> {
+
+        private final RandomAccessFile raf;
+        private final List<ByteRange> ranges;
+        private final byte[][] partHeaders;
+        private final byte[] closeDelimiter;
+        private final long length;
+        private long progress;
+        private int part;
+        private long offset = -1;
+        private boolean endOfInput;
+
+        ByteRangesChunkedInput(RandomAccessFile raf, List<ByteRange> ranges, byte[][] partHeaders, byte[] closeDelimiter) {
+            this.raf = raf;
+            this.ranges = ranges;
+            this.partHeaders = partHeaders;
+            this.closeDelimiter = closeDelimiter;
+            long length = closeDelimiter.length;
+            for (int i = 0; i < ranges.size(); i++) {
+                length += partHeaders[i].length + ranges.get(i).getLength();
+            }
+            this.length = length;
+        }
+
+        @Override
+        public boolean isEndOfInput() {
+            return endOfInput;
+        }
+
+        @Override
+        public void close() {
+            // no-op, the file is closed once the write completes
+        }
+
+        @Deprecated
+        @Override
+        public ByteBuf readChunk(ChannelHandlerContext ctx) throws Exception {
+            return readChunk(ctx.alloc());
+        }
+
+        @Override
+        public ByteBuf readChunk(ByteBufAllocator allocator) throws Exception {
+            if (endOfInput) {
+                return null;
+            }
+            ByteBuf chunk;
+            if (part == ranges.size()) {
+                endOfInput = true;
+                chunk = Unpooled.wrappedBuffer(closeDelimiter);
+            } else if (offset == -1) {
+                offset = ranges.get(part).getStart();
+                chunk = Unpooled.wrappedBuffer(partHeaders[part]);
+            } else {
+                ByteRange range = ranges.get(part);
+                int chunkSize = (int) Math.min(LENGTH_8K, range.getEnd() + 1 - offset);
+                chunk = allocator.heapBuffer(chunkSize);
+                boolean release = true;
+                try {
+                    raf.seek(offset);
+                    raf.readFully(chunk.array(), chunk.arrayOffset(), chunkSize);
+                    chunk.writerIndex(chunkSize);
+                    release = false;
+                } finally {
+                    if (release) {
+                        chunk.release();
+                    }
+                }
+                offset += chunkSize;
+                if (offset > range.getEnd()) {
+                    part++;
+                    offset = -1;
+                }
+            }
+            progress += chunk.readableBytes();
+            return chunk;
+        }
+
+        @Override
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public long progress() {
+            return progress;
+        }
+    }
+
     /**
      * Wrapper class around {@link RandomAccessFile} with two purposes: Leak detection, and implementation of
      * {@link ChannelFutureListener} that closes the file when called.
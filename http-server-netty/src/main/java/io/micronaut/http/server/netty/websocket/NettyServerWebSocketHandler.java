@@ -33,6 +33,7 @@ import io.micronaut.http.context.ServerRequestContext;
 import io.micronaut.http.netty.websocket.AbstractNettyWebSocketHandler;
 import io.micronaut.http.netty.websocket.NettyWebSocketSession;
 import io.micronaut.http.netty.websocket.WebSocketSessionRepository;
+import io.micronaut.http.netty.websocket.WebSocketTopicIndex;
 import io.micronaut.http.server.CoroutineHelper;
 import io.micronaut.http.server.netty.NettyEmbeddedServices;
 import io.micronaut.inject.ExecutableMethod;
@@ -270,6 +271,23 @@ public class NettyServerWebSocketHandler extends AbstractNettyWebSocketHandler {
                 return uriVars;
             }
 
+            @Override
+            public boolean subscribe(String topic) {
+                webSocketSessionRepository.subscribe(channel, topic);
+                return true;
+            }
+
+            @Override
+            public boolean unsubscribe(String topic) {
+                webSocketSessionRepository.unsubscribe(channel, topic);
+                return true;
+            }
+
+            @Override
+            public Set<String> getSubscriptions() {
+                return WebSocketTopicIndex.getSubscriptions(channel);
+            }
+
         };
 
         webSocketSessionRepository.addChannel(channel);
@@ -66,6 +66,7 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Handles WebSocket upgrade requests.
@@ -92,6 +93,8 @@ public class NettyServerWebSocketUpgradeHandler extends SimpleChannelInboundHand
     private final NettyEmbeddedServices nettyEmbeddedServices;
     private WebSocketServerHandshaker handshaker;
     private boolean cancelUpgrade = false;
+    @Nullable
+    private Supplier<ChannelHandler> outboundHandlerFactory;
 
     /**
      * Default constructor.
@@ -108,6 +111,16 @@ public class NettyServerWebSocketUpgradeHandler extends SimpleChannelInboundHand
         this.nettyEmbeddedServices = embeddedServices;
     }
 
+    /**
+     * Sets the factory of the handler that limits the frames queued for sessions that are not writable.
+     *
+     * @param outboundHandlerFactory The factory, or {@code null} to leave outbound frames unbounded
+     * @since 4.0.0
+     */
+    void setOutboundHandlerFactory(@Nullable Supplier<ChannelHandler> outboundHandlerFactory) {
+        this.outboundHandlerFactory = outboundHandlerFactory;
+    }
+
     @Override
     public boolean acceptInboundMessage(Object msg) {
         return msg instanceof NettyHttpRequest && isWebSocketUpgrade((NettyHttpRequest<?>) msg);
@@ -168,6 +181,9 @@ public class NettyServerWebSocketUpgradeHandler extends SimpleChannelInboundHand
                     ctx,
                     routeExecutor.getCoroutineHelper().orElse(null));
                 pipeline.addBefore(ctx.name(), NettyServerWebSocketHandler.ID, webSocketHandler);
+                if (outboundHandlerFactory != null) {
+                    pipeline.addBefore(NettyServerWebSocketHandler.ID, WebSocketOutboundHandler.ID, outboundHandlerFactory.get());
+                }
 
                 pipeline.remove(ChannelPipelineCustomizer.HANDLER_HTTP_STREAM);
                 pipeline.remove(NettyServerWebSocketUpgradeHandler.this);
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.websocket;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+
+/**
+ * Resolves the key of the frames queued for a slow WebSocket session when the
+ * {@link io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration.WebSocketSettings.OutboundPolicy#COALESCE_LATEST}
+ * policy is used. A queued frame is replaced by a newer frame that has the same key.
+ *
+ * @since 4.0.0
+ */
+@FunctionalInterface
+public interface WebSocketCoalescingKeyResolver {
+
+    /**
+     * Resolves the key of the given frame. The frame must not be consumed.
+     *
+     * @param frame The frame
+     * @return The key, or {@code null} if the frame should only be coalesced with other frames without a key
+     */
+    @Nullable
+    Object resolveKey(@NonNull WebSocketFrame frame);
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.websocket;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration.WebSocketSettings;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration.WebSocketSettings.OutboundPolicy;
+import io.micronaut.websocket.CloseReason;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.PingWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.PongWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.util.ReferenceCountUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues the frames written to a WebSocket session while its channel is not writable, and applies the configured
+ * {@link OutboundPolicy} once the queue exceeds its limits, so that a client that stops reading cannot make the
+ * outbound buffer grow without bound.
+ *
+ * <p>Ping and pong frames are never queued. Fragments of a fragmented message and close frames are queued but
+ * never dropped, if the limits are still exceeded after dropping messages the session is closed.</p>
+ *
+ * @since 4.0.0
+ */
+@Internal
+final class WebSocketOutboundHandler extends ChannelDuplexHandler {
+
+    static final String ID = "websocket-outbound-handler";
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebSocketOutboundHandler.class);
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final OutboundPolicy policy;
+    private final long maxQueuedBytes;
+    private final int maxQueuedMessages;
+    private final WebSocketOutboundMetrics metrics;
+    @Nullable
+    private final WebSocketCoalescingKeyResolver keyResolver;
+    private final Deque<QueuedFrame> queue = new ArrayDeque<>();
+    private long queuedBytes;
+    private boolean closing;
+
+    /**
+     * @param settings    The WebSocket settings
+     * @param metrics     The metrics to update
+     * @param keyResolver The key resolver used to coalesce frames
+     */
+    WebSocketOutboundHandler(WebSocketSettings settings,
+                             WebSocketOutboundMetrics metrics,
+                             @Nullable WebSocketCoalescingKeyResolver keyResolver) {
+        this.policy = settings.getOutboundPolicy();
+        this.maxQueuedBytes = settings.getMaxQueuedBytes();
+        this.maxQueuedMessages = settings.getMaxQueuedMessages();
+        this.metrics = metrics;
+        this.keyResolver = keyResolver;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (!(msg instanceof WebSocketFrame) || msg instanceof PingWebSocketFrame || msg instanceof PongWebSocketFrame) {
+            ctx.write(msg, promise);
+            return;
+        }
+        if (closing) {
+            ReferenceCountUtil.release(msg);
+            promise.tryFailure(new ClosedChannelException());
+            return;
+        }
+        if (queue.isEmpty() && ctx.channel().isWritable()) {
+            ctx.write(msg, promise);
+            return;
+        }
+        enqueue(ctx, (WebSocketFrame) msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        drain(ctx);
+        ctx.flush();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable() && !queue.isEmpty()) {
+            drain(ctx);
+            ctx.flush();
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        discardQueue();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        discardQueue();
+        super.channelInactive(ctx);
+    }
+
+    private void enqueue(ChannelHandlerContext ctx, WebSocketFrame frame, ChannelPromise promise) {
+        boolean droppable = frame.isFinalFragment()
+                && !(frame instanceof ContinuationWebSocketFrame)
+                && !(frame instanceof CloseWebSocketFrame);
+        Object key = null;
+        if (droppable && policy == OutboundPolicy.COALESCE_LATEST) {
+            key = keyResolver != null ? keyResolver.resolveKey(frame) : null;
+            Iterator<QueuedFrame> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                QueuedFrame queued = iterator.next();
+                if (queued.droppable && Objects.equals(queued.key, key)) {
+                    iterator.remove();
+                    drop(queued);
+                    break;
+                }
+            }
+        }
+        QueuedFrame queued = new QueuedFrame(frame, promise, droppable, key);
+        queue.addLast(queued);
+        queuedBytes += queued.size;
+        metrics.queued(queued.size);
+        if (!isOverflowing()) {
+            return;
+        }
+        switch (policy) {
+            case DROP_NEWEST:
+                if (droppable) {
+                    queue.removeLast();
+                    drop(queued);
+                }
+                break;
+            case DROP_OLDEST:
+            case COALESCE_LATEST:
+                Iterator<QueuedFrame> iterator = queue.iterator();
+                while (isOverflowing() && iterator.hasNext()) {
+                    QueuedFrame oldest = iterator.next();
+                    if (oldest.droppable) {
+                        iterator.remove();
+                        drop(oldest);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        if (isOverflowing()) {
+            close(ctx);
+        }
+    }
+
+    private boolean isOverflowing() {
+        return queuedBytes > maxQueuedBytes || queue.size() > maxQueuedMessages;
+    }
+
+    private void drain(ChannelHandlerContext ctx) {
+        while (!queue.isEmpty() && ctx.channel().isWritable()) {
+            QueuedFrame queued = dequeue();
+            ctx.write(queued.frame, queued.promise);
+        }
+    }
+
+    private QueuedFrame dequeue() {
+        QueuedFrame queued = queue.removeFirst();
+        queuedBytes -= queued.size;
+        metrics.dequeued(queued.size);
+        return queued;
+    }
+
+    private void drop(QueuedFrame queued) {
+        queuedBytes -= queued.size;
+        metrics.dequeued(queued.size);
+        metrics.dropped();
+        queued.frame.release();
+        // dropping the frame is the expected outcome of the policy, not a failure of the write
+        queued.promise.trySuccess();
+    }
+
+    private void close(ChannelHandlerContext ctx) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Closing WebSocket session of channel {}: {} queued bytes and {} queued frames exceed the limits", ctx.channel(), queuedBytes, queue.size());
+        }
+        closing = true;
+        metrics.closed();
+        discardQueue();
+        CloseReason reason = CloseReason.POLICY_VIOLATION;
+        ctx.writeAndFlush(new CloseWebSocketFrame(reason.getCode(), reason.getReason()))
+                .addListener(ChannelFutureListener.CLOSE);
+        // a client that stopped reading may never receive the close frame
+        ctx.executor().schedule(() -> {
+            ctx.close();
+        }, CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void discardQueue() {
+        while (!queue.isEmpty()) {
+            QueuedFrame queued = dequeue();
+            queued.frame.release();
+            queued.promise.tryFailure(new ClosedChannelException());
+        }
+    }
+
+    /**
+     * A frame waiting for the channel to become writable.
+     */
+    private static final class QueuedFrame {
+        final WebSocketFrame frame;
+        final ChannelPromise promise;
+        final long size;
+        final boolean droppable;
+        @Nullable
+        final Object key;
+
+        QueuedFrame(WebSocketFrame frame, ChannelPromise promise, boolean droppable, @Nullable Object key) {
+            this.frame = frame;
+            this.promise = promise;
+            this.size = frame.content().readableBytes();
+            this.droppable = droppable;
+            this.key = key;
+        }
+    }
+}
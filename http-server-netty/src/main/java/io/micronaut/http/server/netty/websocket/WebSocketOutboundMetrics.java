@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.websocket;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.websocket.context.WebSocketBeanRegistry;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the frames queued for WebSocket sessions that are not writable, aggregated over every session of the
+ * server. The frames are only queued when an outbound policy other than
+ * {@link io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration.WebSocketSettings.OutboundPolicy#UNBOUNDED}
+ * is configured.
+ *
+ * @since 4.0.0
+ */
+@Requires(classes = WebSocketBeanRegistry.class)
+@Singleton
+public final class WebSocketOutboundMetrics {
+
+    private final LongAdder queuedBytes = new LongAdder();
+    private final LongAdder queuedFrames = new LongAdder();
+    private final LongAdder droppedFrames = new LongAdder();
+    private final LongAdder closedSessions = new LongAdder();
+
+    /**
+     * @return The number of bytes currently queued
+     */
+    public long getQueuedBytes() {
+        return queuedBytes.sum();
+    }
+
+    /**
+     * @return The number of frames currently queued
+     */
+    public long getQueuedFrames() {
+        return queuedFrames.sum();
+    }
+
+    /**
+     * @return The total number of frames dropped by the outbound policy
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.sum();
+    }
+
+    /**
+     * @return The total number of sessions closed by the outbound policy
+     */
+    public long getClosedSessions() {
+        return closedSessions.sum();
+    }
+
+    /**
+     * @param bytes The size of the frame that was queued
+     */
+    void queued(long bytes) {
+        queuedBytes.add(bytes);
+        queuedFrames.increment();
+    }
+
+    /**
+     * @param bytes The size of the frame that left the queue
+     */
+    void dequeued(long bytes) {
+        queuedBytes.add(-bytes);
+        queuedFrames.decrement();
+    }
+
+    /**
+     * A frame was dropped.
+     */
+    void dropped() {
+        droppedFrames.increment();
+    }
+
+    /**
+     * A session was closed.
+     */
+    void closed() {
+        closedSessions.increment();
+    }
+}
@@ -17,9 +17,11 @@ package io.micronaut.http.server.netty.websocket;
 
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.server.netty.NettyEmbeddedServer;
 import io.micronaut.http.server.netty.NettyEmbeddedServices;
 import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.websocket.context.WebSocketBeanRegistry;
 import io.netty.channel.SimpleChannelInboundHandler;
 import jakarta.inject.Singleton;
@@ -34,6 +36,24 @@ import jakarta.inject.Singleton;
 @Singleton
 @Internal
 public final class WebSocketUpgradeHandlerFactory {
+    private final NettyHttpServerConfiguration.WebSocketSettings webSocketSettings;
+    private final WebSocketOutboundMetrics outboundMetrics;
+    @Nullable
+    private final WebSocketCoalescingKeyResolver coalescingKeyResolver;
+
+    /**
+     * @param serverConfiguration   The server configuration
+     * @param outboundMetrics       The metrics of the frames queued for slow sessions
+     * @param coalescingKeyResolver The key resolver used to coalesce the frames queued for slow sessions
+     */
+    public WebSocketUpgradeHandlerFactory(NettyHttpServerConfiguration serverConfiguration,
+                                          WebSocketOutboundMetrics outboundMetrics,
+                                          @Nullable WebSocketCoalescingKeyResolver coalescingKeyResolver) {
+        this.webSocketSettings = serverConfiguration.getWebsocket();
+        this.outboundMetrics = outboundMetrics;
+        this.coalescingKeyResolver = coalescingKeyResolver;
+    }
+
     /**
      * Creates the websocket upgrade inbound handler.
      * @param embeddedServer The server
@@ -41,6 +61,10 @@ public final class WebSocketUpgradeHandlerFactory {
      * @return The handler
      */
     public SimpleChannelInboundHandler<NettyHttpRequest<?>> create(NettyEmbeddedServer embeddedServer, NettyEmbeddedServices nettyEmbeddedServices) {
-        return new NettyServerWebSocketUpgradeHandler(nettyEmbeddedServices, embeddedServer);
+        NettyServerWebSocketUpgradeHandler handler = new NettyServerWebSocketUpgradeHandler(nettyEmbeddedServices, embeddedServer);
+        if (webSocketSettings.getOutboundPolicy() != NettyHttpServerConfiguration.WebSocketSettings.OutboundPolicy.UNBOUNDED) {
+            handler.setOutboundHandlerFactory(() -> new WebSocketOutboundHandler(webSocketSettings, outboundMetrics, coalescingKeyResolver));
+        }
+        return handler;
     }
 }
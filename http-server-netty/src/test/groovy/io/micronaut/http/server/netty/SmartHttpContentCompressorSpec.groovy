@@ -1,9 +1,21 @@
 package io.micronaut.http.server.netty
 
+import com.aayushatharva.brotli4j.decoder.Decoder
+import com.github.luben.zstd.ZstdInputStream
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.Unpooled
+import io.netty.channel.embedded.EmbeddedChannel
+import io.netty.handler.codec.compression.Brotli
+import io.netty.handler.codec.compression.Zstd
 import io.netty.handler.codec.http.*
+import spock.lang.IgnoreIf
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.nio.charset.StandardCharsets
+import java.util.zip.GZIPInputStream
+import java.util.zip.InflaterInputStream
+
 class SmartHttpContentCompressorSpec extends Specification {
 
     private static String compressible = "text/html"
@@ -34,4 +46,134 @@ class SmartHttpContentCompressorSpec extends Specification {
         inCompressible | 0      | true      // incompressible, always skip
         null           | null   | true      // if the content type is unknown, skip
     }
+
+    void "test a response with a content encoding is not encoded again"() {
+        given:
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK)
+        response.headers().add(HttpHeaderNames.CONTENT_TYPE, compressible)
+        response.headers().add(HttpHeaderNames.CONTENT_ENCODING, "br")
+
+        expect:
+        new SmartHttpContentCompressor(new DefaultHttpCompressionStrategy(1024, 6)).shouldSkip(response)
+    }
+
+    @Unroll
+    @IgnoreIf({ !Brotli.isAvailable() || !Zstd.isAvailable() })
+    void "test Accept-Encoding #acceptEncoding selects #expected"() {
+        given:
+        String content = "compress me " * 200
+        EmbeddedChannel channel = new EmbeddedChannel(new SmartHttpContentCompressor(new DefaultHttpCompressionStrategy(1024, 6)))
+
+        when:
+        HttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/")
+        if (acceptEncoding != null) {
+            request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, acceptEncoding)
+        }
+        channel.writeInbound(request)
+        channel.writeOutbound(textResponse(content))
+        def (HttpResponse response, byte[] body) = readResponse(channel)
+
+        then:
+        response.headers().get(HttpHeaderNames.CONTENT_ENCODING) == expected
+        new String(decode(body, expected), StandardCharsets.UTF_8) == content
+
+        cleanup:
+        channel.finishAndReleaseAll()
+
+        where:
+        acceptEncoding                 | expected
+        "gzip"                         | "gzip"
+        "deflate"                      | "deflate"
+        "gzip, deflate, br"            | "br"
+        "zstd, gzip"                   | "zstd"
+        "gzip;q=1.0, br;q=0.5"         | "gzip"
+        "br;q=0, *"                    | "zstd"
+        "gzip;q=0.5, identity"         | null
+        "identity"                     | null
+        "*;q=0"                        | null
+        "unknown"                      | null
+        null                           | null
+    }
+
+    void "test encodings are limited to the ones of the strategy"() {
+        given:
+        String content = "compress me " * 200
+        def strategy = new DefaultHttpCompressionStrategy(1024, 6, [:], ["gzip"])
+        EmbeddedChannel channel = new EmbeddedChannel(new SmartHttpContentCompressor(strategy))
+
+        when:
+        HttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/")
+        request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, "br, zstd, gzip;q=0.1")
+        channel.writeInbound(request)
+        channel.writeOutbound(textResponse(content))
+        def (HttpResponse response, byte[] body) = readResponse(channel)
+
+        then:
+        response.headers().get(HttpHeaderNames.CONTENT_ENCODING) == "gzip"
+        response.headers().get(HttpHeaderNames.VARY) == "accept-encoding"
+        new String(decode(body, "gzip"), StandardCharsets.UTF_8) == content
+
+        cleanup:
+        channel.finishAndReleaseAll()
+    }
+
+    @Unroll
+    void "test the compression level of #type is #level"() {
+        given:
+        def strategy = new DefaultHttpCompressionStrategy(1024, 6, ["text/html": 9, "image/*": 1], ["gzip"])
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK)
+        response.headers().add(HttpHeaderNames.CONTENT_TYPE, type)
+
+        expect:
+        strategy.getCompressionLevel(response) == level
+
+        where:
+        type                       | level
+        "text/html"                | 9
+        "text/html; charset=UTF-8" | 9
+        "image/svg+xml"            | 1
+        "application/json"         | 6
+    }
+
+    private static FullHttpResponse textResponse(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8)
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer(bytes))
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/plain")
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, bytes.length)
+        return response
+    }
+
+    private static List<Object> readResponse(EmbeddedChannel channel) {
+        HttpResponse response = null
+        ByteArrayOutputStream body = new ByteArrayOutputStream()
+        Object message
+        while ((message = channel.readOutbound()) != null) {
+            if (message instanceof HttpResponse) {
+                response = (HttpResponse) message
+            }
+            if (message instanceof HttpContent) {
+                ByteBuf content = ((HttpContent) message).content()
+                byte[] bytes = new byte[content.readableBytes()]
+                content.readBytes(bytes)
+                body.write(bytes)
+                content.release()
+            }
+        }
+        return [response, body.toByteArray()]
+    }
+
+    private static byte[] decode(byte[] body, String encoding) {
+        switch (encoding) {
+            case "gzip":
+                return new GZIPInputStream(new ByteArrayInputStream(body)).bytes
+            case "deflate":
+                return new InflaterInputStream(new ByteArrayInputStream(body)).bytes
+            case "br":
+                return Decoder.decompress(body).decompressedData
+            case "zstd":
+                return new ZstdInputStream(new ByteArrayInputStream(body)).bytes
+            default:
+                return body
+        }
+    }
 }
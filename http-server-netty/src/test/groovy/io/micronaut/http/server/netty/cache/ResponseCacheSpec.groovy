@@ -0,0 +1,184 @@
+package io.micronaut.http.server.netty.cache
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.client.HttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.scheduling.TaskExecutors
+import io.micronaut.scheduling.annotation.ExecuteOn
+import reactor.core.publisher.Flux
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class ResponseCacheSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+            'spec.name'                           : 'ResponseCacheSpec',
+            'micronaut.server.response-cache.enabled': true,
+    ])
+
+    @Shared
+    @AutoCleanup
+    HttpClient client = server.applicationContext.createBean(HttpClient, server.URL)
+
+    @Shared
+    CacheController controller = server.applicationContext.getBean(CacheController)
+
+    void "test responses of annotated routes are served from the cache"() {
+        when:
+        HttpResponse<String> first = client.toBlocking().exchange('/cache/text', String)
+        HttpResponse<String> second = client.toBlocking().exchange('/cache/text', String)
+
+        then:
+        first.body() == 'text 1'
+        second.body() == 'text 1'
+        controller.text.get() == 1
+        first.header(HttpHeaders.ETAG) != null
+        second.header(HttpHeaders.ETAG) == first.header(HttpHeaders.ETAG)
+        second.header(HttpHeaders.AGE) != null
+    }
+
+    void "test encoded objects are cached"() {
+        when:
+        Map first = client.toBlocking().retrieve('/cache/json', Map)
+        Map second = client.toBlocking().retrieve('/cache/json', Map)
+
+        then:
+        first == [count: 1]
+        second == [count: 1]
+    }
+
+    void "test a matching If-None-Match header is answered with 304"() {
+        given:
+        String etag = client.toBlocking().exchange('/cache/text', String).header(HttpHeaders.ETAG)
+
+        when:
+        HttpResponse<?> response = client.toBlocking().exchange(HttpRequest.GET('/cache/text').header(HttpHeaders.IF_NONE_MATCH, etag))
+
+        then:
+        response.status == HttpStatus.NOT_MODIFIED
+        response.header(HttpHeaders.ETAG) == etag
+    }
+
+    void "test the vary headers select the variant"() {
+        when:
+        String a1 = client.toBlocking().retrieve(HttpRequest.GET('/cache/tenant').header('X-Tenant', 'a'))
+        String b1 = client.toBlocking().retrieve(HttpRequest.GET('/cache/tenant').header('X-Tenant', 'b'))
+        String a2 = client.toBlocking().retrieve(HttpRequest.GET('/cache/tenant').header('X-Tenant', 'a'))
+
+        then:
+        a1 == 'a 1'
+        b1 == 'b 2'
+        a2 == 'a 1'
+    }
+
+    void "test Cache-Control decides whether responses of other routes are cached"() {
+        when:
+        client.toBlocking().exchange('/cache/public', String)
+        client.toBlocking().exchange('/cache/public', String)
+        client.toBlocking().exchange('/cache/no-store', String)
+        client.toBlocking().exchange('/cache/no-store', String)
+        client.toBlocking().exchange('/cache/plain', String)
+        client.toBlocking().exchange('/cache/plain', String)
+
+        then:
+        controller.publicCount.get() == 1
+        controller.noStoreCount.get() == 2
+        controller.plainCount.get() == 2
+    }
+
+    void "test concurrent misses are coalesced"() {
+        when:
+        List<String> bodies = Collections.synchronizedList([])
+        3.times {
+            Flux.from(client.retrieve(HttpRequest.GET('/cache/slow'), String)).subscribe { bodies.add(it) }
+        }
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            controller.slowCount.get() == 1
+        }
+
+        when:
+        // give the other requests time to reach the filter
+        Thread.sleep(200)
+        controller.gate.countDown()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            bodies == ['slow 1', 'slow 1', 'slow 1']
+        }
+        controller.slowCount.get() == 1
+    }
+
+    @Requires(property = 'spec.name', value = 'ResponseCacheSpec')
+    @Controller('/cache')
+    static class CacheController {
+        AtomicInteger text = new AtomicInteger()
+        AtomicInteger json = new AtomicInteger()
+        AtomicInteger tenantCount = new AtomicInteger()
+        AtomicInteger publicCount = new AtomicInteger()
+        AtomicInteger noStoreCount = new AtomicInteger()
+        AtomicInteger plainCount = new AtomicInteger()
+        AtomicInteger slowCount = new AtomicInteger()
+        CountDownLatch gate = new CountDownLatch(1)
+
+        @CacheResponse(ttl = '1m')
+        @Get(value = '/text', produces = 'text/plain')
+        String text() {
+            'text ' + text.incrementAndGet()
+        }
+
+        @CacheResponse
+        @Get('/json')
+        Map json() {
+            [count: json.incrementAndGet()]
+        }
+
+        @CacheResponse(vary = 'X-Tenant')
+        @Get(value = '/tenant', produces = 'text/plain')
+        String tenant(@Header('X-Tenant') String tenant) {
+            tenant + ' ' + tenantCount.incrementAndGet()
+        }
+
+        @Get(value = '/public', produces = 'text/plain')
+        HttpResponse<String> publicResponse() {
+            HttpResponse.ok('public ' + publicCount.incrementAndGet()).header(HttpHeaders.CACHE_CONTROL, 'public, max-age=60')
+        }
+
+        @CacheResponse
+        @Get(value = '/no-store', produces = 'text/plain')
+        HttpResponse<String> noStore() {
+            HttpResponse.ok('no-store ' + noStoreCount.incrementAndGet()).header(HttpHeaders.CACHE_CONTROL, 'no-store')
+        }
+
+        @Get(value = '/plain', produces = 'text/plain')
+        String plain() {
+            'plain ' + plainCount.incrementAndGet()
+        }
+
+        @CacheResponse
+        @ExecuteOn(TaskExecutors.BLOCKING)
+        @Get(value = '/slow', produces = 'text/plain')
+        String slow() {
+            int count = slowCount.incrementAndGet()
+            gate.await(10, TimeUnit.SECONDS)
+            'slow ' + count
+        }
+    }
+}
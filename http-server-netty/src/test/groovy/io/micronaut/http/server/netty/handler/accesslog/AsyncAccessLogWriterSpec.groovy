@@ -0,0 +1,116 @@
+package io.micronaut.http.server.netty.handler.accesslog
+
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration.AccessLogger.OverflowPolicy
+import io.micronaut.http.server.netty.handler.accesslog.element.AccessLog
+import io.micronaut.http.server.netty.handler.accesslog.element.AccessLogFormatParser
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.ByteBufAllocator
+import io.netty.buffer.UnpooledByteBufAllocator
+import io.netty.handler.codec.http.DefaultHttpHeaders
+import org.slf4j.Logger
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.CountDownLatch
+
+class AsyncAccessLogWriterSpec extends Specification {
+
+    void "test lines are appended to the file in batches"() {
+        given:
+        Path file = Files.createTempFile("access", ".log")
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(Stub(Logger), file, 16, 4, OverflowPolicy.BLOCK)
+
+        when:
+        for (int i = 0; i < 100; i++) {
+            writer.append(accessLog("/path" + i), ByteBufAllocator.DEFAULT)
+        }
+        writer.close()
+
+        then:
+        Files.readAllLines(file) == (0..<100).collect { "GET /path$it -".toString() }
+        writer.writtenLines == 100
+        writer.droppedLines == 0
+        writer.failedLines == 0
+
+        cleanup:
+        Files.deleteIfExists(file)
+    }
+
+    void "test lines are dropped when the queue is full"() {
+        given:
+        CountDownLatch latch = new CountDownLatch(1)
+        List<String> lines = Collections.synchronizedList([])
+        Logger logger = Stub(Logger) {
+            isInfoEnabled() >> true
+            info(_ as String) >> { String line ->
+                latch.await()
+                lines.add(line)
+            }
+        }
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(logger, null, 2, 1, OverflowPolicy.DROP)
+
+        when:
+        for (int i = 0; i < 10; i++) {
+            writer.append(accessLog("/path" + i), ByteBufAllocator.DEFAULT)
+        }
+        latch.countDown()
+        writer.close()
+
+        then:
+        writer.droppedLines >= 7
+        writer.writtenLines + writer.droppedLines == 10
+        lines.size() == writer.writtenLines
+        lines.every { it.startsWith("GET /path") }
+    }
+
+    void "test lines appended after closing are dropped"() {
+        given:
+        Path file = Files.createTempFile("access", ".log")
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(Stub(Logger), file, 16, 4, OverflowPolicy.DROP)
+
+        when:
+        writer.close()
+        writer.append(accessLog("/late"), ByteBufAllocator.DEFAULT)
+
+        then:
+        writer.droppedLines == 1
+        Files.size(file) == 0
+
+        cleanup:
+        Files.deleteIfExists(file)
+    }
+
+    void "test lines queued while closing are released"() {
+        given:
+        Path file = Files.createTempFile("access", ".log")
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(Stub(Logger), file, 16, 4, OverflowPolicy.DROP)
+        ByteBuf line = null
+        // closes the writer after append checked the flag, but before the line is queued
+        ByteBufAllocator allocator = new UnpooledByteBufAllocator(false) {
+            @Override
+            ByteBuf buffer() {
+                writer.close()
+                line = super.buffer()
+                return line
+            }
+        }
+
+        when:
+        writer.append(accessLog("/late"), allocator)
+
+        then:
+        line.refCnt() == 0
+        writer.droppedLines == 1
+        writer.writtenLines == 0
+
+        cleanup:
+        Files.deleteIfExists(file)
+    }
+
+    private static AccessLog accessLog(String uri) {
+        AccessLog accessLog = new AccessLogFormatParser("%m %U %s").newAccessLogger()
+        accessLog.onRequestHeaders(null, "GET", new DefaultHttpHeaders(), uri, "HTTP/1.1")
+        return accessLog
+    }
+}
@@ -0,0 +1,140 @@
+package io.micronaut.http.server.netty.limit
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.filter.ServerFilterChain
+import io.micronaut.http.server.limit.ConcurrencyLimitFilter
+import io.micronaut.http.server.limit.ConcurrencyLimiter
+import io.micronaut.runtime.server.EmbeddedServer
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CompletableFuture
+
+class ConcurrencyLimitSpec extends Specification {
+
+    void "test requests above the limit are rejected"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'spec.name'                                                 : 'ConcurrencyLimitSpec',
+                'micronaut.server.concurrency-limit.enabled'                : true,
+                'micronaut.server.concurrency-limit.algorithm'              : 'AIMD',
+                'micronaut.server.concurrency-limit.initial-limit'          : 1,
+                'micronaut.server.concurrency-limit.max-limit'              : 1,
+                'micronaut.server.concurrency-limit.retry-after'            : '2s',
+                'micronaut.server.concurrency-limit.exclusions'             : ['/limit/probe'],
+                'micronaut.server.concurrency-limit.partitions.admin.patterns': ['/limit/admin/**'],
+                'micronaut.server.concurrency-limit.partitions.admin.percent' : 100,
+        ])
+        HttpClient client = server.applicationContext.createBean(HttpClient, server.URL)
+        ConcurrencyLimiter limiter = server.applicationContext.getBean(ConcurrencyLimiter)
+        LimitController controller = server.applicationContext.getBean(LimitController)
+
+        when:
+        Flux.from(client.exchange(HttpRequest.GET('/limit/slow'), String)).subscribe()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            limiter.inFlight == 1
+        }
+
+        when:
+        client.toBlocking().exchange('/limit/fast', String)
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.SERVICE_UNAVAILABLE
+        e.response.header(HttpHeaders.RETRY_AFTER) == '2'
+        limiter.rejectedCount == 1
+        limiter.getRejectedCount('default') == 1
+
+        expect:
+        client.toBlocking().retrieve('/limit/probe') == 'probe'
+        client.toBlocking().retrieve('/limit/admin/status') == 'admin'
+        limiter.getRejectedCount('admin') == 0
+
+        when:
+        controller.future.complete('slow')
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            limiter.inFlight == 0
+        }
+        client.toBlocking().retrieve('/limit/fast') == 'fast'
+        limiter.limit == 1
+
+        cleanup:
+        client.close()
+        server.close()
+    }
+
+    void "test permits are not leaked by failing or unsubscribed filter chains"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run([
+                'micronaut.server.concurrency-limit.enabled'      : true,
+                'micronaut.server.concurrency-limit.initial-limit': 1,
+        ])
+        ConcurrencyLimiter limiter = ctx.getBean(ConcurrencyLimiter)
+        ConcurrencyLimitFilter filter = ctx.getBean(ConcurrencyLimitFilter)
+        ServerFilterChain failingChain = Mock(ServerFilterChain) {
+            proceed(_) >> { throw new IllegalStateException('bad') }
+        }
+        ServerFilterChain chain = Mock(ServerFilterChain) {
+            proceed(_) >> Mono.just(HttpResponse.ok())
+        }
+
+        when:
+        Flux.from(filter.doFilter(HttpRequest.GET('/limit/fast'), failingChain)).blockLast()
+
+        then:
+        thrown(IllegalStateException)
+        limiter.inFlight == 0
+
+        when:
+        filter.doFilter(HttpRequest.GET('/limit/fast'), chain)
+
+        then:
+        limiter.inFlight == 0
+        Flux.from(filter.doFilter(HttpRequest.GET('/limit/fast'), chain)).blockLast().status() == HttpStatus.OK
+        limiter.inFlight == 0
+
+        cleanup:
+        ctx.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'ConcurrencyLimitSpec')
+    @Controller('/limit')
+    static class LimitController {
+        final CompletableFuture<String> future = new CompletableFuture<>()
+
+        @Get('/slow')
+        Mono<String> slow() {
+            Mono.fromFuture(future)
+        }
+
+        @Get('/fast')
+        String fast() {
+            'fast'
+        }
+
+        @Get('/probe')
+        String probe() {
+            'probe'
+        }
+
+        @Get('/admin/status')
+        String admin() {
+            'admin'
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.micronaut.http.server.netty.resources
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.GZIPOutputStream
+
+class PrecompressedStaticResourceSpec extends Specification {
+
+    @Shared
+    Path dir = Files.createTempDirectory("precompressed-static-resource-spec")
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer
+
+    @Shared
+    byte[] original = ("console.log('precompressed');\n" * 100).bytes
+
+    @Shared
+    byte[] gzipped
+
+    def setupSpec() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream()
+        new GZIPOutputStream(out).withCloseable { it.write(original) }
+        gzipped = out.toByteArray()
+        Files.write(dir.resolve("app.js"), original)
+        Files.write(dir.resolve("app.js.gz"), gzipped)
+        Files.write(dir.resolve("app.js.br"), "not really brotli".bytes)
+        Files.write(dir.resolve("plain.js"), original)
+        embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'micronaut.router.static-resources.default.paths'     : ['file:' + dir.toAbsolutePath()],
+                'micronaut.server.netty.responses.file.precompressed': ['br', 'gzip']
+        ])
+    }
+
+    def cleanupSpec() {
+        dir.toFile().deleteDir()
+    }
+
+    @Unroll
+    void "test Accept-Encoding #acceptEncoding serves #expectedEncoding"() {
+        when:
+        HttpURLConnection connection = (HttpURLConnection) new URL(embeddedServer.URL, "/app.js").openConnection()
+        if (acceptEncoding != null) {
+            connection.setRequestProperty("Accept-Encoding", acceptEncoding)
+        }
+        byte[] body = connection.inputStream.bytes
+
+        then:
+        connection.responseCode == 200
+        connection.getHeaderField("Content-Type") == "application/javascript"
+        connection.getHeaderField("Content-Encoding") == expectedEncoding
+        connection.getHeaderFields().get("Vary") == ["Accept-Encoding"]
+        body == expectedBody
+
+        where:
+        acceptEncoding      | expectedEncoding
+        "gzip, deflate, br" | "br"
+        "gzip"              | "gzip"
+        "br;q=0.5, gzip"    | "gzip"
+        "identity"          | null
+        null                | null
+
+        expectedBody = expectedEncoding == "br" ? "not really brotli".bytes : expectedEncoding == "gzip" ? gzipped : original
+    }
+
+    void "test the precompressed file is revalidated with its own entity tag"() {
+        when:
+        HttpURLConnection connection = (HttpURLConnection) new URL(embeddedServer.URL, "/app.js").openConnection()
+        connection.setRequestProperty("Accept-Encoding", "gzip")
+        connection.inputStream.bytes
+        String etag = connection.getHeaderField("ETag")
+
+        HttpURLConnection plain = (HttpURLConnection) new URL(embeddedServer.URL, "/app.js").openConnection()
+        plain.inputStream.bytes
+
+        HttpURLConnection revalidation = (HttpURLConnection) new URL(embeddedServer.URL, "/app.js").openConnection()
+        revalidation.setRequestProperty("Accept-Encoding", "gzip")
+        revalidation.setRequestProperty("If-None-Match", etag)
+
+        then:
+        connection.getHeaderField("Vary") == "Accept-Encoding"
+        etag != null
+        etag != plain.getHeaderField("ETag")
+        revalidation.responseCode == 304
+        revalidation.getHeaderField("Vary") == "Accept-Encoding"
+    }
+
+    void "test a resource without precompressed files is compressed on the fly"() {
+        when:
+        HttpURLConnection connection = (HttpURLConnection) new URL(embeddedServer.URL, "/plain.js").openConnection()
+        connection.setRequestProperty("Accept-Encoding", "gzip")
+        connection.inputStream.bytes
+
+        then:
+        connection.responseCode == 200
+        connection.getHeaderField("Content-Encoding") == "gzip"
+        connection.getHeaderFields().get("Vary") == ["Accept-Encoding"]
+    }
+}
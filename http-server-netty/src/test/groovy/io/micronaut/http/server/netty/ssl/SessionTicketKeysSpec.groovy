@@ -0,0 +1,102 @@
+package io.micronaut.http.server.netty.ssl
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.ssl.ServerSslConfiguration
+import io.micronaut.http.ssl.SslConfigurationException
+import io.micronaut.scheduling.TaskScheduler
+import io.netty.handler.ssl.OpenSsl
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+import java.time.Duration
+
+class SessionTicketKeysSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    void "test keys are read from a key file"() {
+        given:
+        byte[] data = new byte[96]
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i
+        }
+
+        when:
+        def keys = SessionTicketKeys.readKeys(data)
+
+        then:
+        keys.length == 2
+        keys[0].name() == (0..15) as byte[]
+        keys[0].hmacKey() == (16..31) as byte[]
+        keys[0].aesKey() == (32..47) as byte[]
+        keys[1].name() == (48..63) as byte[]
+    }
+
+    void "test a key file with a partial key is rejected"() {
+        when:
+        SessionTicketKeys.readKeys(new byte[length])
+
+        then:
+        thrown(SslConfigurationException)
+
+        where:
+        length << [0, 47, 50]
+    }
+
+    void "test the keys are reloaded when the key file changes"() {
+        given:
+        Path keyFile = tempDir.resolve('ticket.key')
+        Files.write(keyFile, new byte[48])
+        def configuration = new ServerSslConfiguration()
+        configuration.sessionTicketKeyPath = keyFile.toString()
+        Duration scheduledInterval = null
+        def scheduler = [scheduleWithFixedDelay: { Duration initialDelay, Duration delay, Runnable command ->
+            scheduledInterval = delay
+            null
+        }] as TaskScheduler
+
+        when:
+        def ticketKeys = new SessionTicketKeys(configuration, scheduler)
+
+        then:
+        scheduledInterval == configuration.sessionTicketKeyRefreshInterval
+        ticketKeys.keys.length == 1
+
+        when:
+        Files.write(keyFile, new byte[96])
+        Files.setLastModifiedTime(keyFile, FileTime.fromMillis(Files.getLastModifiedTime(keyFile).toMillis() + 1000))
+        ticketKeys.refresh()
+
+        then:
+        ticketKeys.keys.length == 2
+
+        when:
+        // an invalid file keeps the previous keys
+        Files.write(keyFile, new byte[10])
+        Files.setLastModifiedTime(keyFile, FileTime.fromMillis(Files.getLastModifiedTime(keyFile).toMillis() + 2000))
+        ticketKeys.refresh()
+
+        then:
+        ticketKeys.keys.length == 2
+    }
+
+    void "test the keys are only loaded when OpenSSL is available"() {
+        given:
+        Path keyFile = tempDir.resolve('ticket.key')
+        Files.write(keyFile, new byte[48])
+        ApplicationContext ctx = ApplicationContext.run([
+                'micronaut.server.ssl.enabled'               : true,
+                'micronaut.server.ssl.session-ticket-key-path': keyFile.toString(),
+        ])
+
+        expect:
+        ctx.containsBean(SessionTicketKeys) == OpenSsl.isAvailable()
+
+        cleanup:
+        ctx.close()
+    }
+}
@@ -1,7 +1,13 @@
 package io.micronaut.http.server.netty.ssl
 
 import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
 import io.micronaut.core.annotation.NonNull
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.netty.DefaultHttpClient
+import io.micronaut.http.server.netty.NettyHttpServer
 import io.micronaut.runtime.server.EmbeddedServer
 import io.netty.bootstrap.Bootstrap
 import io.netty.channel.ChannelHandlerContext
@@ -17,10 +23,12 @@ import io.netty.handler.ssl.SslContextBuilder
 import io.netty.handler.ssl.SupportedCipherSuiteFilter
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
 
 import javax.net.ssl.SSLContext
 import javax.net.ssl.SSLParameters
 import javax.net.ssl.SSLSocket
+import java.time.Duration
 import java.util.concurrent.CompletableFuture
 
 class SslServerSpec extends Specification {
@@ -117,4 +125,80 @@ class SslServerSpec extends Specification {
         embeddedServer.close()
 
     }
+
+    def 'handshakes are counted and sessions are resumed per remote'() {
+        given:
+        def app = ApplicationContext.run([
+                'spec.name': 'SslServerSpec',
+                "micronaut.ssl.enabled": true,
+                "micronaut.server.ssl.buildSelfSigned": true,
+                "micronaut.server.ssl.port": -1,
+                "micronaut.server.ssl.session-cache-size": 100,
+                "micronaut.server.ssl.session-timeout": '5m',
+                "micronaut.http.client.ssl.insecure-trust-all-certificates": true,
+                // open a new connection for every request
+                "micronaut.http.client.pool.enabled": false,
+        ])
+        def embeddedServer = app.getBean(EmbeddedServer)
+        embeddedServer.start()
+        def serverMetrics = ((NettyHttpServer) embeddedServer).sslHandshakeMetrics
+        def client = (DefaultHttpClient) app.createBean(HttpClient, new URL("https://localhost:${embeddedServer.port}"))
+        def clientMetrics = client.sslHandshakeMetrics
+
+        expect:
+        app.getBean(ServerSslBuilder).build().get().sessionCacheSize() == 100
+        app.getBean(ServerSslBuilder).build().get().sessionTimeout() == 300
+
+        when:
+        client.toBlocking().retrieve('/ssl-metrics')
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert serverMetrics.fullHandshakeCount == 1
+        }
+        serverMetrics.resumedHandshakeCount == 0
+        clientMetrics.fullHandshakeCount == 1
+        clientMetrics.resumedHandshakeCount == 0
+
+        when:
+        // the second connection to the same remote resumes the session of the first one
+        client.toBlocking().retrieve('/ssl-metrics')
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert serverMetrics.resumedHandshakeCount == 1
+        }
+        serverMetrics.fullHandshakeCount == 1
+        serverMetrics.failedHandshakeCount == 0
+        serverMetrics.resumptionHitRatio == 0.5d
+        clientMetrics.fullHandshakeCount == 1
+        clientMetrics.resumedHandshakeCount == 1
+        clientMetrics.resumptionHitRatio == 0.5d
+
+        when:
+        // another remote has no session to resume yet, although it is the same server
+        client.toBlocking().retrieve("https://127.0.0.1:${embeddedServer.port}/ssl-metrics")
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert serverMetrics.fullHandshakeCount == 2
+        }
+        serverMetrics.resumedHandshakeCount == 1
+        clientMetrics.fullHandshakeCount == 2
+        clientMetrics.resumedHandshakeCount == 1
+        serverMetrics.averageHandshakeTime > Duration.ZERO
+
+        cleanup:
+        client.close()
+        embeddedServer.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'SslServerSpec')
+    @Controller('/ssl-metrics')
+    static class MetricsController {
+        @Get
+        String index() {
+            'ok'
+        }
+    }
 }
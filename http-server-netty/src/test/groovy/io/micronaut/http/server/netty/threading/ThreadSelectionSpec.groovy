@@ -14,11 +14,13 @@ import io.micronaut.http.annotation.Filter
 import io.micronaut.http.annotation.Get
 import io.micronaut.http.annotation.Post
 import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.context.ServerRequestContext
 import io.micronaut.http.filter.HttpServerFilter
 import io.micronaut.http.filter.ServerFilterChain
 import io.micronaut.http.server.exceptions.ExceptionHandler
 import io.micronaut.http.sse.Event
 import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.scheduling.LoomSupport
 import io.micronaut.scheduling.TaskExecutors
 import io.micronaut.scheduling.annotation.ExecuteOn
 import io.micronaut.scheduling.executor.ThreadSelection
@@ -28,6 +30,7 @@ import org.reactivestreams.Publisher
 import reactor.core.publisher.Flux
 import reactor.core.publisher.FluxSink
 import reactor.core.publisher.Mono
+import spock.lang.Requires
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -37,6 +40,7 @@ class ThreadSelectionSpec extends Specification {
 
     static final String IO = "io-executor-thread-"
     static final String LOOP = "default-nioEventLoopGroup"
+    static final String VIRTUAL = "virtual-executor"
 
     @Unroll
     void "test thread selection strategy #strategy"() {
@@ -130,6 +134,24 @@ class ThreadSelectionSpec extends Specification {
         ThreadSelection.MANUAL |  "controller: $LOOP" | "handler: $LOOP"
     }
 
+    @Requires({ LoomSupport.isSupported() })
+    void "test virtual thread selection"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['micronaut.server.thread-selection': ThreadSelection.VIRTUAL])
+        ThreadSelectionClient client = embeddedServer.applicationContext.getBean(ThreadSelectionClient)
+
+        expect:
+        client.blocking().contains(VIRTUAL)
+        client.nonblocking().contains(LOOP)
+        client.reactive().contains(LOOP)
+        client.reactiveBlocking().contains(VIRTUAL)
+        client.scheduleBlocking().contains(IO)
+        client.requestContext() == "request: /thread-selection/request-context"
+
+        cleanup:
+        embeddedServer.close()
+    }
+
     void "test injecting an executor service does not inject the Netty event loop"() {
         given:
         EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer)
@@ -179,6 +201,9 @@ class ThreadSelectionSpec extends Specification {
 
         @Get("/scheduleexception")
         String scheduleException()
+
+        @Get("/request-context")
+        String requestContext()
     }
 
     @Controller("/thread-selection")
@@ -253,6 +278,11 @@ class ThreadSelectionSpec extends Specification {
             throw new MyExceptionScheduled()
         }
 
+        @Get("/request-context")
+        String requestContext() {
+            return "request: ${ServerRequestContext.currentRequest().map({ it.path }).orElse(null)}"
+        }
+
         @Error(MyExceptionWithErrorRoute.class)
         HttpResponse errorRoute(MyExceptionWithErrorRoute e) {
             return HttpResponse.ok("handler: ${Thread.currentThread().name}, controller: " + e.getMessage())
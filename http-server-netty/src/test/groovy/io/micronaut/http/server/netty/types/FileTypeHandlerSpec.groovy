@@ -47,13 +47,19 @@ import java.time.ZonedDateTime
 import java.time.temporal.ChronoUnit
 import java.util.concurrent.ExecutorService
 
+import static io.micronaut.http.HttpHeaders.ACCEPT_RANGES
 import static io.micronaut.http.HttpHeaders.CACHE_CONTROL
 import static io.micronaut.http.HttpHeaders.CONTENT_DISPOSITION
 import static io.micronaut.http.HttpHeaders.CONTENT_LENGTH
+import static io.micronaut.http.HttpHeaders.CONTENT_RANGE
 import static io.micronaut.http.HttpHeaders.CONTENT_TYPE
 import static io.micronaut.http.HttpHeaders.DATE
+import static io.micronaut.http.HttpHeaders.ETAG
 import static io.micronaut.http.HttpHeaders.EXPIRES
+import static io.micronaut.http.HttpHeaders.IF_NONE_MATCH
+import static io.micronaut.http.HttpHeaders.IF_RANGE
 import static io.micronaut.http.HttpHeaders.LAST_MODIFIED
+import static io.micronaut.http.HttpHeaders.RANGE
 
 class FileTypeHandlerSpec extends AbstractMicronautSpec {
 
@@ -91,6 +97,80 @@ class FileTypeHandlerSpec extends AbstractMicronautSpec {
         response.header(DATE)
     }
 
+    void "test 304 is returned if the entity tag matches"() {
+        given:
+        def etag = rxClient.toBlocking().exchange('/test/html', String).header(ETAG)
+
+        when:
+        MutableHttpRequest<?> request = HttpRequest.GET('/test/html').header(IF_NONE_MATCH, etag)
+        def response = rxClient.toBlocking().exchange(request, String)
+
+        then:
+        etag != null
+        response.code() == HttpStatus.NOT_MODIFIED.code
+        response.header(ETAG) == etag
+    }
+
+    void "test a single byte range is returned"() {
+        when:
+        MutableHttpRequest<?> request = HttpRequest.GET('/test/html').header(RANGE, 'bytes=6-11')
+        def response = rxClient.toBlocking().exchange(request, String)
+
+        then:
+        response.code() == HttpStatus.PARTIAL_CONTENT.code
+        response.header(ACCEPT_RANGES) == "bytes"
+        response.header(CONTENT_RANGE) == "bytes 6-11/${tempFileContents.length()}"
+        response.header(CONTENT_LENGTH) == "6"
+        response.body() == tempFileContents.substring(6, 12)
+    }
+
+    void "test a suffix byte range is returned"() {
+        when:
+        MutableHttpRequest<?> request = HttpRequest.GET('/test/html').header(RANGE, 'bytes=-7')
+        def response = rxClient.toBlocking().exchange(request, String)
+
+        then:
+        response.code() == HttpStatus.PARTIAL_CONTENT.code
+        response.body() == "</html>"
+    }
+
+    void "test multiple byte ranges are returned as multipart"() {
+        when:
+        MutableHttpRequest<?> request = HttpRequest.GET('/test/html').header(RANGE, 'bytes=0-5,12-17')
+        def response = rxClient.toBlocking().exchange(request, String)
+        String body = response.body()
+
+        then:
+        response.code() == HttpStatus.PARTIAL_CONTENT.code
+        response.header(CONTENT_TYPE).startsWith("multipart/byteranges; boundary=")
+        Integer.parseInt(response.header(CONTENT_LENGTH)) == body.length()
+        body.contains("Content-Range: bytes 0-5/${tempFileContents.length()}\r\n\r\n<html>")
+        body.contains("Content-Range: bytes 12-17/${tempFileContents.length()}\r\n\r\n</head")
+    }
+
+    void "test 416 is returned if no range can be satisfied"() {
+        when:
+        MutableHttpRequest<?> request = HttpRequest.GET('/test/html').header(RANGE, 'bytes=1000-')
+        rxClient.toBlocking().exchange(request, String)
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.response.code() == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.code
+        e.response.header(CONTENT_RANGE) == "bytes */${tempFileContents.length()}"
+    }
+
+    void "test the complete file is returned if the If-Range validator does not match"() {
+        when:
+        MutableHttpRequest<?> request = HttpRequest.GET('/test/html')
+                .header(RANGE, 'bytes=0-5')
+                .header(IF_RANGE, '"outdated"')
+        def response = rxClient.toBlocking().exchange(request, String)
+
+        then:
+        response.code() == HttpStatus.OK.code
+        response.body() == tempFileContents
+    }
+
     void "test cache control can be overridden"() {
         when:
         MutableHttpRequest<?> request = HttpRequest.GET('/test/custom-cache-control')
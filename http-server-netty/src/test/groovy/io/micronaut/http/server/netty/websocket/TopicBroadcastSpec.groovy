@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.websocket
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.MediaType
+import io.micronaut.http.netty.websocket.WebSocketSessionRepository
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.websocket.WebSocketBroadcaster
+import io.micronaut.websocket.WebSocketClient
+import io.micronaut.websocket.WebSocketSession
+import io.micronaut.websocket.annotation.ClientWebSocket
+import io.micronaut.websocket.annotation.OnMessage
+import io.micronaut.websocket.annotation.OnOpen
+import io.micronaut.websocket.annotation.ServerWebSocket
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.ConcurrentLinkedQueue
+
+class TopicBroadcastSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'TopicBroadcastSpec'])
+
+    void "test broadcasting to a topic only reaches its subscribers"() {
+        given:
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+        WebSocketClient wsClient = embeddedServer.applicationContext.createBean(WebSocketClient, embeddedServer.getURI())
+        WebSocketBroadcaster broadcaster = embeddedServer.applicationContext.getBean(WebSocketBroadcaster)
+        WebSocketSessionRepository repository = embeddedServer.applicationContext.getBean(WebSocketSessionRepository)
+
+        when:
+        TopicClient fred = Flux.from(wsClient.connect(TopicClient, "/topics/books")).blockFirst()
+        TopicClient bob = Flux.from(wsClient.connect(TopicClient, "/topics/books")).blockFirst()
+        TopicClient alice = Flux.from(wsClient.connect(TopicClient, "/topics/films")).blockFirst()
+
+        then:
+        conditions.eventually {
+            assert repository.getSubscribers("books").size() == 2
+            assert repository.getSubscribers("films").size() == 1
+        }
+
+        when:
+        String result = Mono.from(broadcaster.broadcastToTopic("books", "new book", MediaType.TEXT_PLAIN_TYPE)).block()
+
+        then:
+        result == "new book"
+        conditions.eventually {
+            assert fred.replies.contains("new book")
+            assert bob.replies.contains("new book")
+        }
+        !alice.replies.contains("new book")
+
+        when:
+        fred.close()
+
+        then:
+        conditions.eventually {
+            assert repository.getSubscribers("books").size() == 1
+        }
+
+        when:
+        result = Mono.from(broadcaster.broadcastToTopic("nobody", "ignored")).block()
+
+        then:
+        result == "ignored"
+
+        cleanup:
+        bob.close()
+        alice.close()
+        wsClient.close()
+    }
+
+    void "test sessions can subscribe and unsubscribe"() {
+        given:
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+        WebSocketClient wsClient = embeddedServer.applicationContext.createBean(WebSocketClient, embeddedServer.getURI())
+        TopicServer server = embeddedServer.applicationContext.getBean(TopicServer)
+
+        when:
+        TopicClient client = Flux.from(wsClient.connect(TopicClient, "/topics/music")).blockFirst()
+
+        then:
+        conditions.eventually {
+            assert server.sessions.any { it.subscriptions == ['music'] as Set }
+        }
+
+        when:
+        client.send("leave")
+
+        then:
+        conditions.eventually {
+            assert embeddedServer.applicationContext.getBean(WebSocketSessionRepository).getSubscribers("music").isEmpty()
+        }
+
+        cleanup:
+        client.close()
+        wsClient.close()
+    }
+
+    void "test sessions without topic support ignore subscriptions"() {
+        given:
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+        WebSocketClient wsClient = embeddedServer.applicationContext.createBean(WebSocketClient, embeddedServer.getURI())
+
+        when:
+        // client sessions do not support topics
+        TopicClient client = Flux.from(wsClient.connect(TopicClient, "/topics/games")).blockFirst()
+
+        then:
+        conditions.eventually {
+            assert client.session != null
+        }
+        !client.session.subscribe("games")
+        !client.session.unsubscribe("games")
+        client.session.subscriptions.isEmpty()
+
+        cleanup:
+        client.close()
+        wsClient.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'TopicBroadcastSpec')
+    @ServerWebSocket("/topics/{topic}")
+    static class TopicServer {
+        Collection<WebSocketSession> sessions = new ConcurrentLinkedQueue<>()
+
+        @OnOpen
+        void onOpen(String topic, WebSocketSession session) {
+            session.subscribe(topic)
+            sessions.add(session)
+        }
+
+        @OnMessage
+        void onMessage(String topic, String message, WebSocketSession session) {
+            if (message == "leave") {
+                session.unsubscribe(topic)
+            }
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'TopicBroadcastSpec')
+    @ClientWebSocket
+    static abstract class TopicClient implements AutoCloseable {
+        Collection<String> replies = new ConcurrentLinkedQueue<>()
+        WebSocketSession session
+
+        @OnOpen
+        void onOpen(WebSocketSession session) {
+            this.session = session
+        }
+
+        @OnMessage
+        void onMessage(String message) {
+            replies.add(message)
+        }
+
+        abstract void send(String message)
+    }
+}
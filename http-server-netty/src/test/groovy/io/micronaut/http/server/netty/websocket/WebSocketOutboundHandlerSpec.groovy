@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.websocket
+
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration.WebSocketSettings
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration.WebSocketSettings.OutboundPolicy
+import io.netty.channel.WriteBufferWaterMark
+import io.netty.channel.embedded.EmbeddedChannel
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame
+import io.netty.handler.codec.http.websocketx.WebSocketFrame
+import spock.lang.Specification
+
+class WebSocketOutboundHandlerSpec extends Specification {
+
+    WebSocketOutboundMetrics metrics = new WebSocketOutboundMetrics()
+
+    void "test frames pass through while the channel is writable"() {
+        given:
+        EmbeddedChannel channel = createChannel(OutboundPolicy.DROP_OLDEST)
+
+        when:
+        channel.writeAndFlush(new TextWebSocketFrame("a"))
+        channel.writeAndFlush(new TextWebSocketFrame("b"))
+
+        then:
+        readAll(channel) == ["a", "b"]
+        metrics.queuedFrames == 0
+        metrics.droppedFrames == 0
+    }
+
+    void "test the oldest messages are dropped"() {
+        given:
+        EmbeddedChannel channel = createChannel(OutboundPolicy.DROP_OLDEST)
+
+        when:
+        ["0123456789", "b", "c", "d"].each { channel.write(new TextWebSocketFrame(it)) }
+
+        then:
+        metrics.queuedFrames == 2
+        metrics.queuedBytes == 2
+        metrics.droppedFrames == 1
+        readAll(channel) == ["0123456789", "c", "d"]
+        metrics.queuedFrames == 0
+        metrics.queuedBytes == 0
+    }
+
+    void "test new messages are dropped"() {
+        given:
+        EmbeddedChannel channel = createChannel(OutboundPolicy.DROP_NEWEST)
+
+        when:
+        ["0123456789", "b", "c", "d"].each { channel.write(new TextWebSocketFrame(it)) }
+
+        then:
+        metrics.droppedFrames == 1
+        readAll(channel) == ["0123456789", "b", "c"]
+    }
+
+    void "test queued messages are coalesced by key"() {
+        given:
+        EmbeddedChannel channel = createChannel(OutboundPolicy.COALESCE_LATEST) { WebSocketFrame frame ->
+            ((TextWebSocketFrame) frame).text().substring(0, 1)
+        }
+
+        when:
+        ["0123456789", "a1", "b1", "a2"].each { channel.write(new TextWebSocketFrame(it)) }
+
+        then:
+        metrics.droppedFrames == 1
+        readAll(channel) == ["0123456789", "b1", "a2"]
+    }
+
+    void "test the session is closed once the limits are exceeded"() {
+        given:
+        EmbeddedChannel channel = createChannel(OutboundPolicy.CLOSE)
+
+        when:
+        ["0123456789", "b", "c", "d"].each { channel.write(new TextWebSocketFrame(it)) }
+        channel.flush()
+        def written = []
+        def frame
+        while ((frame = channel.readOutbound()) != null) {
+            written << frame
+        }
+
+        then:
+        written[0] instanceof TextWebSocketFrame
+        written[1] instanceof CloseWebSocketFrame
+        ((CloseWebSocketFrame) written[1]).statusCode() == 1008
+        !channel.isOpen()
+        metrics.closedSessions == 1
+        metrics.queuedFrames == 0
+        metrics.queuedBytes == 0
+
+        cleanup:
+        written.each { it.release() }
+    }
+
+    private EmbeddedChannel createChannel(OutboundPolicy policy, WebSocketCoalescingKeyResolver keyResolver = null) {
+        WebSocketSettings settings = new WebSocketSettings()
+        settings.outboundPolicy = policy
+        settings.maxQueuedMessages = 2
+        settings.maxQueuedBytes = 1024
+        EmbeddedChannel channel = new EmbeddedChannel()
+        // a single unflushed frame of 10 bytes makes the channel unwritable
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(1, 8))
+        channel.pipeline().addLast(new WebSocketOutboundHandler(settings, metrics, keyResolver))
+        return channel
+    }
+
+    private static List<String> readAll(EmbeddedChannel channel) {
+        List<String> texts = []
+        for (int i = 0; i < 10; i++) {
+            channel.flush()
+            TextWebSocketFrame frame
+            while ((frame = channel.readOutbound()) != null) {
+                texts << frame.text()
+                frame.release()
+            }
+        }
+        return texts
+    }
+}
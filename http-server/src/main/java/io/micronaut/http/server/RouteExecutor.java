@@ -45,6 +45,7 @@ import io.micronaut.http.server.exceptions.response.ErrorResponseProcessor;
 import io.micronaut.inject.BeanType;
 import io.micronaut.inject.MethodReference;
 import io.micronaut.scheduling.executor.ExecutorSelector;
+import io.micronaut.scheduling.executor.TaskPriority;
 import io.micronaut.web.router.MethodBasedRouteMatch;
 import io.micronaut.web.router.RouteInfo;
 import io.micronaut.web.router.RouteMatch;
@@ -69,6 +70,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -437,10 +439,10 @@ public final class RouteExecutor {
                     }).contextWrite(contextFromFilter))
                     .putInContext(ServerRequestContext.KEY, request);
             } else if (routeMatch.isReactive()) {
-                executeMethodResponseFlow = ReactiveExecutionFlow.async(executorService, flowSupplier)
+                executeMethodResponseFlow = ReactiveExecutionFlow.async(withPriority(executorService, request), flowSupplier)
                     .putInContext(ServerRequestContext.KEY, request);
             } else {
-                executeMethodResponseFlow = ExecutionFlow.async(executorService, flowSupplier);
+                executeMethodResponseFlow = ExecutionFlow.async(withPriority(executorService, request), flowSupplier);
             }
         } else {
             if (routeMatch.isSuspended()) {
@@ -461,6 +463,22 @@ public final class RouteExecutor {
         return executeMethodResponseFlow;
     }
 
+    /**
+     * Applies the {@link HttpAttributes#PRIORITY} of the request, if any, to the tasks submitted to the executor.
+     *
+     * @param executorService The executor service
+     * @param request         The request
+     * @return The executor
+     */
+    private static Executor withPriority(ExecutorService executorService, HttpRequest<?> request) {
+        Optional<Integer> priority = request.getAttribute(HttpAttributes.PRIORITY, Integer.class);
+        if (priority.isPresent()) {
+            int taskPriority = priority.get();
+            return command -> TaskPriority.run(taskPriority, () -> executorService.execute(command));
+        }
+        return executorService;
+    }
+
     private ExecutionFlow<MutableHttpResponse<?>> executeRouteAndConvertBody(RouteMatch<?> routeMatch, HttpRequest<?> httpRequest) {
         try {
             final RouteMatch<?> finalRoute;
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.limit;
+
+/**
+ * An algorithm that adjusts a concurrency limit from the measured processing time of requests.
+ *
+ * @since 4.0.0
+ */
+interface AdaptiveLimit {
+
+    /**
+     * @return The current limit
+     */
+    int getLimit();
+
+    /**
+     * Records the outcome of a request.
+     *
+     * @param rttNanos The processing time of the request
+     * @param inFlight The number of requests in flight when the request started
+     * @param overload Whether the request failed in a way that signals an overload
+     */
+    void onSample(long rttNanos, int inFlight, boolean overload);
+}
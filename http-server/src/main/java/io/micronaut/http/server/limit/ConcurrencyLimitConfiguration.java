@@ -0,0 +1,248 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.limit;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.http.server.HttpServerConfiguration;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Configuration of the adaptive concurrency limit of the server.
+ *
+ * @since 4.0.0
+ */
+@ConfigurationProperties(ConcurrencyLimitConfiguration.PREFIX)
+public class ConcurrencyLimitConfiguration implements Toggleable {
+
+    /**
+     * The prefix for concurrency limit configuration.
+     */
+    public static final String PREFIX = HttpServerConfiguration.PREFIX + ".concurrency-limit";
+
+    /**
+     * The default initial limit.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+    /**
+     * The default minimum limit.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MIN_LIMIT = 1;
+
+    /**
+     * The default maximum limit.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_LIMIT = 1000;
+
+    /**
+     * The default backoff ratio of the AIMD algorithm.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    /**
+     * The default number of seconds sent in the {@code Retry-After} header.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private boolean enabled;
+    private Algorithm algorithm = Algorithm.GRADIENT;
+    private int initialLimit = DEFAULT_INITIAL_LIMIT;
+    private int minLimit = DEFAULT_MIN_LIMIT;
+    private int maxLimit = DEFAULT_MAX_LIMIT;
+    private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+    private Duration timeout;
+    private Duration retryAfter = DEFAULT_RETRY_AFTER;
+    private List<String> exclusions = Arrays.asList("/health", "/health/**");
+
+    /**
+     * @return Whether the concurrency limit is enabled. Defaults to false.
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether requests are rejected once the concurrency limit is reached. Default value (false).
+     *
+     * @param enabled True if the concurrency limit is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The algorithm that adjusts the limit
+     */
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Sets the algorithm that adjusts the limit. Default value ({@link Algorithm#GRADIENT}).
+     *
+     * @param algorithm The algorithm
+     */
+    public void setAlgorithm(Algorithm algorithm) {
+        if (algorithm != null) {
+            this.algorithm = algorithm;
+        }
+    }
+
+    /**
+     * @return The limit used until enough requests have been measured
+     */
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * Sets the limit used until enough requests have been measured. Default value ({@value #DEFAULT_INITIAL_LIMIT}).
+     *
+     * @param initialLimit The initial limit
+     */
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    /**
+     * @return The lowest value of the limit
+     */
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * Sets the lowest value of the limit. Default value ({@value #DEFAULT_MIN_LIMIT}).
+     *
+     * @param minLimit The minimum limit
+     */
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    /**
+     * @return The highest value of the limit
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Sets the highest value of the limit. Default value ({@value #DEFAULT_MAX_LIMIT}).
+     *
+     * @param maxLimit The maximum limit
+     */
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @return The ratio the {@link Algorithm#AIMD} algorithm multiplies the limit with on overload
+     */
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    /**
+     * Sets the ratio the {@link Algorithm#AIMD} algorithm multiplies the limit with on overload.
+     * Default value ({@value #DEFAULT_BACKOFF_RATIO}).
+     *
+     * @param backoffRatio The backoff ratio, between 0.5 and 1
+     */
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * @return The processing time above which a request counts as an overload signal, if any
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the processing time above which a request counts as an overload signal for the {@link Algorithm#AIMD}
+     * algorithm, in addition to {@code 503} and {@code 504} responses. Default value (none).
+     *
+     * @param timeout The timeout
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return The delay sent in the {@code Retry-After} header of rejected requests
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Sets the delay sent in the {@code Retry-After} header of rejected requests, rounded up to seconds.
+     * Default value (1 second).
+     *
+     * @param retryAfter The delay
+     */
+    public void setRetryAfter(Duration retryAfter) {
+        if (retryAfter != null) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    /**
+     * @return The path patterns that are never limited
+     */
+    public List<String> getExclusions() {
+        return exclusions;
+    }
+
+    /**
+     * Sets the Ant style path patterns of the requests that are never limited, such as health probes.
+     * Default value ({@code /health} and {@code /health/**}).
+     *
+     * @param exclusions The path patterns
+     */
+    public void setExclusions(List<String> exclusions) {
+        this.exclusions = exclusions != null ? exclusions : Collections.emptyList();
+    }
+
+    /**
+     * The algorithms that adjust the concurrency limit.
+     */
+    public enum Algorithm {
+        /**
+         * Shrinks the limit as the measured latency grows above the long term average latency, and grows it by the
+         * square root of the limit otherwise.
+         */
+        GRADIENT,
+        /**
+         * Grows the limit by one for every request completed while the limit is in use, and multiplies it by the
+         * backoff ratio on every overload signal.
+         */
+        AIMD
+    }
+}
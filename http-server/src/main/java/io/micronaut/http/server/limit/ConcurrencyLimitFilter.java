@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.limit;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.http.filter.ServerFilterPhase;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Rejects requests with a {@code 503} response and a {@code Retry-After} header once the {@link ConcurrencyLimiter}
+ * limit is reached. The filter runs before all other filters, so that a rejected request costs as little as possible.
+ *
+ * @since 4.0.0
+ */
+@Filter(Filter.MATCH_ALL_PATTERN)
+public class ConcurrencyLimitFilter implements HttpServerFilter {
+
+    private final ConcurrencyLimiter limiter;
+    private final String retryAfter;
+
+    /**
+     * @param limiter       The concurrency limiter
+     * @param configuration The concurrency limit configuration
+     */
+    public ConcurrencyLimitFilter(ConcurrencyLimiter limiter, ConcurrencyLimitConfiguration configuration) {
+        this.limiter = limiter;
+        long millis = configuration.getRetryAfter().toMillis();
+        this.retryAfter = String.valueOf((millis + 999) / 1000);
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        String path = request.getPath();
+        if (limiter.isExcluded(path)) {
+            return chain.proceed(request);
+        }
+        // acquire on subscription, so that a response that is never subscribed to does not hold a permit
+        return Flux.<MutableHttpResponse<?>>defer(() -> {
+            ConcurrencyLimiter.Permit permit = limiter.tryAcquire(path);
+            if (permit == null) {
+                return Flux.just(HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, retryAfter));
+            }
+            Publisher<MutableHttpResponse<?>> responses;
+            try {
+                responses = chain.proceed(request);
+            } catch (RuntimeException e) {
+                permit.release(false);
+                throw e;
+            }
+            return Flux.from(responses)
+                    .doOnNext(response -> {
+                        int code = response.code();
+                        if (code == HttpStatus.SERVICE_UNAVAILABLE.getCode() || code == HttpStatus.GATEWAY_TIMEOUT.getCode()) {
+                            permit.overloaded();
+                        }
+                    })
+                    .doFinally(signal -> permit.release(signal != SignalType.CANCEL));
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.FIRST.order();
+    }
+}
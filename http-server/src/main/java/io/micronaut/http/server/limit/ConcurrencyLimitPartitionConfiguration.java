@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.limit;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A partition of the concurrency limit. The requests of a partition may use a guaranteed share of the limit even when
+ * the other requests already use all of it.
+ *
+ * @since 4.0.0
+ */
+@EachProperty(ConcurrencyLimitConfiguration.PREFIX + ".partitions")
+public class ConcurrencyLimitPartitionConfiguration {
+
+    private final String name;
+    private List<String> patterns = Collections.emptyList();
+    private int percent;
+
+    /**
+     * @param name The name of the partition
+     */
+    public ConcurrencyLimitPartitionConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The name of the partition
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The path patterns of the requests of this partition
+     */
+    @NonNull
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Sets the Ant style path patterns of the requests of this partition.
+     *
+     * @param patterns The path patterns
+     */
+    public void setPatterns(List<String> patterns) {
+        this.patterns = patterns != null ? patterns : Collections.emptyList();
+    }
+
+    /**
+     * @return The share of the limit guaranteed to this partition, in percent
+     */
+    public int getPercent() {
+        return percent;
+    }
+
+    /**
+     * Sets the share of the limit guaranteed to this partition, in percent. Default value (0).
+     *
+     * @param percent The guaranteed share
+     */
+    public void setPercent(int percent) {
+        this.percent = percent;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.limit;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.PathMatcher;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits requests while the number of requests in flight is below an adaptive limit. The limit follows the measured
+ * processing time of the admitted requests, using the {@link ConcurrencyLimitConfiguration.Algorithm} configured.
+ *
+ * <p>The requests of a {@link ConcurrencyLimitPartitionConfiguration partition} are also admitted above the limit, as
+ * long as the partition uses less than its guaranteed share of the limit.</p>
+ *
+ * @since 4.0.0
+ */
+@Singleton
+public class ConcurrencyLimiter {
+
+    private final AdaptiveLimit limit;
+    private final List<String> exclusions;
+    private final Partition[] partitions;
+    private final Partition defaultPartition = new Partition("default", Collections.emptyList(), 0);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param configuration The concurrency limit configuration
+     * @param partitions    The partitions of the limit
+     */
+    public ConcurrencyLimiter(ConcurrencyLimitConfiguration configuration, List<ConcurrencyLimitPartitionConfiguration> partitions) {
+        int minLimit = Math.max(1, configuration.getMinLimit());
+        int maxLimit = Math.max(minLimit, configuration.getMaxLimit());
+        int initialLimit = Math.max(minLimit, Math.min(maxLimit, configuration.getInitialLimit()));
+        if (configuration.getAlgorithm() == ConcurrencyLimitConfiguration.Algorithm.AIMD) {
+            Duration timeout = configuration.getTimeout();
+            this.limit = new AimdLimit(initialLimit, minLimit, maxLimit, configuration.getBackoffRatio(), timeout != null ? timeout.toNanos() : Long.MAX_VALUE);
+        } else {
+            this.limit = new GradientLimit(initialLimit, minLimit, maxLimit);
+        }
+        this.exclusions = configuration.getExclusions();
+        this.partitions = new Partition[partitions.size()];
+        for (int i = 0; i < this.partitions.length; i++) {
+            ConcurrencyLimitPartitionConfiguration partition = partitions.get(i);
+            this.partitions[i] = new Partition(partition.getName(), partition.getPatterns(), partition.getPercent());
+        }
+    }
+
+    /**
+     * @param path The request path
+     * @return Whether requests to the given path are never limited
+     */
+    public boolean isExcluded(@NonNull String path) {
+        for (String exclusion : exclusions) {
+            if (PathMatcher.ANT.matches(exclusion, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tries to admit a request.
+     *
+     * @param path The request path
+     * @return The permit to release once the request completes, or {@code null} if the request is rejected
+     */
+    @Nullable
+    public Permit tryAcquire(@NonNull String path) {
+        Partition partition = partitionFor(path);
+        int currentLimit = limit.getLimit();
+        int current;
+        while (true) {
+            current = inFlight.get();
+            if (current >= currentLimit && partition.inFlight.get() >= partition.guaranteed(currentLimit)) {
+                rejected.increment();
+                partition.rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        partition.inFlight.incrementAndGet();
+        return new Permit(partition, current + 1);
+    }
+
+    /**
+     * @return The current limit
+     */
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    /**
+     * @return The number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return The number of rejected requests
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @param partition The name of a partition
+     * @return The number of requests of the given partition in flight
+     */
+    public int getInFlight(@NonNull String partition) {
+        Partition p = partitionNamed(partition);
+        return p != null ? p.inFlight.get() : 0;
+    }
+
+    /**
+     * @param partition The name of a partition
+     * @return The number of rejected requests of the given partition
+     */
+    public long getRejectedCount(@NonNull String partition) {
+        Partition p = partitionNamed(partition);
+        return p != null ? p.rejected.sum() : 0;
+    }
+
+    private Partition partitionFor(String path) {
+        for (Partition partition : partitions) {
+            for (String pattern : partition.patterns) {
+                if (PathMatcher.ANT.matches(pattern, path)) {
+                    return partition;
+                }
+            }
+        }
+        return defaultPartition;
+    }
+
+    @Nullable
+    private Partition partitionNamed(String name) {
+        for (Partition partition : partitions) {
+            if (partition.name.equals(name)) {
+                return partition;
+            }
+        }
+        return defaultPartition.name.equals(name) ? defaultPartition : null;
+    }
+
+    /**
+     * Holds the slot of an admitted request.
+     */
+    public final class Permit {
+        private final Partition partition;
+        private final int inFlightAtStart;
+        private final long start = System.nanoTime();
+        private volatile boolean overload;
+
+        private Permit(Partition partition, int inFlightAtStart) {
+            this.partition = partition;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Marks the request as failed in a way that signals an overload, such as a {@code 503} response.
+         */
+        public void overloaded() {
+            overload = true;
+        }
+
+        /**
+         * Releases the slot of the request. Must be called exactly once.
+         *
+         * @param sample Whether the processing time of the request should adjust the limit. A cancelled request
+         *               should not be sampled.
+         */
+        public void release(boolean sample) {
+            if (sample) {
+                limit.onSample(System.nanoTime() - start, inFlightAtStart, overload);
+            }
+            partition.inFlight.decrementAndGet();
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * A partition of the limit.
+     */
+    private static final class Partition {
+        final String name;
+        final List<String> patterns;
+        final int percent;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final LongAdder rejected = new LongAdder();
+
+        Partition(String name, List<String> patterns, int percent) {
+            this.name = name;
+            this.patterns = patterns;
+            this.percent = percent;
+        }
+
+        int guaranteed(int limit) {
+            return percent > 0 ? (int) Math.ceil(limit * Math.min(percent, 100) / 100.0) : 0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.limit;
+
+/**
+ * Adjusts the limit from the ratio between the long term average processing time and the processing time of the
+ * latest request. While latency stays close to the average the limit grows by the square root of the limit, the
+ * allowed queue, and as latency rises above the average the limit shrinks by up to a half.
+ *
+ * @since 4.0.0
+ */
+final class GradientLimit implements AdaptiveLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double TOLERANCE = 1.5;
+    private static final int LONG_WINDOW = 600;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private double estimatedLimit;
+    private double longRtt;
+    private int samples;
+    private volatile int limit;
+
+    /**
+     * @param initialLimit The initial limit
+     * @param minLimit     The minimum limit
+     * @param maxLimit     The maximum limit
+     */
+    GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean overload) {
+        double shortRtt = Math.max(1, rttNanos);
+        if (samples < LONG_WINDOW) {
+            samples++;
+        }
+        // exponential average, warmed up as a plain average over the first samples
+        longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) * 2 / (samples + 1);
+        if (longRtt / shortRtt > 2) {
+            // latency dropped well below the average, so let the average follow faster
+            longRtt *= 0.95;
+        }
+        if (!overload && inFlight < estimatedLimit / 2) {
+            // the limit is not in use, so the sample says nothing about it
+            return;
+        }
+        double gradient = overload ? MIN_GRADIENT : Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,67 @@
+package io.micronaut.http.server.limit
+
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class AdaptiveLimitSpec extends Specification {
+
+    void "test the AIMD limit grows while in use and backs off on overload"() {
+        given:
+        AimdLimit limit = new AimdLimit(10, 1, 20, 0.5, TimeUnit.SECONDS.toNanos(1))
+
+        when:
+        limit.onSample(1000, 2, false)
+
+        then: "the limit is not in use"
+        limit.limit == 10
+
+        when:
+        limit.onSample(1000, 5, false)
+
+        then:
+        limit.limit == 11
+
+        when:
+        limit.onSample(1000, 5, true)
+
+        then:
+        limit.limit == 5
+
+        when:
+        limit.onSample(TimeUnit.SECONDS.toNanos(2), 5, false)
+
+        then: "slow requests count as overload"
+        limit.limit == 2
+
+        when:
+        10.times { limit.onSample(1000, 5, true) }
+
+        then:
+        limit.limit == 1
+    }
+
+    void "test the gradient limit shrinks as latency rises"() {
+        given:
+        GradientLimit limit = new GradientLimit(100, 10, 1000)
+
+        when:
+        200.times { limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 100, false) }
+
+        then: "steady latency lets the limit grow"
+        limit.limit > 100
+
+        when:
+        int grown = limit.limit
+        50.times { limit.onSample(TimeUnit.MILLISECONDS.toNanos(100), grown, false) }
+
+        then:
+        limit.limit < grown
+
+        when:
+        200.times { limit.onSample(TimeUnit.MILLISECONDS.toNanos(100), 1000, true) }
+
+        then:
+        limit.limit == 10
+    }
+}
@@ -86,7 +86,15 @@ public enum HttpAttributes implements CharSequence {
     /**
      * Attribute used to store Available HTTP methods on the OPTIONS request.
      */
-    AVAILABLE_HTTP_METHODS(Constants.PREFIX + ".route.availableHttpMethods");
+    AVAILABLE_HTTP_METHODS(Constants.PREFIX + ".route.availableHttpMethods"),
+
+    /**
+     * Attribute used to store the priority, as an integer, with which a route is scheduled on a
+     * {@link io.micronaut.scheduling.executor.ExecutorType#PRIORITY} executor. Higher values run first.
+     *
+     * @since 4.0.0
+     */
+    PRIORITY(Constants.PREFIX + ".priority");
 
     private final String name;
 
@@ -20,6 +20,9 @@ import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Inject;
 
+import java.time.Duration;
+import java.util.Optional;
+
 /**
  * The default {@link SslConfiguration} used for HTTP servers.
  *
@@ -33,6 +36,15 @@ public class ServerSslConfiguration extends SslConfiguration {
      */
     public static final String PREFIX = "micronaut.server.ssl";
 
+    /**
+     * The default interval in seconds at which the session ticket key file is checked for changes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_SESSION_TICKET_KEY_REFRESH_INTERVAL_SECONDS = 60;
+
+    private String sessionTicketKeyPath;
+    private Duration sessionTicketKeyRefreshInterval = Duration.ofSeconds(DEFAULT_SESSION_TICKET_KEY_REFRESH_INTERVAL_SECONDS);
+
     /**
      * Overrides the default constructor and sets {@link #isEnabled()} to true.
      *
@@ -117,6 +129,48 @@ public class ServerSslConfiguration extends SslConfiguration {
         this.buildSelfSigned = buildSelfSigned;
     }
 
+    /**
+     * @return The path of the file containing the session ticket keys, if configured
+     * @since 4.0.0
+     */
+    public Optional<String> getSessionTicketKeyPath() {
+        return Optional.ofNullable(sessionTicketKeyPath);
+    }
+
+    /**
+     * Sets the path of the file containing the keys used to encrypt and decrypt session tickets. Each key consists of
+     * 48 bytes: a 16 byte key name, a 16 byte HMAC secret and a 16 byte AES key. The first key of the file encrypts
+     * new tickets, the other keys are only used to decrypt tickets that were issued before the last rotation. Sharing
+     * the file between all instances of a service lets clients resume sessions on any instance. Requires the OpenSSL
+     * provider.
+     *
+     * @param sessionTicketKeyPath The path of the session ticket key file
+     * @since 4.0.0
+     */
+    public void setSessionTicketKeyPath(@Nullable String sessionTicketKeyPath) {
+        this.sessionTicketKeyPath = sessionTicketKeyPath;
+    }
+
+    /**
+     * @return The interval at which the session ticket key file is checked for changes
+     * @since 4.0.0
+     */
+    public Duration getSessionTicketKeyRefreshInterval() {
+        return sessionTicketKeyRefreshInterval;
+    }
+
+    /**
+     * Sets the interval at which the session ticket key file is checked for changes, so that keys can be rotated
+     * without a restart. Default value
+     * ({@value io.micronaut.http.ssl.ServerSslConfiguration#DEFAULT_SESSION_TICKET_KEY_REFRESH_INTERVAL_SECONDS} seconds).
+     *
+     * @param sessionTicketKeyRefreshInterval The refresh interval
+     * @since 4.0.0
+     */
+    public void setSessionTicketKeyRefreshInterval(Duration sessionTicketKeyRefreshInterval) {
+        this.sessionTicketKeyRefreshInterval = sessionTicketKeyRefreshInterval;
+    }
+
     /**
      * The default {@link io.micronaut.http.ssl.SslConfiguration.KeyConfiguration}.
      */
@@ -16,6 +16,7 @@
 package io.micronaut.http.ssl;
 
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.core.util.Toggleable;
 import org.slf4j.Logger;
@@ -74,6 +75,9 @@ public class SslConfiguration implements Toggleable {
     private String[] protocols;
     private String protocol = DEFAULT_PROTOCOL;
     private Duration handshakeTimeout = Duration.ofSeconds(10);
+    private Long sessionCacheSize;
+    private Duration sessionTimeout;
+    private Provider provider = Provider.AUTO;
 
     /**
      * @return Whether SSL is enabled.
@@ -163,6 +167,31 @@ public class SslConfiguration implements Toggleable {
         return handshakeTimeout;
     }
 
+    /**
+     * @return The maximum number of sessions kept for resumption, if configured
+     * @since 4.0.0
+     */
+    public Optional<Long> getSessionCacheSize() {
+        return Optional.ofNullable(sessionCacheSize);
+    }
+
+    /**
+     * @return The time after which a cached session can no longer be resumed, if configured
+     * @since 4.0.0
+     */
+    public Optional<Duration> getSessionTimeout() {
+        return Optional.ofNullable(sessionTimeout);
+    }
+
+    /**
+     * @return The TLS implementation to use
+     * @since 4.0.0
+     */
+    @NonNull
+    public Provider getProvider() {
+        return provider;
+    }
+
     /**
      * Sets the SSL port. Default value ({@value io.micronaut.http.ssl.SslConfiguration#DEFAULT_PORT}).
      *
@@ -264,6 +293,40 @@ public class SslConfiguration implements Toggleable {
         this.handshakeTimeout = Objects.requireNonNull(handshakeTimeout, "handshakeTimeout");
     }
 
+    /**
+     * Sets the maximum number of sessions kept for resumption. Resuming a session skips the expensive part of the
+     * handshake. If not set, the default of the SSL provider is used.
+     *
+     * @param sessionCacheSize The session cache size
+     * @since 4.0.0
+     */
+    public void setSessionCacheSize(@Nullable Long sessionCacheSize) {
+        this.sessionCacheSize = sessionCacheSize;
+    }
+
+    /**
+     * Sets the time after which a cached session can no longer be resumed. If not set, the default of the SSL
+     * provider is used.
+     *
+     * @param sessionTimeout The session timeout
+     * @since 4.0.0
+     */
+    public void setSessionTimeout(@Nullable Duration sessionTimeout) {
+        this.sessionTimeout = sessionTimeout;
+    }
+
+    /**
+     * Sets the TLS implementation to use. The native OpenSSL implementation requires {@code netty-tcnative} on the
+     * classpath, and is considerably faster than the JDK implementation. If it is requested but not available, the JDK
+     * implementation is used instead. Default value (AUTO).
+     *
+     * @param provider The TLS implementation
+     * @since 4.0.0
+     */
+    public void setProvider(@Nullable Provider provider) {
+        this.provider = provider == null ? Provider.AUTO : provider;
+    }
+
     /**
      * Reads an existing config.
      *
@@ -295,6 +358,9 @@ public class SslConfiguration implements Toggleable {
             defaultSslConfiguration.getCiphers().ifPresent(ciphers -> this.ciphers = ciphers);
             defaultSslConfiguration.getClientAuthentication().ifPresent(ca -> this.clientAuthentication = ca);
             this.handshakeTimeout = defaultSslConfiguration.getHandshakeTimeout();
+            this.sessionCacheSize = defaultSslConfiguration.sessionCacheSize;
+            this.sessionTimeout = defaultSslConfiguration.sessionTimeout;
+            this.provider = defaultSslConfiguration.provider;
         }
     }
 
@@ -489,4 +555,30 @@ public class SslConfiguration implements Toggleable {
             this.provider = provider;
         }
     }
+
+    /**
+     * The TLS implementations.
+     *
+     * @since 4.0.0
+     */
+    public enum Provider {
+        /**
+         * Use OpenSSL if {@code netty-tcnative} is available, the JDK implementation otherwise.
+         */
+        AUTO,
+        /**
+         * The TLS implementation of the JDK.
+         */
+        JDK,
+        /**
+         * The OpenSSL or BoringSSL implementation of {@code netty-tcnative}. Native resources are released by the
+         * garbage collector.
+         */
+        OPENSSL,
+        /**
+         * The OpenSSL or BoringSSL implementation of {@code netty-tcnative}, with native resources that are released
+         * by reference counting instead of the garbage collector.
+         */
+        OPENSSL_REFCNT
+    }
 }
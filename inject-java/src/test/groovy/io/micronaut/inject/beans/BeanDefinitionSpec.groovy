@@ -72,6 +72,78 @@ class Test implements Runnable {
         reference.exposedTypes == [Runnable] as Set
     }
 
+    void "test the reference is indexed by the exposed bean types"() {
+        given:
+        def reference = buildBeanDefinitionReference('limittypes.Test', '''
+package limittypes;
+
+import io.micronaut.context.annotation.*;
+import jakarta.inject.*;
+
+@Singleton
+@Bean(typed = Runnable.class)
+class Test implements Runnable {
+    public void run() {}
+}
+
+''')
+        expect:
+        reference.indexedTypeNames == [Runnable.name] as String[]
+    }
+
+    void "test the reference is indexed by the bean type hierarchy"() {
+        given:
+        def reference = buildBeanDefinitionReference('indextypes.Test', '''
+package indextypes;
+
+import jakarta.inject.*;
+import java.util.function.Supplier;
+
+@Singleton
+class Test extends Base implements Supplier<String> {
+    public String get() { return "test"; }
+}
+
+abstract class Base implements Runnable {
+    public void run() {}
+}
+
+''')
+        expect:
+        reference.indexedTypeNames as Set == ['indextypes.Test', 'indextypes.Base', Supplier.name, Runnable.name, Object.name] as Set
+    }
+
+    void "test beans are found through the type index"() {
+        given:
+        def context = buildContext('''
+package indextypes;
+
+import jakarta.inject.*;
+import java.util.function.Supplier;
+
+@Singleton
+class Test extends Base implements Supplier<String> {
+    public String get() { return "test"; }
+}
+
+abstract class Base implements Runnable {
+    public void run() {}
+}
+
+@Singleton
+class Other {
+}
+
+''')
+        expect:
+        context.getBean(Supplier).get() == "test"
+        context.getBeansOfType(Runnable).size() == 1
+        context.getBeanDefinitions(Object).any { it.beanType.name == 'indextypes.Other' }
+
+        cleanup:
+        context.close()
+    }
+
     void "test fail compilation on invalid exposed bean type"() {
         when:
         buildBeanDefinition('limittypes.Test', '''
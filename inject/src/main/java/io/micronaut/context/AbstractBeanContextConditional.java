@@ -24,6 +24,7 @@ import io.micronaut.core.annotation.AnnotationMetadataProvider;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.inject.BeanConfiguration;
 import io.micronaut.inject.BeanContextConditional;
+import io.micronaut.inject.BeanType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,7 +47,7 @@ abstract class AbstractBeanContextConditional implements BeanContextConditional,
         DefaultConditionContext<AbstractBeanContextConditional> conditionContext = new DefaultConditionContext<>(
                 defaultBeanContext,
                 this, resolutionContext);
-        boolean enabled = condition == null || condition.matches(conditionContext);
+        boolean enabled = condition == null || matches(condition, conditionContext, defaultBeanContext.getStartupTracer());
         if (!enabled) {
             if (ConditionLog.LOG.isDebugEnabled()) {
                 if (this instanceof BeanConfiguration) {
@@ -64,6 +65,26 @@ abstract class AbstractBeanContextConditional implements BeanContextConditional,
         return enabled;
     }
 
+    private boolean matches(Condition condition, DefaultConditionContext<AbstractBeanContextConditional> conditionContext, @Nullable StartupTracer tracer) {
+        StartupTracer.Span span = tracer != null ? tracer.start(StartupTracer.Phase.CONDITION, getTracedName(), null) : null;
+        try {
+            return condition.matches(conditionContext);
+        } finally {
+            if (span != null) {
+                span.end();
+            }
+        }
+    }
+
+    private String getTracedName() {
+        if (this instanceof BeanType<?> beanType) {
+            return beanType.getName();
+        } else if (this instanceof BeanConfiguration configuration) {
+            return configuration.getName();
+        }
+        return toString();
+    }
+
     @SuppressWarnings("java:S3416")
     static final class ConditionLog {
         static final Logger LOG = LoggerFactory.getLogger(Condition.class);
@@ -2033,7 +2033,15 @@ public class AbstractInitializableBeanDefinition<T> extends AbstractBeanContextC
         } else {
             String valString = resolvePropertyValueName(resolutionContext, parentAnnotationMetadata, argument.getAnnotationMetadata(), valueAnnVal);
             ArgumentConversionContext conversionContext = wrapperType ? ConversionContext.of(argumentType) : ConversionContext.of(argument);
-            Optional value = resolveValue((ApplicationContext) context, conversionContext, valueAnnVal != null, valString);
+            Optional value;
+            StartupTracer.Span span = traceProperty(context, valString);
+            try {
+                value = resolveValue((ApplicationContext) context, conversionContext, valueAnnVal != null, valString);
+            } finally {
+                if (span != null) {
+                    span.end();
+                }
+            }
             if (argument.isOptional()) {
                 if (!value.isPresent()) {
                     return value;
@@ -2096,13 +2104,20 @@ public class AbstractInitializableBeanDefinition<T> extends AbstractBeanContextC
         ArgumentConversionContext<?> conversionContext = wrapperType != null ? ConversionContext.of(argumentType) : ConversionContext.of(argument);
 
         Optional<?> value;
-        if (isPlaceholder) {
-            value = applicationContext.resolvePlaceholders(stringValue).flatMap(v -> applicationContext.getConversionService().convert(v, conversionContext));
-        } else {
-            stringValue = substituteWildCards(resolutionContext, stringValue);
-            value = applicationContext.getProperty(stringValue, conversionContext);
-            if (!value.isPresent() && cliProperty != null) {
-                value = applicationContext.getProperty(cliProperty, conversionContext);
+        StartupTracer.Span span = traceProperty(context, stringValue);
+        try {
+            if (isPlaceholder) {
+                value = applicationContext.resolvePlaceholders(stringValue).flatMap(v -> applicationContext.getConversionService().convert(v, conversionContext));
+            } else {
+                stringValue = substituteWildCards(resolutionContext, stringValue);
+                value = applicationContext.getProperty(stringValue, conversionContext);
+                if (!value.isPresent() && cliProperty != null) {
+                    value = applicationContext.getProperty(cliProperty, conversionContext);
+                }
+            }
+        } finally {
+            if (span != null) {
+                span.end();
             }
         }
 
@@ -2200,6 +2215,12 @@ public class AbstractInitializableBeanDefinition<T> extends AbstractBeanContextC
         }
     }
 
+    @Nullable
+    private StartupTracer.Span traceProperty(BeanContext context, String property) {
+        StartupTracer tracer = StartupTracer.of(context);
+        return tracer != null ? tracer.start(StartupTracer.Phase.PROPERTY, getName(), property) : null;
+    }
+
     private String resolvePropertyValueName(BeanResolutionContext resolutionContext, AnnotationMetadata parentAnnotationMetadata, Argument argument, String valueAnnStr) {
         return resolvePropertyValueName(resolutionContext, parentAnnotationMetadata, argument.getAnnotationMetadata(), valueAnnStr);
     }
@@ -19,6 +19,7 @@ import io.micronaut.context.exceptions.BeanContextException;
 import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.BeanDefinitionReference;
 
@@ -173,13 +174,33 @@ public abstract class AbstractInitializableBeanDefinitionReference<T> extends Ab
         return this.exposedTypes;
     }
 
+    /**
+     * The names of the types the bean can be looked up by, computed at compilation time. The bean context uses them
+     * to index the bean definitions by type.
+     *
+     * @return The type names, or {@code null} if the bean has to be matched against every lookup
+     * @since 4.0.0
+     */
+    @Nullable
+    public String[] getIndexedTypeNames() {
+        return null;
+    }
+
     @Override
     public BeanDefinition load(BeanContext context) {
-        BeanDefinition definition = load();
-        if (context instanceof ApplicationContext && definition instanceof EnvironmentConfigurable) {
-            ((EnvironmentConfigurable) definition).configure(((ApplicationContext) context).getEnvironment());
+        StartupTracer tracer = StartupTracer.of(context);
+        StartupTracer.Span span = tracer != null ? tracer.start(StartupTracer.Phase.LOAD, beanTypeName, null) : null;
+        try {
+            BeanDefinition definition = load();
+            if (context instanceof ApplicationContext && definition instanceof EnvironmentConfigurable) {
+                ((EnvironmentConfigurable) definition).configure(((ApplicationContext) context).getEnvironment());
+            }
+            return definition;
+        } finally {
+            if (span != null) {
+                span.end();
+            }
         }
-        return definition;
     }
 
     @Override
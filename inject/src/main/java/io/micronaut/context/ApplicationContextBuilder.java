@@ -70,6 +70,31 @@ public interface ApplicationContextBuilder {
         return this;
     }
 
+    /**
+     * The number of threads used to initialize the {@link io.micronaut.context.annotation.Context} scoped and eagerly
+     * initialized beans at startup. Beans that don't depend on each other are then initialized concurrently. Defaults
+     * to {@code 1}, which initializes them one after the other.
+     *
+     * @param parallelism The number of threads
+     * @return The context builder
+     * @since 4.0.0
+     */
+    default @NonNull ApplicationContextBuilder eagerInitParallelism(int parallelism) {
+        return this;
+    }
+
+    /**
+     * Whether to trace the startup of the context with a {@link StartupTracer}, registered as a bean of the context.
+     * Defaults to {@code false}.
+     *
+     * @param traceStartup True to trace the startup
+     * @return The context builder
+     * @since 4.0.0
+     */
+    default @NonNull ApplicationContextBuilder traceStartup(boolean traceStartup) {
+        return this;
+    }
+
     /**
      * Specifies to eager init the given annotated types.
      *
@@ -242,6 +267,18 @@ public interface ApplicationContextBuilder {
      */
     @NonNull ApplicationContextBuilder allowEmptyProviders(boolean shouldAllow);
 
+    /**
+     * The maximum number of entries of each of the caches used to resolve beans by type. By default, the caches are
+     * sized from the number of bean definitions.
+     *
+     * @param size The size of the bean resolution caches
+     * @return This application
+     * @since 4.0.0
+     */
+    default @NonNull ApplicationContextBuilder beanResolutionCacheSize(int size) {
+        return this;
+    }
+
     /**
      * Set the command line arguments.
      *
@@ -40,6 +40,41 @@ public interface BeanContextConfiguration {
         return false;
     }
 
+    /**
+     * The maximum number of entries of each of the caches used to resolve beans by type. If zero or negative, the
+     * caches are sized from the number of bean definitions.
+     *
+     * @return The size of the bean resolution caches
+     * @since 4.0.0
+     */
+    default int getBeanResolutionCacheSize() {
+        return 0;
+    }
+
+    /**
+     * The number of threads used to initialize the {@link io.micronaut.context.annotation.Context} scoped and eagerly
+     * initialized beans at startup. A bean is initialized once the beans it requires are, so beans that don't depend
+     * on each other are initialized concurrently. With a value of {@code 1} or less, the beans are initialized one
+     * after the other on the starting thread.
+     *
+     * @return The number of threads used to initialize the eager beans
+     * @since 4.0.0
+     */
+    default int getEagerInitParallelism() {
+        return 1;
+    }
+
+    /**
+     * Whether to trace the startup of the context. The time spent loading the bean definitions, evaluating their
+     * conditions, resolving their properties and creating the beans is then recorded by a {@link StartupTracer}.
+     *
+     * @return True if the startup is traced
+     * @since 4.0.0
+     */
+    default boolean isStartupTraceEnabled() {
+        return false;
+    }
+
     /**
      * The class loader to use.
      * @return The class loader.
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.reflect.ClassUtils;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A cache of the bean context whose entries are keyed by a bean type. Besides the entries, the cache keeps an index
+ * of the keys by type, so that registering a bean only invalidates the entries of the types the bean is assignable
+ * to, instead of testing every entry.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ * @since 4.0.0
+ */
+final class BeanResolutionCache<K, V> implements BeanResolutionCacheStatistics {
+
+    private static final int UNBOUNDED = -1;
+    private static final int INITIAL_CAPACITY = 50;
+
+    private final String name;
+    private final Function<K, Class<?>> typeOfKey;
+    private final Map<K, V> entries;
+    @Nullable
+    private final ConcurrentLinkedHashMap<K, V> boundedEntries;
+    private final Map<Class<?>, Set<K>> keysByType = new ConcurrentHashMap<>(INITIAL_CAPACITY);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param name      The name of the cache
+     * @param capacity  The maximum number of entries, or a negative value for an unbounded cache
+     * @param typeOfKey Resolves the bean type of a key
+     */
+    BeanResolutionCache(String name, int capacity, Function<K, Class<?>> typeOfKey) {
+        this.name = name;
+        this.typeOfKey = typeOfKey;
+        if (capacity < 0) {
+            this.boundedEntries = null;
+            this.entries = new ConcurrentHashMap<>(INITIAL_CAPACITY);
+        } else {
+            this.boundedEntries = new ConcurrentLinkedHashMap.Builder<K, V>()
+                .maximumWeightedCapacity(capacity)
+                .listener(this::onEviction)
+                .build();
+            this.entries = boundedEntries;
+        }
+    }
+
+    /**
+     * Creates an unbounded cache.
+     *
+     * @param name      The name of the cache
+     * @param typeOfKey Resolves the bean type of a key
+     * @param <K>       The key type
+     * @param <V>       The value type
+     * @return The cache
+     */
+    static <K, V> BeanResolutionCache<K, V> unbounded(String name, Function<K, Class<?>> typeOfKey) {
+        return new BeanResolutionCache<>(name, UNBOUNDED, typeOfKey);
+    }
+
+    /**
+     * @param key The key
+     * @return The cached value or {@code null}
+     */
+    @Nullable
+    V get(@NonNull K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * @param key   The key
+     * @param value The value
+     */
+    void put(@NonNull K key, @NonNull V value) {
+        Class<?> type = typeOfKey.apply(key);
+        Set<K> keys = index(type, key);
+        entries.put(key, value);
+        removeIfInvalidated(type, keys, key, value);
+    }
+
+    /**
+     * @param key             The key
+     * @param mappingFunction Computes the value if there is no entry yet
+     * @return The existing or computed value
+     */
+    V computeIfAbsent(@NonNull K key, @NonNull Function<K, V> mappingFunction) {
+        Class<?> type = typeOfKey.apply(key);
+        Set<K> keys = index(type, key);
+        V value = entries.computeIfAbsent(key, mappingFunction);
+        if (value != null) {
+            removeIfInvalidated(type, keys, key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes the entries of every type the given type is assignable to.
+     *
+     * @param type The type
+     */
+    void invalidate(@NonNull Class<?> type) {
+        if (type.isArray()) {
+            // array types are assignable to types outside of their hierarchy, such as Object[] for String[]
+            clear();
+            return;
+        }
+        invalidateKeysOf(type);
+        for (Class<?> superType : ClassUtils.resolveHierarchy(type)) {
+            invalidateKeysOf(superType);
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    void clear() {
+        entries.clear();
+        keysByType.clear();
+    }
+
+    /**
+     * Changes the maximum number of entries of a bounded cache.
+     *
+     * @param capacity The capacity
+     */
+    void setCapacity(int capacity) {
+        if (boundedEntries != null) {
+            boundedEntries.setCapacity(capacity);
+        }
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCapacity() {
+        return boundedEntries != null ? boundedEntries.capacity() : UNBOUNDED;
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return name + "{size=" + getSize() + ", capacity=" + getCapacity() + ", hits=" + getHitCount() +
+            ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + '}';
+    }
+
+    private Set<K> index(Class<?> type, K key) {
+        Set<K> keys = keysByType.computeIfAbsent(type, t -> ConcurrentHashMap.newKeySet());
+        keys.add(key);
+        return keys;
+    }
+
+    /**
+     * Removes an entry that was written while an invalidation removed its key from the index. The invalidation may
+     * have run before the write and found no entry to remove, and without the key in the index, no later
+     * invalidation would remove the entry either.
+     *
+     * @param type  The type of the key
+     * @param keys  The index of the type the key was added to before the write
+     * @param key   The key
+     * @param value The written value
+     */
+    private void removeIfInvalidated(Class<?> type, Set<K> keys, K key, V value) {
+        if (keysByType.get(type) != keys || !keys.contains(key)) {
+            entries.remove(key, value);
+        }
+    }
+
+    private void invalidateKeysOf(Class<?> type) {
+        Set<K> keys = keysByType.get(type);
+        if (keys != null) {
+            for (K key : keys) {
+                if (keys.remove(key)) {
+                    entries.remove(key);
+                }
+            }
+        }
+    }
+
+    private void onEviction(K key, V value) {
+        evictions.increment();
+        if (!entries.containsKey(key)) {
+            Set<K> keys = keysByType.get(typeOfKey.apply(key));
+            if (keys != null) {
+                keys.remove(key);
+            }
+        }
+    }
+}
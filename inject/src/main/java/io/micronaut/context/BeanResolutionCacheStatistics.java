@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Statistics of one of the caches a {@link DefaultBeanContext} uses to resolve beans by type. They help to choose the
+ * {@link BeanContextConfiguration#getBeanResolutionCacheSize() cache size} for an application.
+ *
+ * @since 4.0.0
+ */
+public interface BeanResolutionCacheStatistics {
+
+    /**
+     * @return The name of the cache
+     */
+    @NonNull
+    String getName();
+
+    /**
+     * @return The maximum number of entries, or {@code -1} if the cache is unbounded
+     */
+    long getCapacity();
+
+    /**
+     * @return The current number of entries
+     */
+    int getSize();
+
+    /**
+     * @return The number of lookups that found an entry
+     */
+    long getHitCount();
+
+    /**
+     * @return The number of lookups that did not find an entry
+     */
+    long getMissCount();
+
+    /**
+     * @return The number of entries removed because the cache was full
+     */
+    long getEvictionCount();
+
+    /**
+     * @return The ratio of lookups that found an entry, {@code 0} if there was no lookup yet
+     */
+    default double getHitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.inject.BeanDefinitionReference;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Indexes the {@link BeanDefinitionReference} instances by the names of the types they can be looked up by, as
+ * computed at compilation time by {@link AbstractInitializableBeanDefinitionReference#getIndexedTypeNames()}. Finding
+ * the candidates for a type is then a hash lookup instead of a scan over every reference. References without
+ * indexed types, such as runtime bean definitions, container types or references compiled by an older version, are
+ * candidates for every type.
+ *
+ * @since 4.0.0
+ */
+final class BeanTypeIndex {
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    private final Map<String, Collection<BeanDefinitionReference>> referencesByType = new ConcurrentHashMap<>(INITIAL_CAPACITY);
+    private final Collection<BeanDefinitionReference> unindexedReferences = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param reference The reference to add
+     */
+    void add(@NonNull BeanDefinitionReference<?> reference) {
+        String[] typeNames = indexedTypeNames(reference);
+        if (typeNames == null) {
+            unindexedReferences.add(reference);
+        } else {
+            for (String typeName : typeNames) {
+                referencesByType.computeIfAbsent(typeName, name -> new ConcurrentLinkedQueue<>()).add(reference);
+            }
+        }
+    }
+
+    /**
+     * @param reference The reference to remove
+     */
+    void remove(@NonNull BeanDefinitionReference<?> reference) {
+        String[] typeNames = indexedTypeNames(reference);
+        if (typeNames == null) {
+            unindexedReferences.remove(reference);
+        } else {
+            for (String typeName : typeNames) {
+                Collection<BeanDefinitionReference> references = referencesByType.get(typeName);
+                if (references != null) {
+                    references.remove(reference);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the references that may be candidates for the given type. The candidates still have to be checked with
+     * {@link BeanDefinitionReference#isCandidateBean(io.micronaut.core.type.Argument)}.
+     *
+     * @param type The type
+     * @return The candidate references
+     */
+    @NonNull
+    Collection<BeanDefinitionReference> candidates(@NonNull Class<?> type) {
+        Collection<BeanDefinitionReference> indexed = referencesByType.get(type.getName());
+        if (indexed == null || indexed.isEmpty()) {
+            return unindexedReferences;
+        }
+        if (unindexedReferences.isEmpty()) {
+            return indexed;
+        }
+        List<BeanDefinitionReference> candidates = new ArrayList<>(indexed.size() + unindexedReferences.size());
+        candidates.addAll(indexed);
+        candidates.addAll(unindexedReferences);
+        return candidates;
+    }
+
+    @Nullable
+    private static String[] indexedTypeNames(BeanDefinitionReference<?> reference) {
+        if (reference instanceof AbstractInitializableBeanDefinitionReference<?> initializableReference) {
+            return initializableReference.getIndexedTypeNames();
+        }
+        return null;
+    }
+}
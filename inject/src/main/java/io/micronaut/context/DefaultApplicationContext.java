@@ -178,7 +178,15 @@ public class DefaultApplicationContext extends DefaultBeanContext implements App
     @Override
     @NonNull
     public synchronized ApplicationContext start() {
-        startEnvironment();
+        StartupTracer tracer = StartupTracer.of(this);
+        StartupTracer.Span span = tracer != null ? tracer.start(StartupTracer.Phase.ENVIRONMENT, Environment.class.getName(), null) : null;
+        try {
+            startEnvironment();
+        } finally {
+            if (span != null) {
+                span.end();
+            }
+        }
         return (ApplicationContext) super.start();
     }
 
@@ -66,6 +66,9 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
     private boolean banner = true;
     private ClassPathResourceLoader classPathResourceLoader;
     private boolean allowEmptyProviders = false;
+    private int beanResolutionCacheSize = 0;
+    private int eagerInitParallelism = 1;
+    private boolean traceStartup = false;
     private Boolean bootstrapEnvironment = null;
     private boolean enableDefaultPropertySources = true;
 
@@ -89,6 +92,21 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
         return allowEmptyProviders;
     }
 
+    @Override
+    public int getBeanResolutionCacheSize() {
+        return beanResolutionCacheSize;
+    }
+
+    @Override
+    public int getEagerInitParallelism() {
+        return eagerInitParallelism;
+    }
+
+    @Override
+    public boolean isStartupTraceEnabled() {
+        return traceStartup;
+    }
+
     @Override
     @NonNull
     public ApplicationContextBuilder enableDefaultPropertySources(boolean areEnabled) {
@@ -400,6 +418,24 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
         return this;
     }
 
+    @Override
+    public @NonNull ApplicationContextBuilder traceStartup(boolean traceStartup) {
+        this.traceStartup = traceStartup;
+        return this;
+    }
+
+    @Override
+    public @NonNull ApplicationContextBuilder eagerInitParallelism(int parallelism) {
+        this.eagerInitParallelism = parallelism;
+        return this;
+    }
+
+    @Override
+    public @NonNull ApplicationContextBuilder beanResolutionCacheSize(int size) {
+        this.beanResolutionCacheSize = size;
+        return this;
+    }
+
     /**
      * Returns a customizer which is the aggregation of all
      * customizers found on classpath via service loading.
@@ -87,7 +87,6 @@ import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.StreamUtils;
 import io.micronaut.core.util.StringUtils;
-import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
 import io.micronaut.core.value.PropertyResolver;
 import io.micronaut.core.value.ValueResolver;
 import io.micronaut.inject.AdvisedBeanType;
@@ -180,6 +179,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
     private static final String PARALLEL_TYPE = Parallel.class.getName();
     private static final String INDEXES_TYPE = Indexes.class.getName();
     private static final String REPLACES_ANN = Replaces.class.getName();
+    private static final int DEFAULT_BEAN_RESOLUTION_CACHE_SIZE = 30;
     private static final Comparator<BeanRegistration<?>> BEAN_REGISTRATION_COMPARATOR = (o1, o2) -> {
         int order1 = OrderUtil.getOrder(o1.getBeanDefinition(), o1.getBean());
         int order2 = OrderUtil.getOrder(o2.getBeanDefinition(), o2.getBean());
@@ -197,27 +197,30 @@ public class DefaultBeanContext implements InitializableBeanContext {
 
     private final BeanContextConfiguration beanContextConfiguration;
     private final Collection<BeanDefinitionReference> beanDefinitionsClasses = new ConcurrentLinkedQueue<>();
+    private final BeanTypeIndex beanTypeIndex = new BeanTypeIndex();
     private final Collection<BeanDefinitionReference> proxyTargetBeans = new ConcurrentLinkedQueue<>();
 
     private final Map<BeanKey<?>, BeanDefinitionReference> disabledBeans = new ConcurrentHashMap<>(20);
     private final Map<String, List<String>> disabledConfigurations = new ConcurrentHashMap<>(5);
     private final Map<String, BeanConfiguration> beanConfigurations = new HashMap<>(10);
-    private final Map<BeanKey, Boolean> containsBeanCache = new ConcurrentHashMap<>(30);
+    private final BeanResolutionCache<BeanKey, Boolean> containsBeanCache =
+        BeanResolutionCache.unbounded("containsBean", key -> key.beanType.getType());
     private final Map<CharSequence, Object> attributes = Collections.synchronizedMap(new HashMap<>(5));
 
-    private final Map<BeanKey, CollectionHolder> singletonBeanRegistrations = new ConcurrentHashMap<>(50);
+    private final BeanResolutionCache<BeanKey, CollectionHolder> singletonBeanRegistrations =
+        BeanResolutionCache.unbounded("singletonBeanRegistrations", key -> key.beanType.getType());
 
-    private final Map<BeanCandidateKey, Optional<BeanDefinition>> beanConcreteCandidateCache =
-            new ConcurrentLinkedHashMap.Builder<BeanCandidateKey, Optional<BeanDefinition>>().maximumWeightedCapacity(30).build();
+    private final BeanResolutionCache<BeanCandidateKey, Optional<BeanDefinition>> beanConcreteCandidateCache;
 
-    private final Map<BeanCandidateKey, Optional<BeanDefinition>> beanProxyTargetCache =
-        new ConcurrentLinkedHashMap.Builder<BeanCandidateKey, Optional<BeanDefinition>>().maximumWeightedCapacity(30).build();
+    private final BeanResolutionCache<BeanCandidateKey, Optional<BeanDefinition>> beanProxyTargetCache;
 
-    private final Map<Argument, Collection<BeanDefinition>> beanCandidateCache = new ConcurrentLinkedHashMap.Builder<Argument, Collection<BeanDefinition>>().maximumWeightedCapacity(30).build();
+    private final BeanResolutionCache<Argument, Collection<BeanDefinition>> beanCandidateCache;
 
     private final Map<Class<?>, Collection<BeanDefinitionReference>> beanIndex = new ConcurrentHashMap<>(12);
 
     private final ClassLoader classLoader;
+    @Nullable
+    private final StartupTracer startupTracer;
     private final Set<Class<?>> thisInterfaces = CollectionUtils.setOf(
             BeanDefinitionRegistry.class,
             BeanContext.class,
@@ -241,6 +244,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
     private final String[] eagerInitStereotypes;
     private final boolean eagerInitStereotypesPresent;
     private final boolean eagerInitSingletons;
+    private final boolean beanResolutionCacheSizeConfigured;
 
     private BeanDefinitionValidator beanValidator;
     private List<BeanDefinitionReference> beanDefinitionReferences;
@@ -299,6 +303,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
      */
     public DefaultBeanContext(@NonNull BeanContextConfiguration contextConfiguration) {
         ArgumentUtils.requireNonNull("contextConfiguration", contextConfiguration);
+        this.startupTracer = contextConfiguration.isStartupTraceEnabled() ? new StartupTracer() : null;
         // enable classloader logging
         System.setProperty(ClassUtils.PROPERTY_MICRONAUT_CLASSLOADER_LOGGING, "true");
         this.classLoader = contextConfiguration.getClassLoader();
@@ -312,6 +317,20 @@ public class DefaultBeanContext implements InitializableBeanContext {
         this.eagerInitStereotypesPresent = !configuredEagerSingletonAnnotations.isEmpty();
         this.eagerInitSingletons = eagerInitStereotypesPresent && (configuredEagerSingletonAnnotations.contains(AnnotationUtil.SINGLETON) || configuredEagerSingletonAnnotations.contains(Singleton.class.getName()));
         this.beanContextConfiguration = contextConfiguration;
+        int beanResolutionCacheSize = contextConfiguration.getBeanResolutionCacheSize();
+        this.beanResolutionCacheSizeConfigured = beanResolutionCacheSize > 0;
+        int capacity = beanResolutionCacheSizeConfigured ? beanResolutionCacheSize : DEFAULT_BEAN_RESOLUTION_CACHE_SIZE;
+        this.beanConcreteCandidateCache = new BeanResolutionCache<>("concreteCandidates", capacity, key -> key.beanType.getType());
+        this.beanProxyTargetCache = new BeanResolutionCache<>("proxyTargets", capacity, key -> key.beanType.getType());
+        this.beanCandidateCache = new BeanResolutionCache<>("beanCandidates", capacity, Argument::getType);
+    }
+
+    /**
+     * @return The startup tracer or {@code null} if startup tracing is disabled
+     */
+    @Nullable
+    StartupTracer getStartupTracer() {
+        return startupTracer;
     }
 
     /**
@@ -352,6 +371,9 @@ public class DefaultBeanContext implements InitializableBeanContext {
                     LOG.debug("Starting BeanContext");
                 }
                 registerConversionService();
+                if (startupTracer != null) {
+                    registerSingleton(StartupTracer.class, startupTracer, null, false);
+                }
                 finalizeConfiguration();
                 if (LOG.isDebugEnabled()) {
                     String activeConfigurations = beanConfigurations
@@ -368,6 +390,9 @@ public class DefaultBeanContext implements InitializableBeanContext {
                     LOG.debug("BeanContext Started.");
                 }
                 publishEvent(new StartupEvent(this));
+                if (startupTracer != null) {
+                    startupTracer.stop();
+                }
             }
             running.set(true);
             initializing.set(false);
@@ -464,6 +489,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
 
             singletonBeanRegistrations.clear();
             beanConcreteCandidateCache.clear();
+            beanProxyTargetCache.clear();
             beanCandidateCache.clear();
             containsBeanCache.clear();
             beanConfigurations.clear();
@@ -763,10 +789,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
     }
 
     private <T> void purgeCacheForBeanInstance(T singleton) {
-        beanCandidateCache.entrySet().removeIf(entry -> entry.getKey().isInstance(singleton));
-        beanConcreteCandidateCache.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
-        singletonBeanRegistrations.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
-        containsBeanCache.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
+        purgeCacheForBeanType(singleton.getClass());
     }
 
     @NonNull
@@ -862,8 +885,9 @@ public class DefaultBeanContext implements InitializableBeanContext {
     public <T> boolean containsBean(Argument<T> beanType, Qualifier<T> qualifier) {
         ArgumentUtils.requireNonNull("beanType", beanType);
         BeanKey<T> beanKey = new BeanKey<>(beanType, qualifier);
-        if (containsBeanCache.containsKey(beanKey)) {
-            return containsBeanCache.get(beanKey);
+        Boolean cached = containsBeanCache.get(beanKey);
+        if (cached != null) {
+            return cached;
         } else {
             boolean result = singletonScope.containsBean(beanType, qualifier) ||
                     isCandidatePresent(beanKey.beanType, qualifier);
@@ -1663,6 +1687,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
         Objects.requireNonNull(definition, "Bean definition cannot be null");
         Class<B> beanType = definition.getBeanType();
         this.beanDefinitionsClasses.add(definition);
+        this.beanTypeIndex.add(definition);
         for (Class<?> indexedType : indexedTypes) {
             if (indexedType == beanType || indexedType.isAssignableFrom(beanType)) {
                 final Collection<BeanDefinitionReference> indexed = resolveTypeIndex(indexedType);
@@ -1675,10 +1700,11 @@ public class DefaultBeanContext implements InitializableBeanContext {
     }
 
     private <B> void purgeCacheForBeanType(Class<B> beanType) {
-        beanCandidateCache.entrySet().removeIf(entry -> entry.getKey().isAssignableFrom(beanType));
-        beanConcreteCandidateCache.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(beanType));
-        singletonBeanRegistrations.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(beanType));
-        containsBeanCache.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(beanType));
+        beanCandidateCache.invalidate(beanType);
+        beanConcreteCandidateCache.invalidate(beanType);
+        beanProxyTargetCache.invalidate(beanType);
+        singletonBeanRegistrations.invalidate(beanType);
+        containsBeanCache.invalidate(beanType);
     }
 
     /**
@@ -1697,6 +1723,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
             }
         }
         this.beanDefinitionsClasses.remove(definition);
+        this.beanTypeIndex.remove(definition);
         purgeCacheForBeanType(definition.getBeanType());
     }
 
@@ -1879,6 +1906,18 @@ public class DefaultBeanContext implements InitializableBeanContext {
         singletonBeanRegistrations.clear();
     }
 
+    /**
+     * The statistics of the caches used to resolve beans by type. The caches are sized from the number of bean
+     * definitions, unless {@link BeanContextConfiguration#getBeanResolutionCacheSize()} is set.
+     *
+     * @return The cache statistics
+     * @since 4.0.0
+     */
+    @NonNull
+    public List<BeanResolutionCacheStatistics> getBeanResolutionCacheStatistics() {
+        return List.of(beanCandidateCache, beanConcreteCandidateCache, beanProxyTargetCache, containsBeanCache, singletonBeanRegistrations);
+    }
+
     /**
      * Resolves the {@link BeanDefinitionReference} class instances. Default implementation uses ServiceLoader pattern.
      *
@@ -2048,15 +2087,17 @@ public class DefaultBeanContext implements InitializableBeanContext {
             }
             filterReplacedBeans(null, (Collection) contextBeans);
             OrderUtil.sort(contextBeans);
-            for (BeanDefinition contextScopeDefinition : contextBeans) {
-                try {
-                    loadContextScopeBean(contextScopeDefinition);
-                } catch (DisabledBeanException e) {
-                    if (AbstractBeanContextConditional.ConditionLog.LOG.isDebugEnabled()) {
-                        AbstractBeanContextConditional.ConditionLog.LOG.debug("Bean of type [{}] disabled for reason: {}", contextScopeDefinition.getBeanType().getSimpleName(), e.getMessage());
+            int eagerInitParallelism = beanContextConfiguration.getEagerInitParallelism();
+            if (eagerInitParallelism > 1 && contextBeans.size() > 1) {
+                new ParallelBeanInitializer(eagerInitParallelism, classLoader, this::loadEagerBean)
+                    .initialize((List) contextBeans);
+            } else {
+                for (BeanDefinition contextScopeDefinition : contextBeans) {
+                    try {
+                        loadEagerBean(contextScopeDefinition);
+                    } catch (Throwable e) {
+                        throw new BeanInstantiationException("Bean definition [" + contextScopeDefinition.getName() + "] could not be loaded: " + e.getMessage(), e);
                     }
-                } catch (Throwable e) {
-                    throw new BeanInstantiationException("Bean definition [" + contextScopeDefinition.getName() + "] could not be loaded: " + e.getMessage(), e);
                 }
             }
         }
@@ -2147,8 +2188,13 @@ public class DefaultBeanContext implements InitializableBeanContext {
             processParallelBeans(parallelBeans);
         }
         final Runnable runnable = () ->
-                beanDefinitionsClasses.removeIf((BeanDefinitionReference beanDefinitionReference) ->
-                        !beanDefinitionReference.isEnabled(this));
+                beanDefinitionsClasses.removeIf((BeanDefinitionReference beanDefinitionReference) -> {
+                    if (beanDefinitionReference.isEnabled(this)) {
+                        return false;
+                    }
+                    beanTypeIndex.remove(beanDefinitionReference);
+                    return true;
+                });
         ForkJoinPool.commonPool().execute(runnable);
     }
 
@@ -2214,7 +2260,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
                 beanDefinitionsClasses = Collections.emptyList();
             }
         } else {
-            beanDefinitionsClasses = this.beanDefinitionsClasses;
+            beanDefinitionsClasses = beanTypeIndex.candidates(beanClass);
         }
 
         return collectBeanCandidates(
@@ -2451,13 +2497,20 @@ public class DefaultBeanContext implements InitializableBeanContext {
                                  @Nullable Argument<T> qualifierBeanType,
                                  boolean isSingleton,
                                  @Nullable Map<String, Object> argumentValues) {
-        T bean;
-        if (beanDefinition instanceof BeanFactory) {
-            bean = resolveByBeanFactory(resolutionContext, beanDefinition, qualifier, argumentValues);
-        } else {
-            bean = resolveByBeanDefinition(resolutionContext, beanDefinition);
+        StartupTracer.Span span = startupTracer != null ? startupTracer.start(StartupTracer.Phase.CREATE, beanDefinition.getName(), null) : null;
+        try {
+            T bean;
+            if (beanDefinition instanceof BeanFactory) {
+                bean = resolveByBeanFactory(resolutionContext, beanDefinition, qualifier, argumentValues);
+            } else {
+                bean = resolveByBeanDefinition(resolutionContext, beanDefinition);
+            }
+            return postBeanCreated(resolutionContext, beanDefinition, qualifier, bean);
+        } finally {
+            if (span != null) {
+                span.end();
+            }
         }
-        return postBeanCreated(resolutionContext, beanDefinition, qualifier, bean);
     }
 
     @NonNull
@@ -2875,6 +2928,16 @@ public class DefaultBeanContext implements InitializableBeanContext {
         }
     }
 
+    private void loadEagerBean(BeanDefinition<Object> beanDefinition) {
+        try {
+            loadContextScopeBean(beanDefinition);
+        } catch (DisabledBeanException e) {
+            if (AbstractBeanContextConditional.ConditionLog.LOG.isDebugEnabled()) {
+                AbstractBeanContextConditional.ConditionLog.LOG.debug("Bean of type [{}] disabled for reason: {}", beanDefinition.getBeanType().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
     private void loadContextScopeBean(BeanDefinition<Object> beanDefinition) {
         if (beanDefinition.isIterable() || beanDefinition.hasStereotype(ConfigurationReader.class.getName())) {
             Set<BeanDefinition<Object>> beanCandidates = new HashSet<>(5);
@@ -3482,9 +3545,27 @@ public class DefaultBeanContext implements InitializableBeanContext {
         List<BeanDefinitionReference> processedBeans = new ArrayList<>(10);
         List<BeanDefinitionReference> parallelBeans = new ArrayList<>(10);
 
-        List<BeanDefinitionReference> beanDefinitionReferences = resolveBeanDefinitionReferences();
+        StartupTracer.Span span = startupTracer != null ? startupTracer.start(StartupTracer.Phase.SCAN, BeanDefinitionReference.class.getName(), null) : null;
+        List<BeanDefinitionReference> beanDefinitionReferences;
+        try {
+            beanDefinitionReferences = resolveBeanDefinitionReferences();
+        } finally {
+            if (span != null) {
+                span.end();
+            }
+        }
         List<BeanDefinitionReference> toRemove = new ArrayList<>(beanDefinitionReferences.size());
         beanDefinitionsClasses.addAll(beanDefinitionReferences);
+        for (BeanDefinitionReference beanDefinitionReference : beanDefinitionReferences) {
+            beanTypeIndex.add(beanDefinitionReference);
+        }
+        if (!beanResolutionCacheSizeConfigured) {
+            // one entry per bean definition lets every type be cached once
+            int capacity = Math.max(DEFAULT_BEAN_RESOLUTION_CACHE_SIZE, beanDefinitionReferences.size());
+            beanCandidateCache.setCapacity(capacity);
+            beanConcreteCandidateCache.setCapacity(capacity);
+            beanProxyTargetCache.setCapacity(capacity);
+        }
 
         Set<BeanConfiguration> configurationsDisabled = new HashSet<>();
         for (BeanConfiguration bc : beanConfigurations.values()) {
@@ -3543,6 +3624,9 @@ public class DefaultBeanContext implements InitializableBeanContext {
         }
 
         this.beanDefinitionsClasses.removeAll(toRemove);
+        for (BeanDefinitionReference beanDefinitionReference : toRemove) {
+            beanTypeIndex.remove(beanDefinitionReference);
+        }
         this.beanDefinitionReferences = null;
         this.beanConfigurationsList = null;
 
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.context.exceptions.BeanInstantiationException;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.order.OrderUtil;
+import io.micronaut.inject.BeanDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Initializes the eager beans of a context concurrently on a bounded pool.
+ *
+ * <p>A bean only starts once the eager beans it requires, according to
+ * {@link BeanDefinition#getRequiredComponents()}, are initialized. Beans with a different order are initialized in
+ * separate phases, the lowest order first, so that {@link io.micronaut.core.annotation.Order} keeps its meaning.
+ * Beans that are part of a dependency cycle are initialized one after the other on the calling thread once the
+ * others are done.</p>
+ *
+ * <p>If beans fail, the failure of the first bean in order is thrown, with the failures of the other beans
+ * suppressed, so that the reported failure does not depend on the scheduling. Beans whose dependencies failed are
+ * not initialized.</p>
+ *
+ * @since 4.0.0
+ */
+final class ParallelBeanInitializer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelBeanInitializer.class);
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int parallelism;
+    private final ClassLoader classLoader;
+    private final Consumer<BeanDefinition<Object>> beanInitializer;
+    private final Collection<BeanTiming> timings = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param parallelism     The maximum number of threads
+     * @param classLoader     The class loader of the context
+     * @param beanInitializer Initializes a single bean
+     */
+    ParallelBeanInitializer(int parallelism, ClassLoader classLoader, Consumer<BeanDefinition<Object>> beanInitializer) {
+        this.parallelism = parallelism;
+        this.classLoader = classLoader;
+        this.beanInitializer = beanInitializer;
+    }
+
+    /**
+     * Initializes the given beans.
+     *
+     * @param beans The beans, sorted by order
+     * @throws BeanInstantiationException If a bean cannot be initialized
+     */
+    void initialize(@NonNull List<BeanDefinition<Object>> beans) {
+        Map<Integer, List<BeanDefinition<Object>>> phases = new TreeMap<>();
+        for (BeanDefinition<Object> bean : beans) {
+            phases.computeIfAbsent(OrderUtil.getOrder(bean), order -> new ArrayList<>()).add(bean);
+        }
+        int threads = Math.min(parallelism, beans.size());
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new EagerInitThreadFactory(classLoader));
+        try {
+            for (List<BeanDefinition<Object>> phase : phases.values()) {
+                initializePhase(phase, executor);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Initialized {} eager beans with {} threads in {}ms", beans.size(), threads, (System.nanoTime() - start) / NANOS_PER_MILLI);
+            List<BeanTiming> sortedTimings = new ArrayList<>(timings);
+            sortedTimings.sort(Comparator.comparingLong((BeanTiming timing) -> timing.nanos).reversed());
+            for (BeanTiming timing : sortedTimings) {
+                LOG.debug("  {}ms on {} for {}", timing.nanos / NANOS_PER_MILLI, timing.thread, timing.bean.getName());
+            }
+        }
+    }
+
+    private void initializePhase(List<BeanDefinition<Object>> beans, ExecutorService executor) {
+        int size = beans.size();
+        List<List<Integer>> dependencies = new ArrayList<>(size);
+        List<List<Integer>> dependents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dependencies.add(new ArrayList<>(2));
+            dependents.add(new ArrayList<>(2));
+        }
+        for (int i = 0; i < size; i++) {
+            Collection<Class<?>> requiredComponents = beans.get(i).getRequiredComponents();
+            if (requiredComponents.isEmpty()) {
+                continue;
+            }
+            for (int j = 0; j < size; j++) {
+                if (i != j && isRequired(requiredComponents, beans.get(j))) {
+                    dependencies.get(i).add(j);
+                    dependents.get(j).add(i);
+                }
+            }
+        }
+
+        List<Integer> order = topologicalOrder(dependencies, dependents);
+        Throwable[] failures = new Throwable[size];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[size];
+        for (int i : order) {
+            BeanDefinition<Object> bean = beans.get(i);
+            int index = i;
+            Runnable task = () -> initialize(bean, index, failures);
+            List<Integer> beanDependencies = dependencies.get(i);
+            if (beanDependencies.isEmpty()) {
+                futures[i] = CompletableFuture.runAsync(task, executor);
+            } else {
+                CompletableFuture<?>[] required = new CompletableFuture<?>[beanDependencies.size()];
+                for (int j = 0; j < required.length; j++) {
+                    required[j] = futures[beanDependencies.get(j)];
+                }
+                futures[i] = CompletableFuture.allOf(required).thenRunAsync(task, executor);
+            }
+        }
+        List<CompletableFuture<?>> scheduled = new ArrayList<>(order.size());
+        for (int i : order) {
+            scheduled.add(futures[i]);
+        }
+        // failures are collected below, completing exceptionally only means that a bean failed
+        CompletableFuture.allOf(scheduled.toArray(new CompletableFuture<?>[0])).handle((result, throwable) -> null).join();
+        throwFirstFailure(beans, failures);
+
+        if (order.size() < size) {
+            // beans within a dependency cycle
+            for (int i = 0; i < size; i++) {
+                if (futures[i] == null) {
+                    try {
+                        initialize(beans.get(i), i, failures);
+                    } catch (CompletionException e) {
+                        // recorded in failures, stop like the sequential initialization does
+                        break;
+                    }
+                }
+            }
+            throwFirstFailure(beans, failures);
+        }
+    }
+
+    private void initialize(BeanDefinition<Object> bean, int index, Throwable[] failures) {
+        long start = System.nanoTime();
+        try {
+            beanInitializer.accept(bean);
+        } catch (Throwable e) {
+            failures[index] = e;
+            throw new CompletionException(e);
+        } finally {
+            timings.add(new BeanTiming(bean, Thread.currentThread().getName(), System.nanoTime() - start));
+        }
+    }
+
+    private static boolean isRequired(Collection<Class<?>> requiredComponents, BeanDefinition<?> candidate) {
+        Class<?> beanType = candidate.getBeanType();
+        for (Class<?> requiredComponent : requiredComponents) {
+            if (requiredComponent != Object.class && requiredComponent.isAssignableFrom(beanType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Integer> topologicalOrder(List<List<Integer>> dependencies, List<List<Integer>> dependents) {
+        int size = dependencies.size();
+        int[] remaining = new int[size];
+        List<Integer> order = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            remaining[i] = dependencies.get(i).size();
+            if (remaining[i] == 0) {
+                order.add(i);
+            }
+        }
+        for (int next = 0; next < order.size(); next++) {
+            for (int dependent : dependents.get(order.get(next))) {
+                if (--remaining[dependent] == 0) {
+                    order.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+
+    private static void throwFirstFailure(List<BeanDefinition<Object>> beans, Throwable[] failures) {
+        BeanInstantiationException exception = null;
+        for (int i = 0; i < failures.length; i++) {
+            Throwable failure = failures[i];
+            if (failure == null) {
+                continue;
+            }
+            if (exception == null) {
+                exception = new BeanInstantiationException("Bean definition [" + beans.get(i).getName() + "] could not be loaded: " + failure.getMessage(), failure);
+            } else {
+                exception.addSuppressed(failure);
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * The time spent initializing a bean, including the beans it created.
+     */
+    private static final class BeanTiming {
+        final BeanDefinition<?> bean;
+        final String thread;
+        final long nanos;
+
+        BeanTiming(BeanDefinition<?> bean, String thread, long nanos) {
+            this.bean = bean;
+            this.thread = thread;
+            this.nanos = nanos;
+        }
+    }
+
+    /**
+     * Creates the daemon threads of the pool.
+     */
+    private static final class EagerInitThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+        private final ClassLoader classLoader;
+
+        EagerInitThreadFactory(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "eager-init-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }
+    }
+}
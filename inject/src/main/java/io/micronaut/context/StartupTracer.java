@@ -0,0 +1,404 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.Experimental;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records where the time is spent while a context starts: scanning and loading the bean definitions, evaluating their
+ * conditions, resolving the properties they are configured with and creating the bean instances.
+ *
+ * <p>Every step is recorded as a {@link Span}. Spans nest, so the time spent creating a bean includes the time spent
+ * creating its dependencies, whereas the self time of a span excludes the spans nested within it. Recording stops
+ * once the context is started.</p>
+ *
+ * <p>The tracer is enabled with {@link ApplicationContextBuilder#traceStartup(boolean)} and registered as a bean of
+ * the context. The spans can be exported in the Chrome trace event format with {@link #writeChromeTrace(Writer)}, and
+ * opened with {@code chrome://tracing} or Perfetto.</p>
+ *
+ * @since 4.0.0
+ */
+@Experimental
+public final class StartupTracer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupTracer.class);
+    private static final long NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int LOGGED_BEANS = 10;
+
+    private final long origin = System.nanoTime();
+    private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private volatile long stopped;
+
+    /**
+     * Creates a tracer, starting the clock of the startup.
+     */
+    StartupTracer() {
+    }
+
+    /**
+     * Obtains the tracer of the given context.
+     *
+     * @param context The context
+     * @return The tracer or {@code null} if startup tracing is disabled or the context already started
+     */
+    @Nullable
+    static StartupTracer of(@Nullable BeanContext context) {
+        if (context instanceof DefaultBeanContext defaultBeanContext) {
+            StartupTracer tracer = defaultBeanContext.getStartupTracer();
+            if (tracer != null && tracer.isRecording()) {
+                return tracer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Starts a span on the current thread. The span has to be ended on the same thread.
+     *
+     * @param phase  The phase
+     * @param name   The name of the bean or of the step
+     * @param detail An optional detail, such as the name of a property
+     * @return The span or {@code null} if recording stopped
+     */
+    @Nullable
+    Span start(@NonNull Phase phase, @NonNull String name, @Nullable String detail) {
+        if (!isRecording()) {
+            return null;
+        }
+        Thread thread = Thread.currentThread();
+        Span span = new Span(this, current.get(), phase, name, detail, thread.getName(), thread.getId(), System.nanoTime() - origin);
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * Stops recording and logs the beans that took the longest to start.
+     */
+    void stop() {
+        if (!isRecording()) {
+            return;
+        }
+        stopped = System.nanoTime();
+        if (LOG.isInfoEnabled()) {
+            List<BeanTime> beanTimes = getBeanTimes();
+            LOG.info("Startup took {}ms, {} beans traced", getTotalNanos() / NANOS_PER_MILLI, beanTimes.size());
+            for (BeanTime beanTime : beanTimes.subList(0, Math.min(LOGGED_BEANS, beanTimes.size()))) {
+                LOG.info("  {}ms {} {}", beanTime.getSelfNanos() / NANOS_PER_MILLI, beanTime.getName(), beanTime.getSelfNanosByPhase());
+            }
+        }
+    }
+
+    /**
+     * @return Whether spans are still recorded
+     */
+    public boolean isRecording() {
+        return stopped == 0;
+    }
+
+    /**
+     * @return The time elapsed from the creation of the context to its start, or until now if it is still starting
+     */
+    public long getTotalNanos() {
+        long end = stopped;
+        return (end == 0 ? System.nanoTime() : end) - origin;
+    }
+
+    /**
+     * @return The recorded spans, in the order they ended
+     */
+    @NonNull
+    public List<Span> getSpans() {
+        return Collections.unmodifiableList(new ArrayList<>(spans));
+    }
+
+    /**
+     * Sums up the self time of the spans per bean.
+     *
+     * @return The time spent per bean, the slowest first
+     */
+    @NonNull
+    public List<BeanTime> getBeanTimes() {
+        Map<String, BeanTime> beanTimes = new HashMap<>();
+        for (Span span : spans) {
+            if (span.phase != Phase.SCAN && span.phase != Phase.ENVIRONMENT) {
+                beanTimes.computeIfAbsent(span.name, BeanTime::new).add(span);
+            }
+        }
+        List<BeanTime> result = new ArrayList<>(beanTimes.values());
+        result.sort(Comparator.comparingLong(BeanTime::getSelfNanos).reversed());
+        return result;
+    }
+
+    /**
+     * Writes the spans in the Chrome trace event format.
+     *
+     * @param writer The writer
+     * @throws IOException If the spans cannot be written
+     */
+    public void writeChromeTrace(@NonNull Writer writer) throws IOException {
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        boolean first = true;
+        for (Span span : spans) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writer.write("\n{\"name\":");
+            writeString(writer, span.name);
+            writer.write(",\"cat\":\"");
+            writer.write(span.phase.getId());
+            writer.write("\",\"ph\":\"X\",\"pid\":1,\"tid\":");
+            writer.write(Long.toString(span.threadId));
+            writer.write(",\"ts\":");
+            writer.write(toMicros(span.startNanos));
+            writer.write(",\"dur\":");
+            writer.write(toMicros(span.durationNanos));
+            writer.write(",\"args\":{\"thread\":");
+            writeString(writer, span.thread);
+            if (span.detail != null) {
+                writer.write(",\"detail\":");
+                writeString(writer, span.detail);
+            }
+            writer.write("}}");
+        }
+        writer.write("\n]}");
+        writer.flush();
+    }
+
+    private static String toMicros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", (double) nanos / NANOS_PER_MICRO);
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < ' ') {
+                writer.write(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+
+    /**
+     * The startup phases that are traced.
+     */
+    public enum Phase {
+        /**
+         * Starting the environment and loading the property sources.
+         */
+        ENVIRONMENT("environment"),
+        /**
+         * Scanning the classpath for bean definitions.
+         */
+        SCAN("scan"),
+        /**
+         * Loading a bean definition.
+         */
+        LOAD("load"),
+        /**
+         * Evaluating the conditions of a bean.
+         */
+        CONDITION("condition"),
+        /**
+         * Resolving a property value to inject into a bean.
+         */
+        PROPERTY("property"),
+        /**
+         * Creating a bean.
+         */
+        CREATE("create");
+
+        private final String id;
+
+        Phase(String id) {
+            this.id = id;
+        }
+
+        /**
+         * @return The id of the phase, used as category of the exported events
+         */
+        @NonNull
+        public String getId() {
+            return id;
+        }
+    }
+
+    /**
+     * A step of the startup.
+     */
+    public static final class Span {
+        private final StartupTracer tracer;
+        private final Span parent;
+        private final Phase phase;
+        private final String name;
+        private final String detail;
+        private final String thread;
+        private final long threadId;
+        private final long startNanos;
+        private long durationNanos;
+        private long childNanos;
+
+        private Span(StartupTracer tracer, Span parent, Phase phase, String name, String detail, String thread, long threadId, long startNanos) {
+            this.tracer = tracer;
+            this.parent = parent;
+            this.phase = phase;
+            this.name = name;
+            this.detail = detail;
+            this.thread = thread;
+            this.threadId = threadId;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Ends this span. Spans that end after the tracer stopped are discarded.
+         */
+        void end() {
+            durationNanos = System.nanoTime() - tracer.origin - startNanos;
+            if (parent != null) {
+                parent.childNanos += durationNanos;
+            }
+            if (parent == null) {
+                tracer.current.remove();
+            } else {
+                tracer.current.set(parent);
+            }
+            if (tracer.isRecording()) {
+                tracer.spans.add(this);
+            }
+        }
+
+        /**
+         * @return The phase
+         */
+        @NonNull
+        public Phase getPhase() {
+            return phase;
+        }
+
+        /**
+         * @return The name of the bean or of the step
+         */
+        @NonNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The detail, such as the name of a property
+         */
+        @Nullable
+        public String getDetail() {
+            return detail;
+        }
+
+        /**
+         * @return The name of the thread
+         */
+        @NonNull
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * @return The start, relative to the creation of the context
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        /**
+         * @return The duration, including the nested spans
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return The duration, excluding the nested spans
+         */
+        public long getSelfNanos() {
+            return durationNanos - childNanos;
+        }
+    }
+
+    /**
+     * The time spent on a bean, summed up over its spans.
+     */
+    public static final class BeanTime {
+        private final String name;
+        private final Map<Phase, Long> selfNanosByPhase = new EnumMap<>(Phase.class);
+        private long selfNanos;
+
+        private BeanTime(String name) {
+            this.name = name;
+        }
+
+        private void add(Span span) {
+            long spanSelfNanos = span.getSelfNanos();
+            selfNanos += spanSelfNanos;
+            selfNanosByPhase.merge(span.phase, spanSelfNanos, Long::sum);
+        }
+
+        /**
+         * @return The name of the bean
+         */
+        @NonNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The time spent on the bean itself, excluding the other beans it required
+         */
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        /**
+         * @return The self time per phase
+         */
+        @NonNull
+        public Map<Phase, Long> getSelfNanosByPhase() {
+            return Collections.unmodifiableMap(selfNanosByPhase);
+        }
+    }
+}
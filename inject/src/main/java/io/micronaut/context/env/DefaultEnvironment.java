@@ -294,6 +294,14 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
         return this;
     }
 
+    @Override
+    public @NonNull Environment refresh() {
+        Environment environment = Environment.super.refresh();
+        // the refreshed beans look up their properties right after, so build the key indexes ahead of them
+        buildKeyIndexesAsync();
+        return environment;
+    }
+
     @Override
     public Map<String, Object> refreshAndDiff() {
         Map<String, Object>[] copiedCatalog = copyCatalog();
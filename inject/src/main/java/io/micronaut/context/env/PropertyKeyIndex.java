@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.env;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable trie over the keys of a property catalog, with one node per dot separated segment.
+ *
+ * <p>Finding a key, or enumerating the keys that start with a given prefix followed by a dot, only visits the
+ * segments of the prefix and the keys found under it, instead of every key of the catalog. Keys found under a
+ * prefix are returned in the order of the catalog.</p>
+ *
+ * @since 4.0.0
+ */
+final class PropertyKeyIndex {
+
+    private static final char DOT = '.';
+
+    private final Node root = new Node();
+
+    /**
+     * Indexes the keys of the given catalog.
+     *
+     * @param catalog The catalog
+     */
+    PropertyKeyIndex(@NonNull Map<String, Object>[] catalog) {
+        int ordinal = 0;
+        for (Map<String, Object> entries : catalog) {
+            if (entries == null) {
+                continue;
+            }
+            for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                String key = entry.getKey();
+                Node node = root;
+                int start = 0;
+                int end;
+                do {
+                    end = key.indexOf(DOT, start);
+                    String segment = end == -1 ? key.substring(start) : key.substring(start, end);
+                    node = node.child(segment);
+                    start = end + 1;
+                } while (end != -1);
+                node.key = key;
+                node.value = entry.getValue();
+                node.ordinal = ordinal++;
+            }
+        }
+    }
+
+    /**
+     * @param name The property name
+     * @return Whether the name is a key of the catalog or the prefix of a key
+     */
+    boolean containsProperties(@NonNull String name) {
+        return find(name) != null;
+    }
+
+    /**
+     * Finds the next segment of every key that starts with the given name followed by a dot.
+     *
+     * @param name The property name
+     * @return The next segments
+     */
+    @NonNull
+    Set<String> getChildSegments(@NonNull String name) {
+        Node node = find(name);
+        return node != null ? Collections.unmodifiableSet(node.children.keySet()) : Collections.emptySet();
+    }
+
+    /**
+     * Finds the entries whose key starts with the given name followed by a dot.
+     *
+     * @param name The property name
+     * @return The entries, in the order of the catalog
+     */
+    @NonNull
+    Map<String, Object> getEntries(@NonNull String name) {
+        Node node = find(name);
+        if (node == null || node.children.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Node> found = new ArrayList<>();
+        for (Node child : node.children.values()) {
+            child.collect(found);
+        }
+        found.sort(Comparator.comparingInt(n -> n.ordinal));
+        Map<String, Object> entries = new LinkedHashMap<>(found.size() * 2);
+        for (Node n : found) {
+            entries.put(n.key, n.value);
+        }
+        return entries;
+    }
+
+    @Nullable
+    private Node find(String name) {
+        Node node = root;
+        int start = 0;
+        int end;
+        do {
+            end = name.indexOf(DOT, start);
+            String segment = end == -1 ? name.substring(start) : name.substring(start, end);
+            node = node.children.get(segment);
+            if (node == null) {
+                return null;
+            }
+            start = end + 1;
+        } while (end != -1);
+        return node;
+    }
+
+    /**
+     * A trie node. Every node is the prefix of at least one key.
+     */
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>(4);
+        String key;
+        Object value;
+        int ordinal;
+
+        Node child(String segment) {
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+
+        void collect(List<Node> found) {
+            if (key != null) {
+                found.add(this);
+            }
+            for (Node child : children.values()) {
+                child.collect(found);
+            }
+        }
+    }
+}
@@ -54,11 +54,12 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -95,6 +96,7 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
     private final SecureRandom random = new SecureRandom();
     private final Map<String, Boolean> containsCache = new ConcurrentHashMap<>(20);
     private final Map<String, Object> resolvedValueCache = new ConcurrentHashMap<>(20);
+    private final AtomicReferenceArray<PropertyKeyIndex> keyIndexes = new AtomicReferenceArray<>(PropertyCatalog.values().length);
     private final EnvironmentProperties environmentProperties = EnvironmentProperties.fork(CURRENT_ENV);
 
     /**
@@ -187,15 +189,8 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
             for (PropertyCatalog propertyCatalog : CONVENTIONS) {
                 Map<String, Object> entries = resolveEntriesForKey(name, false, propertyCatalog);
                 if (entries != null) {
-                    if (entries.containsKey(name)) {
+                    if (entries.containsKey(name) || getKeyIndex(propertyCatalog).containsProperties(name)) {
                         return true;
-                    } else {
-                        String finalName = name + ".";
-                        for (String key : entries.keySet()) {
-                            if (key.startsWith(finalName)) {
-                                return true;
-                            }
-                        }
                     }
                 }
             }
@@ -210,17 +205,7 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
             Map<String, Object> entries = resolveEntriesForKey(
                     name, false, PropertyCatalog.NORMALIZED);
             if (entries != null) {
-                String prefix = name + '.';
-                return entries.keySet().stream().filter(k -> k.startsWith(prefix))
-                              .map(k -> {
-                                  String withoutPrefix = k.substring(prefix.length());
-                                  int i = withoutPrefix.indexOf('.');
-                                  if (i > -1) {
-                                      return withoutPrefix.substring(0, i);
-                                  }
-                                  return withoutPrefix;
-                              })
-                              .collect(Collectors.toSet());
+                return getKeyIndex(PropertyCatalog.NORMALIZED).getChildSegments(name);
             }
         }
         return Collections.emptySet();
@@ -233,6 +218,12 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
                 pathPattern, false, null);
 
             if (entries != null) {
+                // only the keys under the segments that precede the first wildcard can match
+                int wildCard = pathPattern.indexOf('*');
+                int lastDot = pathPattern.lastIndexOf('.', wildCard == -1 ? pathPattern.length() : wildCard);
+                if (lastDot > 0) {
+                    entries = getKeyIndex(null).getEntries(pathPattern.substring(0, lastDot));
+                }
                 boolean endsWithWildCard = pathPattern.endsWith(WILD_CARD_SUFFIX);
                 String resolvedPattern = pathPattern
                     .replace("[*]", "\\[([\\w\\d-]+?)\\]")
@@ -272,34 +263,25 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
     @Override
     public @NonNull Map<String, Object> getProperties(String name, StringConvention keyFormat) {
         if (!StringUtils.isEmpty(name)) {
-            Map<String, Object> entries = resolveEntriesForKey(name, false, keyFormat == StringConvention.RAW ? PropertyCatalog.RAW : PropertyCatalog.GENERATED);
-            if (entries != null) {
-                if (keyFormat == null) {
-                    keyFormat = StringConvention.RAW;
-                }
-                return resolveSubMap(
-                        name,
-                        entries,
-                        ConversionContext.MAP,
-                        keyFormat,
-                        MapFormat.MapTransformation.FLAT
-                );
-            } else {
-                entries = resolveEntriesForKey(name, false, PropertyCatalog.GENERATED);
-                if (keyFormat == null) {
-                    keyFormat = StringConvention.RAW;
-                }
+            PropertyCatalog propertyCatalog = keyFormat == StringConvention.RAW ? PropertyCatalog.RAW : PropertyCatalog.GENERATED;
+            Map<String, Object> entries = resolveEntriesForKey(name, false, propertyCatalog);
+            if (entries == null) {
+                propertyCatalog = PropertyCatalog.GENERATED;
+                entries = resolveEntriesForKey(name, false, propertyCatalog);
                 if (entries == null) {
                     return Collections.emptyMap();
                 }
-                return resolveSubMap(
-                        name,
-                        entries,
-                        ConversionContext.MAP,
-                        keyFormat,
-                        MapFormat.MapTransformation.FLAT
-                );
             }
+            if (keyFormat == null) {
+                keyFormat = StringConvention.RAW;
+            }
+            return resolveSubMap(
+                    name,
+                    getKeyIndex(propertyCatalog).getEntries(name),
+                    ConversionContext.MAP,
+                    keyFormat,
+                    MapFormat.MapTransformation.FLAT
+            );
         }
         return Collections.emptyMap();
     }
@@ -316,9 +298,11 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
             if (cached != null) {
                 return cached == NO_VALUE ? Optional.empty() : Optional.of((T) cached);
             } else {
-                Map<String, Object> entries = resolveEntriesForKey(name, false, PropertyCatalog.GENERATED);
+                PropertyCatalog entriesCatalog = PropertyCatalog.GENERATED;
+                Map<String, Object> entries = resolveEntriesForKey(name, false, entriesCatalog);
                 if (entries == null) {
-                    entries = resolveEntriesForKey(name, false, PropertyCatalog.RAW);
+                    entriesCatalog = PropertyCatalog.RAW;
+                    entries = resolveEntriesForKey(name, false, entriesCatalog);
                 }
                 if (entries != null) {
                     Object value = entries.get(name);
@@ -389,17 +373,17 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
                         resolvedValueCache.put(cacheKey(name, requiredType), NO_VALUE);
                         return Optional.empty();
                     } else if (Properties.class.isAssignableFrom(requiredType)) {
-                        Properties properties = resolveSubProperties(name, entries, conversionContext);
+                        Properties properties = resolveSubProperties(name, getKeyIndex(entriesCatalog).getEntries(name), conversionContext);
                         return Optional.of((T) properties);
                     } else if (Map.class.isAssignableFrom(requiredType)) {
-                        Map<String, Object> subMap = resolveSubMap(name, entries, conversionContext);
+                        Map<String, Object> subMap = resolveSubMap(name, getKeyIndex(entriesCatalog).getEntries(name), conversionContext);
                         if (!subMap.isEmpty()) {
                             return conversionService.convert(subMap, requiredType, conversionContext);
                         } else {
                             return (Optional<T>) Optional.of(subMap);
                         }
                     } else if (PropertyResolver.class.isAssignableFrom(requiredType)) {
-                        Map<String, Object> subMap = resolveSubMap(name, entries, conversionContext);
+                        Map<String, Object> subMap = resolveSubMap(name, getKeyIndex(entriesCatalog).getEntries(name), conversionContext);
                         return Optional.of((T) new MapPropertyResolver(subMap, conversionService));
                     }
                 }
@@ -477,7 +461,7 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
         StringConvention keyConvention = annotationMetadata.enumValue(MapFormat.class, "keyFormat", StringConvention.class)
                                                            .orElse(null);
         if (keyConvention == StringConvention.RAW) {
-            entries = resolveEntriesForKey(name, false, PropertyCatalog.RAW);
+            entries = getKeyIndex(PropertyCatalog.RAW).getEntries(name);
         }
         String prefix = name + '.';
         entries.entrySet().stream()
@@ -505,7 +489,7 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
         AnnotationMetadata annotationMetadata = conversionContext.getAnnotationMetadata();
         StringConvention keyConvention = annotationMetadata.enumValue(MapFormat.class, "keyFormat", StringConvention.class).orElse(null);
         if (keyConvention == StringConvention.RAW) {
-            entries = resolveEntriesForKey(name, false, PropertyCatalog.RAW);
+            entries = getKeyIndex(PropertyCatalog.RAW).getEntries(name);
         }
         MapFormat.MapTransformation transformation = annotationMetadata.enumValue(
                 MapFormat.class,
@@ -638,6 +622,7 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
                     rawEntries.put(property, value);
                 }
             }
+            invalidateKeyIndexes();
         }
     }
 
@@ -816,12 +801,54 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
         };
     }
 
+    /**
+     * Returns the key index of the given catalog, built on first use after the catalogs changed.
+     *
+     * @param propertyCatalog The catalog
+     * @return The key index
+     */
+    @NonNull
+    private PropertyKeyIndex getKeyIndex(@Nullable PropertyCatalog propertyCatalog) {
+        propertyCatalog = propertyCatalog != null ? propertyCatalog : PropertyCatalog.GENERATED;
+        int i = propertyCatalog.ordinal();
+        PropertyKeyIndex index = keyIndexes.get(i);
+        if (index == null) {
+            synchronized (catalog) {
+                index = keyIndexes.get(i);
+                if (index == null) {
+                    index = new PropertyKeyIndex(getCatalog(propertyCatalog));
+                    keyIndexes.set(i, index);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Builds the key indexes of the catalogs on the common pool, so that the first lookups that follow a change of
+     * the catalogs, such as a refresh of the environment, don't pay for it.
+     */
+    void buildKeyIndexesAsync() {
+        ForkJoinPool.commonPool().execute(() -> {
+            for (PropertyCatalog propertyCatalog : PropertyCatalog.values()) {
+                getKeyIndex(propertyCatalog);
+            }
+        });
+    }
+
+    private void invalidateKeyIndexes() {
+        for (int i = 0; i < keyIndexes.length(); i++) {
+            keyIndexes.set(i, null);
+        }
+    }
+
     /**
      * Subclasses can override to reset caches.
      */
     protected void resetCaches() {
         containsCache.clear();
         resolvedValueCache.clear();
+        invalidateKeyIndexes();
     }
 
     private void processSubmapKey(Map<String, Object> map, String key, Object value, @Nullable StringConvention keyConvention) {
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicBoolean
+
+class BeanResolutionCacheSpec extends Specification {
+
+    def "test invalidation only removes the entries of assignable types"() {
+        given:
+            BeanResolutionCache<Class, String> cache = new BeanResolutionCache<>("test", 10, { Class type -> type })
+            cache.put(CharSequence, "charSequence")
+            cache.put(Comparable, "comparable")
+            cache.put(Object, "object")
+            cache.put(Number, "number")
+            cache.put(Integer, "integer")
+
+        when:
+            cache.invalidate(String)
+
+        then:
+            cache.get(CharSequence) == null
+            cache.get(Comparable) == null
+            cache.get(Object) == null
+            cache.get(Number) == "number"
+            cache.get(Integer) == "integer"
+    }
+
+    def "test array types invalidate every entry"() {
+        given:
+            BeanResolutionCache<Class, String> cache = new BeanResolutionCache<>("test", 10, { Class type -> type })
+            cache.put(Object[], "objects")
+            cache.put(Number, "number")
+
+        when:
+            cache.invalidate(String[])
+
+        then:
+            cache.size == 0
+    }
+
+    def "test hits, misses and evictions are counted"() {
+        given:
+            BeanResolutionCache<Class, String> cache = new BeanResolutionCache<>("test", 2, { Class type -> type })
+
+        when:
+            cache.get(String)
+            cache.put(String, "string")
+            cache.get(String)
+            cache.put(Integer, "integer")
+            cache.put(Long, "long")
+
+        then:
+            cache.hitCount == 1
+            cache.missCount == 1
+            cache.hitRatio == 0.5d
+            cache.evictionCount == 1
+            cache.size == 2
+            cache.capacity == 2
+
+        when:
+            cache.setCapacity(5)
+            cache.put(String, "string")
+
+        then:
+            cache.capacity == 5
+            cache.size == 3
+            cache.evictionCount == 1
+    }
+
+    def "test unbounded caches do not evict"() {
+        given:
+            BeanResolutionCache<Integer, String> cache = BeanResolutionCache.unbounded("test", { Integer key -> Integer })
+
+        when:
+            100.times { cache.put(it, "value") }
+
+        then:
+            cache.size == 100
+            cache.capacity == -1
+            cache.evictionCount == 0
+    }
+
+    def "test entries written during a concurrent invalidation are not lost from the index"() {
+        given:
+            BeanResolutionCache<Integer, String> cache = BeanResolutionCache.unbounded("test", { Integer key -> String })
+            CountDownLatch start = new CountDownLatch(1)
+            AtomicBoolean done = new AtomicBoolean()
+            Thread writer = Thread.start {
+                start.await()
+                for (int i = 0; i < 100_000; i++) {
+                    if (i % 2 == 0) {
+                        cache.put(i, "value")
+                    } else {
+                        cache.computeIfAbsent(i, { "value" })
+                    }
+                }
+                done.set(true)
+            }
+            Thread invalidator = Thread.start {
+                start.await()
+                while (!done.get()) {
+                    cache.invalidate(String)
+                }
+            }
+
+        when:
+            start.countDown()
+            writer.join()
+            invalidator.join()
+            cache.invalidate(String)
+
+        then:
+            cache.size == 0
+    }
+}
@@ -67,4 +67,52 @@ class DefaultBeanContextSpec extends Specification {
             beanContext.close()
     }
 
+    def "test bean resolution caches are sized from the bean definitions"() {
+        given:
+            DefaultBeanContext beanContext = new DefaultBeanContext()
+            beanContext.start()
+
+        when:
+            beanContext.getBeansOfType(BeanContext)
+            beanContext.getBeansOfType(BeanContext)
+            def statistics = beanContext.beanResolutionCacheStatistics.find { it.name == "beanCandidates" }
+
+        then:
+            statistics.capacity >= 30
+            statistics.hitCount > 0
+
+        cleanup:
+            beanContext.close()
+    }
+
+    def "test the bean resolution cache size can be configured"() {
+        given:
+            ApplicationContext context = ApplicationContext.builder()
+                    .beanResolutionCacheSize(5)
+                    .start()
+
+        expect:
+            context.beanResolutionCacheStatistics.findAll { it.capacity != -1 }*.capacity == [5L, 5L, 5L]
+
+        cleanup:
+            context.close()
+    }
+
+    def "test registering a singleton keeps unrelated cache entries"() {
+        given:
+            DefaultBeanContext beanContext = new DefaultBeanContext()
+            beanContext.start()
+            beanContext.getBeansOfType(Runnable)
+
+        when:
+            beanContext.registerSingleton(String, "test")
+
+        then:
+            beanContext.beanResolutionCacheStatistics.find { it.name == "beanCandidates" }.size > 0
+            beanContext.getBean(String) == "test"
+
+        cleanup:
+            beanContext.close()
+    }
+
 }
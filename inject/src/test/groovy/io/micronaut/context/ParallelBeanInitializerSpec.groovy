@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context
+
+import io.micronaut.context.exceptions.BeanInstantiationException
+import io.micronaut.core.annotation.Order
+import io.micronaut.inject.BeanDefinition
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class ParallelBeanInitializerSpec extends Specification {
+
+    def "test beans are initialized after the beans they require"() {
+        given:
+            List<String> initialized = new CopyOnWriteArrayList<>()
+            List<BeanDefinition<Object>> beans = [
+                    bean("a", A, []),
+                    bean("b", B, [A]),
+                    bean("c", C, [B]),
+                    bean("d", D, [])
+            ]
+
+        when:
+            new ParallelBeanInitializer(4, getClass().classLoader, { initialized << it.name }).initialize(beans)
+
+        then:
+            initialized.size() == 4
+            initialized.indexOf("a") < initialized.indexOf("b")
+            initialized.indexOf("b") < initialized.indexOf("c")
+    }
+
+    def "test beans with a lower order are initialized first"() {
+        given:
+            List<String> initialized = new CopyOnWriteArrayList<>()
+            List<BeanDefinition<Object>> beans = [
+                    bean("first", A, [], -10),
+                    bean("second", B, []),
+                    bean("third", C, [])
+            ]
+
+        when:
+            new ParallelBeanInitializer(4, getClass().classLoader, { initialized << it.name }).initialize(beans)
+
+        then:
+            initialized.first() == "first"
+            initialized.size() == 3
+    }
+
+    def "test the failure of the first bean in order is reported"() {
+        given:
+            List<String> initialized = new CopyOnWriteArrayList<>()
+            List<BeanDefinition<Object>> beans = [
+                    bean("a", A, []),
+                    bean("b", B, []),
+                    bean("c", C, [A]),
+                    bean("d", D, [])
+            ]
+
+        when:
+            new ParallelBeanInitializer(4, getClass().classLoader, { BeanDefinition<Object> bean ->
+                if (bean.name in ["a", "b"]) {
+                    throw new IllegalStateException(bean.name + " failed")
+                }
+                initialized << bean.name
+            }).initialize(beans)
+
+        then:
+            def e = thrown(BeanInstantiationException)
+            e.message.contains("Bean definition [a] could not be loaded: a failed")
+            e.suppressed*.message == ["b failed"]
+            !initialized.contains("c")
+    }
+
+    def "test beans within a dependency cycle are initialized"() {
+        given:
+            List<String> initialized = new CopyOnWriteArrayList<>()
+            List<BeanDefinition<Object>> beans = [
+                    bean("a", A, [B]),
+                    bean("b", B, [A]),
+                    bean("c", C, [])
+            ]
+
+        when:
+            new ParallelBeanInitializer(2, getClass().classLoader, { initialized << it.name }).initialize(beans)
+
+        then:
+            initialized.toSet() == ["a", "b", "c"] as Set
+    }
+
+    def "test eager beans are initialized in parallel by the context"() {
+        given:
+            ApplicationContext context = ApplicationContext.builder()
+                    .eagerInitParallelism(4)
+                    .eagerInitSingletons(true)
+                    .build()
+
+        when:
+            context.start()
+
+        then:
+            context.isRunning()
+
+        cleanup:
+            context.close()
+    }
+
+    private BeanDefinition<Object> bean(String name, Class<?> type, List<Class<?>> required, int order = 0) {
+        BeanDefinition<Object> bean = Stub(BeanDefinition)
+        bean.getName() >> name
+        bean.getBeanType() >> type
+        bean.getRequiredComponents() >> required
+        bean.intValue(Order) >> (order == 0 ? OptionalInt.empty() : OptionalInt.of(order))
+        return bean
+    }
+
+    static class A {}
+
+    static class B {}
+
+    static class C {}
+
+    static class D {}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context
+
+import spock.lang.Specification
+
+class StartupTracerSpec extends Specification {
+
+    def "test nested spans are excluded from the self time"() {
+        given:
+            StartupTracer tracer = new StartupTracer()
+
+        when:
+            StartupTracer.Span outer = tracer.start(StartupTracer.Phase.CREATE, "a.A", null)
+            StartupTracer.Span property = tracer.start(StartupTracer.Phase.PROPERTY, "a.A", "a.value")
+            Thread.sleep(5)
+            property.end()
+            StartupTracer.Span inner = tracer.start(StartupTracer.Phase.CREATE, "b.B", null)
+            Thread.sleep(20)
+            inner.end()
+            outer.end()
+            List<StartupTracer.BeanTime> beanTimes = tracer.getBeanTimes()
+
+        then:
+            tracer.spans.size() == 3
+            outer.durationNanos >= inner.durationNanos + property.durationNanos
+            outer.selfNanos == outer.durationNanos - inner.durationNanos - property.durationNanos
+            beanTimes*.name == ["b.B", "a.A"]
+            beanTimes[1].selfNanos == outer.selfNanos + property.selfNanos
+            beanTimes[1].selfNanosByPhase.keySet() == [StartupTracer.Phase.CREATE, StartupTracer.Phase.PROPERTY] as Set
+    }
+
+    def "test spans are no longer recorded once stopped"() {
+        given:
+            StartupTracer tracer = new StartupTracer()
+            tracer.start(StartupTracer.Phase.CREATE, "a.A", null).end()
+
+        when:
+            tracer.stop()
+
+        then:
+            !tracer.recording
+            tracer.start(StartupTracer.Phase.CREATE, "b.B", null) == null
+            tracer.spans*.name == ["a.A"]
+    }
+
+    def "test the trace is exported in the Chrome trace event format"() {
+        given:
+            StartupTracer tracer = new StartupTracer()
+            tracer.start(StartupTracer.Phase.PROPERTY, 'a.A', 'quoted "value"').end()
+            StringWriter writer = new StringWriter()
+
+        when:
+            tracer.writeChromeTrace(writer)
+            String trace = writer.toString()
+
+        then:
+            trace.startsWith('{"displayTimeUnit":"ms","traceEvents":[')
+            trace.contains('"name":"a.A","cat":"property","ph":"X"')
+            trace.contains('"detail":"quoted \\"value\\""')
+            trace.endsWith(']}')
+    }
+
+    def "test the startup of a context is traced"() {
+        given:
+            ApplicationContext context = ApplicationContext.builder()
+                    .traceStartup(true)
+                    .build()
+
+        when:
+            context.start()
+            StartupTracer tracer = context.getBean(StartupTracer)
+
+        then:
+            !tracer.recording
+            tracer.spans.find { it.phase == StartupTracer.Phase.ENVIRONMENT }
+            tracer.spans.find { it.phase == StartupTracer.Phase.SCAN }
+
+        cleanup:
+            context.close()
+    }
+
+    def "test the startup is not traced by default"() {
+        given:
+            ApplicationContext context = ApplicationContext.run()
+
+        expect:
+            !context.containsBean(StartupTracer)
+
+        cleanup:
+            context.close()
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.env
+
+import spock.lang.Specification
+
+class PropertyKeyIndexSpec extends Specification {
+
+    Map<String, Object>[] catalog() {
+        Map<String, Object>[] catalog = new Map[58]
+        Map<String, Object> entries = new LinkedHashMap<>()
+        entries.put("foo.bar.baz", 1)
+        entries.put("foobar.qux", 2)
+        entries.put("foo.bar", 3)
+        entries.put("foo.list[0].name", 4)
+        entries.put("foo.alpha.beta", 5)
+        catalog['f' as char - 65] = entries
+        catalog['x' as char - 65] = [("x.y"): 6]
+        return catalog
+    }
+
+    void "test entries are enumerated by prefix in catalog order"() {
+        given:
+        PropertyKeyIndex index = new PropertyKeyIndex(catalog())
+
+        expect:
+        index.getEntries("foo") == ["foo.bar.baz": 1, "foo.bar": 3, "foo.list[0].name": 4, "foo.alpha.beta": 5]
+        index.getEntries("foo").keySet().toList() == ["foo.bar.baz", "foo.bar", "foo.list[0].name", "foo.alpha.beta"]
+        index.getEntries("foo.bar") == ["foo.bar.baz": 1]
+        index.getEntries("foo.bar.baz").isEmpty()
+        index.getEntries("fo").isEmpty()
+        index.getEntries("x") == ["x.y": 6]
+    }
+
+    void "test the entries match a prefix scan of the catalog"() {
+        given:
+        Map<String, Object>[] catalog = catalog()
+        PropertyKeyIndex index = new PropertyKeyIndex(catalog)
+
+        expect:
+        index.getEntries(name) == catalog.findAll().inject([:]) { acc, m -> acc + m }.findAll { k, v -> k.startsWith(name + ".") }
+
+        where:
+        name << ["foo", "foo.bar", "foo.list[0]", "foo.list", "foobar", "foo.alpha", "x", "y"]
+    }
+
+    void "test properties and child segments"() {
+        given:
+        PropertyKeyIndex index = new PropertyKeyIndex(catalog())
+
+        expect:
+        index.containsProperties("foo")
+        index.containsProperties("foo.bar")
+        index.containsProperties("foo.bar.baz")
+        index.containsProperties("foo.list[0]")
+        !index.containsProperties("foo.list")
+        !index.containsProperties("foo.ba")
+        index.getChildSegments("foo") == ["bar", "list[0]", "alpha"] as Set
+        index.getChildSegments("foo.bar") == ["baz"] as Set
+        index.getChildSegments("missing").isEmpty()
+    }
+}
@@ -742,6 +742,26 @@ class PropertySourcePropertyResolverSpec extends Specification {
         closed.get()
     }
 
+    void "test prefix lookups see the properties of added property sources"() {
+        given:
+        PropertySourcePropertyResolver resolver = new PropertySourcePropertyResolver(
+                PropertySource.of("first", ['datasources.default.url': 'xxx'])
+        )
+
+        expect:
+        resolver.getPropertyEntries("datasources") == ['default'] as Set
+        !resolver.containsProperties("datasources.other")
+
+        when:
+        resolver.addPropertySource(PropertySource.of("second", ['datasources.other.url': 'yyy']))
+
+        then:
+        resolver.getPropertyEntries("datasources") == ['default', 'other'] as Set
+        resolver.containsProperties("datasources.other")
+        resolver.getProperties("datasources", StringConvention.RAW) == ['default.url': 'xxx', 'other.url': 'yyy']
+        resolver.getPropertyPathMatches("datasources.*.url") == [['default'], ['other']] as Set
+    }
+
     interface PropertyExpressionResolverAutoCloseable extends PropertyExpressionResolver, AutoCloseable {
     }
 }
@@ -26,6 +26,7 @@ import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.reflect.InstantiationUtils;
 import io.micronaut.core.type.Argument;
 import io.micronaut.jackson.JacksonConfiguration;
@@ -119,6 +120,16 @@ public final class JacksonDatabindMapper implements JsonMapper {
         return objectMapper.readValue(byteArray, JacksonConfiguration.constructType(type, objectMapper.getTypeFactory()));
     }
 
+    @Override
+    public <T> T readValue(@NonNull ByteBuffer<?> byteBuffer, @NonNull Argument<T> type) throws IOException {
+        JavaType javaType = JacksonConfiguration.constructType(type, objectMapper.getTypeFactory());
+        // the parser pulls the content through its own recycled buffer. Reading from a slice leaves the reader index
+        // of the original buffer alone and, unlike a nio view, does not merge composite buffers into a copy
+        try (InputStream inputStream = byteBuffer.slice(byteBuffer.readerIndex(), byteBuffer.readableBytes()).toInputStream()) {
+            return objectMapper.readValue(inputStream, javaType);
+        }
+    }
+
     @Override
     public void writeValue(@NonNull OutputStream outputStream, @Nullable Object object) throws IOException {
         objectMapper.writeValue(outputStream, object);
@@ -129,6 +140,13 @@ public final class JacksonDatabindMapper implements JsonMapper {
         writeValue(outputStream, object);
     }
 
+    @Override
+    public <T> void writeValue(@NonNull ByteBuffer<?> byteBuffer, @NonNull Argument<T> type, @Nullable T object) throws IOException {
+        // the generator encodes into its own recycled buffer and flushes straight into the target buffer, so no
+        // intermediate byte array is produced
+        objectMapper.writeValue(byteBuffer.toOutputStream(), object);
+    }
+
     @Override
     public byte[] writeValueAsBytes(@Nullable Object object) throws IOException {
         return objectMapper.writeValueAsBytes(object);
@@ -6,12 +6,19 @@ import com.fasterxml.jackson.databind.DeserializationContext
 import com.fasterxml.jackson.databind.JsonDeserializer
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.module.SimpleModule
+import io.micronaut.buffer.netty.NettyByteBufferFactory
 import io.micronaut.context.ApplicationContext
 import io.micronaut.core.type.Argument
 import io.micronaut.json.JsonMapper
 import io.micronaut.json.tree.JsonNode
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.CompositeByteBuf
+import io.netty.buffer.PooledByteBufAllocator
+import io.netty.buffer.Unpooled
 import spock.lang.Specification
 
+import java.nio.charset.StandardCharsets
+
 class JacksonDatabindMapperSpec extends Specification {
     def 'parsing to JsonNode'() {
         given:
@@ -45,6 +52,42 @@ class JacksonDatabindMapperSpec extends Specification {
         testBean.value == BigInteger.valueOf(42)
     }
 
+    def 'parsing from a composite direct buffer leaves the buffer untouched'() {
+        given:
+        def jsonMapper = new JacksonDatabindMapper()
+        byte[] json = ('{"value":"' + ('x' * 10000) + '"}').getBytes(StandardCharsets.UTF_8)
+        CompositeByteBuf composite = Unpooled.compositeBuffer()
+        composite.addComponent(true, Unpooled.directBuffer().writeBytes(json, 0, 10))
+        composite.addComponent(true, Unpooled.directBuffer().writeBytes(json, 10, json.length - 10))
+
+        when:
+        Map<String, Object> result = jsonMapper.readValue(NettyByteBufferFactory.DEFAULT.wrap(composite), Argument.mapOf(String, Object))
+
+        then:
+        result == [value: 'x' * 10000]
+        composite.readerIndex() == 0
+        composite.readableBytes() == json.length
+
+        cleanup:
+        composite.release()
+    }
+
+    def 'writing to a pooled buffer'() {
+        given:
+        def jsonMapper = new JacksonDatabindMapper()
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer()
+        buf.writeByte((int) ' ')
+
+        when:
+        jsonMapper.writeValue(NettyByteBufferFactory.DEFAULT.wrap(buf), Argument.of(Map), [value: 'x' * 10000])
+
+        then:
+        buf.toString(StandardCharsets.UTF_8) == ' {"value":"' + ('x' * 10000) + '"}'
+
+        cleanup:
+        buf.release()
+    }
+
     private static class TestBean {
         BigInteger value
     }
@@ -19,6 +19,7 @@ import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.Experimental;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.order.OrderUtil;
 import io.micronaut.core.type.Argument;
 import io.micronaut.json.tree.JsonNode;
@@ -87,6 +88,21 @@ public interface JsonMapper {
      */
     <T> T readValue(@NonNull byte[] byteArray, @NonNull Argument<T> type) throws IOException;
 
+    /**
+     * Parse and map json from the readable bytes of the given buffer. The reader index of the buffer is left
+     * untouched. Implementations should read the buffer in place instead of copying its content to an array first.
+     *
+     * @param byteBuffer The input data.
+     * @param type       The type to deserialize to.
+     * @param <T>        Type variable of the return type.
+     * @return The deserialized object.
+     * @throws IOException IOException
+     * @since 4.0.0
+     */
+    default <T> T readValue(@NonNull ByteBuffer<?> byteBuffer, @NonNull Argument<T> type) throws IOException {
+        return readValue(byteBuffer.toByteArray(), type);
+    }
+
     /**
      * Parse and map json from the given string.
      *
@@ -152,6 +168,20 @@ public interface JsonMapper {
      */
     <T> void writeValue(@NonNull OutputStream outputStream, @NonNull Argument<T> type, @Nullable T object) throws IOException;
 
+    /**
+     * Write an object as json to the given buffer, starting at its writer index.
+     *
+     * @param byteBuffer The buffer to write to.
+     * @param type       The object type
+     * @param object     The object to serialize.
+     * @param <T>        The generic type
+     * @throws IOException IOException
+     * @since 4.0.0
+     */
+    default <T> void writeValue(@NonNull ByteBuffer<?> byteBuffer, @NonNull Argument<T> type, @Nullable T object) throws IOException {
+        writeValue(byteBuffer.toOutputStream(), type, object);
+    }
+
     /**
      * Write an object as json.
      *
@@ -174,7 +174,7 @@ public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
             if (CharSequence.class.isAssignableFrom(type.getType())) {
                 return (T) buffer.toString(applicationConfiguration.getDefaultCharset());
             } else {
-                return getJsonMapper().readValue(buffer.toByteArray(), type);
+                return getJsonMapper().readValue(buffer, type);
             }
         } catch (IOException e) {
             throw new CodecException("Error decoding stream for type [" + type.getType() + "]: " + e.getMessage(), e);
@@ -272,15 +272,17 @@ public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
             return allocator.copiedBuffer((byte[]) object);
         }
         ByteBuffer<B> buffer = allocator.buffer();
+        boolean written = false;
         try {
-            OutputStream outputStream = buffer.toOutputStream();
-            encode(type, object, outputStream);
+            getJsonMapper().writeValue(buffer, type, object);
+            written = true;
             return buffer;
-        } catch (Throwable t) {
-            if (buffer instanceof ReferenceCounted) {
+        } catch (IOException e) {
+            throw new CodecException("Error encoding object [" + object + "] to JSON: " + e.getMessage(), e);
+        } finally {
+            if (!written && buffer instanceof ReferenceCounted) {
                 ((ReferenceCounted) buffer).release();
             }
-            throw t;
         }
     }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.startup;
+
+import io.micronaut.context.StartupTracer;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.MediaType;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Selector;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Exposes an {@link Endpoint} to find the beans that account for most of the startup time. Requires the startup to
+ * be traced, see {@link io.micronaut.context.ApplicationContextBuilder#traceStartup(boolean)}.</p>
+ *
+ * <p>A GET request to {@code /startup} returns the slowest 5% of the traced beans, and a GET request to
+ * {@code /startup/chrome} the whole trace in the Chrome trace event format.</p>
+ *
+ * @since 4.0.0
+ */
+@Endpoint("startup")
+@Requires(beans = StartupTracer.class)
+public class StartupEndpoint {
+
+    /**
+     * The format of the exported trace.
+     */
+    public static final String CHROME_FORMAT = "chrome";
+
+    private static final int TOP_BEANS_PERCENT = 5;
+    private static final int PERCENT = 100;
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final StartupTracer startupTracer;
+
+    /**
+     * @param startupTracer The startup tracer
+     */
+    public StartupEndpoint(StartupTracer startupTracer) {
+        this.startupTracer = startupTracer;
+    }
+
+    /**
+     * @return The startup time and the slowest beans
+     */
+    @Read
+    public Map<String, Object> getStartup() {
+        List<StartupTracer.BeanTime> beanTimes = startupTracer.getBeanTimes();
+        long tracedNanos = 0;
+        for (StartupTracer.BeanTime beanTime : beanTimes) {
+            tracedNanos += beanTime.getSelfNanos();
+        }
+        int topCount = Math.min(beanTimes.size(), Math.max(1, (beanTimes.size() * TOP_BEANS_PERCENT + PERCENT - 1) / PERCENT));
+        List<Map<String, Object>> topBeans = new ArrayList<>(topCount);
+        long topNanos = 0;
+        for (StartupTracer.BeanTime beanTime : beanTimes.subList(0, topCount)) {
+            topNanos += beanTime.getSelfNanos();
+            Map<String, Object> phases = new LinkedHashMap<>();
+            beanTime.getSelfNanosByPhase().forEach((phase, nanos) -> phases.put(phase.getId(), toMillis(nanos)));
+            Map<String, Object> bean = new LinkedHashMap<>();
+            bean.put("name", beanTime.getName());
+            bean.put("time", toMillis(beanTime.getSelfNanos()));
+            bean.put("phases", phases);
+            topBeans.add(bean);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("recording", startupTracer.isRecording());
+        result.put("startupTime", toMillis(startupTracer.getTotalNanos()));
+        result.put("tracedBeans", beanTimes.size());
+        result.put("tracedTime", toMillis(tracedNanos));
+        result.put("topBeansShare", tracedNanos == 0 ? 0 : (double) topNanos * PERCENT / tracedNanos);
+        result.put("topBeans", topBeans);
+        return result;
+    }
+
+    /**
+     * @param format The format of the trace, only {@link #CHROME_FORMAT} is supported
+     * @return The startup trace or {@code null} if the format is not supported
+     */
+    @Read(produces = MediaType.APPLICATION_JSON)
+    @Nullable
+    public String getTrace(@Selector String format) {
+        if (!CHROME_FORMAT.equals(format)) {
+            return null;
+        }
+        StringWriter writer = new StringWriter();
+        try {
+            startupTracer.writeChromeTrace(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.health.indicator.client;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.http.client.netty.ConnectionPoolWarmUp;
+import io.micronaut.management.endpoint.health.HealthEndpoint;
+import io.micronaut.management.health.indicator.HealthIndicator;
+import io.micronaut.management.health.indicator.HealthResult;
+import io.micronaut.management.health.indicator.annotation.Readiness;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+/**
+ * <p>A {@link HealthIndicator} that reports the application as not ready until the HTTP client connection pools
+ * configured with {@code pool.warm-up-connections} are warmed up.</p>
+ *
+ * @since 4.0.0
+ */
+@Singleton
+@Requires(beans = HealthEndpoint.class)
+@Requires(property = HealthEndpoint.PREFIX + ".http-client-warm-up.enabled", notEquals = StringUtils.FALSE)
+@Requires(classes = ConnectionPoolWarmUp.class)
+@Requires(beans = ConnectionPoolWarmUp.class)
+@Readiness
+public class HttpClientWarmUpIndicator implements HealthIndicator {
+
+    private static final String NAME = "httpClientWarmUp";
+
+    private final ConnectionPoolWarmUp warmUp;
+
+    /**
+     * @param warmUp The connection pool warm-up
+     */
+    public HttpClientWarmUpIndicator(ConnectionPoolWarmUp warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    @Override
+    public Publisher<HealthResult> getResult() {
+        // pools that could not be warmed up in time don't hold back readiness, they are listed in the details
+        return Flux.just(HealthResult.builder(NAME)
+            .status(warmUp.isComplete() ? HealthStatus.UP : HealthStatus.DOWN)
+            .details(warmUp.getStatus())
+            .build());
+    }
+}
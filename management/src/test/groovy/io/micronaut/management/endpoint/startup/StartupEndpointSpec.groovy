@@ -0,0 +1,60 @@
+package io.micronaut.management.endpoint.startup
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+
+class StartupEndpointSpec extends Specification {
+
+    void "test the startup endpoint"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.builder(['spec.name': getClass().simpleName, 'endpoints.startup.sensitive': false], "test")
+                .traceStartup(true)
+                .run(EmbeddedServer)
+        HttpClient rxClient = embeddedServer.applicationContext.createBean(HttpClient, embeddedServer.getURL())
+
+        when:
+        def response = rxClient.exchange(HttpRequest.GET("/startup"), Map).blockFirst()
+        Map result = response.body()
+
+        then:
+        response.code() == HttpStatus.OK.code
+        !result.recording
+        result.tracedBeans > 0
+        result.topBeans.size() > 0
+        result.topBeans[0].name
+        result.topBeans[0].phases
+
+        when:
+        String trace = rxClient.retrieve(HttpRequest.GET("/startup/chrome"), String).blockFirst()
+
+        then:
+        trace.contains('"traceEvents"')
+        trace.contains('"cat":"create"')
+
+        cleanup:
+        rxClient.close()
+        embeddedServer?.close()
+    }
+
+    void "test the startup endpoint is disabled when the startup is not traced"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': getClass().simpleName, 'endpoints.startup.sensitive': false], "test")
+        HttpClient rxClient = embeddedServer.applicationContext.createBean(HttpClient, embeddedServer.getURL())
+
+        when:
+        rxClient.exchange(HttpRequest.GET("/startup"), Map).blockFirst()
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.NOT_FOUND
+
+        cleanup:
+        rxClient.close()
+        embeddedServer?.close()
+    }
+}
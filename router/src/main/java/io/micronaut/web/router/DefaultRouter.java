@@ -45,7 +45,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -56,7 +55,8 @@ import java.util.stream.Stream;
 
 /**
  * <p>The default {@link Router} implementation. This implementation does not perform any additional caching of
- * route discovery.</p>
+ * route discovery. The routes of each HTTP method are indexed by the leading literal segments of their URI templates
+ * so that only routes that can possibly match a given URI are evaluated.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -65,6 +65,7 @@ import java.util.stream.Stream;
 public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatch<?>> {
 
     private final Map<String, List<UriRoute>> routesByMethod = new HashMap<>();
+    private final Map<String, UriRouteIndex> routeIndexByMethod = new HashMap<>();
     private final List<StatusRoute> statusRoutes = new ArrayList<>();
     private final List<ErrorRoute> errorRoutes = new ArrayList<>();
     private final Set<Integer> exposedPorts;
@@ -131,7 +132,9 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
             this.exposedPorts = Collections.emptySet();
         }
 
-        routesByMethod.values().forEach(this::finalizeRoutes);
+        routesByMethod.forEach((method, routes) ->
+                routeIndexByMethod.put(method, new UriRouteIndex(finalizeRoutes(routes)))
+        );
         for (FilterRoute filterRoute : filterRoutes) {
             if (isMatchesAll(filterRoute)) {
                 alwaysMatchesFilterRoutes.add(filterRoute);
@@ -284,11 +287,14 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     @NonNull
     @Override
     public <T, R> Optional<UriRouteMatch<T, R>> route(@NonNull HttpMethod httpMethod, @NonNull CharSequence uri) {
-        List<UriRoute> routes = routesByMethod.getOrDefault(httpMethod.name(), Collections.emptyList());
-        for (UriRoute uriRoute : routes) {
-            Optional<UriRouteMatch> match = uriRoute.match(uri.toString());
-            if (match.isPresent()) {
-                return (Optional) match;
+        List<UriRoute> routes = routesByMethod.get(httpMethod.name());
+        if (routes != null) {
+            final String uriStr = uri.toString();
+            for (int index : routeIndexByMethod.get(httpMethod.name()).candidates(uriStr)) {
+                Optional<UriRouteMatch> match = routes.get(index).match(uriStr);
+                if (match.isPresent()) {
+                    return (Optional) match;
+                }
             }
         }
         return Optional.empty();
@@ -473,9 +479,10 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     public <T, R> Stream<UriRouteMatch<T, R>> findAny(@NonNull CharSequence uri, @Nullable HttpRequest<?> context) {
         List matchedRoutes = new ArrayList<>(5);
         final String uriStr = uri.toString();
-        for (List<UriRoute> routes : routesByMethod.values()) {
-            for (UriRoute route : routes) {
-                final UriRouteMatch match = route.match(uriStr).orElse(null);
+        for (Map.Entry<String, List<UriRoute>> entry : routesByMethod.entrySet()) {
+            List<UriRoute> routes = entry.getValue();
+            for (int index : routeIndexByMethod.get(entry.getKey()).candidates(uriStr)) {
+                final UriRouteMatch match = routes.get(index).match(uriStr).orElse(null);
                 if (match != null && match.test(context)) {
                     matchedRoutes.add(match);
                 }
@@ -488,9 +495,11 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         List<UriRoute> routes = routesByMethod.getOrDefault(httpMethodName, Collections.emptyList());
         if (CollectionUtils.isNotEmpty(routes)) {
             final String uriStr = uri.toString();
-            List<UriRouteMatch<T, R>> routeMatches = new LinkedList<>();
-            for (UriRoute route : routes) {
-                Optional<UriRouteMatch> match = route.match(uriStr);
+            // the index only yields the routes whose leading literal segments match, in precedence order
+            int[] candidates = routeIndexByMethod.get(httpMethodName).candidates(uriStr);
+            List<UriRouteMatch<T, R>> routeMatches = new ArrayList<>(Math.min(candidates.length, 4));
+            for (int index : candidates) {
+                Optional<UriRouteMatch> match = routes.get(index).match(uriStr);
                 if (predicate != null) {
                     match = match.filter(predicate);
                 }
@@ -503,9 +512,9 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         }
     }
 
-    private UriRoute[] finalizeRoutes(List<UriRoute> routes) {
+    private List<UriRoute> finalizeRoutes(List<UriRoute> routes) {
         Collections.sort(routes);
-        return routes.toArray(new UriRoute[0]);
+        return routes;
     }
 
     private <T> Optional<RouteMatch<T>> findRouteMatch(Map<ErrorRoute, RouteMatch<T>> matchedRoutes, Throwable error) {
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A segment based trie that narrows down the {@link UriRoute} instances that may match a given URI.
+ *
+ * <p>Each route is stored at the node reached by the literal path segments that lead its template, so
+ * {@code /books/{id}} is stored under {@code books}, and {@code /books/{id}/authors} under {@code books} as well.
+ * Looking up a URI walks the trie with one hash lookup per request path segment and collects the routes found along
+ * the way. Routes that start with a variable or a regular expression sit at the top of the trie and are therefore
+ * always candidates. The returned candidates are a superset of the matching routes and still have to be confirmed
+ * with {@link UriRoute#match(String)}.</p>
+ *
+ * <p>Candidates are returned as indices into the route list the index was built from, in ascending order, so
+ * that a router whose routes are sorted keeps the precedence defined by {@link UriRoute#compareTo(Object)}.</p>
+ *
+ * @since 4.0.0
+ */
+final class UriRouteIndex {
+
+    private static final int[] NO_ROUTES = new int[0];
+    private static final char SLASH = '/';
+
+    private final Node root = new Node();
+
+    /**
+     * @param routes The routes to index. The list is expected to be sorted.
+     */
+    UriRouteIndex(@NonNull List<UriRoute> routes) {
+        for (int i = 0; i < routes.size(); i++) {
+            Node node = root;
+            for (String segment : indexedSegments(routes.get(i).getUriMatchTemplate().toString())) {
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+            node.routeList.add(i);
+        }
+        root.finish();
+    }
+
+    /**
+     * Finds the indices of the routes that may match the given URI.
+     *
+     * @param uri The URI
+     * @return The candidate route indices, in ascending order
+     */
+    @NonNull
+    int[] candidates(@NonNull String uri) {
+        int limit = uri.indexOf('?');
+        if (limit == -1) {
+            limit = uri.length();
+        }
+        int[] result = root.routes;
+        int count = result.length;
+        Node node = root;
+        int start = 0;
+        while (start <= limit) {
+            int end = uri.indexOf(SLASH, start);
+            if (end == -1 || end > limit) {
+                end = limit;
+            }
+            node = node.children.get(uri.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            int[] routes = node.routes;
+            if (routes.length > 0) {
+                if (count == 0) {
+                    result = routes;
+                } else {
+                    int[] merged = new int[count + routes.length];
+                    System.arraycopy(result, 0, merged, 0, count);
+                    System.arraycopy(routes, 0, merged, count, routes.length);
+                    Arrays.sort(merged);
+                    result = merged;
+                }
+                count += routes.length;
+            }
+            start = end + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the path segments of the given template that are guaranteed to appear verbatim and complete in any
+     * URI matched by that template.
+     *
+     * @param template The template
+     * @return The segments
+     */
+    private static List<String> indexedSegments(String template) {
+        if (template.contains("://")) {
+            return Collections.emptyList();
+        }
+        int length = template.length();
+        StringBuilder literal = new StringBuilder(length);
+        boolean complete = false;
+        int i = 0;
+        while (i < length) {
+            char c = template.charAt(i);
+            if (c != '{') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            int end = template.indexOf('}', i);
+            if (end == -1) {
+                break;
+            }
+            if (isQueryExpression(template, i, end)) {
+                // query and fragment variables don't take part in path matching
+                i = end + 1;
+                continue;
+            }
+            int modifier = template.indexOf(':', i);
+            if (template.charAt(i + 1) == SLASH && (modifier == -1 || modifier > end)) {
+                // {/var} starts with a slash or matches nothing, so the preceding literal segment is complete
+                complete = isPathBoundary(template, end + 1);
+            }
+            break;
+        }
+        if (i >= length) {
+            String path = literal.toString();
+            if (path.isEmpty() || path.equals("/")) {
+                return Collections.emptyList();
+            }
+            complete = true;
+        }
+        List<String> segments = new ArrayList<>(Arrays.asList(literal.toString().split("/", -1)));
+        if (!complete) {
+            // the last segment may continue with variable content
+            segments.remove(segments.size() - 1);
+        }
+        return segments;
+    }
+
+    private static boolean isQueryExpression(String template, int start, int end) {
+        if (end <= start + 1) {
+            return false;
+        }
+        char operator = template.charAt(start + 1);
+        boolean query = operator == '?' || operator == '&' || operator == '#' || operator == ';';
+        return query && template.substring(start, end).indexOf(':') == -1;
+    }
+
+    private static boolean isPathBoundary(String template, int index) {
+        int length = template.length();
+        while (index < length && template.charAt(index) == '{') {
+            int end = template.indexOf('}', index);
+            if (end == -1 || !isQueryExpression(template, index, end)) {
+                return false;
+            }
+            index = end + 1;
+        }
+        return index == length || template.charAt(index) == SLASH;
+    }
+
+    /**
+     * A trie node.
+     */
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>(4);
+        List<Integer> routeList = new ArrayList<>(2);
+        int[] routes = NO_ROUTES;
+
+        void finish() {
+            if (!routeList.isEmpty()) {
+                routes = new int[routeList.size()];
+                for (int i = 0; i < routes.length; i++) {
+                    routes[i] = routeList.get(i);
+                }
+            }
+            routeList = null;
+            for (Node child : children.values()) {
+                child.finish();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router
+
+import io.micronaut.http.uri.UriMatchTemplate
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class UriRouteIndexSpec extends Specification {
+
+    @Shared
+    List<String> templates = [
+            "/", "/{?max}", "/books", "/books{/id}", "/books/{id}", "/books/{id}/authors", "/book{id}",
+            "/books{/path:.*}", "/{+path}", "/{id}", "/books{.format}", "/books/list{?max,offset}", "/a/b/c",
+            "/a/{b}/c", "/a{/b}x", "/a{/b}{?q}", "/books/{id:[0-9]+}", "/static/{path:.*}", "/files{/path:.*}",
+            "/m/{a}{/b}"
+    ]
+
+    @Shared
+    List<UriRoute> routes = templates.collect { String template ->
+        UriMatchTemplate matchTemplate = UriMatchTemplate.of(template)
+        [getUriMatchTemplate: { -> matchTemplate }] as UriRoute
+    }.sort { a, b -> a.uriMatchTemplate <=> b.uriMatchTemplate }
+
+    @Shared
+    UriRouteIndex index = new UriRouteIndex(routes)
+
+    @Unroll
+    void "test the index yields every route matching #uri in precedence order"() {
+        given:
+        List<Integer> expected = (0..<routes.size()).findAll { routes[it].uriMatchTemplate.match(uri).isPresent() }
+        int[] candidates = index.candidates(uri)
+
+        expect:
+        candidates.toList() == candidates.toList().sort()
+        candidates.findAll { routes[it].uriMatchTemplate.match(uri).isPresent() } == expected
+
+        where:
+        uri << ["/", "", "/books", "/books/", "/books/1", "/books/1/authors", "/book1", "/booksxyz", "/books.json",
+                "/books/list?max=1", "/a/b/c", "/a/x/c", "/ax", "/a/1x", "/a", "/books//", "/static/a/b.js",
+                "/files", "/files/a/b", "/filesabc", "/m/1/2", "/?a=b", "/books/?x", "/books/12/"]
+    }
+
+    void "test literal routes are not candidates for unrelated URIs"() {
+        when:
+        List<String> candidates = index.candidates("/a/b/c").collect { routes[it].uriMatchTemplate.toString() }
+
+        then:
+        candidates.contains("/a/b/c")
+        candidates.contains("/a/{b}/c")
+        !candidates.contains("/books")
+        !candidates.contains("/books/{id}/authors")
+    }
+}
@@ -23,11 +23,16 @@ import io.micronaut.core.util.StringUtils
 import io.micronaut.inject.qualifiers.Qualifiers
 import io.micronaut.runtime.context.scope.refresh.RefreshEvent
 import io.micronaut.runtime.context.scope.refresh.RefreshScope
+import io.micronaut.runtime.context.scope.refresh.RefreshStrategy
 import io.micronaut.scheduling.TaskExecutors
 import spock.lang.Specification
 import spock.util.environment.RestoreSystemProperties
 
+import jakarta.annotation.PreDestroy
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
 import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
 
 /**
  * @author Graeme Rocher
@@ -218,6 +223,96 @@ class RefreshScopeSpec extends Specification {
         file.delete()
     }
 
+    void "test the versioned strategy refreshes without locks"() {
+        given:
+        System.setProperty("foo.bar", "test")
+        ApplicationContext beanContext = ApplicationContext.builder((RefreshScope.STRATEGY_PROPERTY): 'versioned').start()
+        RefreshScope refreshScope = beanContext.getBean(RefreshScope.class)
+
+        when:
+        RefreshBean bean = beanContext.getBean(RefreshBean)
+
+        then:
+        refreshScope.strategy == RefreshStrategy.VERSIONED
+        bean.testValue() == 'test'
+        bean.testConfigProps() == 'test'
+        refreshScope.refreshableBeans.size() == 1
+        refreshScope.versions.size() == 1
+        refreshScope.locks.isEmpty()
+
+        when:
+        System.setProperty("foo.bar", "bar")
+        beanContext.getEnvironment().refresh()
+        refreshScope.onRefreshEvent(new RefreshEvent())
+
+        then:
+        bean.testValue() == 'bar'
+        bean.testConfigProps() == 'bar'
+        refreshScope.refreshableBeans.size() == 1
+        refreshScope.versions.size() == 1
+        refreshScope.locks.isEmpty()
+
+        cleanup:
+        beanContext?.stop()
+    }
+
+    void "test calls in flight complete on the previous version"() {
+        given:
+        System.setProperty("foo.bar", "test")
+        ApplicationContext beanContext = ApplicationContext.builder((RefreshScope.STRATEGY_PROPERTY): 'versioned').start()
+        RefreshScope refreshScope = beanContext.getBean(RefreshScope.class)
+        VersionedBean bean = beanContext.getBean(VersionedBean)
+        CountDownLatch entered = new CountDownLatch(1)
+        CountDownLatch release = new CountDownLatch(1)
+
+        when:
+        CompletableFuture<String> inFlight = CompletableFuture.supplyAsync { bean.await(entered, release) }
+        entered.await(10, TimeUnit.SECONDS)
+        System.setProperty("foo.bar", "bar")
+        beanContext.getEnvironment().refresh()
+        refreshScope.onRefreshEvent(new RefreshEvent())
+
+        then: "the refresh does not wait for the call in flight"
+        !inFlight.isDone()
+        bean.value() == 'bar'
+        VersionedBean.destroyed.isEmpty()
+
+        when:
+        release.countDown()
+
+        then: "the previous version is destroyed once the call has returned"
+        inFlight.get(10, TimeUnit.SECONDS) == 'test'
+        VersionedBean.destroyed == ['test']
+        refreshScope.versions.size() == 1
+
+        cleanup:
+        VersionedBean.destroyed.clear()
+        beanContext?.stop()
+    }
+
+    @Refreshable
+    static class VersionedBean {
+        static final List<String> destroyed = Collections.synchronizedList([])
+
+        @Value('${foo.bar}')
+        String foo
+
+        String value() {
+            return foo
+        }
+
+        String await(CountDownLatch entered, CountDownLatch release) {
+            entered.countDown()
+            release.await(10, TimeUnit.SECONDS)
+            return foo
+        }
+
+        @PreDestroy
+        void destroy() {
+            destroyed.add(foo)
+        }
+    }
+
     @Refreshable
     static class RefreshBean {
 
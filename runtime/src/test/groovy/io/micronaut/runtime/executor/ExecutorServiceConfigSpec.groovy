@@ -19,8 +19,13 @@ import io.micronaut.context.ApplicationContext
 import io.micronaut.inject.qualifiers.Qualifiers
 import io.micronaut.scheduling.LoomSupport
 import io.micronaut.scheduling.TaskExecutors
+import io.micronaut.scheduling.executor.AffinityExecutorService
 import io.micronaut.scheduling.executor.ExecutorConfiguration
+import io.micronaut.scheduling.executor.QueuedExecutorService
+import io.micronaut.scheduling.executor.RejectionPolicy
 import io.micronaut.scheduling.executor.UserExecutorConfiguration
+import io.micronaut.scheduling.instrument.InstrumentedExecutorService
+import io.micronaut.scheduling.instrument.QueueMetrics
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -28,6 +33,7 @@ import java.util.concurrent.ExecutorService
 import java.util.concurrent.ForkJoinPool
 import java.util.concurrent.ScheduledExecutorService
 import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
 
 /**
  * @author Graeme Rocher
@@ -191,4 +197,60 @@ class ExecutorServiceConfigSpec extends Specification {
         true            | "test"
         false           | "test"
     }
+
+    void "test configure bounded and priority executors"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                'micronaut.executors.bounded.type':'bounded',
+                'micronaut.executors.bounded.nThreads':'2',
+                'micronaut.executors.bounded.queue-size':'10',
+                'micronaut.executors.bounded.rejection-policy':'caller_runs',
+                'micronaut.executors.prioritized.type':'priority'
+        )
+
+        when:
+        InstrumentedExecutorService bounded = (InstrumentedExecutorService) ctx.getBean(ExecutorService, Qualifiers.byName("bounded"))
+        InstrumentedExecutorService prioritized = (InstrumentedExecutorService) ctx.getBean(ExecutorService, Qualifiers.byName("prioritized"))
+        QueueMetrics boundedMetrics = bounded.queueMetrics.get()
+        QueuedExecutorService boundedTarget = (QueuedExecutorService) boundedMetrics
+
+        then:
+        boundedMetrics.queueCapacity == 10
+        boundedTarget.rejectionPolicy == RejectionPolicy.CALLER_RUNS
+        !boundedTarget.prioritized
+        ((ThreadPoolExecutor) boundedTarget.target).corePoolSize == 2
+        prioritized.queueMetrics.get().queueCapacity == Integer.MAX_VALUE
+        ((QueuedExecutorService) prioritized.queueMetrics.get()).prioritized
+
+        when:
+        bounded.submit({} as Runnable).get(10, TimeUnit.SECONDS)
+
+        then:
+        boundedMetrics.waitTimeHistogram.count == 1
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "test configure an affinity executor"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                'micronaut.executors.affinity.type':'affinity',
+                'micronaut.executors.affinity.parallelism':'3',
+                'micronaut.executors.affinity.nThreads':'7'
+        )
+
+        when:
+        AffinityExecutorService executor = (AffinityExecutorService) ctx.getBean(ExecutorService, Qualifiers.byName("affinity"))
+
+        then:
+        executor.laneCount == 3
+        executor.threadsPerLane == 3
+
+        when:
+        ctx.close()
+
+        then:
+        executor.shutdown
+    }
 }
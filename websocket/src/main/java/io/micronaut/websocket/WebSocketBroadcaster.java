@@ -91,6 +91,59 @@ public interface WebSocketBroadcaster {
         return broadcast(message, MediaType.APPLICATION_JSON_TYPE, filter);
     }
 
+    /**
+     * When used on the server this method will broadcast a message to the open WebSocket connections subscribed to
+     * the given topic with {@link WebSocketSession#subscribe(String)}.
+     * The resulting {@link Publisher} does not start sending until subscribed to.
+     *
+     * @param topic The topic
+     * @param message The message
+     * @param mediaType The media type of the message. Used to lookup an appropriate codec via the {@link io.micronaut.http.codec.MediaTypeCodecRegistry}.
+     * @param <T> The message type
+     * @return A {@link Publisher} that either emits an error or emits the message once it has been published successfully.
+     * @since 4.0.0
+     */
+    default <T> Publisher<T> broadcastToTopic(String topic, T message, MediaType mediaType) {
+        Objects.requireNonNull(topic, "The topic cannot be null");
+        return broadcast(message, mediaType, s -> s.getSubscriptions().contains(topic));
+    }
+
+    /**
+     * When used on the server this method will broadcast a message to the open WebSocket connections subscribed to
+     * the given topic with {@link WebSocketSession#subscribe(String)}.
+     * The resulting {@link Publisher} does not start sending until subscribed to.
+     *
+     * @param topic The topic
+     * @param message The message
+     * @param <T> The message type
+     * @return A {@link Publisher} that either emits an error or emits the message once it has been published successfully.
+     * @since 4.0.0
+     */
+    default <T> Publisher<T> broadcastToTopic(String topic, T message) {
+        return broadcastToTopic(topic, message, MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    /**
+     * When used on the server this method will broadcast a message to the open WebSocket connections subscribed to
+     * the given topic with {@link WebSocketSession#subscribe(String)}.
+     *
+     * @param topic The topic
+     * @param message The message
+     * @param mediaType The media type of the message. Used to lookup an appropriate codec via the {@link io.micronaut.http.codec.MediaTypeCodecRegistry}.
+     * @param <T> The message type
+     * @return A {@link CompletableFuture} that tracks the execution. {@link CompletableFuture#get()} and related methods will return the message on success, on error throw the underlying Exception.
+     * @since 4.0.0
+     */
+    default <T> CompletableFuture<T> broadcastToTopicAsync(String topic, T message, MediaType mediaType) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Flux.from(broadcastToTopic(topic, message, mediaType)).subscribe(
+                o -> { },
+                future::completeExceptionally,
+                () -> future.complete(message)
+        );
+        return future;
+    }
+
     /**
      * When used on the server this method will broadcast a message to all open WebSocket connections.
      *
@@ -25,6 +25,7 @@ import org.reactivestreams.Publisher;
 
 import java.net.URI;
 import java.security.Principal;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -213,6 +214,42 @@ public interface WebSocketSession extends MutableConvertibleValues<Object>, Auto
         return Optional.empty();
     }
 
+    /**
+     * Subscribes this session to the given topic. Messages broadcast to a topic with
+     * {@link WebSocketBroadcaster#broadcastToTopic(String, Object, MediaType)} are only sent to its subscribers.
+     * Implementations that do not support topics ignore the call and return {@code false}.
+     *
+     * @param topic The topic, for example a chat room
+     * @return Whether this session supports topics and is now subscribed to the given topic
+     * @since 4.0.0
+     */
+    default boolean subscribe(@NonNull String topic) {
+        return false;
+    }
+
+    /**
+     * Unsubscribes this session from the given topic. Implementations that do not support topics ignore the call and
+     * return {@code false}.
+     *
+     * @param topic The topic
+     * @return Whether this session supports topics and is no longer subscribed to the given topic
+     * @since 4.0.0
+     */
+    default boolean unsubscribe(@NonNull String topic) {
+        return false;
+    }
+
+    /**
+     * The topics this session is subscribed to.
+     *
+     * @return The topics
+     * @since 4.0.0
+     */
+    @NonNull
+    default Set<String> getSubscriptions() {
+        return Collections.emptySet();
+    }
+
     @Override
     void close();
 